@@ -2,6 +2,7 @@ package com.example.itemapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Clase principal que arranca la aplicación Spring Boot.
@@ -17,6 +18,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * </p>
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class ItemApiApplication {
 
     /**
@@ -0,0 +1,51 @@
+package com.example.itemapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propiedades de configuración de los endpoints de productos, agrupadas
+ * bajo el prefijo {@code api.products} en {@code application.properties}.
+ */
+@Data
+@ConfigurationProperties(prefix = "api.products")
+public class ApiProperties {
+
+    /**
+     * Tamaño de página usado cuando se pagina sin indicar {@code limit}.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * Máximo valor aceptado para {@code limit}.
+     */
+    private int maxPageSize = 1000;
+
+    /**
+     * Máximo de IDs distintos aceptados por la consulta en lote.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Si es {@code true}, el listado y el detalle de producto llevan un
+     * {@code ETag} y un {@code Last-Modified} precalculados por versión del
+     * catálogo y responden {@code 304} antes de consultar el servicio.
+     */
+    private boolean conditionalRequests = true;
+
+    /**
+     * Valor de {@code Cache-Control} del listado y del detalle de producto.
+     * Con {@code no-cache} los clientes y la CDN guardan la respuesta pero la
+     * revalidan en cada uso, lo que sigue siendo correcto tras una recarga del
+     * catálogo; vacío para no enviar la cabecera.
+     */
+    private String cacheControl = "no-cache";
+
+    /**
+     * Tamaño máximo de los cuerpos guardados en la caché de respuestas del
+     * detalle de producto (JSON, gzip y formatos binarios). Al superarlo se
+     * desalojan las respuestas menos usadas.
+     */
+    private DataSize responseCacheMaxSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,225 @@
+package com.example.itemapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del catálogo de productos, agrupadas
+ * bajo el prefijo {@code catalog} en {@code application.properties}.
+ *
+ * <p>
+ * Los valores por defecto reproducen el comportamiento original:
+ * el catálogo se lee desde {@code products.json} en el classpath.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+    /**
+     * Implementación de repositorio a usar: {@code json} (por defecto) carga el
+     * catálogo JSON en memoria; {@code snapshot} sirve un snapshot binario
+     * proyectado en memoria desde {@link #snapshotPath}; {@code columnar} carga
+     * el mismo JSON en columnas primitivas y codificadas por diccionario;
+     * {@code remote} consulta otra instancia de la API ({@link Remote});
+     * {@code durable} admite escrituras registradas en un log de cambios
+     * ({@link Changelog}).
+     */
+    private String source = "json";
+
+    /**
+     * Ruta del snapshot binario usado cuando {@code catalog.source=snapshot}.
+     */
+    private String snapshotPath;
+
+    /**
+     * Ruta a un archivo JSON externo con el catálogo. Si está vacía,
+     * se usa el recurso {@code /products.json} del classpath.
+     */
+    private String path;
+
+    /**
+     * Cada cuántos productos leídos se registra el progreso de la carga.
+     */
+    private int progressInterval = 100_000;
+
+    /**
+     * Patrón de archivos de shards del catálogo (por ejemplo
+     * {@code /data/catalog/products-*.json} o {@code *.ndjson}). Si se define,
+     * tiene prioridad sobre {@link #path} y los shards se cargan en paralelo.
+     */
+    private String shards;
+
+    /**
+     * Hilos del pool fork-join usado para cargar shards; {@code 0} usa
+     * el número de procesadores disponibles.
+     */
+    private int loadParallelism;
+
+    /**
+     * Si es {@code true}, un ID de producto repetido aborta la carga; si es
+     * {@code false}, se conserva la primera aparición y se registra una advertencia.
+     */
+    private boolean failOnDuplicateIds;
+
+    /**
+     * Configuración de la recarga en caliente del catálogo.
+     */
+    private Reload reload = new Reload();
+
+    /**
+     * Configuración del filtro de IDs inexistentes.
+     */
+    private IdFilter idFilter = new IdFilter();
+
+    /**
+     * Configuración de la fuente remota ({@code catalog.source=remote}).
+     */
+    private Remote remote = new Remote();
+
+    /**
+     * Configuración del stock en vivo.
+     */
+    private Inventory inventory = new Inventory();
+
+    /**
+     * Configuración del catálogo con escrituras durables ({@code catalog.source=durable}).
+     */
+    private Changelog changelog = new Changelog();
+
+    /**
+     * Propiedades {@code catalog.reload.*}.
+     */
+    @Data
+    public static class Reload {
+
+        /**
+         * Si es {@code true}, se vigila el archivo (o el directorio de shards)
+         * del catálogo y se recarga automáticamente al modificarse.
+         */
+        private boolean watch;
+
+        /**
+         * Tiempo de espera tras el último cambio detectado antes de recargar,
+         * para no recargar a mitad de una copia del archivo.
+         */
+        private Duration debounce = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Propiedades {@code catalog.id-filter.*}.
+     */
+    @Data
+    public static class IdFilter {
+
+        /**
+         * Si es {@code true}, un filtro de Bloom sobre los IDs del catálogo
+         * descarta los IDs inexistentes antes de consultar el repositorio.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Tasa de falsos positivos buscada; define el tamaño del filtro
+         * (unos 9,6 bits por ID con {@code 0.01}).
+         */
+        private double fpp = 0.01;
+    }
+
+    /**
+     * Propiedades {@code catalog.remote.*}.
+     */
+    @Data
+    public static class Remote {
+
+        /**
+         * URL base de la API remota, por ejemplo {@code http://catalogo:8080/v1};
+         * se consultan {@code /products/{id}}, {@code /products?ids=...} y el
+         * listado NDJSON de {@code /products}.
+         */
+        private String baseUrl;
+
+        /**
+         * Tiempo máximo para establecer la conexión.
+         */
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Tiempo máximo de cada consulta de detalle o de lote.
+         */
+        private Duration requestTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Heap aproximado máximo de la caché de productos.
+         */
+        private DataSize cacheMaxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Tiempo tras el cual un producto cacheado deja de servirse.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /**
+         * Antigüedad a partir de la cual el siguiente acceso a un producto
+         * cacheado lo recarga en segundo plano, sirviendo mientras tanto la
+         * versión cacheada; debe ser menor que {@link #ttl}.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(1);
+
+        /**
+         * Tiempo durante el que se recuerda que un ID no existe.
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+
+        /**
+         * Máximo de IDs por consulta de lote a la API remota.
+         */
+        private int batchSize = 100;
+    }
+
+    /**
+     * Propiedades {@code catalog.inventory.*}.
+     */
+    @Data
+    public static class Inventory {
+
+        /**
+         * Si se mantienen contadores de stock en vivo, modificables por
+         * {@code /v1/products/{id}/stock}, que el detalle usa en lugar del
+         * {@code availableQuantity} cargado.
+         */
+        private boolean enabled = true;
+    }
+
+    /**
+     * Propiedades {@code catalog.changelog.*}.
+     */
+    @Data
+    public static class Changelog {
+
+        /**
+         * Directorio de los segmentos del log de cambios y de los snapshots
+         * compactados. Si no hay snapshot, el catálogo inicial se toma de
+         * {@code catalog.path} o del {@code products.json} del classpath.
+         */
+        private String dir = "data/changelog";
+
+        /**
+         * Máximo de cambios que comparten un mismo {@code fsync}.
+         */
+        private int maxBatch = 256;
+
+        /**
+         * Cada cuánto se evalúa compactar el log en un snapshot nuevo.
+         */
+        private Duration compactInterval = Duration.ofMinutes(10);
+
+        /**
+         * Cambios acumulados desde el último snapshot a partir de los cuales
+         * se compacta.
+         */
+        private long compactMinRecords = 10_000;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.itemapi.config;
+
+import com.example.itemapi.inventory.LiveStockModule;
+import com.example.itemapi.inventory.ProductInventory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Message converters de JSON, Smile y CBOR construidos a partir del
+ * {@link ObjectMapper} de la aplicación.
+ *
+ * <p>
+ * Spring MVC registra por su cuenta converters para los formatos binarios
+ * cuando están en el classpath, pero con mappers nuevos que no conocen los
+ * módulos ni la configuración {@code spring.jackson.*} de la aplicación. Estos
+ * beans los reemplazan con copias del mapper de la aplicación sobre la fábrica
+ * de cada formato, de modo que un producto se escribe igual en los tres formatos.
+ * </p>
+ *
+ * <p>
+ * Las copias llevan el stock en vivo ({@link LiveStockModule#withInventory}):
+ * el listado, la búsqueda, el rango, los filtros y el lote escriben el mismo
+ * {@code availableQuantity} que el detalle. El mapper de la aplicación no se
+ * modifica.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class MessageConvertersConfiguration {
+
+    /**
+     * @param mapper    mapper de la aplicación.
+     * @param inventory stock en vivo.
+     * @return converter de {@code application/json}.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter jsonHttpMessageConverter(ObjectMapper mapper,
+                                                                        ProductInventory inventory) {
+        return new MappingJackson2HttpMessageConverter(LiveStockModule.withInventory(mapper.copy(), inventory));
+    }
+
+    /**
+     * @param mapper    mapper de la aplicación.
+     * @param inventory stock en vivo.
+     * @return converter de {@code application/x-jackson-smile}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper mapper,
+                                                                              ProductInventory inventory) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                LiveStockModule.withInventory(mapper.copyWith(new SmileFactory()), inventory));
+    }
+
+    /**
+     * @param mapper    mapper de la aplicación.
+     * @param inventory stock en vivo.
+     * @return converter de {@code application/cbor}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper mapper,
+                                                                            ProductInventory inventory) {
+        return new MappingJackson2CborHttpMessageConverter(
+                LiveStockModule.withInventory(mapper.copyWith(new CBORFactory()), inventory));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.itemapi.config;
+
+import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Registra en el log el tiempo transcurrido desde el arranque de la JVM hasta
+ * que la aplicación queda lista para atender la primera petición, junto con
+ * la parte de ese tiempo que corresponde a la carga del catálogo y el tipo de
+ * hilos que atiende las peticiones.
+ *
+ * <p>
+ * Con {@code spring.threads.virtual.enabled=true} Spring Boot atiende las
+ * peticiones en hilos virtuales sólo si la JVM es Java 21 o posterior; en una
+ * JVM anterior la propiedad se ignora y se advierte en el log.
+ * </p>
+ */
+@Component
+public class StartupTimingListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingListener.class);
+
+    private final ProductRepository repository;
+    private final ObjectProvider<JsonProductRepository> jsonRepository;
+
+    /**
+     * @param repository     repositorio activo, del que se reporta el tamaño del catálogo.
+     * @param jsonRepository repositorio JSON, presente sólo si es la fuente activa.
+     */
+    public StartupTimingListener(ProductRepository repository, ObjectProvider<JsonProductRepository> jsonRepository) {
+        this.repository = repository;
+        this.jsonRepository = jsonRepository;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        JsonProductRepository json = jsonRepository.getIfAvailable();
+        Environment environment = event.getApplicationContext().getEnvironment();
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        log.info("Lista para atender peticiones {} ms después del arranque de la JVM "
+                        + "(carga del catálogo: {} ms, {} productos, hilos {})",
+                ManagementFactory.getRuntimeMXBean().getUptime(),
+                json != null ? json.getLoadDuration().toMillis() : "-",
+                repository.findAll().size(),
+                virtual ? "virtuales" : "de plataforma");
+        if (!virtual && environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("spring.threads.virtual.enabled=true requiere Java 21 o posterior (JVM actual: {}); "
+                    + "las peticiones se atienden con hilos de plataforma", Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.repository.CatalogReloadStats;
+import com.example.itemapi.repository.CatalogReloader;
+import com.example.itemapi.repository.JsonProductRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoints de administración del catálogo: consulta del estado de la versión
+ * vigente y disparo manual de una recarga en caliente.
+ *
+ * <p>
+ * Sólo está disponible con el catálogo JSON ({@code catalog.source=json}),
+ * que es el único que admite recarga.
+ * </p>
+ */
+@RestController
+@RequestMapping("/v1/admin/catalog")
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "json", matchIfMissing = true)
+@Tag(name = "Administración", description = "Operaciones sobre el catálogo cargado")
+public class CatalogAdminController {
+
+    private final JsonProductRepository repository;
+    private final CatalogReloader reloader;
+    private final ProductIdFilter idFilter;
+
+    /**
+     * @param repository repositorio JSON del que se informa la versión vigente.
+     * @param reloader   orquestador de las recargas.
+     * @param idFilter   filtro de IDs del que se informan tamaño y contadores.
+     */
+    public CatalogAdminController(JsonProductRepository repository, CatalogReloader reloader,
+                                  ProductIdFilter idFilter) {
+        this.repository = repository;
+        this.reloader = reloader;
+        this.idFilter = idFilter;
+    }
+
+    /**
+     * Devuelve la versión vigente del catálogo y las estadísticas de recarga.
+     *
+     * @return estado del catálogo.
+     */
+    @Operation(summary = "Estado del catálogo", description = "Generación, tamaño, estadísticas de recarga y del filtro de IDs")
+    @ApiResponse(responseCode = "200", description = "Estado actual del catálogo")
+    @GetMapping
+    public CatalogStatus getStatus() {
+        return status();
+    }
+
+    /**
+     * Solicita una recarga del catálogo en segundo plano. La respuesta no
+     * espera a que termine: la nueva generación se ve en {@link #getStatus()}.
+     *
+     * @return {@code 202 Accepted} con el estado previo a la recarga.
+     */
+    @Operation(summary = "Recargar el catálogo",
+            description = "Vuelve a leer la fuente del catálogo en segundo plano y lo publica al terminar; "
+                    + "si la carga falla se conserva la versión vigente")
+    @ApiResponse(responseCode = "202", description = "Recarga solicitada")
+    @PostMapping("/reload")
+    public ResponseEntity<CatalogStatus> reload() {
+        reloader.requestReload("admin");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status());
+    }
+
+    private CatalogStatus status() {
+        return new CatalogStatus(repository.getGeneration(), repository.findAll().size(),
+                repository.getLoadDuration().toMillis(), reloader.getStats(), idFilter.getStats());
+    }
+
+    /**
+     * Estado del catálogo expuesto por la API de administración.
+     *
+     * @param generation       generación vigente del catálogo.
+     * @param size             cantidad de productos de la generación vigente.
+     * @param loadDurationMillis duración de la carga de la generación vigente.
+     * @param reloads          estadísticas acumuladas de recarga.
+     * @param idFilter         tamaño, tasa de falsos positivos y contadores del filtro de IDs.
+     */
+    public record CatalogStatus(long generation, int size, long loadDurationMillis, CatalogReloadStats reloads,
+                                ProductIdFilter.Stats idFilter) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.inventory.StockChange;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoints de escritura del stock en vivo de cada producto ({@link ProductInventory}).
+ *
+ * <p>
+ * Las reservas son atómicas: si dos peticiones compiten por las últimas
+ * unidades, sólo las que caben se aplican y el resto recibe
+ * {@code 409 Conflict} sin modificar el stock. Los rechazos se responden con
+ * cuerpos construidos una sola vez, sin excepciones por petición.
+ * </p>
+ */
+@RestController
+@RequestMapping("/v1/products/{id}/stock")
+@ConditionalOnProperty(prefix = "catalog.inventory", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Stock", description = "Stock en vivo de los productos")
+public class InventoryController {
+
+    private static final Map<StockChange.Failure, ResponseEntity<byte[]>> FAILURES = failures();
+
+    private final ProductInventory inventory;
+
+    /**
+     * @param inventory stock en vivo de los productos.
+     */
+    public InventoryController(ProductInventory inventory) {
+        this.inventory = inventory;
+    }
+
+    /**
+     * Devuelve el stock en vivo del producto.
+     *
+     * @param id identificador del producto.
+     * @return stock actual; {@code availableQuantity} es {@code null} si no tiene stock registrado.
+     */
+    @Operation(summary = "Consultar stock")
+    @ApiResponse(responseCode = "200", description = "Stock actual")
+    @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+    @GetMapping
+    public ResponseEntity<?> getStock(@PathVariable String id) {
+        int available = inventory.availableQuantity(id);
+        if (available != ProductInventory.UNTRACKED) {
+            return ResponseEntity.ok(new StockLevel(id, available));
+        }
+        return inventory.contains(id)
+                ? ResponseEntity.ok(new StockLevel(id, null))
+                : FAILURES.get(StockChange.Failure.NOT_FOUND);
+    }
+
+    /**
+     * Reserva unidades del producto si hay stock suficiente.
+     *
+     * @param id      identificador del producto.
+     * @param request unidades a reservar.
+     * @return stock restante, o {@code 409} si no alcanza.
+     */
+    @Operation(summary = "Reservar stock", description = "Descuenta unidades sólo si hay stock suficiente")
+    @ApiResponse(responseCode = "200", description = "Reserva aplicada")
+    @ApiResponse(responseCode = "409", description = "Stock insuficiente o sin registrar")
+    @PostMapping("/reserve")
+    public ResponseEntity<?> reserve(@PathVariable String id, @RequestBody StockRequest request) {
+        return respond(id, request.quantity() == null
+                ? StockChange.Failure.INVALID_QUANTITY : inventory.reserve(id, request.quantity()));
+    }
+
+    /**
+     * Devuelve unidades reservadas al stock del producto.
+     *
+     * @param id      identificador del producto.
+     * @param request unidades a devolver.
+     * @return stock resultante.
+     */
+    @Operation(summary = "Liberar stock", description = "Devuelve unidades reservadas previamente")
+    @ApiResponse(responseCode = "200", description = "Liberación aplicada")
+    @PostMapping("/release")
+    public ResponseEntity<?> release(@PathVariable String id, @RequestBody StockRequest request) {
+        return respond(id, request.quantity() == null
+                ? StockChange.Failure.INVALID_QUANTITY : inventory.release(id, request.quantity()));
+    }
+
+    /**
+     * Fija el stock del producto.
+     *
+     * @param id      identificador del producto.
+     * @param request nuevo stock.
+     * @return stock fijado.
+     */
+    @Operation(summary = "Fijar stock", description = "Reemplaza el stock disponible, por ejemplo tras una reposición")
+    @ApiResponse(responseCode = "200", description = "Stock fijado")
+    @PutMapping
+    public ResponseEntity<?> set(@PathVariable String id, @RequestBody StockRequest request) {
+        return respond(id, request.quantity() == null
+                ? StockChange.Failure.INVALID_QUANTITY : inventory.set(id, request.quantity()));
+    }
+
+    private static ResponseEntity<?> respond(String id, StockChange change) {
+        if (change instanceof StockChange.Applied applied) {
+            return ResponseEntity.ok(new StockLevel(id, applied.availableQuantity()));
+        }
+        return FAILURES.get((StockChange.Failure) change);
+    }
+
+    private static Map<StockChange.Failure, ResponseEntity<byte[]>> failures() {
+        Map<StockChange.Failure, ResponseEntity<byte[]>> responses = new EnumMap<>(StockChange.Failure.class);
+        ObjectMapper errorMapper = new ObjectMapper();
+        for (StockChange.Failure failure : StockChange.Failure.values()) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", failure.status().value());
+            body.put("error", failure.status().getReasonPhrase());
+            body.put("message", failure.message());
+            try {
+                responses.put(failure, ResponseEntity.status(failure.status())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(errorMapper.writeValueAsBytes(body)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Cuerpo de las operaciones de escritura.
+     *
+     * @param quantity unidades a reservar o liberar, o nuevo stock.
+     */
+    public record StockRequest(@Schema(example = "1") Integer quantity) {
+    }
+
+    /**
+     * Stock de un producto.
+     *
+     * @param id                identificador del producto.
+     * @param availableQuantity stock disponible, o {@code null} si no tiene stock registrado.
+     */
+    public record StockLevel(String id, Integer availableQuantity) {
+    }
+}
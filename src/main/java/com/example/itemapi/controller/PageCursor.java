@@ -0,0 +1,39 @@
+package com.example.itemapi.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica la posición de la siguiente página en un cursor opaco
+ * (Base64 URL-safe), para que los clientes no dependan de su formato.
+ */
+final class PageCursor {
+
+    private static final String PREFIX = "o:";
+
+    private PageCursor() {
+    }
+
+    static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + offset).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static int decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(PREFIX)) {
+                int offset = Integer.parseInt(decoded.substring(PREFIX.length()));
+                if (offset >= 0) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // cae al error común de cursor inválido
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor de paginación inválido");
+    }
+}
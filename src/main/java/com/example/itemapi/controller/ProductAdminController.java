@@ -0,0 +1,210 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.changelog.ChangeLog;
+import com.example.itemapi.repository.changelog.DurableProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Endpoints de escritura del catálogo durable ({@link DurableProductRepository}).
+ *
+ * <p>
+ * Cada escritura responde recién cuando el cambio está en disco y aplicado.
+ * Sólo está disponible con {@code catalog.source=durable}. Los rechazos se
+ * responden con cuerpos construidos una sola vez; si el log de cambios no
+ * puede escribirse se responde {@code 503} y el cambio no se aplica.
+ * </p>
+ */
+@RestController
+@RequestMapping("/v1/admin/products")
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "durable")
+@Tag(name = "Administración", description = "Operaciones sobre el catálogo cargado")
+public class ProductAdminController {
+
+    private static final ResponseEntity<byte[]> NOT_FOUND = failure(HttpStatus.NOT_FOUND, "Producto no encontrado");
+    private static final ResponseEntity<byte[]> INVALID = failure(HttpStatus.BAD_REQUEST, "Valor inválido");
+    private static final ResponseEntity<byte[]> UNAVAILABLE = failure(HttpStatus.SERVICE_UNAVAILABLE,
+            "No se pudo registrar el cambio");
+
+    private final DurableProductRepository repository;
+
+    /**
+     * @param repository catálogo durable sobre el que se escribe.
+     */
+    public ProductAdminController(DurableProductRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Crea o reemplaza un producto completo. El ID de la ruta reemplaza al del cuerpo.
+     *
+     * @param id      identificador del producto.
+     * @param product documento completo.
+     * @return el producto guardado.
+     */
+    @Operation(summary = "Crear o reemplazar un producto")
+    @ApiResponse(responseCode = "200", description = "Producto guardado")
+    @ApiResponse(responseCode = "503", description = "El log de cambios no está disponible")
+    @PutMapping("/{id}")
+    public ResponseEntity<?> upsert(@PathVariable String id, @RequestBody Product product) {
+        product.setId(id);
+        return write(() -> repository.upsert(product), id);
+    }
+
+    /**
+     * Elimina un producto.
+     *
+     * @param id identificador del producto.
+     * @return {@code 204}, o {@code 404} si no existía.
+     */
+    @Operation(summary = "Eliminar un producto")
+    @ApiResponse(responseCode = "204", description = "Producto eliminado")
+    @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> delete(@PathVariable String id) {
+        try {
+            return repository.delete(id) ? ResponseEntity.noContent().build() : NOT_FOUND;
+        } catch (UncheckedIOException | IllegalStateException e) {
+            return UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Cambia el precio de un producto.
+     *
+     * @param id      identificador del producto.
+     * @param request nuevo precio.
+     * @return el producto con el nuevo precio.
+     */
+    @Operation(summary = "Cambiar el precio")
+    @ApiResponse(responseCode = "200", description = "Precio cambiado")
+    @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+    @PutMapping("/{id}/price")
+    public ResponseEntity<?> updatePrice(@PathVariable String id, @RequestBody PriceRequest request) {
+        if (request.price() == null) {
+            return INVALID;
+        }
+        return write(() -> repository.updatePrice(id, request.price()), id);
+    }
+
+    /**
+     * Fija el stock de un producto de forma durable.
+     *
+     * @param id      identificador del producto.
+     * @param request nuevo stock.
+     * @return el producto con el nuevo stock.
+     */
+    @Operation(summary = "Fijar el stock de forma durable",
+            description = "A diferencia de /v1/products/{id}/stock, el valor sobrevive a un reinicio")
+    @ApiResponse(responseCode = "200", description = "Stock fijado")
+    @ApiResponse(responseCode = "404", description = "Producto no encontrado")
+    @PutMapping("/{id}/stock")
+    public ResponseEntity<?> updateStock(@PathVariable String id,
+                                         @RequestBody InventoryController.StockRequest request) {
+        if (request.quantity() == null) {
+            return INVALID;
+        }
+        return write(() -> repository.updateStock(id, request.quantity()), id);
+    }
+
+    /**
+     * Estado del log de cambios.
+     *
+     * @return contadores del log y cambios pendientes de compactar.
+     */
+    @Operation(summary = "Estado del log de cambios")
+    @ApiResponse(responseCode = "200", description = "Contadores del log de cambios")
+    @GetMapping("/changelog")
+    public ChangelogStatus getChangelog() {
+        return new ChangelogStatus(repository.getStats(), repository.getPendingRecords());
+    }
+
+    /**
+     * Compacta el log de cambios en un snapshot nuevo sin esperar al intervalo configurado.
+     *
+     * @return estado del log tras la compactación.
+     */
+    @Operation(summary = "Compactar el log de cambios",
+            description = "Guarda el catálogo vigente como snapshot y reconstruye los índices derivados")
+    @ApiResponse(responseCode = "200", description = "Log compactado")
+    @PostMapping("/changelog/compact")
+    public ResponseEntity<?> compact() {
+        try {
+            repository.compact();
+        } catch (UncheckedIOException e) {
+            return UNAVAILABLE;
+        }
+        return ResponseEntity.ok(getChangelog());
+    }
+
+    private ResponseEntity<?> write(Write write, String id) {
+        try {
+            if (!write.apply()) {
+                return NOT_FOUND;
+            }
+        } catch (IllegalArgumentException e) {
+            return INVALID;
+        } catch (UncheckedIOException | IllegalStateException e) {
+            return UNAVAILABLE;
+        }
+        return ResponseEntity.ok(repository.findById(id));
+    }
+
+    private static ResponseEntity<byte[]> failure(HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        try {
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new ObjectMapper().writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Write {
+
+        boolean apply();
+    }
+
+    /**
+     * Cuerpo del cambio de precio.
+     *
+     * @param price nuevo precio.
+     */
+    public record PriceRequest(@Schema(example = "4200.00") Double price) {
+    }
+
+    /**
+     * Estado del log de cambios.
+     *
+     * @param log     secuencia, cambios escritos y {@code fsync} desde el arranque.
+     * @param pending cambios aún no compactados en un snapshot.
+     */
+    public record ChangelogStatus(ChangeLog.Stats log, long pending) {
+    }
+}
@@ -1,20 +1,48 @@
 package com.example.itemapi.controller;
 
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.index.NumericField;
+import com.example.itemapi.index.ProductFacet;
+import com.example.itemapi.index.ProductVersions;
+import com.example.itemapi.index.RangeQuery;
+import com.example.itemapi.inventory.LiveStockModule;
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.metrics.ProductMetrics;
 import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductBatch;
+import com.example.itemapi.model.ProductFilterResult;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.service.ProductLookup;
 import com.example.itemapi.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador REST encargado de exponer los endpoints relacionados con productos.
@@ -29,29 +57,108 @@ import java.util.List;
 @Tag(name = "Productos", description = "API para consulta de productos")
 public class ProductController {
 
+    /**
+     * Tipo de contenido del listado en streaming: un producto JSON por línea.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Cabecera con el total de productos del catálogo en respuestas paginadas.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /**
+     * Cabecera con el cursor de la página siguiente en respuestas paginadas.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Cabecera presente con valor {@code true} cuando {@value #TOTAL_COUNT_HEADER}
+     * es una estimación (búsquedas con muchas coincidencias).
+     */
+    public static final String TOTAL_ESTIMATED_HEADER = "X-Total-Count-Estimated";
+
+    private static final int STREAM_FLUSH_INTERVAL = 256;
+
+    /**
+     * Respuestas de error del detalle de producto, construidas una sola vez:
+     * un ID vacío o inexistente se responde sin crear excepciones ni
+     * serializar un cuerpo por petición.
+     */
+    private static final Map<ProductLookup.Failure, ResponseEntity<byte[]>> LOOKUP_FAILURES = lookupFailures();
+
     private final ProductService service;
+    private final ProductResponseCache responseCache;
+    private final ObjectMapper mapper;
+    private final ApiProperties apiProperties;
+    private final ProductProjections projections;
+    private final ProductVersions versions;
+    private final ProductInventory inventory;
+    private final ProductMetrics metrics;
 
     /**
      * Crea una nueva instancia del controlador de productos.
      *
-     * @param service servicio de productos utilizado para acceder a la lógica de negocio.
+     * @param service       servicio de productos utilizado para acceder a la lógica de negocio.
+     * @param responseCache caché de respuestas pre-serializadas del detalle de producto.
+     * @param mapper        mapper de la aplicación, usado para el listado en streaming.
+     * @param apiProperties configuración de paginación y caché HTTP de la API.
+     * @param projections   proyecciones compiladas para el parámetro {@code fields}.
+     * @param versions      versiones del catálogo y de cada producto para las peticiones condicionales.
+     * @param inventory     stock en vivo que se escribe en lugar del cargado.
+     * @param metrics       métricas de las peticiones condicionales.
      */
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service, ProductResponseCache responseCache,
+                             ObjectMapper mapper, ApiProperties apiProperties, ProductProjections projections,
+                             ProductVersions versions, ProductInventory inventory, ProductMetrics metrics) {
         this.service = service;
+        this.responseCache = responseCache;
+        this.mapper = mapper;
+        this.apiProperties = apiProperties;
+        this.projections = projections;
+        this.versions = versions;
+        this.inventory = inventory;
+        this.metrics = metrics;
     }
 
     /**
-     * Obtiene la lista completa de productos disponibles.
+     * Obtiene la lista de productos disponibles, completa o paginada.
+     * <p>
+     * Sin parámetros devuelve el catálogo completo. Si se indica {@code limit},
+     * {@code offset} o {@code cursor}, devuelve sólo la página solicitada e
+     * informa el total en {@value #TOTAL_COUNT_HEADER} y, si hay más productos,
+     * el cursor siguiente en {@value #NEXT_CURSOR_HEADER} y en la cabecera
+     * {@code Link} con {@code rel="next"}.
+     * </p>
+     * <p>
+     * Con {@code fields} sólo se escriben los campos indicados de cada producto
+     * (ver {@link ProductProjections}).
+     * </p>
      * <p>
      * Si no existen productos en el sistema, devuelve un {@code 204 No Content}.
      * </p>
+     * <p>
+     * La respuesta lleva como {@code ETag} la versión del catálogo (ver
+     * {@link ProductVersions}); si {@code If-None-Match} o {@code If-Modified-Since}
+     * coinciden se responde {@code 304 Not Modified} sin consultar el servicio.
+     * Cada producto se escribe con su stock en vivo; si el stock cambió desde
+     * la carga, el {@code ETag} incluye la cantidad de cambios y sólo se valida
+     * {@code If-None-Match}.
+     * </p>
      *
-     * @return una respuesta HTTP con la lista de productos ({@code 200 OK})
+     * @param offset  posición del primer producto de la página.
+     * @param limit   tamaño de la página.
+     * @param cursor  cursor opaco devuelto por una página anterior; tiene prioridad sobre {@code offset}.
+     * @param fields  campos a incluir, separados por comas (por ejemplo {@code id,name,price,images}).
+     * @param accept  cabecera {@code Accept}; elige JSON, Smile o CBOR ({@link ResponseFormat}).
+     * @param request petición, para evaluar las cabeceras condicionales.
+     * @return una respuesta HTTP con la lista de productos ({@code 200 OK}),
+     *         {@code 304 Not Modified} si el cliente tiene la versión vigente
      *         o {@code 204 No Content} si no existen productos.
      */
     @Operation(
             summary = "Listar productos",
-            description = "Devuelve la lista completa de productos disponibles"
+            description = "Devuelve la lista de productos disponibles, completa o paginada con offset/limit o cursor"
     )
     @ApiResponse(
             responseCode = "200",
@@ -69,13 +176,369 @@ public class ProductController {
             responseCode = "204",
             description = "No hay productos disponibles"
     )
-    @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = service.listProducts();
-        if (products == null || products.isEmpty()) {
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, ResponseFormat.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<?> getAllProducts(
+            @Parameter(description = "Posición del primer producto") @RequestParam(required = false) Integer offset,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            NativeWebRequest request) {
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        long stockChanges = inventory.changes();
+        String etag = format.etag(stockChanges == 0
+                ? versions.catalogETag() : withSuffix(versions.catalogETag(), "-s" + stockChanges));
+        // Como en el detalle, la fecha de la versión no refleja los cambios de stock
+        long lastModified = stockChanges == 0 ? versions.lastModified() : -1;
+        if (notModified(request, etag, lastModified, false)) {
+            return null;
+        }
+        if (offset == null && limit == null && cursor == null) {
+            List<Product> products = service.listProducts();
+            if (products == null || products.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(format.mediaType())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(project(products, fields, format));
+        }
+
+        int start = cursor != null ? PageCursor.decode(cursor) : (offset != null ? offset : 0);
+        int size = limit != null ? limit : apiProperties.getDefaultPageSize();
+        ProductPage page = service.listProducts(start, size);
+        if (page.getTotal() == 0) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(products);
+        return pageResponse(page, size, fields, format);
+    }
+
+    /**
+     * Busca productos por texto en nombre, descripción, marca, modelo y línea.
+     * <p>
+     * No distingue mayúsculas ni acentos ({@code reloj acero} encuentra
+     * "Reloj de Acero Inoxidable") y devuelve sólo los productos que contienen
+     * todos los términos, ordenados por relevancia. La paginación y las
+     * cabeceras {@value #TOTAL_COUNT_HEADER} / {@value #NEXT_CURSOR_HEADER}
+     * funcionan igual que en el listado; con muchas coincidencias el total es
+     * una estimación y se indica con {@value #TOTAL_ESTIMATED_HEADER}.
+     * </p>
+     *
+     * @param q      texto de búsqueda.
+     * @param offset posición del primer resultado.
+     * @param limit  cantidad de resultados.
+     * @param cursor cursor opaco devuelto por una página anterior; tiene prioridad sobre {@code offset}.
+     * @param fields campos a incluir, separados por comas.
+     * @return una respuesta HTTP ({@code 200 OK}) con los productos encontrados, posiblemente vacía.
+     * @throws ResponseStatusException con {@code 400} si la consulta está vacía o la paginación es inválida.
+     */
+    @Operation(
+            summary = "Buscar productos",
+            description = "Búsqueda de texto completo sobre nombre, descripción, marca, modelo y línea, "
+                    + "ordenada por relevancia"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Productos que contienen todos los términos",
+            content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = Product.class))
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Consulta vacía o paginación inválida",
+            content = @Content
+    )
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> searchProducts(
+            @Parameter(description = "Texto de búsqueda", example = "reloj acero") @RequestParam String q,
+            @Parameter(description = "Posición del primer resultado") @RequestParam(required = false) Integer offset,
+            @Parameter(description = "Cantidad de resultados") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields) {
+        int start = cursor != null ? PageCursor.decode(cursor) : (offset != null ? offset : 0);
+        int size = limit != null ? limit : apiProperties.getDefaultPageSize();
+        return pageResponse(service.searchProducts(q, start, size), size, fields);
+    }
+
+    /**
+     * Filtra el catálogo por facetas y devuelve, junto con la página, cuántos
+     * productos hay por cada valor de cada faceta.
+     * <p>
+     * Cada faceta admite varios valores ({@code ?brand=Casio&brand=Seiko} o
+     * {@code ?brand=Casio,Seiko}), que se combinan con OR; las distintas facetas
+     * se combinan con AND. Los valores no distinguen mayúsculas ni acentos.
+     * Los conteos de cada faceta ignoran el filtro de esa misma faceta, para
+     * poder mostrar las alternativas disponibles.
+     * </p>
+     *
+     * @param category      categorías aceptadas.
+     * @param brand         marcas aceptadas.
+     * @param gender        géneros aceptados.
+     * @param strapMaterial materiales de la correa aceptados.
+     * @param caseColor     colores de la caja aceptados.
+     * @param freeShipping  si se indica, sólo productos con (o sin) envío gratis.
+     * @param offset        posición del primer producto dentro del resultado.
+     * @param limit         tamaño de la página.
+     * @return una respuesta HTTP ({@code 200 OK}) con la página filtrada y los conteos.
+     * @throws ResponseStatusException con {@code 400} si la paginación es inválida.
+     */
+    @Operation(
+            summary = "Filtrar productos por facetas",
+            description = "Filtra por categoría, marca, género, material de la correa, color de la caja y envío "
+                    + "gratis, y devuelve los conteos por valor de cada faceta"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Productos filtrados y conteos",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductFilterResult.class))
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Paginación inválida",
+            content = @Content
+    )
+    @GetMapping(value = "/filter", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductFilterResult> filterProducts(
+            @Parameter(description = "Categorías") @RequestParam(required = false) List<String> category,
+            @Parameter(description = "Marcas") @RequestParam(required = false) List<String> brand,
+            @Parameter(description = "Géneros") @RequestParam(required = false) List<String> gender,
+            @Parameter(description = "Materiales de la correa") @RequestParam(required = false) List<String> strapMaterial,
+            @Parameter(description = "Colores de la caja") @RequestParam(required = false) List<String> caseColor,
+            @Parameter(description = "Envío gratis") @RequestParam(required = false) Boolean freeShipping,
+            @Parameter(description = "Posición del primer producto") @RequestParam(required = false) Integer offset,
+            @Parameter(description = "Tamaño de página") @RequestParam(required = false) Integer limit) {
+        Map<ProductFacet, List<String>> filters = new EnumMap<>(ProductFacet.class);
+        putFilter(filters, ProductFacet.CATEGORY, category);
+        putFilter(filters, ProductFacet.BRAND, brand);
+        putFilter(filters, ProductFacet.GENDER, gender);
+        putFilter(filters, ProductFacet.STRAP_MATERIAL, strapMaterial);
+        putFilter(filters, ProductFacet.CASE_COLOR, caseColor);
+        putFilter(filters, ProductFacet.FREE_SHIPPING, freeShipping == null ? null : List.of(freeShipping.toString()));
+        return ResponseEntity.ok(service.filterProducts(filters,
+                offset != null ? offset : 0,
+                limit != null ? limit : apiProperties.getDefaultPageSize()));
+    }
+
+    /**
+     * Consulta por rango de un campo numérico y orden por ese u otro campo.
+     * <p>
+     * Los campos son {@code price}, {@code discountPrice},
+     * {@code discountPercentage} y {@code rating}. Por ejemplo
+     * {@code ?field=price&min=100&max=500&sort=discountPercentage&order=desc}
+     * (precio entre 100 y 500, mayor descuento primero) o
+     * {@code ?sort=rating&order=desc} (mejor calificados primero). Sin
+     * {@code sort} se ordena por {@code field}. Los productos sin el valor de
+     * orden van al final; la paginación y las cabeceras son las del listado.
+     * </p>
+     *
+     * @param field  campo del rango; si se omite no se filtra.
+     * @param min    límite inferior inclusivo.
+     * @param max    límite superior inclusivo.
+     * @param sort   campo de orden; por defecto {@code field} o {@code price}.
+     * @param order  {@code asc} (por defecto) o {@code desc}.
+     * @param offset posición del primer resultado.
+     * @param limit  cantidad de resultados.
+     * @param cursor cursor opaco devuelto por una página anterior; tiene prioridad sobre {@code offset}.
+     * @param fields campos a incluir, separados por comas.
+     * @return una respuesta HTTP ({@code 200 OK}) con los productos de la página.
+     * @throws ResponseStatusException con {@code 400} si algún campo u orden es desconocido o el rango es inválido.
+     */
+    @Operation(
+            summary = "Consultar productos por rango y orden",
+            description = "Filtra por rango de precio, precio con descuento, porcentaje de descuento o calificación "
+                    + "y ordena por cualquiera de esos campos"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Productos en el orden pedido",
+            content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = Product.class))
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Campo u orden desconocido, rango o paginación inválidos",
+            content = @Content
+    )
+    @GetMapping(value = "/range", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> rangeQuery(
+            @Parameter(description = "Campo del rango", example = "price") @RequestParam(required = false) String field,
+            @Parameter(description = "Mínimo inclusivo") @RequestParam(required = false) Double min,
+            @Parameter(description = "Máximo inclusivo") @RequestParam(required = false) Double max,
+            @Parameter(description = "Campo de orden", example = "discountPercentage") @RequestParam(required = false) String sort,
+            @Parameter(description = "Dirección del orden: asc o desc") @RequestParam(defaultValue = "asc") String order,
+            @Parameter(description = "Posición del primer resultado") @RequestParam(required = false) Integer offset,
+            @Parameter(description = "Cantidad de resultados") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields) {
+        NumericField rangeField = field != null ? numericField(field) : null;
+        NumericField sortField = sort != null ? numericField(sort) : (rangeField != null ? rangeField : NumericField.PRICE);
+        if (!order.equals("asc") && !order.equals("desc")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El orden debe ser asc o desc");
+        }
+        int start = cursor != null ? PageCursor.decode(cursor) : (offset != null ? offset : 0);
+        int size = limit != null ? limit : apiProperties.getDefaultPageSize();
+        RangeQuery query = new RangeQuery(rangeField, min, max, sortField, order.equals("desc"));
+        return pageResponse(service.rangeQuery(query, start, size), size, fields);
+    }
+
+    private static NumericField numericField(String name) {
+        try {
+            return NumericField.fromParam(name);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static void putFilter(Map<ProductFacet, List<String>> filters, ProductFacet facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.put(facet, values);
+        }
+    }
+
+    /**
+     * Arma la respuesta de una página con las cabeceras de total y de página siguiente.
+     */
+    private ResponseEntity<?> pageResponse(ProductPage page, int size, String fields) {
+        return pageResponse(page, size, fields, null);
+    }
+
+    /**
+     * Igual que {@link #pageResponse(ProductPage, int, String)}, en el formato
+     * negociado; {@code null} si el endpoint sólo produce JSON.
+     */
+    private ResponseEntity<?> pageResponse(ProductPage page, int size, String fields, ResponseFormat format) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotal()));
+        if (!page.isTotalExact()) {
+            response.header(TOTAL_ESTIMATED_HEADER, "true");
+        }
+        if (format != null) {
+            response.contentType(format.mediaType()).varyBy(HttpHeaders.ACCEPT);
+        } else {
+            format = ResponseFormat.JSON;
+        }
+        if (page.hasNext()) {
+            String next = PageCursor.encode(page.nextOffset());
+            String link = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("offset")
+                    .replaceQueryParam("cursor", next)
+                    .replaceQueryParam("limit", size)
+                    .toUriString();
+            response.header(NEXT_CURSOR_HEADER, next)
+                    .header(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return response.body(project(page.getItems(), fields, format));
+    }
+
+    /**
+     * Aplica la proyección {@code fields} a la lista: si se pidió, la serializa
+     * con el writer compilado en el formato negociado y con el stock en vivo;
+     * si no, la deja para el message converter de ese formato, que también lo
+     * escribe (ver {@code MessageConvertersConfiguration}).
+     */
+    private Object project(List<Product> products, String fields, ResponseFormat format) {
+        if (!ProductProjections.isRequested(fields)) {
+            return products;
+        }
+        ObjectWriter writer = projections.writerFor(fields).withAttribute(LiveStockModule.INVENTORY, inventory);
+        return toJson(format.writer(writer), products);
+    }
+
+    private static byte[] toJson(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializando la respuesta", e);
+        }
+    }
+
+    /**
+     * Obtiene varios productos por ID en una sola petición.
+     * <p>
+     * Los IDs se reciben separados por comas ({@code ?ids=1001,1002}) o repitiendo
+     * el parámetro. Los que no existen se informan en {@code missingIds} sin que
+     * el lote falle.
+     * </p>
+     *
+     * @param ids identificadores a consultar.
+     * @return una respuesta HTTP ({@code 200 OK}) con los productos encontrados y los IDs inexistentes.
+     * @throws ResponseStatusException con {@code 400} si no hay IDs válidos o se supera el máximo por lote.
+     */
+    @Operation(
+            summary = "Obtener varios productos por ID",
+            description = "Devuelve en una sola respuesta los productos encontrados y la lista de IDs inexistentes"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Resultado del lote",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProductBatch.class),
+                    examples = @ExampleObject(
+                            value = "{\"items\":[{\"id\":\"1001\",\"name\":\"Reloj Casio Vintage\"}],\"missingIds\":[\"NO_EXISTE\"]}"
+                    )
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "Lote vacío o demasiado grande",
+            content = @Content
+    )
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, ResponseFormat.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<ProductBatch> getProductsByIds(
+            @Parameter(description = "IDs separados por comas") @RequestParam List<String> ids) {
+        return ResponseEntity.ok(service.getProductsByIds(ids));
+    }
+
+    /**
+     * Escribe el catálogo completo en formato NDJSON (un producto por línea)
+     * de forma incremental: cada producto se serializa y se envía al cliente
+     * sin materializar el listado completo ni su representación en memoria.
+     * Cada producto lleva su stock en vivo.
+     *
+     * @param fields campos a incluir de cada producto, separados por comas.
+     * @return cuerpo en streaming con todos los productos.
+     */
+    @Operation(
+            summary = "Listar productos en streaming",
+            description = "Devuelve el catálogo completo como NDJSON, escrito producto a producto"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Productos en formato NDJSON",
+            content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Product.class))
+    )
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts(
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields) {
+        ObjectWriter writer = (ProductProjections.isRequested(fields)
+                ? projections.writerFor(fields) : mapper.writerFor(Product.class))
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withAttribute(LiveStockModule.INVENTORY, inventory);
+        Iterator<Product> products = service.productIterator();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                while (products.hasNext()) {
+                    writer.writeValue(generator, products.next());
+                    generator.writeRaw('\n');
+                    if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
     /**
@@ -84,10 +547,36 @@ public class ProductController {
      * Si el producto no existe, se lanza una excepción con estado
      * {@code 404 Not Found}.
      * </p>
+     * <p>
+     * El cuerpo se toma de {@link ProductResponseCache} y se escribe tal cual,
+     * sin serializar el producto en cada petición: se envía la variante gzip
+     * si el cliente la acepta, con su propio {@code ETag} (sufijo {@code -gzip}). Con {@code Accept: application/x-jackson-smile}
+     * o {@code application/cbor} se sirve la codificación binaria cacheada,
+     * sin gzip, y el {@code ETag} lleva el formato.
+     * </p>
+     * <p>
+     * El {@code ETag} es el hash del producto calculado al cargar el catálogo
+     * ({@link ProductVersions}): si {@code If-None-Match} o {@code If-Modified-Since}
+     * coinciden se responde {@code 304 Not Modified} antes de consultar el
+     * servicio o tocar la caché de respuestas.
+     * </p>
+     * <p>
+     * Si se indica {@code fields}, el producto se serializa con la proyección
+     * compilada correspondiente en lugar de usar la caché.
+     * </p>
+     * <p>
+     * {@code availableQuantity} es el stock en vivo de {@link ProductInventory},
+     * escrito sobre el documento sin copiarlo; el {@code ETag} lo incluye.
+     * </p>
      *
-     * @param id identificador único del producto a consultar. No debe ser {@code null}.
-     * @return una respuesta HTTP con el producto encontrado ({@code 200 OK}).
-     * @throws ResponseStatusException si el producto no existe en el sistema.
+     * @param id             identificador único del producto a consultar. No debe ser {@code null}.
+     * @param fields         campos a incluir, separados por comas.
+     * @param accept         cabecera {@code Accept}; elige JSON, Smile o CBOR ({@link ResponseFormat}).
+     * @param acceptEncoding cabecera {@code Accept-Encoding} de la petición, si existe.
+     * @param request        petición, para evaluar las cabeceras condicionales.
+     * @return una respuesta HTTP con el producto encontrado ({@code 200 OK}),
+     *         {@code 304 Not Modified} si el cliente tiene la versión vigente, o una
+     *         respuesta pre-construida {@code 404}/{@code 400} si no existe o el ID es vacío.
      */
     @Operation(
             summary = "Obtener un producto por ID",
@@ -109,12 +598,160 @@ public class ProductController {
             description = "Producto no encontrado",
             content = @Content
     )
-    @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable String id) {
-        Product product = service.getProductById(id);
-        if (product == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Producto no encontrado");
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, ResponseFormat.APPLICATION_SMILE_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<byte[]> getProductById(
+            @PathVariable String id,
+            @Parameter(description = "Campos a incluir, separados por comas") @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            NativeWebRequest request) {
+        // Con versión vigente el ETag ya queda en la respuesta; si no, se deriva del cuerpo
+        ResponseFormat format = ResponseFormat.negotiate(accept);
+        boolean projected = ProductProjections.isRequested(fields);
+        boolean gzip = format == ResponseFormat.JSON && !projected && acceptsGzip(acceptEncoding);
+        int stock = inventory.availableQuantity(id);
+        String version = versions.productETag(id);
+        String etag = format.etag(withStock(version, stock));
+        if (gzip) {
+            etag = withSuffix(etag, ProductResponseCache.GZIP_ETAG_SUFFIX);
+        }
+        boolean versioned = etag != null;
+        // La fecha de la versión no refleja los cambios de stock: sólo vale el ETag
+        long lastModified = stock == ProductInventory.UNTRACKED ? versions.lastModified() : -1;
+        if (notModified(request, etag, lastModified, true)) {
+            return null;
+        }
+        ProductLookup lookup = service.findProductById(id);
+        if (!(lookup instanceof ProductLookup.Found found)) {
+            return LOOKUP_FAILURES.get((ProductLookup.Failure) lookup);
+        }
+        Product product = found.product();
+        if (projected) {
+            ObjectWriter writer = projections.writerFor(fields);
+            if (stock != ProductInventory.UNTRACKED) {
+                writer = writer.withAttribute(LiveStockModule.AVAILABLE_QUANTITY, stock);
+            }
+            byte[] json = toJson(format.writer(writer), product);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(format.mediaType())
+                    .varyBy(HttpHeaders.ACCEPT);
+            if (!versioned) {
+                response.eTag(ProductResponseCache.contentETag(json));
+            }
+            return response.body(json);
+        }
+        if (format != ResponseFormat.JSON) {
+            ProductResponseCache.EncodedResponse encoded = responseCache.get(product, version, stock, format);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(format.mediaType())
+                    .varyBy(HttpHeaders.ACCEPT);
+            if (!versioned) {
+                response.eTag(encoded.etag());
+            }
+            return response.body(encoded.body());
+        }
+        ProductResponseCache.CachedResponse cached = responseCache.get(product, version, stock);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            if (!versioned) {
+                response.eTag(cached.gzipEtag());
+            }
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.gzip());
+        }
+        if (!versioned) {
+            response.eTag(cached.etag());
+        }
+        return response.body(cached.json());
+    }
+
+    /**
+     * Agrega el stock en vivo a la versión del producto, que sólo cubre el documento cargado.
+     */
+    private static String withStock(String etag, int stock) {
+        return stock == ProductInventory.UNTRACKED ? etag : withSuffix(etag, "-" + stock);
+    }
+
+    /**
+     * Agrega un sufijo dentro de las comillas de un {@code ETag}.
+     */
+    private static String withSuffix(String etag, String suffix) {
+        return etag == null ? null : etag.substring(0, etag.length() - 1) + suffix + "\"";
+    }
+
+    /**
+     * Evalúa {@code If-None-Match} / {@code If-Modified-Since} contra la versión
+     * vigente. Deja en la respuesta el {@code ETag}, el {@code Last-Modified} y
+     * el {@code Cache-Control} configurado, y fija el estado {@code 304} si el
+     * cliente ya tiene esa versión.
+     *
+     * @param etag         {@code ETag} de la versión vigente, o {@code null} si no hay.
+     * @param lastModified fecha de la versión vigente, o {@code -1} para validar sólo el {@code ETag}.
+     * @param detail       si la petición es al detalle (para las métricas).
+     * @return {@code true} si se respondió {@code 304}.
+     */
+    private boolean notModified(NativeWebRequest request, String etag, long lastModified, boolean detail) {
+        if (etag == null) {
+            return false;
+        }
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        String cacheControl = apiProperties.getCacheControl();
+        if (response != null && cacheControl != null && !cacheControl.isBlank()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+        boolean notModified = request.checkNotModified(etag, lastModified);
+        if (conditional) {
+            if (detail) {
+                metrics.recordConditionalDetail(notModified);
+            } else {
+                metrics.recordConditionalList(notModified);
+            }
+        }
+        return notModified;
+    }
+
+    private static Map<ProductLookup.Failure, ResponseEntity<byte[]>> lookupFailures() {
+        Map<ProductLookup.Failure, ResponseEntity<byte[]>> responses = new EnumMap<>(ProductLookup.Failure.class);
+        ObjectMapper errorMapper = new ObjectMapper();
+        for (ProductLookup.Failure failure : ProductLookup.Failure.values()) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", failure.status().value());
+            body.put("error", failure.status().getReasonPhrase());
+            body.put("message", failure.message());
+            try {
+                responses.put(failure, ResponseEntity.status(failure.status())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(errorMapper.writeValueAsBytes(body)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Indica si {@code Accept-Encoding} admite gzip con un peso distinto de cero.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].trim().matches("q=0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
         }
-        return ResponseEntity.ok(product);
+        return false;
     }
 }
@@ -0,0 +1,195 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Proyecciones ("sparse fieldsets") de {@link Product} para el parámetro {@code fields}.
+ *
+ * <p>
+ * Una lista como {@code id,name,price,generalInfo.discountPrice,reviews} se
+ * compila una sola vez en un {@link ObjectWriter} con un filtro de propiedades
+ * que conoce, por cada clase del modelo, qué campos deben escribirse. El writer
+ * se cachea por conjunto de campos normalizado, de modo que las peticiones
+ * siguientes sólo pagan una búsqueda en el mapa: no hay reflexión ni
+ * compilación por petición.
+ * </p>
+ *
+ * <p>
+ * Los nombres válidos se obtienen de la introspección de Jackson sobre el
+ * modelo al arrancar; un campo desconocido produce {@code 400 Bad Request}.
+ * Un objeto anidado sin subcampos ({@code reviews}) se incluye completo.
+ * </p>
+ */
+@Component
+public class ProductProjections {
+
+    static final String FILTER_ID = "productProjection";
+
+    /**
+     * Máximo de proyecciones distintas que se conservan compiladas.
+     */
+    static final int MAX_CACHED_PROJECTIONS = 256;
+
+    private final ObjectMapper projectionMapper;
+    private final Map<String, Class<?>> nestedTypes = new HashMap<>();
+    private final Map<Class<?>, Set<String>> knownFields = new HashMap<>();
+    private final ConcurrentMap<String, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * @param mapper mapper de la aplicación; se usa una copia con los filtros de proyección.
+     */
+    public ProductProjections(ObjectMapper mapper) {
+        this.projectionMapper = mapper.copy();
+        Set<String> productFields = introspect(Product.class);
+        knownFields.put(Product.class, productFields);
+        JavaType productType = projectionMapper.constructType(Product.class);
+        for (BeanPropertyDefinition property : projectionMapper.getSerializationConfig()
+                .introspect(productType).findProperties()) {
+            Class<?> type = property.getRawPrimaryType();
+            if (type.getPackage() == Product.class.getPackage()) {
+                nestedTypes.put(property.getName(), type);
+                knownFields.put(type, introspect(type));
+            }
+        }
+        knownFields.keySet().forEach(type -> projectionMapper.addMixIn(type, ProjectionMixin.class));
+    }
+
+    /**
+     * Devuelve el writer compilado para la lista de campos indicada.
+     *
+     * @param fields lista de campos separada por comas (no vacía).
+     * @return writer que sólo escribe los campos seleccionados.
+     * @throws ResponseStatusException con {@code 400} si algún campo no existe.
+     */
+    public ObjectWriter writerFor(String fields) {
+        String key = normalize(fields);
+        ObjectWriter writer = writers.get(key);
+        if (writer != null) {
+            return writer;
+        }
+        writer = compile(key);
+        if (writers.size() < MAX_CACHED_PROJECTIONS) {
+            writers.putIfAbsent(key, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Indica si la petición solicita una proyección.
+     *
+     * @param fields valor del parámetro {@code fields}.
+     * @return {@code true} si contiene al menos un campo.
+     */
+    public static boolean isRequested(String fields) {
+        return fields != null && !fields.isBlank();
+    }
+
+    private static String normalize(String fields) {
+        Set<String> sorted = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!trimmed.isEmpty()) {
+                sorted.add(trimmed);
+            }
+        }
+        return String.join(",", sorted);
+    }
+
+    private ObjectWriter compile(String key) {
+        Map<Class<?>, Set<String>> allowed = new LinkedHashMap<>();
+        Set<String> root = new HashSet<>();
+        allowed.put(Product.class, root);
+        Set<Class<?>> whole = new HashSet<>();
+
+        for (String path : key.split(",")) {
+            // Con límite negativo "a." o "." dejan segmentos vacíos, que se rechazan
+            String[] parts = path.split("\\.", -1);
+            if (parts.length > 2 || Arrays.asList(parts).contains("")
+                    || !knownFields.get(Product.class).contains(parts[0])) {
+                throw invalidField(path);
+            }
+            root.add(parts[0]);
+            Class<?> nested = nestedTypes.get(parts[0]);
+            if (parts.length == 2) {
+                if (nested == null || !knownFields.get(nested).contains(parts[1])) {
+                    throw invalidField(path);
+                }
+                allowed.computeIfAbsent(nested, type -> new HashSet<>()).add(parts[1]);
+            } else if (nested != null) {
+                whole.add(nested);
+            }
+        }
+        // Un objeto pedido completo no lleva filtro de campos
+        whole.forEach(allowed::remove);
+
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .addFilter(FILTER_ID, new ProjectionFilter(Map.copyOf(allowed)));
+        return projectionMapper.writer(filters);
+    }
+
+    private Set<String> introspect(Class<?> type) {
+        Set<String> names = new HashSet<>();
+        for (BeanPropertyDefinition property : projectionMapper.getSerializationConfig()
+                .introspect(projectionMapper.constructType(type)).findProperties()) {
+            names.add(property.getName());
+        }
+        return Set.copyOf(names);
+    }
+
+    private ResponseStatusException invalidField(String path) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Campo desconocido en fields: " + path + ". Campos válidos: "
+                        + new TreeSet<>(knownFields.get(Product.class)));
+    }
+
+    @JsonFilter(FILTER_ID)
+    private interface ProjectionMixin {
+    }
+
+    /**
+     * Filtro que escribe sólo los campos permitidos para la clase del objeto
+     * actual; las clases sin entrada se escriben completas.
+     */
+    private static final class ProjectionFilter extends SimpleBeanPropertyFilter {
+
+        private final Map<Class<?>, Set<String>> allowed;
+
+        private ProjectionFilter(Map<Class<?>, Set<String>> allowed) {
+            this.allowed = allowed;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            Set<String> fields = allowed.get(pojo.getClass());
+            if (fields == null || fields.contains(writer.getName())) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+    }
+}
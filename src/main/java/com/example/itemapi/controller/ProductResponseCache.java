@@ -0,0 +1,267 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.index.ProductVersions;
+import com.example.itemapi.inventory.LiveStockModule;
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas pre-serializadas para el detalle de producto.
+ *
+ * <p>
+ * Como los productos son de solo lectura una vez cargados, su representación
+ * JSON (y su variante gzip) se calcula una única vez por versión de producto y
+ * se reutiliza en cada petición, evitando pasar por los message converters de
+ * Spring. Cada entrada incluye un {@code ETag} fuerte derivado del contenido y
+ * otro, con el sufijo {@code -gzip}, para el cuerpo comprimido.
+ * </p>
+ *
+ * <p>
+ * Las entradas se indexan por ID y versión del producto ({@link ProductVersions}),
+ * no por identidad: los repositorios que materializan un {@link Product} por
+ * consulta (snapshot, columnar) siguen acertando. Sin versión (fuentes vivas o
+ * peticiones condicionales desactivadas) la entrada se valida comparando el
+ * documento con el que se generó, que cuesta mucho menos que volver a
+ * serializarlo; nunca se sirve una representación obsoleta.
+ * </p>
+ *
+ * <p>
+ * Si el stock en vivo difiere del {@code availableQuantity} del documento, se
+ * sirve una variante serializada con ese stock ({@link LiveStockModule}). Los
+ * formatos binarios ({@link ResponseFormat#SMILE}, {@link ResponseFormat#CBOR})
+ * se codifican al primer pedido en ese formato, sin variante gzip.
+ * </p>
+ *
+ * <p>
+ * La caché es de Caffeine y está acotada por el tamaño de los cuerpos
+ * ({@code api.products.response-cache-max-size}); se vacía con cada recarga
+ * del catálogo.
+ * </p>
+ */
+@Component
+public class ProductResponseCache {
+
+    /**
+     * Sufijo del {@code ETag} del cuerpo comprimido con gzip.
+     */
+    public static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+    /**
+     * Costo fijo aproximado de una entrada (clave, registro y arreglos), sumado a sus cuerpos.
+     */
+    private static final int ENTRY_OVERHEAD = 160;
+
+    private final ObjectMapper mapper;
+    private final Cache<Key, Object> entries;
+
+    /**
+     * @param mapper        mapper de la aplicación, el mismo que usan los message converters.
+     * @param apiProperties configuración de la API ({@code api.products.response-cache-max-size}).
+     */
+    public ProductResponseCache(ObjectMapper mapper, ApiProperties apiProperties) {
+        this.mapper = mapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(apiProperties.getResponseCacheMaxSize().toBytes())
+                .weigher((Key key, Object entry) -> weight(entry))
+                .build();
+    }
+
+    /**
+     * Devuelve la respuesta pre-serializada del producto con el stock del documento.
+     *
+     * @param product producto a servir.
+     * @return representación cacheada del producto.
+     */
+    public CachedResponse get(Product product) {
+        return get(product, null, ProductInventory.UNTRACKED);
+    }
+
+    /**
+     * Devuelve la respuesta pre-serializada del producto con su stock en vivo,
+     * calculándola si aún no existe o si pertenece a otra versión del producto.
+     *
+     * @param product           producto a servir.
+     * @param version           versión del producto ({@link ProductVersions#productETag(String)}),
+     *                          o {@code null} si no hay una vigente.
+     * @param availableQuantity stock en vivo, o {@link ProductInventory#UNTRACKED}
+     *                          para servir el del documento.
+     * @return representación cacheada del producto con ese stock.
+     */
+    public CachedResponse get(Product product, String version, int availableQuantity) {
+        Key key = key(product, version, availableQuantity, ResponseFormat.JSON);
+        CachedResponse cached = (CachedResponse) entries.getIfPresent(key);
+        if (cached != null && (version != null || sameDocument(cached.product(), product))) {
+            return cached;
+        }
+        CachedResponse fresh = serialize(product, writer(key.availableQuantity()), key.availableQuantity());
+        entries.put(key, fresh);
+        return fresh;
+    }
+
+    /**
+     * Devuelve el producto pre-codificado en un formato binario, con su stock en vivo.
+     *
+     * @param product           producto a servir.
+     * @param version           versión del producto ({@link ProductVersions#productETag(String)}),
+     *                          o {@code null} si no hay una vigente.
+     * @param availableQuantity stock en vivo, o {@link ProductInventory#UNTRACKED}
+     *                          para servir el del documento.
+     * @param format            {@link ResponseFormat#SMILE} o {@link ResponseFormat#CBOR}.
+     * @return representación cacheada del producto en ese formato.
+     */
+    public EncodedResponse get(Product product, String version, int availableQuantity, ResponseFormat format) {
+        if (format == ResponseFormat.JSON) {
+            throw new IllegalArgumentException("Formato sin caché binaria: " + format);
+        }
+        Key key = key(product, version, availableQuantity, format);
+        EncodedResponse cached = (EncodedResponse) entries.getIfPresent(key);
+        if (cached != null && (version != null || sameDocument(cached.product(), product))) {
+            return cached;
+        }
+        EncodedResponse fresh;
+        try {
+            byte[] body = format.writer(writer(key.availableQuantity())).writeValueAsBytes(product);
+            fresh = new EncodedResponse(product, body, contentETag(body), key.availableQuantity());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error codificando el producto " + product.getId(), e);
+        }
+        entries.put(key, fresh);
+        return fresh;
+    }
+
+    /**
+     * {@code ETag} fuerte derivado del cuerpo, para las respuestas sin versión
+     * de producto vigente. Tiene el formato de {@code ShallowEtagHeaderFilter}
+     * de Spring ({@code "0"} seguido del MD5 en hexadecimal, entre comillas):
+     * el {@code 0} es el prefijo que ese filtro usa para sus {@code ETag}, de
+     * modo que un cuerpo produce el mismo valor se calcule aquí o en el filtro.
+     *
+     * @param body cuerpo de la respuesta.
+     * @return {@code ETag} entre comillas.
+     */
+    public static String contentETag(byte[] body) {
+        return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    /**
+     * Descarta todas las entradas, por ejemplo tras recargar el catálogo.
+     */
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Libera las respuestas de la versión anterior del catálogo en cuanto se
+     * publica una nueva, en lugar de esperar a que se desalojen.
+     */
+    @EventListener(CatalogReloadedEvent.class)
+    public void onCatalogReloaded() {
+        clear();
+    }
+
+    /**
+     * Cantidad de respuestas cacheadas, contando cada variante de stock y formato.
+     *
+     * @return número de entradas.
+     */
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    /**
+     * El stock en vivo igual al del documento se sirve con la entrada del documento.
+     */
+    private static Key key(Product product, String version, int availableQuantity, ResponseFormat format) {
+        int quantity = Objects.equals(product.getAvailableQuantity(), availableQuantity)
+                ? ProductInventory.UNTRACKED : availableQuantity;
+        return new Key(product.getId(), version, quantity, format);
+    }
+
+    private static boolean sameDocument(Product cached, Product product) {
+        return cached == product || cached.equals(product);
+    }
+
+    private ObjectWriter writer(int availableQuantity) {
+        ObjectWriter writer = mapper.writer();
+        return availableQuantity == ProductInventory.UNTRACKED
+                ? writer : writer.withAttribute(LiveStockModule.AVAILABLE_QUANTITY, availableQuantity);
+    }
+
+    private static int weight(Object entry) {
+        if (entry instanceof CachedResponse cached) {
+            return ENTRY_OVERHEAD + cached.json().length + cached.gzip().length;
+        }
+        return ENTRY_OVERHEAD + ((EncodedResponse) entry).body().length;
+    }
+
+    private static CachedResponse serialize(Product product, ObjectWriter writer, int availableQuantity) {
+        try {
+            byte[] json = writer.writeValueAsBytes(product);
+            String etag = contentETag(json);
+            String gzipEtag = etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"";
+            return new CachedResponse(product, json, gzip(json), etag, gzipEtag, availableQuantity);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Error serializando el producto " + product.getId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Clave de una respuesta: el formato determina el tipo de la entrada.
+     */
+    private record Key(String id, String version, int availableQuantity, ResponseFormat format) {
+    }
+
+    /**
+     * Representación pre-serializada de un producto.
+     *
+     * @param product           producto del que se generó la respuesta.
+     * @param json              cuerpo JSON en UTF-8.
+     * @param gzip              cuerpo JSON comprimido con gzip.
+     * @param etag              {@code ETag} fuerte (entre comillas) derivado del JSON.
+     * @param gzipEtag          {@code ETag} fuerte del cuerpo comprimido.
+     * @param availableQuantity stock en vivo con el que se serializó, o
+     *                          {@link ProductInventory#UNTRACKED} si es el del documento.
+     */
+    public record CachedResponse(Product product, byte[] json, byte[] gzip, String etag, String gzipEtag,
+                                 int availableQuantity) {
+    }
+
+    /**
+     * Representación pre-codificada de un producto en un formato binario.
+     *
+     * @param product           producto del que se generó la respuesta.
+     * @param body              cuerpo codificado.
+     * @param etag              {@code ETag} fuerte (entre comillas) derivado del cuerpo.
+     * @param availableQuantity stock en vivo con el que se codificó, o
+     *                          {@link ProductInventory#UNTRACKED} si es el del documento.
+     */
+    public record EncodedResponse(Product product, byte[] body, String etag, int availableQuantity) {
+    }
+}
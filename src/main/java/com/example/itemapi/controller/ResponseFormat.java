@@ -0,0 +1,116 @@
+package com.example.itemapi.controller;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Codificaciones de las respuestas de productos, elegidas según {@code Accept}.
+ *
+ * <p>
+ * Los formatos binarios ({@code application/x-jackson-smile} y
+ * {@code application/cbor}) están pensados para los servicios internos que
+ * consumen el catálogo en bloque: escriben los {@code Double} como 8 bytes en
+ * lugar de texto, y Smile además reutiliza los nombres de campo y las cadenas
+ * cortas repetidas. Usan las mismas clases del modelo y el mismo
+ * {@link ObjectWriter} que el JSON (proyecciones y stock en vivo incluidos):
+ * sólo cambia la fábrica de generadores.
+ * </p>
+ */
+public enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON, null, ""),
+    SMILE(MediaType.parseMediaType(ResponseFormat.APPLICATION_SMILE_VALUE), new SmileFactory(), "-smile"),
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory(), "-cbor");
+
+    /**
+     * Tipo de contenido de Smile, el JSON binario de Jackson.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+    private final String etagSuffix;
+
+    ResponseFormat(MediaType mediaType, JsonFactory factory, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+        this.etagSuffix = etagSuffix;
+    }
+
+    /**
+     * Elige el formato de la respuesta: el de mayor calidad en {@code Accept}
+     * y, a igual calidad, el nombrado explícitamente antes que uno cubierto por
+     * un comodín. Sin {@code Accept}, con un valor inválido o sin coincidencias
+     * se responde JSON.
+     *
+     * @param accept valor de la cabecera {@code Accept}, o {@code null}.
+     * @return formato negociado.
+     */
+    public static ResponseFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        ResponseFormat best = JSON;
+        double bestQuality = -1;
+        boolean bestExact = false;
+        for (ResponseFormat format : values()) {
+            for (MediaType type : accepted) {
+                if (!type.includes(format.mediaType)) {
+                    continue;
+                }
+                double quality = type.getQualityValue();
+                boolean exact = !type.isWildcardType() && !type.isWildcardSubtype();
+                if (quality > 0 && (quality > bestQuality || (quality == bestQuality && exact && !bestExact))) {
+                    best = format;
+                    bestQuality = quality;
+                    bestExact = exact;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return tipo de contenido de la respuesta.
+     */
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Adapta un writer JSON a este formato, conservando su configuración,
+     * filtros y atributos.
+     *
+     * @param json writer configurado para JSON.
+     * @return el mismo writer si el formato es JSON; si no, uno que genera este formato.
+     */
+    public ObjectWriter writer(ObjectWriter json) {
+        return factory == null ? json : json.with(factory);
+    }
+
+    /**
+     * Distingue el {@code ETag} de cada representación: el cuerpo binario de
+     * una misma versión no es el mismo que el JSON.
+     *
+     * @param etag {@code ETag} de la versión en JSON, entre comillas, o {@code null}.
+     * @return {@code ETag} de la versión en este formato.
+     */
+    public String etag(String etag) {
+        if (etag == null || etagSuffix.isEmpty()) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + etagSuffix + "\"";
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.itemapi.index;
+
+/**
+ * Filtro de Bloom sobre cadenas, dimensionado a partir de la cantidad de
+ * elementos esperada y la tasa de falsos positivos deseada.
+ *
+ * <p>
+ * Usa {@code k} posiciones derivadas por doble hashing (Kirsch-Mitzenmacher)
+ * de un único hash de 64 bits (FNV-1a sobre los caracteres, con mezcla final
+ * de MurmurHash3), de modo que consultar no reserva memoria. Una respuesta
+ * negativa de {@link #mightContain(String)} es definitiva; una positiva puede
+ * ser un falso positivo.
+ * </p>
+ */
+final class BloomFilter {
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+
+    private BloomFilter(long bits, int hashes) {
+        this.words = new long[(int) ((bits + 63) >>> 6)];
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Crea un filtro vacío con el tamaño óptimo para {@code expected} elementos:
+     * {@code m = -n ln(p) / ln(2)^2} bits y {@code k = m/n ln(2)} funciones hash.
+     *
+     * @param expected cantidad de elementos que se insertarán.
+     * @param fpp      tasa de falsos positivos buscada, en {@code (0, 1)}.
+     * @return filtro vacío.
+     */
+    static BloomFilter create(int expected, double fpp) {
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1: " + fpp);
+        }
+        int n = Math.max(1, expected);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = position(h1 + (long) i * h2);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = position(h1 + (long) i * h2);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long position(long combined) {
+        return (combined & Long.MAX_VALUE) % bits;
+    }
+
+    /**
+     * @return cantidad de bits del filtro.
+     */
+    long bitSize() {
+        return bits;
+    }
+
+    /**
+     * @return cantidad de funciones hash por elemento.
+     */
+    int hashes() {
+        return hashes;
+    }
+
+    /**
+     * @return cantidad de bits en uno.
+     */
+    long bitCount() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada según la ocupación real del filtro:
+     * {@code (bits en uno / bits)^k}.
+     *
+     * @return probabilidad de que un elemento ausente dé positivo.
+     */
+    double expectedFpp() {
+        return Math.pow((double) bitCount() / bits, hashes);
+    }
+
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Product;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice inmutable de facetas sobre el catálogo basado en bitmaps comprimidos
+ * ({@link RoaringBitmap}).
+ *
+ * <p>
+ * Por cada {@link ProductFacet} y cada valor distinto guarda el conjunto de
+ * ordinales de los productos que lo tienen. Un filtro combina los valores de
+ * una misma faceta con OR y las facetas entre sí con AND, de modo que
+ * resolverlo son unas pocas uniones e intersecciones de bitmaps en lugar de
+ * recorrer el catálogo.
+ * </p>
+ *
+ * <p>
+ * Para los conteos, cada faceta guarda además una columna {@code char[]} con el
+ * valor de cada producto. Si el conjunto sobre el que se cuenta es chico, se
+ * recorre una vez y se acumula por columna; si es grande, se usa
+ * {@link RoaringBitmap#andCardinality} contra el bitmap de cada valor.
+ * </p>
+ *
+ * <p>
+ * Los valores se comparan sin distinguir mayúsculas, acentos ni espacios en
+ * los extremos ({@code "Acero inoxidable"} = {@code "acero inoxidáble "}); en
+ * los conteos se informa la forma en que apareció por primera vez en el catálogo.
+ * </p>
+ */
+public final class FacetIndex {
+
+    /**
+     * Se cuenta recorriendo el conjunto cuando tiene menos de
+     * {@code 1/SCAN_RATIO} del catálogo.
+     */
+    private static final int SCAN_RATIO = 8;
+
+    private final Map<ProductFacet, Facet> facets;
+    private final RoaringBitmap all;
+    private final int documents;
+
+    private FacetIndex(Map<ProductFacet, Facet> facets, RoaringBitmap all, int documents) {
+        this.facets = facets;
+        this.all = all;
+        this.documents = documents;
+    }
+
+    /**
+     * Construye el índice; el ordinal de cada producto es su posición en {@code products}.
+     *
+     * @param products productos a indexar.
+     * @return índice inmutable.
+     */
+    public static FacetIndex build(List<Product> products) {
+        Map<ProductFacet, Map<String, Value>> values = new EnumMap<>(ProductFacet.class);
+        Map<ProductFacet, char[]> columns = new EnumMap<>(ProductFacet.class);
+        for (ProductFacet facet : ProductFacet.values()) {
+            values.put(facet, new LinkedHashMap<>());
+            columns.put(facet, new char[products.size()]);
+        }
+        for (int ordinal = 0; ordinal < products.size(); ordinal++) {
+            Product product = products.get(ordinal);
+            for (ProductFacet facet : ProductFacet.values()) {
+                String raw = facet.valueOf(product);
+                if (raw == null || raw.isBlank()) {
+                    continue;
+                }
+                Map<String, Value> facetValues = values.get(facet);
+                Value value = facetValues.computeIfAbsent(normalize(raw),
+                        key -> new Value(facetValues.size(), raw.trim(), new RoaringBitmap()));
+                value.ordinals().add(ordinal);
+                if (value.id() < Character.MAX_VALUE) {
+                    columns.get(facet)[ordinal] = (char) (value.id() + 1);
+                }
+            }
+        }
+
+        Map<ProductFacet, Facet> facets = new EnumMap<>(ProductFacet.class);
+        values.forEach((facet, byKey) -> {
+            byKey.values().forEach(value -> value.ordinals().runOptimize());
+            // Con más valores de los que entran en un char, la columna no sirve para contar
+            char[] column = byKey.size() < Character.MAX_VALUE ? columns.get(facet) : null;
+            facets.put(facet, new Facet(byKey, byKey.values().toArray(new Value[0]), column));
+        });
+        RoaringBitmap all = new RoaringBitmap();
+        all.add(0L, products.size());
+        return new FacetIndex(facets, all, products.size());
+    }
+
+    /**
+     * Aplica un filtro y calcula los conteos por faceta.
+     *
+     * <p>
+     * Los conteos de cada faceta se calculan sobre el resultado de los filtros
+     * de las <em>demás</em> facetas, de modo que muestran cuántos productos habría
+     * al agregar o cambiar un valor de esa faceta (facetas disyuntivas).
+     * </p>
+     *
+     * @param filters valores pedidos por faceta; una faceta sin valores no filtra.
+     * @return ordinales que cumplen el filtro y conteos por faceta y valor.
+     */
+    public Result filter(Map<ProductFacet, ? extends Collection<String>> filters) {
+        Map<ProductFacet, RoaringBitmap> selections = new EnumMap<>(ProductFacet.class);
+        filters.forEach((facet, values) -> {
+            if (values != null && !values.isEmpty()) {
+                selections.put(facet, union(facets.get(facet), values));
+            }
+        });
+
+        RoaringBitmap matches = intersect(selections, null);
+        Map<ProductFacet, Map<String, Integer>> counts = new EnumMap<>(ProductFacet.class);
+        for (ProductFacet facet : ProductFacet.values()) {
+            RoaringBitmap base = selections.containsKey(facet) ? intersect(selections, facet) : matches;
+            counts.put(facet, count(facets.get(facet), base));
+        }
+        return new Result(matches, counts);
+    }
+
+    /**
+     * Memoria aproximada ocupada por el índice: bitmaps y columnas de valores.
+     *
+     * @return tamaño en bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (Facet facet : facets.values()) {
+            for (Value value : facet.values()) {
+                bytes += value.ordinals().getLongSizeInBytes();
+            }
+            bytes += facet.column() == null ? 0 : (long) facet.column().length * Character.BYTES;
+        }
+        return bytes;
+    }
+
+    private Map<String, Integer> count(Facet facet, RoaringBitmap base) {
+        int[] counts = new int[facet.values().length];
+        if (base == all) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = facet.values()[i].ordinals().getCardinality();
+            }
+        } else if (facet.column() != null && (long) base.getCardinality() * SCAN_RATIO < documents) {
+            char[] column = facet.column();
+            PeekableIntIterator it = base.getIntIterator();
+            while (it.hasNext()) {
+                int value = column[it.next()];
+                if (value != 0) {
+                    counts[value - 1]++;
+                }
+            }
+        } else {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = RoaringBitmap.andCardinality(base, facet.values()[i].ordinals());
+            }
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(facet.values()[i].label(), counts[i]);
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap union(Facet facet, Collection<String> values) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(values.size());
+        for (String value : values) {
+            Value indexed = value == null ? null : facet.byKey().get(normalize(value));
+            if (indexed != null) {
+                bitmaps.add(indexed.ordinals());
+            }
+        }
+        return RoaringBitmap.or(bitmaps.iterator());
+    }
+
+    /**
+     * Intersección de las selecciones, omitiendo la de {@code excluded}; si no
+     * queda ninguna devuelve el bitmap con todo el catálogo (sin copiarlo).
+     */
+    private RoaringBitmap intersect(Map<ProductFacet, RoaringBitmap> selections, ProductFacet excluded) {
+        RoaringBitmap result = null;
+        for (Map.Entry<ProductFacet, RoaringBitmap> entry : selections.entrySet()) {
+            if (entry.getKey() == excluded) {
+                continue;
+            }
+            if (result == null) {
+                result = entry.getValue().clone();
+            } else {
+                result.and(entry.getValue());
+            }
+        }
+        return result == null ? all : result;
+    }
+
+    static String normalize(String value) {
+        String trimmed = value.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(TextNormalizer.fold(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Resultado de un filtro.
+     *
+     * @param ordinals ordinales de los productos que cumplen el filtro, en orden de carga;
+     *                 puede ser compartido por el índice, por lo que no debe modificarse.
+     * @param counts   conteos por faceta y valor; sólo se incluyen valores con al menos un producto.
+     */
+    public record Result(RoaringBitmap ordinals, Map<ProductFacet, Map<String, Integer>> counts) {
+    }
+
+    /**
+     * Valores de una faceta por clave normalizada y por identificador, y
+     * columna con el identificador + 1 de cada producto ({@code 0} = sin valor).
+     */
+    private record Facet(Map<String, Value> byKey, Value[] values, char[] column) {
+    }
+
+    /**
+     * Valor de una faceta: identificador, forma original y productos que lo tienen.
+     */
+    private record Value(int id, String label, RoaringBitmap ordinals) {
+    }
+}
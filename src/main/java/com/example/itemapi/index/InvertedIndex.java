@@ -0,0 +1,414 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Índice invertido inmutable sobre los textos de los productos.
+ *
+ * <p>
+ * Para cada término normalizado por {@link TextNormalizer} guarda una lista de
+ * publicación con los ordinales de los productos que lo contienen, en orden
+ * creciente, como un {@code int[]} junto con un {@code short[]} paralelo con el
+ * peso del término en cada producto. El peso suma las apariciones según el
+ * campo: {@code name} ×{@value #NAME_WEIGHT}, {@code brand}
+ * ×{@value #BRAND_WEIGHT}, {@code characteristics.model} y {@code line}
+ * ×{@value #MODEL_WEIGHT} y {@code description} ×1.
+ * </p>
+ *
+ * <p>
+ * Los términos muy frecuentes (presentes en más de un sexto del catálogo) se
+ * guardan en cambio como un {@code byte[]} denso indexado por ordinal, que ocupa
+ * menos que la lista y responde la pertenencia en tiempo constante.
+ * </p>
+ *
+ * <p>
+ * Una consulta exige todos sus términos: se recorre la lista más corta y se
+ * avanza sobre las demás con búsqueda exponencial (o se consulta su arreglo
+ * denso), de modo que el costo depende del término más selectivo y no del
+ * tamaño del catálogo. Cada coincidencia
+ * puntúa {@code Σ idf(t) · peso(t, p)} y sólo se conservan las {@code k}
+ * mejores en un {@link TopK}; los empates se resuelven por
+ * orden de carga.
+ * </p>
+ *
+ * <p>
+ * La lista más corta se recorre en bloques de {@value #BLOCK_SIZE}. Cada lista
+ * guarda el peso máximo por bloque, y la suma de esas cotas acota el puntaje de
+ * cualquier documento del bloque (block-max): un bloque en el que otro término
+ * no aparece se descarta sin más, y, una vez contadas
+ * {@value #EXACT_TOTAL_THRESHOLD} coincidencias con el top lleno, también uno
+ * cuya cota no supera al peor resultado conservado. Como los bloques se recorren
+ * en orden de carga, a igual puntaje tampoco podrían entrar. Los bloques
+ * descartados por la cota no se cuentan: el total pasa a ser una estimación
+ * ({@link Hits#exactTotal()}).
+ * </p>
+ */
+public final class InvertedIndex {
+
+    static final int NAME_WEIGHT = 4;
+    static final int BRAND_WEIGHT = 3;
+    static final int MODEL_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    /**
+     * Un término pasa a representación densa cuando aparece en más de
+     * {@code 1/DENSE_RATIO} de los productos: a partir de ahí un byte por
+     * producto ocupa menos que un {@code int} más un {@code short} por aparición.
+     */
+    private static final int DENSE_RATIO = 6;
+
+    /**
+     * Cantidad de publicaciones (o de ordinales, en un término denso) que
+     * resume cada cota de {@link Postings#blockMax}.
+     */
+    static final int BLOCK_SIZE = 128;
+
+    /**
+     * Coincidencias que se cuentan exactamente antes de empezar a descartar
+     * bloques: por encima de este total se informa una estimación.
+     */
+    static final int EXACT_TOTAL_THRESHOLD = 10_000;
+
+    private static final int[] NO_HITS = new int[0];
+
+    private final Map<String, Postings> postings;
+    private final int documents;
+
+    private InvertedIndex(Map<String, Postings> postings, int documents) {
+        this.postings = postings;
+        this.documents = documents;
+    }
+
+    /**
+     * Construye el índice sobre la lista de productos; el ordinal de cada
+     * producto es su posición en {@code products}.
+     *
+     * @param products productos a indexar.
+     * @return índice inmutable.
+     */
+    public static InvertedIndex build(List<Product> products) {
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        int[] ordinal = new int[1];
+        PostingSink name = new PostingSink(builders, ordinal, NAME_WEIGHT);
+        PostingSink brand = new PostingSink(builders, ordinal, BRAND_WEIGHT);
+        PostingSink model = new PostingSink(builders, ordinal, MODEL_WEIGHT);
+        PostingSink description = new PostingSink(builders, ordinal, DESCRIPTION_WEIGHT);
+
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            ordinal[0] = i;
+            TextNormalizer.tokenize(product.getName(), name);
+            TextNormalizer.tokenize(product.getBrand(), brand);
+            Characteristics characteristics = product.getCharacteristics();
+            if (characteristics != null) {
+                TextNormalizer.tokenize(characteristics.getModel(), model);
+                TextNormalizer.tokenize(characteristics.getLine(), model);
+            }
+            TextNormalizer.tokenize(product.getDescription(), description);
+        }
+
+        Map<String, Postings> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((term, builder) -> postings.put(term, builder.build(products.size())));
+        return new InvertedIndex(postings, products.size());
+    }
+
+    /**
+     * Busca los productos que contienen todos los términos de la consulta.
+     *
+     * @param query texto de búsqueda.
+     * @param k     cantidad máxima de resultados a devolver.
+     * @return ordinales de los {@code k} mejores productos y total de coincidencias.
+     */
+    public Hits search(String query, int k) {
+        Set<String> terms = TextNormalizer.terms(query);
+        if (terms.isEmpty() || k <= 0) {
+            return new Hits(NO_HITS, 0, true);
+        }
+        Postings[] lists = new Postings[terms.size()];
+        int n = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return new Hits(NO_HITS, 0, true);
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.df, b.df));
+
+        Postings lead = lists[0];
+        TopK top = new TopK(Math.min(k, lead.df));
+        int[] cursors = new int[lists.length];
+        int[] blockCursors = new int[lists.length];
+        // Cota del puntaje de cualquier documento, sumada en el mismo orden que los puntajes
+        float ceiling = 0;
+        for (Postings list : lists) {
+            ceiling += list.idf * list.maxWeight;
+        }
+        int total = 0;
+        long examined = 0;
+        double skipped = 0;
+        int span = lead.dense != null ? documents : lead.df;
+        blocks:
+        for (int from = 0; from < span; from += BLOCK_SIZE) {
+            int to = Math.min(span, from + BLOCK_SIZE);
+            boolean pruning = total >= EXACT_TOTAL_THRESHOLD && top.full();
+            if (pruning && ceiling <= top.minScore()) {
+                skipped += lead.candidates(from, span, documents);
+                break;
+            }
+            int firstDoc = lead.dense != null ? from : lead.docs[from];
+            int lastDoc = lead.dense != null ? to - 1 : lead.docs[to - 1];
+            short leadMax = lead.blockMax[from / BLOCK_SIZE];
+            if (leadMax == 0) {
+                continue;
+            }
+            float bound = lead.idf * leadMax;
+            for (int j = 1; j < lists.length; j++) {
+                Postings other = lists[j];
+                int max = other.maxWeight(firstDoc, lastDoc, blockCursors, j);
+                if (max < 0) {
+                    break blocks;
+                }
+                if (max == 0) {
+                    // Ningún documento del bloque contiene el término: se descarta sin estimar
+                    continue blocks;
+                }
+                bound += other.idf * max;
+            }
+            if (pruning && bound <= top.minScore()) {
+                skipped += lead.candidates(from, to, documents);
+                continue;
+            }
+            candidates:
+            for (int i = from; i < to; i++) {
+                int doc;
+                float score;
+                if (lead.dense != null) {
+                    if (lead.dense[i] == 0) {
+                        continue;
+                    }
+                    doc = i;
+                    score = lead.idf * lead.dense[i];
+                } else {
+                    doc = lead.docs[i];
+                    score = lead.idf * lead.weights[i];
+                }
+                examined++;
+                for (int j = 1; j < lists.length; j++) {
+                    Postings other = lists[j];
+                    if (other.dense != null) {
+                        if (other.dense[doc] == 0) {
+                            continue candidates;
+                        }
+                        score += other.idf * other.dense[doc];
+                        continue;
+                    }
+                    int pos = advance(other.docs, cursors[j], doc);
+                    cursors[j] = pos;
+                    if (pos == other.docs.length) {
+                        break blocks;
+                    }
+                    if (other.docs[pos] != doc) {
+                        continue candidates;
+                    }
+                    score += other.idf * other.weights[pos];
+                }
+                total++;
+                top.offer(doc, score);
+            }
+        }
+        if (skipped == 0) {
+            return new Hits(top.sorted(), total, true);
+        }
+        // Los bloques descartados se estiman con la proporción de coincidencias de los evaluados
+        long estimate = Math.round(total + skipped * total / Math.max(1, examined));
+        return new Hits(top.sorted(), (int) Math.min(Integer.MAX_VALUE, estimate), false);
+    }
+
+    /**
+     * Cantidad de términos distintos indexados.
+     *
+     * @return tamaño del vocabulario.
+     */
+    public int terms() {
+        return postings.size();
+    }
+
+    /**
+     * Cantidad de productos indexados.
+     *
+     * @return número de documentos.
+     */
+    public int documents() {
+        return documents;
+    }
+
+    /**
+     * Primera posición {@code >= from} de {@code docs} cuyo valor es {@code >= target},
+     * o {@code docs.length} si no existe. Avanza con saltos exponenciales y
+     * termina con una búsqueda binaria en el último tramo.
+     */
+    static int advance(int[] docs, int from, int target) {
+        int bound = 1;
+        int low = from;
+        while (from + bound < docs.length && docs[from + bound] < target) {
+            low = from + bound;
+            bound <<= 1;
+        }
+        if (low < docs.length && docs[low] >= target) {
+            return low;
+        }
+        int index = Arrays.binarySearch(docs, low, Math.min(from + bound + 1, docs.length), target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param ordinals   ordinales de los mejores productos, de mayor a menor puntaje.
+     * @param total      cantidad de productos que contienen todos los términos;
+     *                   estimada si {@code exactTotal} es {@code false}.
+     * @param exactTotal si se evaluaron todos los candidatos. Pasadas
+     *                   {@value #EXACT_TOTAL_THRESHOLD} coincidencias se descartan
+     *                   los bloques que no pueden entrar en el top y el resto se estima.
+     */
+    public record Hits(int[] ordinals, int total, boolean exactTotal) {
+    }
+
+    /**
+     * Lista de publicación de un término: ordinales y pesos en arreglos
+     * paralelos o, si el término es muy frecuente, un peso por ordinal
+     * ({@code 0} = ausente).
+     *
+     * <p>
+     * {@code blockMax} guarda el peso máximo de cada bloque de
+     * {@value #BLOCK_SIZE} publicaciones (o de ordinales, si es denso), que
+     * acota el puntaje de los documentos del bloque sin recorrerlos.
+     * </p>
+     */
+    private static final class Postings {
+        final int df;
+        final int[] docs;
+        final short[] weights;
+        final byte[] dense;
+        final short[] blockMax;
+        final short maxWeight;
+        final float idf;
+
+        Postings(int[] docs, short[] weights, int df, int documents) {
+            this.df = df;
+            this.idf = (float) Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            if ((long) df * DENSE_RATIO > documents) {
+                this.dense = new byte[documents];
+                this.blockMax = new short[(documents + BLOCK_SIZE - 1) / BLOCK_SIZE];
+                for (int i = 0; i < df; i++) {
+                    byte weight = (byte) Math.min(Byte.MAX_VALUE, weights[i]);
+                    dense[docs[i]] = weight;
+                    blockMax[docs[i] / BLOCK_SIZE] = (short) Math.max(blockMax[docs[i] / BLOCK_SIZE], weight);
+                }
+                this.docs = null;
+                this.weights = null;
+            } else {
+                this.dense = null;
+                this.docs = Arrays.copyOf(docs, df);
+                this.weights = Arrays.copyOf(weights, df);
+                this.blockMax = new short[(df + BLOCK_SIZE - 1) / BLOCK_SIZE];
+                for (int i = 0; i < df; i++) {
+                    blockMax[i / BLOCK_SIZE] = (short) Math.max(blockMax[i / BLOCK_SIZE], weights[i]);
+                }
+            }
+            short max = 0;
+            for (short weight : blockMax) {
+                max = (short) Math.max(max, weight);
+            }
+            this.maxWeight = max;
+        }
+
+        /**
+         * Peso máximo del término entre los ordinales {@code [firstDoc, lastDoc]},
+         * según las cotas de bloque. Los rangos llegan en orden creciente, así
+         * que el bloque de partida de una lista dispersa avanza en {@code cursors[slot]}.
+         *
+         * @return la cota, {@code 0} si ningún documento del rango contiene el
+         *         término, o {@code -1} si la lista no tiene documentos desde {@code firstDoc}.
+         */
+        int maxWeight(int firstDoc, int lastDoc, int[] cursors, int slot) {
+            int max = 0;
+            if (dense != null) {
+                for (int b = firstDoc / BLOCK_SIZE; b <= lastDoc / BLOCK_SIZE; b++) {
+                    max = Math.max(max, blockMax[b]);
+                }
+                return max;
+            }
+            int b = cursors[slot];
+            while (b < blockMax.length && docs[Math.min(df, (b + 1) * BLOCK_SIZE) - 1] < firstDoc) {
+                b++;
+            }
+            cursors[slot] = b;
+            if (b == blockMax.length) {
+                return -1;
+            }
+            for (; b < blockMax.length && docs[b * BLOCK_SIZE] <= lastDoc; b++) {
+                max = Math.max(max, blockMax[b]);
+            }
+            return max;
+        }
+
+        /**
+         * Candidatos de esta lista entre las posiciones {@code [from, to)}; en
+         * una lista densa las posiciones son ordinales y se estiman con la
+         * frecuencia del término.
+         */
+        double candidates(int from, int to, int documents) {
+            return dense != null ? (double) (to - from) * df / documents : to - from;
+        }
+    }
+
+    /**
+     * Lista de publicación en construcción; los ordinales llegan en orden creciente.
+     */
+    private static final class PostingsBuilder {
+        int[] docs = new int[4];
+        short[] weights = new short[4];
+        int size;
+
+        void add(int doc, int weight) {
+            if (size > 0 && docs[size - 1] == doc) {
+                weights[size - 1] = (short) Math.min(Short.MAX_VALUE, weights[size - 1] + weight);
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = (short) weight;
+            size++;
+        }
+
+        Postings build(int documents) {
+            return new Postings(docs, weights, size, documents);
+        }
+    }
+
+    /**
+     * Receptor de términos de un campo: los agrega al índice con el peso del campo.
+     */
+    private record PostingSink(Map<String, PostingsBuilder> builders, int[] ordinal, int weight)
+            implements Consumer<String> {
+
+        @Override
+        public void accept(String term) {
+            builders.computeIfAbsent(term, t -> new PostingsBuilder()).add(ordinal[0], weight);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Campos numéricos de {@link Product} sobre los que se puede filtrar por rango
+ * y ordenar.
+ *
+ * <p>
+ * Cada campo extrae su valor como {@code double} primitivo; un valor ausente
+ * se representa con {@link Double#NaN}.
+ * </p>
+ */
+public enum NumericField {
+
+    PRICE("price", p -> value(p.getPrice())),
+    DISCOUNT_PRICE("discountPrice", p -> {
+        GeneralInfo info = p.getGeneralInfo();
+        return info == null ? Double.NaN : value(info.getDiscountPrice());
+    }),
+    DISCOUNT_PERCENTAGE("discountPercentage", p -> {
+        GeneralInfo info = p.getGeneralInfo();
+        return info == null || info.getDiscountPercentage() == null ? Double.NaN : info.getDiscountPercentage();
+    }),
+    RATING("rating", p -> {
+        Reviews reviews = p.getReviews();
+        return reviews == null ? Double.NaN : value(reviews.getRating());
+    });
+
+    private final String paramName;
+    private final ToDoubleFunction<Product> extractor;
+
+    NumericField(String paramName, ToDoubleFunction<Product> extractor) {
+        this.paramName = paramName;
+        this.extractor = extractor;
+    }
+
+    /**
+     * @return nombre del campo en la API.
+     */
+    public String paramName() {
+        return paramName;
+    }
+
+    /**
+     * Valor del campo en el producto.
+     *
+     * @param product producto.
+     * @return valor, o {@link Double#NaN} si el producto no lo informa.
+     */
+    public double valueOf(Product product) {
+        return extractor.applyAsDouble(product);
+    }
+
+    /**
+     * Busca el campo por su nombre en la API.
+     *
+     * @param paramName nombre del campo ({@code price}, {@code rating}...).
+     * @return el campo correspondiente.
+     * @throws IllegalArgumentException si el nombre no corresponde a ningún campo.
+     */
+    public static NumericField fromParam(String paramName) {
+        for (NumericField field : values()) {
+            if (field.paramName.equals(paramName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Campo numérico desconocido: " + paramName);
+    }
+
+    private static double value(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+}
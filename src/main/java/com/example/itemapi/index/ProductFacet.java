@@ -0,0 +1,58 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+
+import java.util.function.Function;
+
+/**
+ * Atributos de {@link Product} por los que se puede filtrar el catálogo.
+ *
+ * <p>
+ * Cada faceta sabe extraer su valor de un producto; {@link #paramName()} es
+ * el nombre con el que se expone como parámetro de consulta y en los conteos.
+ * </p>
+ */
+public enum ProductFacet {
+
+    CATEGORY("category", Product::getCategory),
+    BRAND("brand", Product::getBrand),
+    GENDER("gender", p -> characteristic(p, Characteristics::getGender)),
+    STRAP_MATERIAL("strapMaterial", p -> characteristic(p, Characteristics::getStrapMaterial)),
+    CASE_COLOR("caseColor", p -> characteristic(p, Characteristics::getCaseColor)),
+    FREE_SHIPPING("freeShipping", p -> {
+        GeneralInfo info = p.getGeneralInfo();
+        return info == null || info.getFreeShipping() == null ? null : info.getFreeShipping().toString();
+    });
+
+    private final String paramName;
+    private final Function<Product, String> extractor;
+
+    ProductFacet(String paramName, Function<Product, String> extractor) {
+        this.paramName = paramName;
+        this.extractor = extractor;
+    }
+
+    /**
+     * @return nombre de la faceta en la API.
+     */
+    public String paramName() {
+        return paramName;
+    }
+
+    /**
+     * Valor de la faceta en el producto.
+     *
+     * @param product producto.
+     * @return valor, o {@code null} si el producto no lo informa.
+     */
+    public String valueOf(Product product) {
+        return extractor.apply(product);
+    }
+
+    private static String characteristic(Product product, Function<Characteristics, String> getter) {
+        Characteristics characteristics = product.getCharacteristics();
+        return characteristics == null ? null : getter.apply(characteristics);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductFilterResult;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtrado por facetas del catálogo mediante un {@link FacetIndex}.
+ *
+ * <p>
+ * Igual que {@link ProductSearchIndex}, el índice se construye al arrancar y se
+ * reconstruye con cada {@link CatalogReloadedEvent}, publicándose junto con la
+ * lista de productos en una única referencia volátil.
+ * </p>
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetIndex.class);
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param repository repositorio del que se indexa el catálogo inicial.
+     */
+    public ProductFacetIndex(ProductRepository repository) {
+        rebuild(repository.findAll());
+    }
+
+    /**
+     * Reconstruye el índice sobre la nueva versión del catálogo.
+     *
+     * @param event evento de recarga con los productos publicados.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        rebuild(event.products());
+    }
+
+    /**
+     * Filtra el catálogo y devuelve una página del resultado, en orden de
+     * carga, con los conteos por faceta.
+     *
+     * @param filters valores pedidos por faceta.
+     * @param offset  posición del primer producto dentro del resultado.
+     * @param limit   cantidad máxima de productos.
+     * @return página filtrada y conteos.
+     */
+    public ProductFilterResult filter(Map<ProductFacet, ? extends Collection<String>> filters, int offset, int limit) {
+        Snapshot current = snapshot;
+        FacetIndex.Result result = current.index().filter(filters);
+        RoaringBitmap ordinals = result.ordinals();
+        int total = ordinals.getCardinality();
+
+        List<Product> items = new ArrayList<>(Math.max(0, Math.min(limit, total - offset)));
+        if (offset < total) {
+            PeekableIntIterator it = ordinals.getIntIterator();
+            it.advanceIfNeeded(ordinals.select(offset));
+            while (it.hasNext() && items.size() < limit) {
+                items.add(current.products().get(it.next()));
+            }
+        }
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        result.counts().forEach((facet, values) -> counts.put(facet.paramName(), values));
+        return new ProductFilterResult(items, offset, limit, total, counts);
+    }
+
+    private void rebuild(List<Product> products) {
+        long start = System.nanoTime();
+        FacetIndex index = FacetIndex.build(products);
+        snapshot = new Snapshot(products, index);
+        log.info("Índice de facetas construido: {} productos, {} KB en {} ms",
+                products.size(), index.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private record Snapshot(List<Product> products, FacetIndex index) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom sobre los IDs del catálogo que se consulta antes del
+ * repositorio: si responde que un ID no está, el producto no existe y la
+ * búsqueda termina sin tocar el repositorio.
+ *
+ * <p>
+ * El filtro se construye al arrancar y se reconstruye con cada
+ * {@link CatalogReloadedEvent}; el filtro vigente se publica en una única
+ * referencia volátil. Su tamaño depende de {@code catalog.id-filter.fpp} y se
+ * desactiva con {@code catalog.id-filter.enabled=false}, o si el repositorio
+ * no es un snapshot ({@link ProductRepository#isSnapshot()}), en cuyo caso
+ * {@link #check(String)} responde siempre {@link Verdict#UNCHECKED}.
+ * </p>
+ *
+ * <p>
+ * El repositorio publica el catálogo nuevo antes de avisar la recarga, así que
+ * durante la reconstrucción el filtro vigente puede no conocer IDs que ya
+ * existen. Como {@link ProductVersions}, el filtro sólo se aplica si se
+ * construyó sobre la misma lista que devuelve {@link ProductRepository#findAll()};
+ * mientras tanto deja pasar todos los IDs al repositorio, de modo que nunca
+ * responde un {@code 404} falso.
+ * </p>
+ *
+ * <p>
+ * Los falsos positivos sólo se cuentan para los IDs que el filtro mismo dejó
+ * pasar ({@link Verdict#ACCEPTED}), de modo que {@code checks},
+ * {@code falsePositives} y la fpp observada se refieren a las mismas consultas.
+ * </p>
+ */
+@Component
+public class ProductIdFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductIdFilter.class);
+
+    private final ProductRepository repository;
+    private final CatalogProperties.IdFilter properties;
+    private final boolean active;
+    private volatile Snapshot snapshot;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * @param repository repositorio del que se toman los IDs del catálogo inicial.
+     * @param properties configuración del catálogo ({@code catalog.id-filter.*}).
+     */
+    public ProductIdFilter(ProductRepository repository, CatalogProperties properties) {
+        this.repository = repository;
+        this.properties = properties.getIdFilter();
+        // Sobre una fuente viva el filtro descartaría los IDs creados después de construirlo
+        this.active = this.properties.isEnabled() && repository.isSnapshot();
+        if (active) {
+            rebuild(repository.findAll());
+        } else if (this.properties.isEnabled()) {
+            log.info("Filtro de IDs desactivado: el repositorio consulta una fuente viva");
+        }
+    }
+
+    /**
+     * Reconstruye el filtro con los IDs de la nueva versión del catálogo.
+     *
+     * @param event evento de recarga con los productos publicados.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (active) {
+            rebuild(event.products());
+        }
+    }
+
+    /**
+     * Consulta el filtro por un ID.
+     *
+     * @param id identificador no nulo.
+     * @return {@link Verdict#ABSENT} si el ID seguro no existe,
+     *         {@link Verdict#ACCEPTED} si el filtro lo dejó pasar, o
+     *         {@link Verdict#UNCHECKED} si el filtro está inactivo o todavía no
+     *         cubre el catálogo publicado.
+     */
+    public Verdict check(String id) {
+        Snapshot current = snapshot;
+        if (current == null || current.products() != repository.findAll()) {
+            return Verdict.UNCHECKED;
+        }
+        checks.increment();
+        if (current.filter().mightContain(id)) {
+            return Verdict.ACCEPTED;
+        }
+        rejected.increment();
+        return Verdict.ABSENT;
+    }
+
+    /**
+     * Indica si el ID puede pertenecer al catálogo.
+     *
+     * @param id identificador no nulo.
+     * @return {@code false} sólo si el ID seguro no existe.
+     */
+    public boolean mightContain(String id) {
+        return check(id) != Verdict.ABSENT;
+    }
+
+    /**
+     * Registra que un ID no existía en el repositorio. Sólo cuenta como falso
+     * positivo si el propio filtro lo aceptó.
+     *
+     * @param verdict respuesta de {@link #check(String)} para ese ID.
+     */
+    public void recordMiss(Verdict verdict) {
+        if (verdict == Verdict.ACCEPTED) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * @return configuración, tamaño y contadores del filtro.
+     */
+    public Stats getStats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return new Stats(false, 0, 0, 0, properties.getFpp(), 0, 0, 0, 0, 0);
+        }
+        BloomFilter filter = current.filter();
+        long misses = rejected.sum() + falsePositives.sum();
+        return new Stats(true, current.ids(), filter.bitSize() / 8, filter.hashes(), properties.getFpp(),
+                current.expectedFpp(), checks.sum(), rejected.sum(), falsePositives.sum(),
+                misses == 0 ? 0 : (double) falsePositives.sum() / misses);
+    }
+
+    private void rebuild(List<Product> products) {
+        long start = System.nanoTime();
+        BloomFilter filter = BloomFilter.create(products.size(), properties.getFpp());
+        int ids = 0;
+        for (Product product : products) {
+            if (product.getId() != null) {
+                filter.put(product.getId());
+                ids++;
+            }
+        }
+        snapshot = new Snapshot(products, filter, ids, filter.expectedFpp());
+        log.info("Filtro de IDs construido: {} IDs, {} KB, {} funciones hash, fpp esperada {} en {} ms",
+                ids, filter.bitSize() / 8 / 1024, filter.hashes(), String.format("%.4f", snapshot.expectedFpp()),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Estado del filtro de IDs.
+     *
+     * @param enabled        si el filtro está activo.
+     * @param ids            IDs insertados.
+     * @param sizeBytes      memoria ocupada por los bits del filtro.
+     * @param hashFunctions  funciones hash por ID.
+     * @param configuredFpp  tasa de falsos positivos configurada.
+     * @param expectedFpp    tasa esperada según la ocupación real del filtro.
+     * @param checks         consultas al filtro.
+     * @param rejected       IDs descartados sin consultar el repositorio.
+     * @param falsePositives IDs aceptados por el filtro que no existían.
+     * @param observedFpp    fracción de IDs inexistentes que el filtro dejó pasar.
+     */
+    public record Stats(boolean enabled, int ids, long sizeBytes, int hashFunctions, double configuredFpp,
+                        double expectedFpp, long checks, long rejected, long falsePositives, double observedFpp) {
+    }
+
+    /**
+     * Respuesta del filtro para un ID.
+     */
+    public enum Verdict {
+        /** El ID no pertenece al catálogo. */
+        ABSENT,
+        /** El filtro lo dejó pasar: puede existir o ser un falso positivo. */
+        ACCEPTED,
+        /** No se consultó el filtro (inactivo o desactualizado). */
+        UNCHECKED
+    }
+
+    private record Snapshot(List<Product> products, BloomFilter filter, int ids, double expectedFpp) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consultas por rango y orden de precio, descuento y calificación mediante un
+ * {@link RangeIndex}.
+ *
+ * <p>
+ * Igual que {@link ProductSearchIndex}, el índice se construye al arrancar y se
+ * reconstruye con cada {@link CatalogReloadedEvent}, publicándose junto con la
+ * lista de productos en una única referencia volátil.
+ * </p>
+ */
+@Component
+public class ProductRangeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductRangeIndex.class);
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param repository repositorio del que se indexa el catálogo inicial.
+     */
+    public ProductRangeIndex(ProductRepository repository) {
+        rebuild(repository.findAll());
+    }
+
+    /**
+     * Reconstruye el índice sobre la nueva versión del catálogo.
+     *
+     * @param event evento de recarga con los productos publicados.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        rebuild(event.products());
+    }
+
+    /**
+     * Devuelve una página de los productos que cumplen el rango, en el orden pedido.
+     *
+     * @param query  rango y orden.
+     * @param offset posición del primer resultado.
+     * @param limit  cantidad máxima de resultados.
+     * @return página de resultados; {@code total} es la cantidad que cumple el rango.
+     */
+    public ProductPage query(RangeQuery query, int offset, int limit) {
+        Snapshot current = snapshot;
+        RangeIndex.Hits hits = current.index().query(query, offset, limit);
+        List<Product> items = new ArrayList<>(hits.ordinals().length);
+        for (int ordinal : hits.ordinals()) {
+            items.add(current.products().get(ordinal));
+        }
+        return new ProductPage(items, offset, limit, hits.total());
+    }
+
+    private void rebuild(List<Product> products) {
+        long start = System.nanoTime();
+        RangeIndex index = RangeIndex.build(products);
+        snapshot = new Snapshot(products, index);
+        log.info("Índice de rangos construido: {} productos en {} ms",
+                products.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private record Snapshot(List<Product> products, RangeIndex index) {
+    }
+}
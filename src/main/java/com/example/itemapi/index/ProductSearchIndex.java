@@ -0,0 +1,88 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda de texto completo sobre el catálogo mediante un {@link InvertedIndex}.
+ *
+ * <p>
+ * El índice se construye al arrancar a partir de {@link ProductRepository#findAll()}
+ * y se reconstruye en el hilo de recarga cada vez que se publica un
+ * {@link CatalogReloadedEvent}. El índice y la lista de productos sobre la que
+ * se calcularon sus ordinales se publican juntos en una única referencia volátil.
+ * </p>
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param repository repositorio del que se indexa el catálogo inicial.
+     */
+    public ProductSearchIndex(ProductRepository repository) {
+        rebuild(repository.findAll());
+    }
+
+    /**
+     * Reconstruye el índice sobre la nueva versión del catálogo.
+     *
+     * @param event evento de recarga con los productos publicados.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        rebuild(event.products());
+    }
+
+    /**
+     * Devuelve una página de los productos que contienen todos los términos
+     * de {@code query}, ordenados por relevancia.
+     *
+     * @param query  texto de búsqueda.
+     * @param offset posición del primer resultado.
+     * @param limit  cantidad máxima de resultados.
+     * @return página de resultados; {@code total} es la cantidad de coincidencias,
+     *         estimada por encima de {@value InvertedIndex#EXACT_TOTAL_THRESHOLD}.
+     */
+    public ProductPage search(String query, int offset, int limit) {
+        Snapshot current = snapshot;
+        InvertedIndex.Hits hits = current.index().search(query, (int) Math.min((long) offset + limit, Integer.MAX_VALUE));
+        List<Product> items = new ArrayList<>(Math.max(0, hits.ordinals().length - offset));
+        for (int i = offset; i < hits.ordinals().length; i++) {
+            items.add(current.products().get(hits.ordinals()[i]));
+        }
+        return new ProductPage(items, offset, limit, hits.total(), hits.exactTotal());
+    }
+
+    /**
+     * Cantidad de productos del último catálogo indexado, sin recorrer el repositorio.
+     *
+     * @return productos indexados.
+     */
+    public int size() {
+        return snapshot.index().documents();
+    }
+
+    private void rebuild(List<Product> products) {
+        long start = System.nanoTime();
+        InvertedIndex index = InvertedIndex.build(products);
+        snapshot = new Snapshot(products, index);
+        log.info("Índice de búsqueda construido: {} productos, {} términos en {} ms",
+                index.documents(), index.terms(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private record Snapshot(List<Product> products, InvertedIndex index) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductIdIndex;
+import com.example.itemapi.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Versiones de contenido del catálogo para las peticiones condicionales
+ * ({@code If-None-Match} / {@code If-Modified-Since}).
+ *
+ * <p>
+ * Al cargar el catálogo se calcula un hash de 64 bits del JSON de cada
+ * producto, serializado con el mapper de la aplicación, y a partir de ellos
+ * una versión del catálogo completo. Con eso el controlador puede responder
+ * {@code 304 Not Modified} antes de consultar el servicio o serializar nada.
+ * La fecha de modificación es la de la construcción de cada versión.
+ * </p>
+ *
+ * <p>
+ * Como los demás índices, se reconstruye con cada {@link CatalogReloadedEvent}.
+ * Mientras se reconstruye, el repositorio ya sirve el catálogo nuevo: las
+ * versiones sólo se informan si se calcularon sobre la misma lista que
+ * devuelve {@link ProductRepository#findAll()}, de modo que nunca se valida
+ * un {@code ETag} de la versión anterior. Se desactiva con
+ * {@code api.products.conditional-requests=false}.
+ * </p>
+ */
+@Component
+public class ProductVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductVersions.class);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int BLOCK_SIZE = 4096;
+
+    private final ProductRepository repository;
+    private final ObjectWriter writer;
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param repository    repositorio del que se calculan las versiones del catálogo inicial.
+     * @param mapper        mapper de la aplicación, el mismo que serializa las respuestas.
+     * @param apiProperties configuración de la API ({@code api.products.conditional-requests}).
+     */
+    public ProductVersions(ProductRepository repository, ObjectMapper mapper, ApiProperties apiProperties) {
+        this.repository = repository;
+        this.writer = mapper.writer();
+        if (apiProperties.isConditionalRequests()) {
+            rebuild(repository.findAll());
+        }
+    }
+
+    /**
+     * Recalcula las versiones sobre el catálogo publicado.
+     *
+     * @param event evento de recarga con los productos publicados.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (snapshot != null) {
+            rebuild(event.products());
+        }
+    }
+
+    /**
+     * {@code ETag} fuerte del catálogo completo, que cambia si cambia cualquier
+     * producto o el orden de carga.
+     *
+     * @return {@code ETag} entre comillas, o {@code null} si no hay una versión
+     *         vigente o el catálogo está vacío.
+     */
+    public String catalogETag() {
+        Snapshot current = current();
+        return current == null || current.hashes().length == 0 ? null : etag('c', current.catalogHash());
+    }
+
+    /**
+     * {@code ETag} fuerte de un producto, derivado de su JSON.
+     *
+     * @param id identificador del producto.
+     * @return {@code ETag} entre comillas, o {@code null} si no hay una versión
+     *         vigente, el producto no existe o el repositorio consulta una fuente
+     *         viva ({@link ProductRepository#isSnapshot()}).
+     */
+    public String productETag(String id) {
+        Snapshot current = current();
+        if (current == null || id == null || !repository.isSnapshot()) {
+            return null;
+        }
+        int ordinal = current.index().ordinalOf(id);
+        return ordinal == ProductIdIndex.NOT_FOUND ? null : etag('p', current.hashes()[ordinal]);
+    }
+
+    /**
+     * Instante en que se calculó la versión vigente, para {@code Last-Modified}.
+     *
+     * @return milisegundos desde la época, o {@code -1} si no hay una versión vigente.
+     */
+    public long lastModified() {
+        Snapshot current = current();
+        return current == null ? -1 : current.lastModified();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null && current.products() == repository.findAll() ? current : null;
+    }
+
+    private static String etag(char kind, long hash) {
+        return "\"" + kind + Long.toHexString(hash) + "\"";
+    }
+
+    private void rebuild(List<Product> products) {
+        long start = System.nanoTime();
+        long[] hashes = new long[products.size()];
+        // Serializar domina el costo: los bloques se reparten entre los procesadores disponibles
+        int blocks = (hashes.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            HashingOutputStream out = new HashingOutputStream();
+            int end = Math.min(hashes.length, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < end; i++) {
+                out.reset();
+                try {
+                    writer.writeValue(out, products.get(i));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error calculando la versión del producto " + products.get(i).getId(), e);
+                }
+                hashes[i] = out.hash();
+            }
+        });
+        long catalogHash = FNV_OFFSET;
+        for (long hash : hashes) {
+            catalogHash = mix((catalogHash ^ hash) * FNV_PRIME);
+        }
+        snapshot = new Snapshot(products, ProductIdIndex.build(products), hashes, catalogHash,
+                System.currentTimeMillis());
+        log.info("Versiones del catálogo calculadas: {} productos, versión {} en {} ms",
+                products.size(), Long.toHexString(catalogHash), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Paso final de MurmurHash3 para repartir los bits del hash FNV-1a.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Calcula el hash FNV-1a de lo que Jackson escribe, sin guardar los bytes.
+     */
+    private static final class HashingOutputStream extends OutputStream {
+
+        private long hash = FNV_OFFSET;
+
+        void reset() {
+            hash = FNV_OFFSET;
+        }
+
+        long hash() {
+            return mix(hash);
+        }
+
+        @Override
+        public void write(int b) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            long h = hash;
+            for (int i = offset; i < offset + length; i++) {
+                h = (h ^ (bytes[i] & 0xff)) * FNV_PRIME;
+            }
+            hash = h;
+        }
+
+        @Override
+        public void close() {
+            // Jackson cierra el destino al terminar cada valor; el hash se sigue leyendo después
+        }
+    }
+
+    private record Snapshot(List<Product> products, ProductIdIndex index, long[] hashes, long catalogHash,
+                            long lastModified) {
+    }
+}
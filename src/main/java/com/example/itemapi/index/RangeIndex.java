@@ -0,0 +1,147 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Product;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice inmutable de rangos y orden sobre los campos numéricos del catálogo
+ * ({@link NumericField}), con una {@link SortedColumn} por campo.
+ *
+ * <p>
+ * Un rango sobre un campo es una búsqueda binaria en su columna ordenada, que
+ * deja un tramo contiguo de ordinales. Si además se ordena por ese mismo campo
+ * (o no hay rango), la página se lee directamente del tramo en orden, sin
+ * recorrer el resto. Si se ordena por otro campo, el tramo se recorre una vez
+ * y se seleccionan los mejores con un {@link TopK} leyendo el valor de orden
+ * de la columna por ordinal.
+ * </p>
+ *
+ * <p>
+ * Los productos sin el valor de orden quedan al final, en orden de carga; los
+ * que no tienen el valor del rango no cumplen el rango. A igual valor se
+ * respeta el orden de carga, tanto en orden ascendente como descendente.
+ * </p>
+ */
+public final class RangeIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Map<NumericField, SortedColumn> columns;
+
+    private RangeIndex(Map<NumericField, SortedColumn> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Construye el índice; el ordinal de cada producto es su posición en {@code products}.
+     *
+     * @param products productos a indexar.
+     * @return índice inmutable.
+     */
+    public static RangeIndex build(List<Product> products) {
+        Map<NumericField, SortedColumn> columns = new EnumMap<>(NumericField.class);
+        for (NumericField field : NumericField.values()) {
+            columns.put(field, SortedColumn.build(products, field));
+        }
+        return new RangeIndex(columns);
+    }
+
+    /**
+     * Resuelve una consulta y devuelve la página pedida.
+     *
+     * @param query  rango y orden.
+     * @param offset posición del primer resultado.
+     * @param limit  cantidad máxima de resultados.
+     * @return ordinales de la página y total de resultados.
+     */
+    public Hits query(RangeQuery query, int offset, int limit) {
+        SortedColumn sort = columns.get(query.sortField());
+        if (query.rangeField() == null) {
+            return ordered(sort, 0, sort.sortedValues.length, true, query.descending(), offset, limit);
+        }
+        SortedColumn range = columns.get(query.rangeField());
+        int from = query.min() == null ? 0 : range.lowerBound(query.min());
+        int to = query.max() == null ? range.sortedValues.length : range.upperBound(query.max());
+        if (from >= to) {
+            return new Hits(EMPTY, 0);
+        }
+        if (range == sort) {
+            return ordered(sort, from, to, false, query.descending(), offset, limit);
+        }
+        return selected(range, sort, from, to, query.descending(), offset, limit);
+    }
+
+    /**
+     * Página leída en orden del tramo {@code [from, to)} de la columna, seguida
+     * opcionalmente de los productos sin valor.
+     */
+    private static Hits ordered(SortedColumn column, int from, int to, boolean withMissing,
+                                boolean descending, int offset, int limit) {
+        int present = to - from;
+        int total = present + (withMissing ? column.missing.length : 0);
+        int[] page = new int[(int) Math.max(0, Math.min(limit, (long) total - offset))];
+        int n = 0;
+        if (!descending) {
+            for (int i = from + offset; i < to && n < page.length; i++) {
+                page[n++] = column.sortedOrdinals[i];
+            }
+        } else {
+            // De mayor a menor, pero cada tramo de valores iguales en orden de carga
+            int skip = offset;
+            int end = to;
+            while (end > from && n < page.length) {
+                int start = Math.max(from, column.lowerBound(column.sortedValues[end - 1]));
+                int run = end - start;
+                if (skip >= run) {
+                    skip -= run;
+                } else {
+                    for (int i = start + skip; i < end && n < page.length; i++) {
+                        page[n++] = column.sortedOrdinals[i];
+                    }
+                    skip = 0;
+                }
+                end = start;
+            }
+        }
+        for (int i = Math.max(0, offset - present); n < page.length; i++) {
+            page[n++] = column.missing[i];
+        }
+        return new Hits(page, total);
+    }
+
+    /**
+     * Los mejores {@code offset + limit} del tramo {@code [from, to)} de la
+     * columna de rango según la columna de orden.
+     */
+    private static Hits selected(SortedColumn range, SortedColumn sort, int from, int to,
+                                 boolean descending, int offset, int limit) {
+        int total = to - from;
+        if (offset >= total) {
+            return new Hits(EMPTY, total);
+        }
+        TopK top = new TopK((int) Math.min((long) offset + limit, total));
+        double[] sortValues = sort.byOrdinal;
+        for (int i = from; i < to; i++) {
+            int ordinal = range.sortedOrdinals[i];
+            double value = sortValues[ordinal];
+            double score = Double.isNaN(value) ? Double.NEGATIVE_INFINITY : (descending ? value : -value);
+            top.offer(ordinal, score);
+        }
+        int[] best = top.sorted();
+        int[] page = new int[best.length - offset];
+        System.arraycopy(best, offset, page, 0, page.length);
+        return new Hits(page, total);
+    }
+
+    /**
+     * Resultado de una consulta.
+     *
+     * @param ordinals ordinales de la página, en el orden pedido.
+     * @param total    cantidad total de productos que cumplen el rango.
+     */
+    public record Hits(int[] ordinals, int total) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.itemapi.index;
+
+/**
+ * Consulta por rango y orden sobre campos numéricos.
+ *
+ * @param rangeField campo sobre el que se aplica el rango, o {@code null} para todo el catálogo.
+ * @param min        límite inferior inclusivo, o {@code null} sin límite.
+ * @param max        límite superior inclusivo, o {@code null} sin límite.
+ * @param sortField  campo por el que se ordena el resultado.
+ * @param descending {@code true} para ordenar de mayor a menor.
+ */
+public record RangeQuery(NumericField rangeField, Double min, Double max, NumericField sortField, boolean descending) {
+}
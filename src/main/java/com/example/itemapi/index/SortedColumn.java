@@ -0,0 +1,146 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Product;
+
+import java.util.List;
+
+/**
+ * Columna numérica inmutable de un {@link NumericField} en dos formas:
+ * el valor de cada producto por ordinal y los ordinales ordenados por valor.
+ *
+ * <p>
+ * Todo se guarda en arreglos primitivos ({@code double[]}, {@code int[]}),
+ * de modo que las comparaciones no desempaquetan los {@code Double} del
+ * modelo. Los productos sin valor no figuran en el orden y se listan aparte,
+ * en orden de carga.
+ * </p>
+ */
+final class SortedColumn {
+
+    /**
+     * Valor de cada producto por ordinal; {@link Double#NaN} si no lo tiene.
+     */
+    final double[] byOrdinal;
+
+    /**
+     * Valores presentes en orden ascendente; a igual valor, por ordinal.
+     */
+    final double[] sortedValues;
+
+    /**
+     * Ordinal correspondiente a cada posición de {@link #sortedValues}.
+     */
+    final int[] sortedOrdinals;
+
+    /**
+     * Ordinales de los productos sin valor, en orden de carga.
+     */
+    final int[] missing;
+
+    private SortedColumn(double[] byOrdinal, double[] sortedValues, int[] sortedOrdinals, int[] missing) {
+        this.byOrdinal = byOrdinal;
+        this.sortedValues = sortedValues;
+        this.sortedOrdinals = sortedOrdinals;
+        this.missing = missing;
+    }
+
+    static SortedColumn build(List<Product> products, NumericField field) {
+        int n = products.size();
+        double[] byOrdinal = new double[n];
+        int present = 0;
+        for (int ordinal = 0; ordinal < n; ordinal++) {
+            byOrdinal[ordinal] = field.valueOf(products.get(ordinal));
+            if (!Double.isNaN(byOrdinal[ordinal])) {
+                present++;
+            }
+        }
+        double[] values = new double[present];
+        int[] ordinals = new int[present];
+        int[] missing = new int[n - present];
+        for (int ordinal = 0, p = 0, m = 0; ordinal < n; ordinal++) {
+            if (Double.isNaN(byOrdinal[ordinal])) {
+                missing[m++] = ordinal;
+            } else {
+                values[p] = byOrdinal[ordinal];
+                ordinals[p++] = ordinal;
+            }
+        }
+        sort(values, ordinals);
+        return new SortedColumn(byOrdinal, values, ordinals, missing);
+    }
+
+    /**
+     * Primera posición del orden con valor {@code >= min}.
+     */
+    int lowerBound(double min) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] < min) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primera posición del orden con valor {@code > max}.
+     */
+    int upperBound(double max) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues[mid] <= max) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ordena los arreglos paralelos por valor con un mergesort estable de abajo
+     * hacia arriba: como llegan en orden de carga, los empates quedan por ordinal.
+     */
+    private static void sort(double[] values, int[] ordinals) {
+        int n = values.length;
+        double[] valueBuffer = new double[n];
+        int[] ordinalBuffer = new int[n];
+        double[] srcValues = values;
+        int[] srcOrdinals = ordinals;
+        double[] dstValues = valueBuffer;
+        int[] dstOrdinals = ordinalBuffer;
+        for (int width = 1; width < n; width <<= 1) {
+            for (int low = 0; low < n; low += width << 1) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + (width << 1), n);
+                int i = low;
+                int j = mid;
+                for (int k = low; k < high; k++) {
+                    if (i < mid && (j >= high || srcValues[i] <= srcValues[j])) {
+                        dstValues[k] = srcValues[i];
+                        dstOrdinals[k] = srcOrdinals[i++];
+                    } else {
+                        dstValues[k] = srcValues[j];
+                        dstOrdinals[k] = srcOrdinals[j++];
+                    }
+                }
+            }
+            double[] swapValues = srcValues;
+            srcValues = dstValues;
+            dstValues = swapValues;
+            int[] swapOrdinals = srcOrdinals;
+            srcOrdinals = dstOrdinals;
+            dstOrdinals = swapOrdinals;
+        }
+        if (srcValues != values) {
+            System.arraycopy(srcValues, 0, values, 0, n);
+            System.arraycopy(srcOrdinals, 0, ordinals, 0, n);
+        }
+    }
+}
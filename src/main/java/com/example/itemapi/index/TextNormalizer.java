@@ -0,0 +1,101 @@
+package com.example.itemapi.index;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Tokenizador de texto en español para el índice de búsqueda.
+ *
+ * <p>
+ * Separa el texto en palabras formadas por letras y dígitos, las pasa a
+ * minúsculas y elimina los acentos y la diéresis ({@code "Acero Inoxidable"},
+ * {@code "ACERO inoxidáble"} → {@code acero}, {@code inoxidable}), de modo que
+ * la búsqueda no dependa de cómo el usuario escribió las tildes. Las palabras
+ * vacías más frecuentes ({@code de}, {@code la}, {@code con}...) se descartan
+ * porque aparecen en casi todos los productos y sólo agrandan el índice.
+ * </p>
+ *
+ * <p>
+ * La normalización se hace carácter a carácter sobre un único buffer, sin
+ * expresiones regulares ni {@link java.text.Normalizer}; también acepta texto
+ * ya descompuesto (letra seguida de su marca de acento).
+ * </p>
+ */
+public final class TextNormalizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo", "los",
+            "o", "para", "por", "se", "su", "sus", "u", "un", "una", "y");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Entrega a {@code sink} cada término normalizado de {@code text}, en orden
+     * y con repeticiones.
+     *
+     * @param text texto a tokenizar; {@code null} no produce términos.
+     * @param sink receptor de los términos.
+     */
+    public static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder token = new StringBuilder(16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(fold(c));
+            } else if (!token.isEmpty()) {
+                emit(token, sink);
+            }
+        }
+        if (!token.isEmpty()) {
+            emit(token, sink);
+        }
+    }
+
+    /**
+     * Devuelve los términos distintos de {@code text}, en orden de aparición.
+     *
+     * @param text texto a tokenizar.
+     * @return términos normalizados sin repetir.
+     */
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, terms::add);
+        return terms;
+    }
+
+    private static void emit(StringBuilder token, Consumer<String> sink) {
+        String term = token.toString();
+        token.setLength(0);
+        if (!STOP_WORDS.contains(term)) {
+            sink.accept(term);
+        }
+    }
+
+    /**
+     * Pasa a minúsculas y quita el acento de un carácter.
+     */
+    static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        char lower = Character.toLowerCase(c);
+        return switch (lower) {
+            case 'á', 'à', 'â', 'ä', 'ã', 'å' -> 'a';
+            case 'é', 'è', 'ê', 'ë' -> 'e';
+            case 'í', 'ì', 'î', 'ï' -> 'i';
+            case 'ó', 'ò', 'ô', 'ö', 'õ' -> 'o';
+            case 'ú', 'ù', 'û', 'ü' -> 'u';
+            case 'ñ' -> 'n';
+            case 'ç' -> 'c';
+            default -> lower;
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.itemapi.index;
+
+/**
+ * Selección de los {@code k} ordinales de mayor puntaje sin reservar un objeto
+ * por candidato.
+ *
+ * <p>
+ * Es un montículo de mínimos de tamaño fijo sobre dos arreglos paralelos
+ * ({@code int[]} de ordinales y {@code double[]} de puntajes): la raíz es el
+ * peor de los resultados conservados, así que cada candidato que no lo supera
+ * se descarta con una sola comparación. A igual puntaje gana el ordinal menor,
+ * es decir, el orden de carga del catálogo.
+ * </p>
+ */
+final class TopK {
+
+    private final int[] ordinals;
+    private final double[] scores;
+    private int size;
+
+    /**
+     * @param capacity cantidad máxima de resultados a conservar.
+     */
+    TopK(int capacity) {
+        ordinals = new int[capacity];
+        scores = new double[capacity];
+    }
+
+    /**
+     * Ofrece un candidato; se conserva si está entre los {@code k} mejores vistos.
+     *
+     * @param ordinal ordinal del producto.
+     * @param score   puntaje; mayor es mejor.
+     */
+    void offer(int ordinal, double score) {
+        if (ordinals.length == 0) {
+            return;
+        }
+        if (size < ordinals.length) {
+            ordinals[size] = ordinal;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (worse(ordinals[0], scores[0], ordinal, score)) {
+            ordinals[0] = ordinal;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Indica si ya se conservan {@code k} resultados, de modo que un candidato
+     * debe superar a {@link #minScore()} para entrar.
+     *
+     * @return {@code true} si el montículo está lleno.
+     */
+    boolean full() {
+        return size == ordinals.length;
+    }
+
+    /**
+     * Puntaje del peor resultado conservado. Como los candidatos se ofrecen en
+     * orden creciente de ordinal, uno que no lo supere estrictamente ya no entra.
+     *
+     * @return puntaje de la raíz; sólo tiene sentido con el montículo lleno.
+     */
+    double minScore() {
+        return scores[0];
+    }
+
+    /**
+     * Vacía el montículo y devuelve los ordinales conservados, del mejor al peor.
+     *
+     * @return ordinales ordenados por puntaje descendente y ordinal ascendente.
+     */
+    int[] sorted() {
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = ordinals[0];
+            size--;
+            ordinals[0] = ordinals[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return result;
+    }
+
+    /**
+     * Indica si {@code (a, scoreA)} queda detrás de {@code (b, scoreB)} en el
+     * orden final: menor puntaje o, a igual puntaje, ordinal mayor.
+     */
+    private static boolean worse(int a, double scoreA, int b, double scoreB) {
+        return scoreA < scoreB || (scoreA == scoreB && a > b);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(ordinals[i], scores[i], ordinals[parent], scores[parent])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int child = left + 1 < size && worse(ordinals[left + 1], scores[left + 1], ordinals[left], scores[left])
+                    ? left + 1 : left;
+            if (!worse(ordinals[child], scores[child], ordinals[i], scores[i])) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int ordinal = ordinals[a];
+        ordinals[a] = ordinals[b];
+        ordinals[b] = ordinal;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
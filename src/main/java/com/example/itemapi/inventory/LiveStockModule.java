@@ -0,0 +1,123 @@
+package com.example.itemapi.inventory;
+
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Módulo de Jackson que permite escribir un {@link Product} con su stock en
+ * vivo sin copiarlo: si el {@link ObjectWriter} lleva el atributo
+ * {@link #AVAILABLE_QUANTITY}, su valor reemplaza al {@code availableQuantity}
+ * del documento. Con el atributo {@link #INVENTORY} el stock se consulta por
+ * cada producto escrito, para listas y resultados con varios productos.
+ *
+ * <pre>{@code
+ * mapper.writer().withAttribute(LiveStockModule.AVAILABLE_QUANTITY, 7).writeValueAsBytes(product);
+ * mapper.writer().withAttribute(LiveStockModule.INVENTORY, inventory).writeValueAsBytes(products);
+ * }</pre>
+ *
+ * <p>
+ * Sin atributos la serialización no cambia, así que los usos internos del
+ * mapper (hashes de versión, snapshots, caché de respuestas) siguen
+ * escribiendo el documento cargado. Spring Boot registra el módulo
+ * en el {@code ObjectMapper} de la aplicación, y las copias del mapper (como
+ * las de {@code ProductProjections}) lo conservan.
+ * </p>
+ */
+@Component
+public class LiveStockModule extends SimpleModule {
+
+    /**
+     * Atributo del {@link ObjectWriter} con el stock ({@link Integer}) a escribir.
+     */
+    public static final String AVAILABLE_QUANTITY = LiveStockModule.class.getName() + ".availableQuantity";
+
+    /**
+     * Atributo del {@link ObjectWriter} con el {@link ProductInventory} del que
+     * se toma el stock de cada producto; los productos sin stock registrado
+     * conservan el del documento.
+     */
+    public static final String INVENTORY = LiveStockModule.class.getName() + ".inventory";
+
+    private static final String PROPERTY = "availableQuantity";
+
+    /**
+     * Crea el módulo, que reemplaza el serializador de
+     * {@code Product.availableQuantity} por uno que consulta los atributos.
+     */
+    public LiveStockModule() {
+        super("LiveStockModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription description,
+                                                             List<BeanPropertyWriter> properties) {
+                if (description.getBeanClass() == Product.class) {
+                    for (BeanPropertyWriter property : properties) {
+                        if (property.getName().equals(PROPERTY)) {
+                            property.assignSerializer(LiveQuantitySerializer.INSTANCE);
+                            property.assignNullSerializer(LiveQuantitySerializer.INSTANCE);
+                        }
+                    }
+                }
+                return properties;
+            }
+        });
+    }
+
+    /**
+     * Configura el mapper para escribir siempre el stock en vivo, como atributo
+     * {@link #INVENTORY} por defecto de todos sus writers.
+     *
+     * @param mapper    mapper a configurar, normalmente una copia del de la aplicación.
+     * @param inventory stock en vivo.
+     * @return el mismo mapper.
+     */
+    public static ObjectMapper withInventory(ObjectMapper mapper, ProductInventory inventory) {
+        mapper.setDefaultAttributes(ContextAttributes.getEmpty().withSharedAttribute(INVENTORY, inventory));
+        return mapper;
+    }
+
+    /**
+     * Escribe el stock de {@link #AVAILABLE_QUANTITY} si está presente; si no,
+     * el de {@link #INVENTORY} para el producto actual, y si no lo tiene, el del
+     * documento.
+     */
+    private static final class LiveQuantitySerializer extends StdSerializer<Object> {
+
+        private static final JsonSerializer<Object> INSTANCE = new LiveQuantitySerializer();
+
+        private LiveQuantitySerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            Object live = provider.getAttribute(AVAILABLE_QUANTITY);
+            if (live == null && provider.getAttribute(INVENTORY) instanceof ProductInventory inventory
+                    && generator.currentValue() instanceof Product product) {
+                int available = inventory.availableQuantity(product.getId());
+                live = available == ProductInventory.UNTRACKED ? null : available;
+            }
+            Object quantity = live != null ? live : value;
+            if (quantity == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber((Integer) quantity);
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.itemapi.inventory;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductIdIndex;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.repository.changelog.ChangeRecord;
+import com.example.itemapi.repository.changelog.ProductChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stock en vivo de los productos, separado de los documentos {@link Product}
+ * inmutables del catálogo.
+ *
+ * <p>
+ * Cada versión del catálogo tiene un {@link AtomicIntegerArray} indexado por
+ * el ordinal del producto ({@link ProductIdIndex}), inicializado con el
+ * {@code availableQuantity} cargado. Reservar, liberar y fijar stock son un
+ * bucle de compare-and-set sobre una única posición: no hay bloqueos y dos
+ * reservas concurrentes nunca dejan el stock por debajo de cero. Los productos
+ * sin {@code availableQuantity} quedan sin stock registrado hasta que se fija
+ * uno.
+ * </p>
+ *
+ * <p>
+ * Con cada {@link CatalogReloadedEvent} se construye el arreglo de la nueva
+ * versión y el stock vivo de los productos que siguen en el catálogo pasa a
+ * él; el JSON sólo inicializa los productos nuevos. Cada posición anterior se
+ * traslada con un {@code getAndSet} que la deja congelada, y las operaciones
+ * que la encuentran así esperan a que se publique la nueva versión y se
+ * reintentan sobre ella, de modo que ninguna actualización se pierde durante
+ * la recarga. Se desactiva con {@code catalog.inventory.enabled=false}.
+ * </p>
+ */
+@Component
+public class ProductInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductInventory.class);
+
+    /**
+     * Valor devuelto por {@link #availableQuantity(String)} cuando el producto
+     * no existe o no tiene stock registrado.
+     */
+    public static final int UNTRACKED = -1;
+
+    /** Marca de una posición trasladada a una versión nueva del catálogo. */
+    private static final int FROZEN = Integer.MIN_VALUE;
+
+    private static final Snapshot EMPTY = new Snapshot(List.of(), ProductIdIndex.build(List.of()),
+            new AtomicIntegerArray(0));
+
+    private final boolean enabled;
+    private volatile Snapshot snapshot = EMPTY;
+    private final LongAdder changes = new LongAdder();
+
+    /**
+     * @param repository repositorio del que se toma el stock del catálogo inicial.
+     * @param properties configuración del catálogo ({@code catalog.inventory.*}).
+     */
+    public ProductInventory(ProductRepository repository, CatalogProperties properties) {
+        this.enabled = properties.getInventory().isEnabled();
+        if (enabled) {
+            rebuild(repository.findAll());
+        }
+    }
+
+    /**
+     * Traslada el stock vivo a la nueva versión del catálogo.
+     *
+     * @param event evento de recarga con los productos publicados.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (enabled) {
+            rebuild(event.products());
+        }
+    }
+
+    /**
+     * Fija el stock en vivo cuando un cambio durable del catálogo cambia el
+     * {@code availableQuantity} de un producto ya registrado; los productos
+     * nuevos se incorporan en la siguiente compactación.
+     *
+     * @param event cambio aplicado por el repositorio durable.
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        ChangeRecord change = event.change();
+        Integer quantity = switch (change.operation()) {
+            case STOCK -> change.quantity();
+            case UPSERT -> change.product().getAvailableQuantity();
+            default -> null;
+        };
+        if (enabled && quantity != null && quantity >= 0) {
+            set(change.id(), quantity);
+        }
+    }
+
+    /**
+     * Stock disponible del producto.
+     *
+     * @param id identificador del producto.
+     * @return stock vivo, o {@link #UNTRACKED} si el producto no existe o no tiene stock registrado.
+     */
+    public int availableQuantity(String id) {
+        while (true) {
+            Snapshot current = snapshot;
+            int ordinal = current.index().ordinalOf(id);
+            if (ordinal == ProductIdIndex.NOT_FOUND) {
+                return UNTRACKED;
+            }
+            int available = current.stock().get(ordinal);
+            if (available != FROZEN) {
+                return available;
+            }
+            awaitNextVersion(current);
+        }
+    }
+
+    /**
+     * Indica si el producto pertenece al catálogo, tenga o no stock registrado.
+     *
+     * @param id identificador del producto.
+     * @return {@code true} si el ID existe en la versión vigente.
+     */
+    public boolean contains(String id) {
+        return snapshot.index().ordinalOf(id) != ProductIdIndex.NOT_FOUND;
+    }
+
+    /**
+     * Cantidad de cambios de stock aplicados desde el arranque. Sirve como
+     * versión del stock para los {@code ETag} de las respuestas con varios
+     * productos: sólo crece, y es un {@link LongAdder} para no agregar un punto
+     * de contención a las reservas concurrentes.
+     *
+     * @return cambios aplicados; {@code 0} si el stock no cambió desde la carga.
+     */
+    public long changes() {
+        return changes.sum();
+    }
+
+    /**
+     * Descuenta stock si hay suficiente; si no, no modifica nada.
+     *
+     * @param id       identificador del producto.
+     * @param quantity unidades a reservar, mayor que cero.
+     * @return stock restante, o el motivo del rechazo.
+     */
+    public StockChange reserve(String id, int quantity) {
+        return quantity <= 0 ? StockChange.Failure.INVALID_QUANTITY : update(id, Operation.RESERVE, quantity);
+    }
+
+    /**
+     * Devuelve stock reservado previamente.
+     *
+     * @param id       identificador del producto.
+     * @param quantity unidades a devolver, mayor que cero.
+     * @return stock resultante, o el motivo del rechazo.
+     */
+    public StockChange release(String id, int quantity) {
+        return quantity <= 0 ? StockChange.Failure.INVALID_QUANTITY : update(id, Operation.RELEASE, quantity);
+    }
+
+    /**
+     * Fija el stock disponible, por ejemplo tras un recuento o una reposición.
+     *
+     * @param id       identificador del producto.
+     * @param quantity nuevo stock, mayor o igual que cero.
+     * @return stock fijado, o el motivo del rechazo.
+     */
+    public StockChange set(String id, int quantity) {
+        return quantity < 0 ? StockChange.Failure.INVALID_QUANTITY : update(id, Operation.SET, quantity);
+    }
+
+    private StockChange update(String id, Operation operation, int quantity) {
+        while (true) {
+            Snapshot current = snapshot;
+            int ordinal = current.index().ordinalOf(id);
+            if (ordinal == ProductIdIndex.NOT_FOUND) {
+                return StockChange.Failure.NOT_FOUND;
+            }
+            AtomicIntegerArray stock = current.stock();
+            int available = stock.get(ordinal);
+            while (available != FROZEN) {
+                int next;
+                if (operation == Operation.SET) {
+                    next = quantity;
+                } else if (available == UNTRACKED) {
+                    return StockChange.Failure.UNTRACKED;
+                } else if (operation == Operation.RESERVE) {
+                    if (available < quantity) {
+                        return StockChange.Failure.INSUFFICIENT_STOCK;
+                    }
+                    next = available - quantity;
+                } else {
+                    if (available > Integer.MAX_VALUE - quantity) {
+                        return StockChange.Failure.INVALID_QUANTITY;
+                    }
+                    next = available + quantity;
+                }
+                int witness = stock.compareAndExchange(ordinal, available, next);
+                if (witness == available) {
+                    changes.increment();
+                    return new StockChange.Applied(next);
+                }
+                available = witness;
+            }
+            awaitNextVersion(current);
+        }
+    }
+
+    /**
+     * Espera activa mientras una recarga traslada la posición congelada; dura
+     * lo que tarda en recorrerse el arreglo anterior.
+     */
+    private void awaitNextVersion(Snapshot frozen) {
+        while (snapshot == frozen) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private synchronized void rebuild(List<Product> products) {
+        long start = System.nanoTime();
+        ProductIdIndex index = ProductIdIndex.build(products);
+        AtomicIntegerArray stock = new AtomicIntegerArray(products.size());
+        for (int ordinal = 0; ordinal < products.size(); ordinal++) {
+            Integer loaded = products.get(ordinal).getAvailableQuantity();
+            stock.set(ordinal, loaded == null || loaded < 0 ? UNTRACKED : loaded);
+        }
+        Snapshot previous = snapshot;
+        int carried = 0;
+        for (int ordinal = 0; ordinal < previous.products().size(); ordinal++) {
+            int live = previous.stock().getAndSet(ordinal, FROZEN);
+            int target = index.ordinalOf(previous.products().get(ordinal).getId());
+            if (target != ProductIdIndex.NOT_FOUND && live != UNTRACKED) {
+                stock.set(target, live);
+                carried++;
+            }
+        }
+        snapshot = new Snapshot(products, index, stock);
+        log.info("Stock en vivo construido: {} productos, {} con stock trasladado de la versión anterior en {} ms",
+                products.size(), carried, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private enum Operation {
+        RESERVE, RELEASE, SET
+    }
+
+    /**
+     * Stock de una versión del catálogo.
+     *
+     * @param products productos de la versión, para trasladar su stock en la siguiente recarga.
+     * @param index    ordinal de cada ID en {@code products}.
+     * @param stock    stock por ordinal; {@link #UNTRACKED} sin registrar y {@link #FROZEN} ya trasladado.
+     */
+    private record Snapshot(List<Product> products, ProductIdIndex index, AtomicIntegerArray stock) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.itemapi.inventory;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Resultado de una operación sobre el stock de un producto.
+ *
+ * <p>
+ * Igual que en la búsqueda por ID, los rechazos esperados (stock insuficiente
+ * durante una venta, ID inexistente) no son excepcionales: se representan con
+ * las constantes de {@link Failure}, sin reservar memoria ni capturar stack traces.
+ * </p>
+ */
+public sealed interface StockChange permits StockChange.Applied, StockChange.Failure {
+
+    /**
+     * Operación aplicada.
+     *
+     * @param availableQuantity stock disponible tras la operación.
+     */
+    record Applied(int availableQuantity) implements StockChange {
+    }
+
+    /**
+     * Operaciones rechazadas, con el estado HTTP y el mensaje que les corresponde.
+     */
+    enum Failure implements StockChange {
+
+        /** La cantidad es negativa, nula en una reserva o liberación, o desborda el contador. */
+        INVALID_QUANTITY(HttpStatus.BAD_REQUEST, "Cantidad inválida"),
+
+        /** No existe un producto con ese ID. */
+        NOT_FOUND(HttpStatus.NOT_FOUND, "Producto no encontrado"),
+
+        /** El producto no tiene stock registrado; se inicializa con un {@code PUT}. */
+        UNTRACKED(HttpStatus.CONFLICT, "El producto no tiene stock registrado"),
+
+        /** La reserva supera el stock disponible; no se modificó nada. */
+        INSUFFICIENT_STOCK(HttpStatus.CONFLICT, "Stock insuficiente");
+
+        private final HttpStatus status;
+        private final String message;
+
+        Failure(HttpStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        /**
+         * @return estado HTTP de la respuesta.
+         */
+        public HttpStatus status() {
+            return status;
+        }
+
+        /**
+         * @return mensaje para el cliente.
+         */
+        public String message() {
+            return message;
+        }
+    }
+}
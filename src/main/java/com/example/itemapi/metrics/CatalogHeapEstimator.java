@@ -0,0 +1,124 @@
+package com.example.itemapi.metrics;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimación aproximada del heap retenido por los productos del catálogo.
+ *
+ * <p>
+ * Recorre por reflexión el grafo de una muestra de productos tomada a
+ * intervalos regulares y extrapola al total. Asume una JVM de 64 bits con
+ * punteros comprimidos (cabecera de 12 bytes, referencias de 4 y alineación
+ * a 8). Los objetos compartidos entre productos, como las cadenas
+ * canonicalizadas por el {@code StringPool}, se cuentan una sola vez dentro de
+ * la muestra. Las clases del JDK no se inspeccionan por reflexión: cadenas,
+ * números y colecciones se estiman con su tamaño típico.
+ * </p>
+ */
+final class CatalogHeapEstimator {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+
+    private static final Map<Class<?>, ClassLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private CatalogHeapEstimator() {
+    }
+
+    /**
+     * @param products   productos del catálogo.
+     * @param sampleSize cantidad máxima de productos a recorrer.
+     * @return bytes estimados, incluida la lista que los contiene.
+     */
+    static long estimate(List<?> products, int sampleSize) {
+        int size = products.size();
+        if (size == 0) {
+            return 0;
+        }
+        int stride = Math.max(1, size / Math.max(1, sampleSize));
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        long sampledBytes = 0;
+        int sampled = 0;
+        for (int i = 0; i < size; i += stride) {
+            sampledBytes += sizeOf(products.get(i), visited);
+            sampled++;
+        }
+        return align(ARRAY_HEADER + (long) REFERENCE * size) + sampledBytes * size / sampled;
+    }
+
+    private static long sizeOf(Object root, Set<Object> visited) {
+        long total = 0;
+        List<Object> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Object value = pending.remove(pending.size() - 1);
+            if (value == null || !visited.add(value)) {
+                continue;
+            }
+            if (value instanceof String string) {
+                total += align(HEADER + 12) + align(ARRAY_HEADER + string.length());
+            } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+                total += 16;
+            } else if (value instanceof Collection<?> collection) {
+                total += align(HEADER + 12) + align(ARRAY_HEADER + (long) REFERENCE * collection.size());
+                pending.addAll(collection);
+            } else if (value.getClass().getName().startsWith("java.")) {
+                total += align(HEADER + REFERENCE);
+            } else {
+                ClassLayout layout = LAYOUTS.computeIfAbsent(value.getClass(), ClassLayout::of);
+                total += layout.shallowSize();
+                for (Field field : layout.references()) {
+                    try {
+                        pending.add(field.get(value));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException("No se pudo leer " + field, e);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Tamaño superficial de una clase de la aplicación y sus campos de referencia.
+     */
+    private record ClassLayout(long shallowSize, List<Field> references) {
+
+        static ClassLayout of(Class<?> type) {
+            long size = HEADER;
+            List<Field> references = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    Class<?> fieldType = field.getType();
+                    if (fieldType.isPrimitive()) {
+                        size += fieldType == long.class || fieldType == double.class ? 8
+                                : fieldType == int.class || fieldType == float.class ? 4
+                                : fieldType == short.class || fieldType == char.class ? 2 : 1;
+                    } else {
+                        size += REFERENCE;
+                        field.setAccessible(true);
+                        references.add(field);
+                    }
+                }
+            }
+            return new ClassLayout(align(size), List.copyOf(references));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.itemapi.metrics;
+
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.index.ProductSearchIndex;
+import com.example.itemapi.repository.CatalogReloadStats;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.CatalogReloader;
+import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.repository.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Medidores del estado del catálogo cargado, publicados como {@link MeterBinder}
+ * para que Spring Boot los registre en el {@link MeterRegistry} de Actuator.
+ *
+ * <ul>
+ *   <li>{@code catalog.size}: productos del catálogo vigente, leídos del
+ *       {@link ProductSearchIndex} y no de {@code findAll()}, que con las fuentes
+ *       remota y durable copia o reconstruye la lista. Con la fuente durable
+ *       refleja la última compactación.</li>
+ *   <li>{@code catalog.generation}, {@code catalog.load.duration} y
+ *       {@code catalog.heap.estimated}: versión, duración de la última carga y
+ *       heap aproximado retenido por los productos; sólo con el repositorio JSON,
+ *       que es el que mantiene los {@code Product} en memoria.</li>
+ *   <li>{@code catalog.reloads}: recargas por {@code result=success|failure}.</li>
+ *   <li>{@code catalog.id.filter.*}: tamaño del filtro de IDs, consultas,
+ *       descartes, falsos positivos y fpp observada.</li>
+ * </ul>
+ *
+ * <p>
+ * Los valores se leen en cada extracción de métricas; sólo la estimación de
+ * heap se calcula al arrancar y en cada {@link CatalogReloadedEvent}.
+ * </p>
+ */
+@Component
+public class CatalogMetrics implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogMetrics.class);
+
+    /** Productos recorridos para estimar el heap; el resto se extrapola. */
+    static final int HEAP_SAMPLE_SIZE = 10_000;
+
+    private final ProductRepository repository;
+    private final ProductIdFilter idFilter;
+    private final ProductSearchIndex searchIndex;
+    private final CatalogReloader reloader;
+    private volatile long estimatedHeapBytes;
+
+    /**
+     * @param repository repositorio del catálogo vigente.
+     * @param idFilter    filtro de IDs del que se publican tamaño y contadores.
+     * @param searchIndex índice de búsqueda, del que se lee el tamaño del catálogo.
+     * @param reloader    orquestador de recargas; sólo existe con el catálogo JSON.
+     */
+    public CatalogMetrics(ProductRepository repository, ProductIdFilter idFilter, ProductSearchIndex searchIndex,
+                          ObjectProvider<CatalogReloader> reloader) {
+        this.repository = repository;
+        this.idFilter = idFilter;
+        this.searchIndex = searchIndex;
+        this.reloader = reloader.getIfAvailable();
+        if (repository instanceof JsonProductRepository) {
+            estimateHeap(repository.findAll());
+        }
+    }
+
+    /**
+     * Recalcula la estimación de heap con los productos de la nueva versión.
+     *
+     * @param event evento de recarga con los productos publicados.
+     */
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        if (repository instanceof JsonProductRepository) {
+            estimateHeap(event.products());
+        }
+    }
+
+    private void estimateHeap(List<?> products) {
+        long start = System.nanoTime();
+        estimatedHeapBytes = CatalogHeapEstimator.estimate(products, HEAP_SAMPLE_SIZE);
+        log.info("Heap estimado del catálogo: ~{} KB para {} productos ({} ms)",
+                estimatedHeapBytes / 1024, products.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return bytes de heap estimados para los productos del catálogo vigente.
+     */
+    public long getEstimatedHeapBytes() {
+        return estimatedHeapBytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.size", searchIndex, ProductSearchIndex::size)
+                .description("Productos del catálogo vigente")
+                .register(registry);
+        if (repository instanceof JsonProductRepository json) {
+            Gauge.builder("catalog.generation", json, JsonProductRepository::getGeneration)
+                    .description("Versión del catálogo vigente")
+                    .register(registry);
+            TimeGauge.builder("catalog.load.duration", json, TimeUnit.MILLISECONDS,
+                            r -> r.getLoadDuration().toMillis())
+                    .description("Duración de la última carga del catálogo")
+                    .register(registry);
+            Gauge.builder("catalog.heap.estimated", this, CatalogMetrics::getEstimatedHeapBytes)
+                    .description("Heap aproximado retenido por los productos del catálogo")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+        if (reloader != null) {
+            CatalogReloadStats stats = reloader.getStats();
+            FunctionCounter.builder("catalog.reloads", stats, CatalogReloadStats::getSuccesses)
+                    .description("Recargas del catálogo")
+                    .tag("result", "success")
+                    .register(registry);
+            FunctionCounter.builder("catalog.reloads", stats, CatalogReloadStats::getFailures)
+                    .description("Recargas del catálogo")
+                    .tag("result", "failure")
+                    .register(registry);
+        }
+        bindIdFilter(registry);
+    }
+
+    private void bindIdFilter(MeterRegistry registry) {
+        Gauge.builder("catalog.id.filter.size", idFilter, f -> f.getStats().sizeBytes())
+                .description("Tamaño del filtro de IDs")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("catalog.id.filter.checks", idFilter, f -> f.getStats().checks())
+                .description("IDs consultados en el filtro")
+                .register(registry);
+        FunctionCounter.builder("catalog.id.filter.rejected", idFilter, f -> f.getStats().rejected())
+                .description("IDs descartados sin consultar el repositorio")
+                .register(registry);
+        FunctionCounter.builder("catalog.id.filter.false.positives", idFilter, f -> f.getStats().falsePositives())
+                .description("IDs aceptados por el filtro que el repositorio no encontró")
+                .register(registry);
+        Gauge.builder("catalog.id.filter.fpp", idFilter, f -> f.getStats().observedFpp())
+                .description("Tasa de falsos positivos observada")
+                .tag("kind", "observed")
+                .register(registry);
+        Gauge.builder("catalog.id.filter.fpp", idFilter, f -> f.getStats().expectedFpp())
+                .description("Tasa de falsos positivos esperada para el tamaño del filtro")
+                .tag("kind", "expected")
+                .register(registry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.itemapi.metrics;
+
+import com.example.itemapi.service.ProductLookup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de Micrometer del servicio y del repositorio de productos.
+ *
+ * <p>
+ * Todos los medidores se registran una sola vez en el constructor: en el
+ * camino caliente sólo se llama a {@link Timer#record(long, TimeUnit)} sobre
+ * una instancia ya resuelta, sin buscar el medidor por nombre y etiquetas ni
+ * crear {@code Timer.Sample} por petición.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@code products.lookup}: latencia de la búsqueda por ID en el servicio,
+ *       con {@code result=found|not_found|invalid_id}; sus conteos son los
+ *       aciertos y fallos.</li>
+ *   <li>{@code catalog.repository.find.by.id}: llamadas a
+ *       {@code ProductRepository.findById}, con {@code result=hit|miss}. Es un
+ *       contador y no un timer: con los repositorios en memoria la búsqueda
+ *       dura menos que medirla, y su latencia ya está dentro de
+ *       {@code products.lookup} (la de la fuente remota se publica en
+ *       {@code catalog.remote.requests}).</li>
+ *   <li>{@code products.list}: latencia del listado completo o paginado.</li>
+ *   <li>{@code products.errors}: errores inesperados, por {@code operation}.</li>
+ *   <li>{@code products.conditional.requests}: peticiones con {@code If-None-Match}
+ *       o {@code If-Modified-Since}, por {@code endpoint=list|detail} y
+ *       {@code result=not_modified|modified}; la tasa de aciertos es la
+ *       proporción de {@code not_modified}.</li>
+ * </ul>
+ *
+ * <p>
+ * Los timers publican un histograma de percentiles (buckets de
+ * {@value #HISTOGRAM_FLOOR_NANOS}&nbsp;ns a 1&nbsp;s) para calcular p50/p95/p99 en
+ * Prometheus con {@code histogram_quantile}: una búsqueda en memoria tarda
+ * entre 50 y 300&nbsp;ns, por debajo del piso de 1&nbsp;µs habitual.
+ * La latencia HTTP de los endpoints la registra Spring en {@code http.server.requests}.
+ * </p>
+ */
+@Component
+public class ProductMetrics {
+
+    /**
+     * Límite inferior de los buckets del histograma, por debajo de la latencia
+     * de una búsqueda en memoria.
+     */
+    static final long HISTOGRAM_FLOOR_NANOS = 10;
+
+    private final Timer lookupFound;
+    private final Timer lookupNotFound;
+    private final Timer lookupInvalid;
+    private final Counter repositoryHit;
+    private final Counter repositoryMiss;
+    private final Timer list;
+    private final Counter lookupErrors;
+    private final Counter listErrors;
+    private final Counter listNotModified;
+    private final Counter listModified;
+    private final Counter detailNotModified;
+    private final Counter detailModified;
+
+    /**
+     * @param registry registro en el que se publican las métricas.
+     */
+    public ProductMetrics(MeterRegistry registry) {
+        this.lookupFound = timer(registry, "products.lookup", "Búsqueda de productos por ID", "found");
+        this.lookupNotFound = timer(registry, "products.lookup", "Búsqueda de productos por ID", "not_found");
+        this.lookupInvalid = timer(registry, "products.lookup", "Búsqueda de productos por ID", "invalid_id");
+        this.repositoryHit = repository(registry, "hit");
+        this.repositoryMiss = repository(registry, "miss");
+        this.list = timer(registry, "products.list", "Listado de productos", "ok");
+        this.lookupErrors = error(registry, "lookup");
+        this.listErrors = error(registry, "list");
+        this.listNotModified = conditional(registry, "list", "not_modified");
+        this.listModified = conditional(registry, "list", "modified");
+        this.detailNotModified = conditional(registry, "detail", "not_modified");
+        this.detailModified = conditional(registry, "detail", "modified");
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description, String result) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(HISTOGRAM_FLOOR_NANOS))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(registry);
+    }
+
+    private static Counter repository(MeterRegistry registry, String result) {
+        return Counter.builder("catalog.repository.find.by.id")
+                .description("Llamadas a ProductRepository.findById")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter error(MeterRegistry registry, String operation) {
+        return Counter.builder("products.errors")
+                .description("Errores inesperados del servicio de productos")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static Counter conditional(MeterRegistry registry, String endpoint, String result) {
+        return Counter.builder("products.conditional.requests")
+                .description("Peticiones condicionales del listado y del detalle de producto")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * @param lookup resultado de la búsqueda.
+     * @param nanos  duración en nanosegundos.
+     */
+    public void recordLookup(ProductLookup lookup, long nanos) {
+        Timer timer;
+        if (lookup instanceof ProductLookup.Found) {
+            timer = lookupFound;
+        } else if (lookup == ProductLookup.Failure.NOT_FOUND) {
+            timer = lookupNotFound;
+        } else {
+            timer = lookupInvalid;
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param hit si el repositorio encontró el producto.
+     */
+    public void recordRepositoryFindById(boolean hit) {
+        (hit ? repositoryHit : repositoryMiss).increment();
+    }
+
+    /**
+     * @param nanos duración en nanosegundos.
+     */
+    public void recordList(long nanos) {
+        list.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra un error inesperado en la búsqueda por ID.
+     */
+    public void recordLookupError() {
+        lookupErrors.increment();
+    }
+
+    /**
+     * Registra un error inesperado en el listado.
+     */
+    public void recordListError() {
+        listErrors.increment();
+    }
+
+    /**
+     * Registra una petición condicional al listado de productos.
+     *
+     * @param notModified si se respondió {@code 304 Not Modified}.
+     */
+    public void recordConditionalList(boolean notModified) {
+        (notModified ? listNotModified : listModified).increment();
+    }
+
+    /**
+     * Registra una petición condicional al detalle de producto.
+     *
+     * @param notModified si se respondió {@code 304 Not Modified}.
+     */
+    public void recordConditionalDetail(boolean notModified) {
+        (notModified ? detailNotModified : detailModified).increment();
+    }
+}
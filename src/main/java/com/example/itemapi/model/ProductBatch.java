@@ -0,0 +1,37 @@
+package com.example.itemapi.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de una consulta de varios {@link Product} por ID en una sola petición.
+ *
+ * <p>
+ * Separa los productos encontrados de los IDs que no existen, de modo que
+ * un ID inexistente no hace fallar al lote completo.
+ * </p>
+ *
+ * @see Product
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de una consulta de productos en lote.")
+public class ProductBatch {
+
+    /**
+     * Productos encontrados, en el orden en que se solicitaron.
+     */
+    @Schema(description = "Productos encontrados, en el orden solicitado")
+    private List<Product> items;
+
+    /**
+     * IDs solicitados que no existen en el catálogo.
+     */
+    @Schema(description = "IDs solicitados que no existen", example = "[\"NO_EXISTE\"]")
+    private List<String> missingIds;
+}
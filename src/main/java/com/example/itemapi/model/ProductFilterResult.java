@@ -0,0 +1,53 @@
+package com.example.itemapi.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de filtrar el catálogo por facetas: una página de {@link Product}
+ * junto con los conteos de productos por cada valor de cada faceta.
+ *
+ * @see Product
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de productos filtrados por facetas, con los conteos por valor.")
+public class ProductFilterResult {
+
+    /**
+     * Productos incluidos en la página.
+     */
+    @Schema(description = "Productos de la página")
+    private List<Product> items;
+
+    /**
+     * Posición del primer producto de la página dentro del resultado.
+     */
+    @Schema(description = "Posición del primer producto de la página", example = "0")
+    private int offset;
+
+    /**
+     * Cantidad máxima de productos solicitada para la página.
+     */
+    @Schema(description = "Tamaño de página solicitado", example = "50")
+    private int limit;
+
+    /**
+     * Cantidad total de productos que cumplen el filtro.
+     */
+    @Schema(description = "Total de productos que cumplen el filtro", example = "120")
+    private int total;
+
+    /**
+     * Conteos por faceta ({@code brand}, {@code category}...) y valor.
+     */
+    @Schema(description = "Cantidad de productos por faceta y valor",
+            example = "{\"brand\":{\"Casio\":12,\"Seiko\":4},\"freeShipping\":{\"true\":10,\"false\":6}}")
+    private Map<String, Map<String, Integer>> facets;
+}
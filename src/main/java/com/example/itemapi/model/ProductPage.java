@@ -0,0 +1,107 @@
+package com.example.itemapi.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados de un listado de {@link Product}.
+ *
+ * <p>
+ * Contiene los productos de la página junto con la posición desde la que
+ * se leyeron y el total del catálogo, de modo que el consumidor pueda
+ * determinar si existen más páginas.
+ * </p>
+ *
+ * @see Product
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de productos con información de paginación.")
+public class ProductPage {
+
+    /**
+     * Productos incluidos en la página.
+     */
+    @Schema(description = "Productos de la página")
+    private List<Product> items;
+
+    /**
+     * Posición del primer producto de la página dentro del catálogo.
+     */
+    @Schema(description = "Posición del primer producto de la página", example = "0")
+    private int offset;
+
+    /**
+     * Cantidad máxima de productos solicitada para la página.
+     */
+    @Schema(description = "Tamaño de página solicitado", example = "50")
+    private int limit;
+
+    /**
+     * Cantidad total de productos del catálogo.
+     */
+    @Schema(description = "Total de productos disponibles", example = "1200")
+    private int total;
+
+    /**
+     * Si {@link #total} es exacto; la búsqueda lo estima cuando hay muchas coincidencias.
+     */
+    @Schema(description = "Si el total es exacto o una estimación", example = "true")
+    private boolean totalExact = true;
+
+    /**
+     * Productos de la página que se omitieron porque ya no existen (fuentes
+     * vivas cuyos índices van detrás del repositorio); cuentan para la
+     * posición de la página siguiente.
+     */
+    @Schema(description = "Productos omitidos de la página por haber sido eliminados", example = "0")
+    private int skipped;
+
+    /**
+     * Crea una página con total exacto.
+     *
+     * @param items  productos de la página.
+     * @param offset posición del primer producto.
+     * @param limit  tamaño de página solicitado.
+     * @param total  total de productos.
+     */
+    public ProductPage(List<Product> items, int offset, int limit, int total) {
+        this(items, offset, limit, total, true);
+    }
+
+    /**
+     * Crea una página sin productos omitidos.
+     *
+     * @param items      productos de la página.
+     * @param offset     posición del primer producto.
+     * @param limit      tamaño de página solicitado.
+     * @param total      total de productos.
+     * @param totalExact si el total es exacto.
+     */
+    public ProductPage(List<Product> items, int offset, int limit, int total, boolean totalExact) {
+        this(items, offset, limit, total, totalExact, 0);
+    }
+
+    /**
+     * Indica si existen productos después de esta página.
+     *
+     * @return {@code true} si hay una página siguiente.
+     */
+    public boolean hasNext() {
+        return offset + items.size() + skipped < total;
+    }
+
+    /**
+     * Posición a partir de la cual comienza la página siguiente.
+     *
+     * @return offset de la página siguiente.
+     */
+    public int nextOffset() {
+        return offset + items.size() + skipped;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.itemapi.repository;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estadísticas de las recargas del catálogo: cantidad de recargas exitosas y
+ * fallidas, duración y tamaño de la última, y el último error registrado.
+ *
+ * <p>
+ * Se actualiza desde el hilo de recarga y se lee desde cualquier hilo
+ * (endpoint de administración y métricas), por lo que todos sus campos
+ * son atómicos o volátiles.
+ * </p>
+ */
+public class CatalogReloadStats {
+
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastDurationMillis;
+    private volatile int lastItemCount;
+    private volatile Instant lastSuccessAt;
+    private volatile Instant lastFailureAt;
+    private volatile String lastError;
+
+    void recordSuccess(long durationMillis, int itemCount) {
+        lastDurationMillis = durationMillis;
+        lastItemCount = itemCount;
+        lastSuccessAt = Instant.now();
+        successes.incrementAndGet();
+    }
+
+    void recordFailure(long durationMillis, Throwable error) {
+        lastDurationMillis = durationMillis;
+        lastFailureAt = Instant.now();
+        lastError = error.getMessage();
+        failures.incrementAndGet();
+    }
+
+    /**
+     * @return cantidad de recargas terminadas correctamente.
+     */
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    /**
+     * @return cantidad de recargas fallidas.
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return duración en milisegundos de la última recarga, exitosa o no.
+     */
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    /**
+     * @return productos cargados en la última recarga exitosa.
+     */
+    public int getLastItemCount() {
+        return lastItemCount;
+    }
+
+    /**
+     * @return instante de la última recarga exitosa, o {@code null} si no hubo.
+     */
+    public Instant getLastSuccessAt() {
+        return lastSuccessAt;
+    }
+
+    /**
+     * @return instante de la última recarga fallida, o {@code null} si no hubo.
+     */
+    public Instant getLastFailureAt() {
+        return lastFailureAt;
+    }
+
+    /**
+     * @return mensaje del último error de recarga, o {@code null} si no hubo.
+     */
+    public String getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.model.Product;
+
+import java.util.List;
+
+/**
+ * Evento publicado en el contexto de Spring cuando una recarga del catálogo
+ * termina bien y la nueva versión ya está siendo servida.
+ *
+ * <p>
+ * Los componentes que mantienen estructuras derivadas del catálogo (cachés,
+ * índices secundarios) lo escuchan con {@code @EventListener} para
+ * reconstruirse sobre la nueva versión.
+ * </p>
+ *
+ * @param products   productos de la nueva versión del catálogo.
+ * @param generation número de versión del catálogo publicado.
+ */
+public record CatalogReloadedEvent(List<Product> products, long generation) {
+}
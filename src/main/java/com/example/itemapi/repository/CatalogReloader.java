@@ -0,0 +1,221 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.config.CatalogProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Orquesta la recarga en caliente del catálogo JSON.
+ *
+ * <p>
+ * Las recargas se ejecutan en un único hilo de fondo ({@code catalog-reload}):
+ * el nuevo catálogo y su índice se construyen completos mientras las peticiones
+ * siguen atendiéndose con la versión vigente, y sólo al final se publican con
+ * una única escritura volátil en {@link JsonProductRepository}. Si la carga
+ * falla se registra el error y se conserva el catálogo anterior.
+ * </p>
+ *
+ * <p>
+ * Una recarga puede solicitarse de forma explícita ({@link #requestReload(String)},
+ * usado por el endpoint de administración) o, con {@code catalog.reload.watch=true},
+ * automáticamente cuando cambia el archivo de {@code catalog.path} o algún shard de
+ * {@code catalog.shards}. Las solicitudes que llegan mientras otra está pendiente
+ * se agrupan en una sola recarga.
+ * </p>
+ *
+ * <p>
+ * Tras cada recarga exitosa se publica un {@link CatalogReloadedEvent} para que
+ * las cachés e índices derivados se reconstruyan sobre la nueva versión.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "json", matchIfMissing = true)
+public class CatalogReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogReloader.class);
+
+    private final JsonProductRepository repository;
+    private final CatalogProperties properties;
+    private final ApplicationEventPublisher events;
+    private final CatalogReloadStats stats = new CatalogReloadStats();
+    private final ScheduledExecutorService executor;
+    private final AtomicReference<CompletableFuture<Integer>> pending = new AtomicReference<>();
+
+    private ScheduledFuture<?> debounced;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * @param repository repositorio JSON cuyo catálogo se recarga.
+     * @param properties configuración del catálogo ({@code catalog.reload.*}).
+     * @param events     publicador del {@link CatalogReloadedEvent}.
+     */
+    public CatalogReloader(JsonProductRepository repository, CatalogProperties properties,
+                           ApplicationEventPublisher events) {
+        this.repository = repository;
+        this.properties = properties;
+        this.events = events;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inicia la vigilancia del archivo del catálogo si está habilitada.
+     */
+    @PostConstruct
+    public void start() {
+        if (properties.getReload().isWatch()) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Detiene la vigilancia y el hilo de recarga.
+     */
+    @PreDestroy
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Error cerrando el WatchService del catálogo", e);
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Solicita una recarga del catálogo en segundo plano. Si ya hay una
+     * recarga en cola que todavía no comenzó, se devuelve esa misma.
+     *
+     * @param trigger origen de la solicitud, para el log.
+     * @return futuro que se completa con la cantidad de productos cargados,
+     *         o excepcionalmente si la recarga falló.
+     */
+    public CompletableFuture<Integer> requestReload(String trigger) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Integer> queued = pending.compareAndExchange(null, future);
+        if (queued != null) {
+            return queued;
+        }
+        executor.execute(() -> {
+            pending.compareAndSet(future, null);
+            try {
+                future.complete(reload(trigger));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Estadísticas acumuladas de las recargas.
+     *
+     * @return estadísticas de recarga.
+     */
+    public CatalogReloadStats getStats() {
+        return stats;
+    }
+
+    private int reload(String trigger) {
+        long start = System.nanoTime();
+        try {
+            int size = repository.reload();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            stats.recordSuccess(millis, size);
+            log.info("Catálogo recargado ({}): generación {}, {} productos en {} ms",
+                    trigger, repository.getGeneration(), size, millis);
+            events.publishEvent(new CatalogReloadedEvent(repository.findAll(), repository.getGeneration()));
+            return size;
+        } catch (RuntimeException e) {
+            stats.recordFailure(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e);
+            log.error("Falló la recarga del catálogo ({}); se mantiene la generación {}",
+                    trigger, repository.getGeneration(), e);
+            throw e;
+        }
+    }
+
+    private void startWatching() {
+        String pattern = hasText(properties.getShards()) ? properties.getShards() : properties.getPath();
+        if (!hasText(pattern)) {
+            log.warn("catalog.reload.watch ignorado: el catálogo se carga desde el classpath");
+            return;
+        }
+        Path target = Path.of(pattern).toAbsolutePath();
+        Path directory = target.getParent();
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + target.getFileName());
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            log.error("No se pudo vigilar {}; la recarga automática queda deshabilitada", directory, e);
+            return;
+        }
+        watcher = new Thread(() -> watch(matcher), "catalog-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Vigilando cambios en {} para recargar el catálogo", target);
+    }
+
+    private void watch(PathMatcher matcher) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path file && matcher.matches(file)) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    scheduleDebounced();
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Posterga la recarga hasta que el archivo deje de cambiar durante
+     * {@code catalog.reload.debounce}, para no leer una copia a medio escribir.
+     */
+    private synchronized void scheduleDebounced() {
+        if (debounced != null) {
+            debounced.cancel(false);
+        }
+        debounced = executor.schedule(() -> requestReload("watch"),
+                properties.getReload().getDebounce().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fuente JSON del catálogo según {@code catalog.*}, compartida por los
+ * repositorios que lo cargan ({@link JsonProductRepository} y el columnar).
+ *
+ * <p>
+ * Resuelve, en este orden, los shards de {@code catalog.shards} (cargados en
+ * paralelo con {@link ShardedCatalogLoader} y {@code catalog.load-parallelism}),
+ * el archivo de {@code catalog.path} o {@code products.json} del classpath, y
+ * aplica la política de {@code catalog.fail-on-duplicate-ids} a los IDs
+ * repetidos que cada repositorio detecte.
+ * </p>
+ */
+public final class CatalogSource {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSource.class);
+
+    private final CatalogProperties properties;
+
+    /**
+     * @param properties configuración del catálogo (shards, ruta, paralelismo y duplicados).
+     */
+    public CatalogSource(CatalogProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return patrón de shards, ruta del archivo o {@code classpath:/products.json}, para logs y errores.
+     */
+    public String describe() {
+        if (hasText(properties.getShards())) {
+            return properties.getShards();
+        }
+        return hasText(properties.getPath()) ? properties.getPath() : "classpath:/products.json";
+    }
+
+    /**
+     * Lee el catálogo completo en una lista.
+     *
+     * @param mapper mapper con el que se deserializan los productos.
+     * @return lista mutable con los productos en el orden de la fuente.
+     * @throws IOException si la fuente no puede leerse o es inválida.
+     */
+    public List<Product> load(ObjectMapper mapper) throws IOException {
+        if (hasText(properties.getShards())) {
+            return shardLoader(mapper).load(ShardedCatalogLoader.resolveShards(properties.getShards()));
+        }
+        try (InputStream in = open()) {
+            return new StreamingCatalogLoader(mapper, properties.getProgressInterval()).load(in, describe());
+        }
+    }
+
+    /**
+     * Recorre el catálogo entregando cada producto a {@code sink}, en el orden
+     * de la fuente y desde el hilo que invoca.
+     *
+     * @param mapper mapper con el que se deserializan los productos.
+     * @param sink   destino de cada producto.
+     * @throws IOException si la fuente no puede leerse o es inválida.
+     */
+    public void read(ObjectMapper mapper, Consumer<Product> sink) throws IOException {
+        if (hasText(properties.getShards())) {
+            shardLoader(mapper).load(ShardedCatalogLoader.resolveShards(properties.getShards()), sink);
+            return;
+        }
+        try (InputStream in = open()) {
+            new StreamingCatalogLoader(mapper, properties.getProgressInterval()).read(in, describe(), sink);
+        }
+    }
+
+    /**
+     * Aplica {@code catalog.fail-on-duplicate-ids} a los IDs repetidos
+     * descartados por el repositorio, que conserva la primera aparición.
+     *
+     * @param duplicates IDs repetidos, en el orden en que aparecieron.
+     * @throws IllegalStateException si hay duplicados y la configuración exige fallar.
+     */
+    public void reportDuplicates(List<String> duplicates) {
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        if (properties.isFailOnDuplicateIds()) {
+            throw new IllegalStateException("IDs de producto duplicados en " + describe() + ": "
+                    + abbreviate(duplicates));
+        }
+        log.warn("{} IDs de producto duplicados en {}; se conserva la primera aparición: {}",
+                duplicates.size(), describe(), abbreviate(duplicates));
+    }
+
+    private ShardedCatalogLoader shardLoader(ObjectMapper mapper) {
+        return new ShardedCatalogLoader(mapper, properties.getProgressInterval(), properties.getLoadParallelism());
+    }
+
+    private InputStream open() throws IOException {
+        if (hasText(properties.getPath())) {
+            return Files.newInputStream(Path.of(properties.getPath()));
+        }
+        InputStream inputStream = CatalogSource.class.getResourceAsStream("/products.json");
+        if (inputStream == null) {
+            throw new RuntimeException("Recurso /products.json no encontrado en el classpath");
+        }
+        return inputStream;
+    }
+
+    private static String abbreviate(List<String> ids) {
+        return ids.size() <= 10 ? ids.toString() : ids.subList(0, 10) + "...";
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
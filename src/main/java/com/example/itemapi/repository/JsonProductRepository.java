@@ -1,70 +1,181 @@
 package com.example.itemapi.repository;
 
+import com.example.itemapi.config.CatalogProperties;
 import com.example.itemapi.model.Product;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 /**
  * {@code JsonProductRepository} es una implementación de {@link ProductRepository}
- * que carga los productos desde un archivo JSON ubicado en el classpath de la aplicación.
+ * que carga los productos desde un archivo JSON ubicado en el classpath de la aplicación
+ * o, si se configura {@code catalog.path}, desde un archivo externo. Con
+ * {@code catalog.shards} el catálogo se reparte en varios archivos que se cargan
+ * en paralelo mediante {@link ShardedCatalogLoader}.
  * <p>
- * Esta clase utiliza la librería {@link ObjectMapper} de Jackson para deserializar
- * el archivo JSON en una lista inmutable de objetos {@link Product}.
+ * Esta clase utiliza un {@link StreamingCatalogLoader} sobre Jackson para deserializar
+ * el archivo JSON producto a producto en una lista inmutable de objetos {@link Product}.
  * </p>
  *
  * <p><b>Responsabilidades principales:</b></p>
  * <ul>
  *   <li>Cargar y mantener en memoria una lista de productos desde {@code products.json}.</li>
  *   <li>Ofrecer métodos para consultar todos los productos o buscar uno por su ID.</li>
+ *   <li>Recargar el catálogo en caliente sin bloquear las lecturas en curso ({@link #reload()}).</li>
  * </ul>
  *
  * <p><b>Uso dentro de Spring:</b></p>
  * <p>
  * Está anotada con {@link Repository}, lo que la hace detectable como componente
  * dentro del contexto de Spring y permite la inyección de dependencias donde se necesite
- * un {@link ProductRepository}.
+ * un {@link ProductRepository}. Es la implementación por defecto; se reemplaza
+ * configurando otra fuente en {@code catalog.source}.
  * </p>
  */
 @Repository
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "json", matchIfMissing = true)
 public class JsonProductRepository implements ProductRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(JsonProductRepository.class);
+
     /**
-     * Lista inmutable de productos cargados desde el archivo JSON.
+     * Versión vigente del catálogo: lista inmutable de productos e índice de
+     * clave primaria. Se reemplaza completa en cada recarga a través de esta
+     * única referencia volátil, de modo que las lecturas nunca se bloquean
+     * ni ven una lista y un índice de versiones distintas.
      */
-    private List<Product> products;
+    private volatile Catalog catalog;
+
+    private final CatalogSource source;
 
     /**
      * Constructor que inicializa la lista de productos
      * cargándolos automáticamente desde el archivo {@code products.json}.
      */
     public JsonProductRepository() {
-        loadProducts();
+        this(new CatalogProperties());
     }
 
     /**
-     * Carga los productos desde el archivo {@code products.json}
-     * ubicado en el classpath. Si el archivo no existe o ocurre
-     * un error en la deserialización, se lanza una excepción en tiempo de ejecución.
+     * Constructor usado por Spring: carga los productos según la configuración
+     * {@code catalog.*} de la aplicación.
      *
-     * <p>La lista resultante se envuelve en una colección inmutable
-     * mediante {@link Collections#unmodifiableList(List)}.</p>
+     * @param properties configuración del catálogo (ruta externa, shards e intervalo de progreso).
      */
-    private void loadProducts() {
-        try (InputStream inputStream = getClass().getResourceAsStream("/products.json")) {
-            if (inputStream == null) {
-                throw new RuntimeException("Recurso /products.json no encontrado en el classpath");
+    @Autowired
+    public JsonProductRepository(CatalogProperties properties) {
+        this.source = new CatalogSource(properties);
+        this.catalog = loadCatalog(1);
+    }
+
+    /**
+     * Vuelve a cargar el catálogo desde su fuente y, si la carga termina bien,
+     * lo publica reemplazando la versión vigente de forma atómica. Mientras
+     * tanto las lecturas siguen atendiéndose con la versión anterior, que
+     * también se conserva si la carga falla.
+     *
+     * @return cantidad de productos del nuevo catálogo.
+     * @throws RuntimeException si la fuente no puede leerse; el catálogo vigente no cambia.
+     */
+    public synchronized int reload() {
+        Catalog reloaded = loadCatalog(catalog.generation() + 1);
+        this.catalog = reloaded;
+        return reloaded.products().size();
+    }
+
+    /**
+     * Carga los productos desde los shards indicados en {@code catalog.shards},
+     * desde el archivo de {@code catalog.path} o, si no se configuró ninguno,
+     * desde {@code products.json} ubicado en el classpath.
+     * Si el archivo no existe o ocurre un error en la deserialización,
+     * se lanza una excepción en tiempo de ejecución.
+     *
+     * <p>La lista resultante se depura de IDs duplicados (se conserva la
+     * primera aparición), se envuelve en una colección inmutable mediante
+     * {@link Collections#unmodifiableList(List)} y a partir de ella
+     * se construye el {@link ProductIdIndex}.</p>
+     */
+    private Catalog loadCatalog(long generation) {
+        long start = System.nanoTime();
+        try {
+            List<Product> loaded = readProducts();
+            ProductIdIndex loadedIndex = ProductIdIndex.build(loaded);
+            if (loadedIndex.size() < loaded.size()) {
+                loaded = removeDuplicates(loaded, loadedIndex);
+                loadedIndex = ProductIdIndex.build(loaded);
             }
-            ObjectMapper mapper = new ObjectMapper();
-            List<Product> loaded = mapper.readValue(inputStream, new TypeReference<List<Product>>() {});
-            this.products = Collections.unmodifiableList(loaded);
+            return new Catalog(Collections.unmodifiableList(loaded), loadedIndex,
+                    Duration.ofNanos(System.nanoTime() - start), generation);
         } catch (Exception e) {
-            throw new RuntimeException("Error cargando products.json", e);
+            throw new RuntimeException("Error cargando " + source.describe(), e);
+        }
+    }
+
+    /**
+     * Deserializa el catálogo con un mapper que canonicaliza los campos
+     * repetidos mediante un {@link StringPool} propio de esta carga.
+     */
+    private List<Product> readProducts() throws IOException {
+        StringPool pool = new StringPool();
+        List<Product> products = source.load(new ObjectMapper().registerModule(new StringPoolModule(pool)));
+        logPoolStats(source.describe(), pool.stats());
+        return products;
+    }
+
+    private static void logPoolStats(String source, StringPool.Stats stats) {
+        log.info("Deduplicación de cadenas en {}: {} valores, {} distintos, {} duplicados descartados (~{} KB)",
+                source, stats.lookups(), stats.distinct(), stats.duplicates(), stats.savedBytes() / 1024);
+    }
+
+    /**
+     * Elimina las apariciones posteriores de IDs repetidos conservando la primera,
+     * que es la que resuelve el índice. Los productos sin ID se mantienen.
+     */
+    private List<Product> removeDuplicates(List<Product> loaded, ProductIdIndex loadedIndex) {
+        List<Product> unique = new ArrayList<>(loadedIndex.size());
+        List<String> duplicates = new ArrayList<>();
+        for (int ordinal = 0; ordinal < loaded.size(); ordinal++) {
+            Product product = loaded.get(ordinal);
+            String id = product.getId();
+            if (id != null && loadedIndex.ordinalOf(id) != ordinal) {
+                duplicates.add(id);
+            } else {
+                unique.add(product);
+            }
+        }
+        if (duplicates.isEmpty()) {
+            return loaded;
         }
+        source.reportDuplicates(duplicates);
+        return unique;
+    }
+
+    /**
+     * Duración de la última carga del catálogo, incluyendo la construcción del índice.
+     *
+     * @return tiempo empleado en cargar el catálogo.
+     */
+    public Duration getLoadDuration() {
+        return catalog.loadDuration();
+    }
+
+    /**
+     * Número de versión del catálogo vigente: {@code 1} tras la carga inicial
+     * y se incrementa en cada recarga exitosa.
+     *
+     * @return generación del catálogo.
+     */
+    public long getGeneration() {
+        return catalog.generation();
     }
 
     /**
@@ -74,11 +185,12 @@ public class JsonProductRepository implements ProductRepository {
      */
     @Override
     public List<Product> findAll() {
-        return products;
+        return catalog.products();
     }
 
     /**
-     * Busca un producto en la lista por su identificador único.
+     * Busca un producto por su identificador único a través del
+     * {@link ProductIdIndex}, sin recorrer la lista.
      *
      * @param id identificador del producto a buscar.
      * @return el {@link Product} correspondiente al ID,
@@ -86,9 +198,19 @@ public class JsonProductRepository implements ProductRepository {
      */
     @Override
     public Product findById(String id) {
-        return products.stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Catalog current = catalog;
+        int ordinal = current.index().ordinalOf(id);
+        return ordinal == ProductIdIndex.NOT_FOUND ? null : current.products().get(ordinal);
+    }
+
+    /**
+     * Versión inmutable del catálogo publicada por el repositorio.
+     *
+     * @param products     productos en el orden de carga.
+     * @param index        índice de clave primaria sobre {@code products}.
+     * @param loadDuration tiempo empleado en construir esta versión.
+     * @param generation   número de versión, creciente en cada recarga.
+     */
+    private record Catalog(List<Product> products, ProductIdIndex index, Duration loadDuration, long generation) {
     }
 }
@@ -0,0 +1,139 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.model.Product;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Índice inmutable de clave primaria que asocia cada {@link Product#getId()}
+ * con su posición (ordinal) dentro de la lista de productos cargada.
+ *
+ * <p>
+ * Se implementa como una tabla hash de direccionamiento abierto con sondeo
+ * lineal sobre dos arreglos paralelos ({@code String[]} e {@code int[]}),
+ * por lo que una búsqueda es de tiempo constante y no reserva memoria:
+ * reutiliza el {@link String#hashCode()} que la propia cadena ya tiene cacheado.
+ * </p>
+ *
+ * <p>
+ * La tabla se dimensiona a la potencia de dos inmediatamente superior al doble
+ * del número de productos (factor de carga máximo de 0.5). Si existen IDs
+ * duplicados se conserva el primero, igual que la búsqueda lineal original.
+ * </p>
+ */
+public final class ProductIdIndex {
+
+    /**
+     * Valor devuelto por {@link #ordinalOf(String)} cuando el ID no existe.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private final String[] keys;
+    private final int[] ordinals;
+    private final int mask;
+    private final int size;
+
+    private ProductIdIndex(String[] keys, int[] ordinals, int size) {
+        this.keys = keys;
+        this.ordinals = ordinals;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Construye el índice a partir de la lista de productos. Los productos
+     * con ID {@code null} se ignoran.
+     *
+     * @param products productos a indexar, en el orden en que fueron cargados.
+     * @return índice inmutable sobre los IDs de {@code products}.
+     */
+    public static ProductIdIndex build(List<Product> products) {
+        return build(ordinal -> products.get(ordinal).getId(), products.size());
+    }
+
+    /**
+     * Construye el índice a partir de una columna de IDs, donde el ordinal de
+     * cada ID es su posición. Los IDs {@code null} se ignoran.
+     *
+     * @param ids   IDs en orden de carga.
+     * @param count cantidad de posiciones válidas de {@code ids}.
+     * @return índice inmutable sobre los IDs.
+     */
+    public static ProductIdIndex build(String[] ids, int count) {
+        return build(ordinal -> ids[ordinal], count);
+    }
+
+    private static ProductIdIndex build(IntFunction<String> idAt, int count) {
+        int capacity = tableSizeFor(count);
+        String[] keys = new String[capacity];
+        int[] ordinals = new int[capacity];
+        int mask = capacity - 1;
+        int size = 0;
+
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            String id = idAt.apply(ordinal);
+            if (id == null) {
+                continue;
+            }
+            int slot = spread(id.hashCode()) & mask;
+            while (keys[slot] != null && !keys[slot].equals(id)) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == null) {
+                keys[slot] = id;
+                ordinals[slot] = ordinal;
+                size++;
+            }
+        }
+        return new ProductIdIndex(keys, ordinals, size);
+    }
+
+    /**
+     * Devuelve la posición del producto con el ID indicado.
+     *
+     * @param id identificador del producto.
+     * @return ordinal del producto o {@link #NOT_FOUND} si no existe.
+     */
+    public int ordinalOf(String id) {
+        if (id == null) {
+            return NOT_FOUND;
+        }
+        int slot = spread(id.hashCode()) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key.equals(id)) {
+                return ordinals[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Número de IDs distintos indexados.
+     *
+     * @return cantidad de entradas del índice.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int tableSizeFor(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1;
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Catálogo demasiado grande para indexar: " + expected);
+        }
+        return capacity;
+    }
+
+    /**
+     * Mezcla los bits altos del hash en los bajos para que la máscara
+     * no descarte la entropía de IDs con prefijos comunes.
+     */
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+}
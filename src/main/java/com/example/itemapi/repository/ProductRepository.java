@@ -2,6 +2,8 @@ package com.example.itemapi.repository;
 
 import com.example.itemapi.model.Product;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +19,7 @@ import java.util.List;
  * <ul>
  *   <li>Proveer acceso a la lista completa de productos.</li>
  *   <li>Permitir la búsqueda de un producto por su identificador único.</li>
+ *   <li>Permitir la búsqueda de varios productos en una sola llamada.</li>
  * </ul>
  *
  * <p><b>Ventajas de usar la interfaz:</b></p>
@@ -43,4 +46,47 @@ public interface ProductRepository {
      *         o {@code null} si no existe en el repositorio.
      */
     Product findById(String id);
+
+    /**
+     * Busca varios productos por sus identificadores en una sola llamada.
+     *
+     * <p>
+     * La implementación por defecto delega en {@link #findById(String)};
+     * las implementaciones con acceso remoto pueden sobrescribirla para
+     * resolver el lote en una única operación.
+     * </p>
+     *
+     * @param ids identificadores a buscar (no debe ser {@code null}).
+     * @return productos encontrados, en el orden de {@code ids}; los IDs
+     *         inexistentes simplemente no aparecen en el resultado.
+     */
+    default List<Product> findAllById(Collection<String> ids) {
+        List<Product> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Product product = findById(id);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Indica si {@link #findById(String)} devuelve exactamente los productos
+     * de la versión publicada por {@link #findAll()}, como ocurre con los
+     * catálogos en memoria y los snapshots.
+     *
+     * <p>
+     * Las implementaciones que consultan una fuente viva devuelven
+     * {@code false}: entre recargas un producto puede cambiar, aparecer o
+     * desaparecer sin que cambie {@link #findAll()}, así que los índices
+     * derivados de éste (filtro de IDs, versiones por producto) no pueden
+     * usarse para responder por un ID concreto.
+     * </p>
+     *
+     * @return {@code true} si el detalle siempre coincide con el listado.
+     */
+    default boolean isSnapshot() {
+        return true;
+    }
 }
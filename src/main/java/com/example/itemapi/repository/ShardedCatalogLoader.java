@@ -0,0 +1,140 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Carga un catálogo repartido en varios archivos (shards JSON o NDJSON)
+ * parseándolos en paralelo sobre un {@link ForkJoinPool}.
+ *
+ * <p>
+ * Cada shard se lee con un {@link StreamingCatalogLoader} independiente y los
+ * resultados se concatenan en el orden lexicográfico de los nombres de archivo,
+ * de modo que el orden final del catálogo es determinista sin importar qué
+ * shard termine primero. Con {@link #load(List, Consumer)} cada shard se
+ * entrega a un destino en ese mismo orden apenas está listo y se descarta,
+ * sin armar la lista completa.
+ * </p>
+ */
+public class ShardedCatalogLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedCatalogLoader.class);
+
+    private final StreamingCatalogLoader shardLoader;
+    private final int parallelism;
+
+    /**
+     * @param mapper           mapper de Jackson compartido por todos los shards (es thread-safe).
+     * @param progressInterval intervalo de registro de progreso por shard.
+     * @param parallelism      hilos del pool; {@code <= 0} usa los procesadores disponibles.
+     */
+    public ShardedCatalogLoader(ObjectMapper mapper, int progressInterval, int parallelism) {
+        this.shardLoader = new StreamingCatalogLoader(mapper, progressInterval);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Resuelve un patrón tipo glob (sólo en el nombre de archivo) a la lista
+     * ordenada de shards existentes.
+     *
+     * @param pattern ruta con comodines, por ejemplo {@code /data/products-*.json}.
+     * @return rutas de los shards ordenadas por nombre.
+     * @throws IOException si el directorio no puede listarse o no hay shards que coincidan.
+     */
+    public static List<Path> resolveShards(String pattern) throws IOException {
+        Path globPath = Path.of(pattern);
+        Path dir = globPath.getParent() != null ? globPath.getParent() : Path.of(".");
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, globPath.getFileName().toString())) {
+            stream.forEach(shards::add);
+        }
+        if (shards.isEmpty()) {
+            throw new IOException("Ningún shard coincide con " + pattern);
+        }
+        shards.sort(null);
+        return shards;
+    }
+
+    /**
+     * Carga los shards en paralelo y los concatena en el orden recibido.
+     *
+     * @param shards archivos a cargar, en el orden deseado del catálogo.
+     * @return lista mutable con todos los productos.
+     * @throws IOException si algún shard no puede leerse o es inválido.
+     */
+    public List<Product> load(List<Path> shards) throws IOException {
+        ArrayList<Product> merged = new ArrayList<>();
+        load(shards, merged::add);
+        merged.trimToSize();
+        return merged;
+    }
+
+    /**
+     * Carga los shards en paralelo y entrega sus productos a {@code sink} en
+     * el orden recibido, desde el hilo que invoca: el destino no necesita ser
+     * thread-safe.
+     *
+     * @param shards archivos a cargar, en el orden deseado del catálogo.
+     * @param sink   destino de cada producto.
+     * @return cantidad de productos entregados.
+     * @throws IOException si algún shard no puede leerse o es inválido.
+     */
+    public long load(List<Path> shards, Consumer<Product> sink) throws IOException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<List<Product>>> parts = new ArrayList<>(shards.size());
+            for (Path shard : shards) {
+                parts.add(pool.submit(() -> loadShard(shard)));
+            }
+
+            long total = 0;
+            for (int i = 0; i < parts.size(); i++) {
+                List<Product> products = await(parts.get(i));
+                // Se suelta la referencia para que el shard entregado pueda recolectarse
+                parts.set(i, null);
+                products.forEach(sink);
+                total += products.size();
+            }
+            log.info("{} shards ({} productos) cargados con {} hilos en {} ms",
+                    shards.size(), total, parallelism, (System.nanoTime() - start) / 1_000_000);
+            return total;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<Product> loadShard(Path shard) throws IOException {
+        try (InputStream in = Files.newInputStream(shard)) {
+            return shardLoader.load(in, shard.toString());
+        }
+    }
+
+    private static List<Product> await(Future<List<Product>> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Carga de shards interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Error cargando shard", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Cargador incremental de catálogos basado en la API de tokens de Jackson
+ * ({@link JsonParser}).
+ *
+ * <p>
+ * En lugar de materializar el documento completo con una única llamada a
+ * {@link ObjectMapper#readValue(InputStream, Class)}, recorre el arreglo raíz
+ * (o la secuencia de objetos de un archivo NDJSON) y deserializa los productos
+ * de uno en uno, entregándolos a un {@link Consumer}. Así, la memoria pico
+ * queda acotada por los productos ya retenidos más un único producto en
+ * construcción, sin búferes intermedios del tamaño del archivo.
+ * </p>
+ *
+ * <p>
+ * Cada {@code progressInterval} productos se registra el avance
+ * (productos y bytes leídos) en el log.
+ * </p>
+ */
+public class StreamingCatalogLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingCatalogLoader.class);
+
+    private final ObjectMapper mapper;
+    private final ObjectReader productReader;
+    private final int progressInterval;
+
+    /**
+     * @param mapper           mapper de Jackson usado para crear el parser y deserializar productos.
+     * @param progressInterval cada cuántos productos se registra el progreso; {@code <= 0} lo desactiva.
+     */
+    public StreamingCatalogLoader(ObjectMapper mapper, int progressInterval) {
+        this.mapper = mapper;
+        this.productReader = mapper.readerFor(Product.class);
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Lee el arreglo JSON de productos y devuelve una lista ajustada a su tamaño final.
+     *
+     * @param in     flujo con el catálogo; no se cierra.
+     * @param source nombre de la fuente, usado en los mensajes de log y error.
+     * @return lista mutable con los productos en el orden del archivo.
+     * @throws IOException si el contenido no es un arreglo JSON de productos válido.
+     */
+    public List<Product> load(InputStream in, String source) throws IOException {
+        ArrayList<Product> products = new ArrayList<>();
+        read(in, source, products::add);
+        products.trimToSize();
+        return products;
+    }
+
+    /**
+     * Recorre el arreglo JSON (o la secuencia NDJSON) de productos entregando cada uno a {@code sink}
+     * a medida que se deserializa.
+     *
+     * @param in     flujo con el catálogo; no se cierra.
+     * @param source nombre de la fuente, usado en los mensajes de log y error.
+     * @param sink   destino de cada producto leído.
+     * @return cantidad de productos leídos.
+     * @throws IOException si el contenido no es un arreglo JSON ni NDJSON de productos válido.
+     */
+    public long read(InputStream in, String source, Consumer<Product> sink) throws IOException {
+        long start = System.nanoTime();
+        long count = 0;
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                    count = accept(parser, source, sink, count);
+                }
+                if (token != JsonToken.END_ARRAY) {
+                    throw new IOException("Elemento inesperado " + token + " en el catálogo " + source);
+                }
+            } else if (first == JsonToken.START_OBJECT) {
+                // Secuencia de objetos en la raíz (NDJSON): un producto por línea
+                JsonToken token;
+                do {
+                    count = accept(parser, source, sink, count);
+                } while ((token = parser.nextToken()) == JsonToken.START_OBJECT);
+                if (token != null) {
+                    throw new IOException("Elemento inesperado " + token + " en el catálogo " + source);
+                }
+            } else if (first != null) {
+                throw new IOException("Se esperaba un arreglo JSON o NDJSON de productos en " + source);
+            }
+        }
+        log.info("Catálogo {}: {} productos cargados en {} ms",
+                source, count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private long accept(JsonParser parser, String source, Consumer<Product> sink, long count) throws IOException {
+        sink.accept(productReader.readValue(parser));
+        count++;
+        if (progressInterval > 0 && count % progressInterval == 0) {
+            log.info("Catálogo {}: {} productos leídos ({} KB)",
+                    source, count, parser.currentLocation().getByteOffset() / 1024);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.itemapi.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de canonicalización de cadenas usado durante la carga del catálogo.
+ *
+ * <p>
+ * Valores como la moneda, la categoría, la marca o las características del
+ * reloj se repiten en miles de productos, y Jackson crea una instancia de
+ * {@link String} nueva por cada aparición. {@link #canonicalize(String)}
+ * devuelve siempre la primera instancia vista de cada valor, de modo que
+ * las repetidas quedan sin referencias y las recoge el GC.
+ * </p>
+ *
+ * <p>
+ * Es thread-safe (los shards se cargan en paralelo) y está pensado para
+ * vivir sólo durante una carga: el mapa se descarta junto con el pool y los
+ * productos conservan únicamente las instancias canónicas.
+ * </p>
+ */
+public final class StringPool {
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * Devuelve la instancia canónica de {@code value}.
+     *
+     * @param value cadena leída; puede ser {@code null}.
+     * @return la primera instancia igual a {@code value} registrada en el pool.
+     */
+    public String canonicalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.increment();
+        String canonical = values.putIfAbsent(value, value);
+        if (canonical == null) {
+            return value;
+        }
+        savedBytes.add(retainedSize(value));
+        return canonical;
+    }
+
+    /**
+     * @return estadísticas acumuladas del pool.
+     */
+    public Stats stats() {
+        return new Stats(lookups.sum(), values.size(), savedBytes.sum());
+    }
+
+    /**
+     * Tamaño aproximado de una cadena en el heap con compact strings: cabecera
+     * del {@code String} (24 bytes) más su {@code byte[]} (16 bytes de cabecera
+     * y un byte por carácter Latin-1), alineado a 8.
+     */
+    static long retainedSize(String value) {
+        return 24 + ((16L + value.length() + 7) & ~7L);
+    }
+
+    /**
+     * Resultado de una carga con deduplicación.
+     *
+     * @param lookups    valores que pasaron por el pool.
+     * @param distinct   valores distintos retenidos.
+     * @param savedBytes bytes de heap aproximados que dejaron de retenerse.
+     */
+    public record Stats(long lookups, int distinct, long savedBytes) {
+
+        /**
+         * @return instancias duplicadas reemplazadas por la canónica.
+         */
+        public long duplicates() {
+            return lookups - distinct;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.itemapi.repository;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.JDKValueInstantiators;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringCollectionDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Módulo de Jackson que canonicaliza con un {@link StringPool}, al
+ * deserializarlos, los campos de texto que se repiten entre productos.
+ *
+ * <p>
+ * Un {@link BeanDeserializerModifier} reemplaza el deserializador de las
+ * propiedades listadas en {@link #POOLED_FIELDS} (cadenas sueltas o listas de
+ * cadenas); el resto de los campos, mayormente únicos por producto, como el
+ * nombre o las URLs de {@code images}, se deserializa sin pasar por el pool.
+ * </p>
+ */
+public class StringPoolModule extends SimpleModule {
+
+    /**
+     * Campos de baja cardinalidad de {@code Product}, {@code GeneralInfo} y
+     * {@code Characteristics} que se deduplican.
+     */
+    static final Set<String> POOLED_FIELDS = Set.of(
+            "currency", "category", "brand", "installments",
+            "line", "gender", "age", "caseColor", "strapMaterial", "claspType",
+            "strapColor", "bezelColor", "dialColor");
+
+    private final StringPool pool;
+
+    /**
+     * @param pool pool en el que se registran los valores leídos.
+     */
+    public StringPoolModule(StringPool pool) {
+        super("StringPoolModule");
+        this.pool = pool;
+        setDeserializerModifier(new PoolingModifier());
+    }
+
+    private final class PoolingModifier extends BeanDeserializerModifier {
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                     BeanDeserializerBuilder builder) {
+            PooledStringDeserializer pooled = new PooledStringDeserializer(pool);
+            Iterator<SettableBeanProperty> properties = builder.getProperties();
+            while (properties.hasNext()) {
+                SettableBeanProperty property = properties.next();
+                if (!POOLED_FIELDS.contains(property.getName())) {
+                    continue;
+                }
+                JavaType type = property.getType();
+                if (type.hasRawClass(String.class)) {
+                    builder.addOrReplaceProperty(property.withValueDeserializer(pooled), true);
+                } else if (type.isCollectionLikeType() && type.getContentType().hasRawClass(String.class)) {
+                    JavaType listType = config.getTypeFactory().constructCollectionType(ArrayList.class, String.class);
+                    builder.addOrReplaceProperty(property.withValueDeserializer(new StringCollectionDeserializer(
+                            listType, pooled, JDKValueInstantiators.findStdValueInstantiator(config, ArrayList.class))),
+                            true);
+                }
+            }
+            return builder;
+        }
+    }
+
+    /**
+     * Deserializa la cadena con el comportamiento estándar y devuelve su
+     * instancia canónica.
+     */
+    static final class PooledStringDeserializer extends StdScalarDeserializer<String> {
+
+        private final StringPool pool;
+
+        PooledStringDeserializer(StringPool pool) {
+            super(String.class);
+            this.pool = pool;
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return pool.canonicalize(StringDeserializer.instance.deserialize(p, ctxt));
+        }
+    }
+}
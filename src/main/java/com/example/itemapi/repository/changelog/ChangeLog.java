@@ -0,0 +1,541 @@
+package com.example.itemapi.repository.changelog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de cambios de escritura anticipada (write-ahead log) del catálogo.
+ *
+ * <p>
+ * Los cambios se agregan a segmentos {@code changes-<secuencia>.log} de un
+ * directorio, cada uno con registros {@code [longitud][crc32c][secuencia][JSON]}.
+ * La secuencia es global y consecutiva; el CRC cubre la secuencia y el JSON.
+ * </p>
+ *
+ * <p><b>Commit en grupo:</b> un único hilo ({@code changelog-commit}) toma los
+ * cambios pendientes de una cola, hasta {@code maxBatch} por vez, los escribe
+ * con una sola escritura agrupada de {@link FileChannel} y hace un único
+ * {@link FileChannel#force(boolean)} para todos. Mientras un lote se
+ * sincroniza, los siguientes cambios se acumulan y viajan en el próximo, de
+ * modo que la cantidad de {@code fsync} crece con la carga mucho menos que la
+ * de escrituras. Recién después del {@code fsync} cada cambio se entrega al
+ * {@link Applier}, en orden de secuencia y en el mismo hilo, y se completa su
+ * futuro: quien escribe sólo recibe la confirmación de cambios ya durables.</p>
+ *
+ * <p><b>Recuperación:</b> {@link #replay} reaplica los registros posteriores a
+ * una secuencia (la del último snapshot). Una cola incompleta o corrupta en el
+ * último segmento, típica de una caída a mitad de escritura, se trunca; en un
+ * segmento anterior se informa como error. Al abrirse, el log siempre empieza
+ * un segmento nuevo.</p>
+ *
+ * <p><b>Compactación:</b> {@link #checkpoint(Supplier)} cierra el segmento
+ * activo y captura el estado en ese punto exacto de la secuencia; una vez
+ * guardado como snapshot, {@link #deleteSegmentsThrough(long)} elimina los
+ * segmentos que ya contiene.</p>
+ *
+ * <p>Si una escritura o un {@code fsync} fallan, los cambios de ese lote se
+ * rechazan y el log deja de aceptar escrituras hasta reabrirse.</p>
+ */
+public class ChangeLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+
+    static final String SEGMENT_PREFIX = "changes-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    /** Longitud, CRC y secuencia de cada registro. */
+    static final int HEADER_SIZE = 16;
+
+    /** Tamaño máximo del JSON de un cambio. */
+    static final int MAX_RECORD_SIZE = 16 << 20;
+
+    /**
+     * Aplica un cambio ya durable al estado en memoria. Se invoca siempre
+     * desde un único hilo y en orden de secuencia.
+     */
+    @FunctionalInterface
+    public interface Applier {
+
+        /**
+         * @param sequence secuencia del cambio.
+         * @param change   cambio a aplicar.
+         * @return {@code true} si modificó el estado; {@code false} si no tuvo efecto
+         *         (por ejemplo, el producto no existía).
+         */
+        boolean apply(long sequence, ChangeRecord change);
+    }
+
+    private final Path directory;
+    private final int maxBatch;
+    private final ObjectWriter writer;
+    private final Applier applier;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer sequenceBytes = ByteBuffer.allocate(Long.BYTES);
+
+    private FileChannel channel;
+    private long sequence;
+    private volatile long activeSegmentStart;
+    private volatile long durableSequence;
+    private volatile long records;
+    private volatile long syncs;
+    private volatile long syncNanos;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Abre el log a continuación de {@code lastSequence}, en un segmento nuevo.
+     * Debe llamarse después de {@link #replay}, con la secuencia que devolvió.
+     *
+     * @param directory    directorio de los segmentos.
+     * @param lastSequence última secuencia recuperada.
+     * @param maxBatch     máximo de cambios por {@code fsync}.
+     * @param mapper       mapper con el que se serializan los cambios.
+     * @param applier      destino de los cambios ya durables.
+     * @throws IOException si el segmento no puede crearse.
+     */
+    public ChangeLog(Path directory, long lastSequence, int maxBatch, ObjectMapper mapper, Applier applier)
+            throws IOException {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch debe ser al menos 1: " + maxBatch);
+        }
+        this.directory = directory;
+        this.maxBatch = maxBatch;
+        this.writer = mapper.writerFor(ChangeRecord.class);
+        this.applier = applier;
+        this.sequence = lastSequence;
+        this.durableSequence = lastSequence;
+        Files.createDirectories(directory);
+        this.channel = openSegment(lastSequence + 1);
+        this.committer = new Thread(this::run, "changelog-commit");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Encola un cambio para el próximo commit.
+     *
+     * @param change cambio a registrar.
+     * @return futuro que se completa, tras el {@code fsync} y la aplicación del
+     *         cambio, con el resultado del {@link Applier}; o excepcionalmente
+     *         con {@link UncheckedIOException} si no pudo hacerse durable.
+     */
+    public CompletableFuture<Boolean> append(ChangeRecord change) {
+        byte[] payload;
+        try {
+            payload = writer.writeValueAsBytes(change);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Cambio no serializable", e));
+        }
+        if (payload.length > MAX_RECORD_SIZE) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Cambio demasiado grande: " + payload.length + " bytes"));
+        }
+        Append append = new Append(change, payload, new CompletableFuture<>());
+        submit(append);
+        return append.future();
+    }
+
+    /**
+     * Cierra el segmento activo tras los cambios ya encolados y captura el
+     * estado en ese punto, desde el hilo que aplica los cambios.
+     *
+     * @param capture captura del estado; se ejecuta sin cambios concurrentes.
+     * @param <T>     tipo del estado capturado.
+     * @return futuro con la última secuencia incluida y el estado capturado.
+     */
+    public <T> CompletableFuture<Checkpoint<T>> checkpoint(Supplier<T> capture) {
+        Rotate<T> rotate = new Rotate<>(capture, new CompletableFuture<>());
+        submit(rotate);
+        return rotate.future();
+    }
+
+    /**
+     * Elimina los segmentos cerrados cuyos cambios son todos anteriores o
+     * iguales a {@code sequence}, normalmente la de un snapshot ya guardado.
+     *
+     * @param sequence última secuencia contenida en el snapshot.
+     * @return cantidad de segmentos eliminados.
+     * @throws IOException si un segmento no puede eliminarse.
+     */
+    public int deleteSegmentsThrough(long sequence) throws IOException {
+        List<Segment> segments = segments(directory);
+        int deleted = 0;
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.start() != activeSegmentStart && segments.get(i + 1).start() - 1 <= sequence) {
+                Files.deleteIfExists(segment.path());
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @return secuencia del último cambio durable.
+     */
+    public long lastSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * @return cambios escritos y {@code fsync} realizados desde que se abrió el log.
+     */
+    public Stats getStats() {
+        return new Stats(durableSequence, records, syncs, syncNanos);
+    }
+
+    /**
+     * Hace durables los cambios ya encolados, detiene el hilo de commit y
+     * cierra el segmento activo. Los cambios encolados después se rechazan.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(new Stop());
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Request> rejected = new ArrayList<>();
+        queue.drainTo(rejected);
+        rejected.forEach(request -> request.fail(new IllegalStateException("El log de cambios está cerrado")));
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Error cerrando el segmento activo del log de cambios", e);
+        }
+    }
+
+    /**
+     * Reaplica los cambios posteriores a {@code afterSequence}. Una cola
+     * incompleta o corrupta en el último segmento se trunca.
+     *
+     * @param directory     directorio de los segmentos; si no existe no hay cambios.
+     * @param mapper        mapper con el que se leen los cambios.
+     * @param afterSequence secuencia ya incluida en el estado de partida.
+     * @param applier       destino de los cambios.
+     * @return cambios aplicados, última secuencia y bytes descartados.
+     * @throws IOException si falta un cambio o hay un registro corrupto fuera del último segmento.
+     */
+    public static Replay replay(Path directory, ObjectMapper mapper, long afterSequence, Applier applier)
+            throws IOException {
+        ObjectReader reader = mapper.readerFor(ChangeRecord.class);
+        List<Segment> segments = Files.isDirectory(directory) ? segments(directory) : List.of();
+        CRC32C crc = new CRC32C();
+        ByteBuffer sequenceBytes = ByteBuffer.allocate(Long.BYTES);
+        long last = afterSequence;
+        long applied = 0;
+        long truncated = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            boolean lastSegment = i == segments.size() - 1;
+            if (!lastSegment && segments.get(i + 1).start() - 1 <= afterSequence) {
+                continue;
+            }
+            long size = Files.size(segment.path());
+            long valid = 0;
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(segment.path()), 1 << 16))) {
+                while (size - valid >= HEADER_SIZE) {
+                    int length = in.readInt();
+                    int expected = in.readInt();
+                    long sequence = in.readLong();
+                    if (length <= 0 || length > MAX_RECORD_SIZE || size - valid - HEADER_SIZE < length) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    if (checksum(crc, sequenceBytes, sequence, payload) != expected) {
+                        break;
+                    }
+                    valid += HEADER_SIZE + length;
+                    if (sequence <= afterSequence) {
+                        continue;
+                    }
+                    if (sequence != last + 1) {
+                        throw new IOException("Falta el cambio " + (last + 1) + " en " + segment.path()
+                                + " (se encontró " + sequence + ")");
+                    }
+                    applier.apply(sequence, reader.readValue(payload));
+                    last = sequence;
+                    applied++;
+                }
+            }
+            if (valid < size) {
+                if (!lastSegment) {
+                    throw new IOException("Registro corrupto en " + segment.path() + " en la posición " + valid);
+                }
+                try (FileChannel tail = FileChannel.open(segment.path(), StandardOpenOption.WRITE)) {
+                    tail.truncate(valid);
+                    tail.force(true);
+                }
+                truncated = size - valid;
+                log.warn("Cola incompleta en {}: se descartan {} bytes desde la posición {}",
+                        segment.path(), truncated, valid);
+            }
+        }
+        return new Replay(applied, last, truncated);
+    }
+
+    private void submit(Request request) {
+        IOException error = failure;
+        if (closed) {
+            request.fail(new IllegalStateException("El log de cambios está cerrado"));
+        } else if (error != null) {
+            request.fail(new UncheckedIOException("El log de cambios no acepta escrituras", error));
+        } else {
+            queue.add(request);
+        }
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>(maxBatch);
+        List<Append> appends = new ArrayList<>(maxBatch);
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            for (Request request : batch) {
+                if (request instanceof Append append) {
+                    appends.add(append);
+                    continue;
+                }
+                // Los cambios encolados antes de una rotación o del cierre van en su propio commit
+                commit(appends);
+                if (request instanceof Rotate<?> rotate) {
+                    rotate(rotate);
+                } else {
+                    running = false;
+                }
+            }
+            commit(appends);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Append> appends) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        long first = sequence + 1;
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            ByteBuffer[] buffers = new ByteBuffer[appends.size() * 2];
+            for (int i = 0; i < appends.size(); i++) {
+                byte[] payload = appends.get(i).payload();
+                long recordSequence = first + i;
+                buffers[2 * i] = ByteBuffer.allocate(HEADER_SIZE)
+                        .putInt(payload.length)
+                        .putInt(checksum(crc, sequenceBytes, recordSequence, payload))
+                        .putLong(recordSequence)
+                        .flip();
+                buffers[2 * i + 1] = ByteBuffer.wrap(payload);
+            }
+            writeFully(buffers);
+            long start = System.nanoTime();
+            channel.force(false);
+            syncNanos += System.nanoTime() - start;
+            syncs++;
+            records += appends.size();
+            sequence += appends.size();
+            durableSequence = sequence;
+        } catch (IOException e) {
+            if (failure == null) {
+                failure = e;
+                log.error("Falló la escritura del log de cambios; se rechazan nuevas escrituras", e);
+            }
+            UncheckedIOException error = new UncheckedIOException("No se pudo hacer durable el cambio", e);
+            appends.forEach(append -> append.future().completeExceptionally(error));
+            appends.clear();
+            return;
+        }
+        for (int i = 0; i < appends.size(); i++) {
+            Append append = appends.get(i);
+            try {
+                append.future().complete(applier.apply(first + i, append.change()));
+            } catch (RuntimeException e) {
+                log.error("Error aplicando el cambio {} sobre {}", first + i, append.change().id(), e);
+                append.future().completeExceptionally(e);
+            }
+        }
+        appends.clear();
+    }
+
+    private <T> void rotate(Rotate<T> rotate) {
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            if (activeSegmentStart != sequence + 1) {
+                FileChannel next = openSegment(sequence + 1);
+                channel.close();
+                channel = next;
+            }
+            rotate.future().complete(new Checkpoint<>(sequence, rotate.capture().get()));
+        } catch (IOException | RuntimeException e) {
+            rotate.future().completeExceptionally(e);
+        }
+    }
+
+    private void writeFully(ByteBuffer[] buffers) throws IOException {
+        ByteBuffer lastBuffer = buffers[buffers.length - 1];
+        while (lastBuffer.hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    private FileChannel openSegment(long start) throws IOException {
+        Path file = directory.resolve(segmentName(start));
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (opened.size() > 0) {
+            opened.close();
+            throw new IOException("El segmento " + file + " ya tiene datos; ¿se omitió replay?");
+        }
+        syncDirectory(directory);
+        activeSegmentStart = start;
+        return opened;
+    }
+
+    private static int checksum(CRC32C crc, ByteBuffer sequenceBytes, long sequence, byte[] payload) {
+        crc.reset();
+        crc.update(sequenceBytes.clear().putLong(sequence).flip());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    static String segmentName(long start) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, start, SEGMENT_SUFFIX);
+    }
+
+    static List<Segment> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(ChangeLog::parseSegment)
+                    .filter(segment -> segment != null)
+                    .sorted(Comparator.comparingLong(Segment::start))
+                    .toList();
+        }
+    }
+
+    private static Segment parseSegment(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return null;
+        }
+        try {
+            return new Segment(file, Long.parseLong(
+                    name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fuerza a disco las entradas de un directorio, para que un archivo recién
+     * creado o renombrado sobreviva a una caída. No todos los sistemas lo admiten.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel handle = FileChannel.open(directory, StandardOpenOption.READ)) {
+            handle.force(true);
+        } catch (IOException e) {
+            log.debug("No se pudo sincronizar el directorio {}", directory, e);
+        }
+    }
+
+    /**
+     * Resultado de {@link #replay}.
+     *
+     * @param applied      cambios reaplicados.
+     * @param lastSequence última secuencia recuperada, desde la que continúa el log.
+     * @param truncated    bytes descartados de una cola incompleta.
+     */
+    public record Replay(long applied, long lastSequence, long truncated) {
+    }
+
+    /**
+     * Punto de compactación.
+     *
+     * @param sequence última secuencia incluida en {@code state}.
+     * @param state    estado capturado en ese punto.
+     * @param <T>      tipo del estado.
+     */
+    public record Checkpoint<T>(long sequence, T state) {
+    }
+
+    /**
+     * Contadores del log desde que se abrió.
+     *
+     * @param lastSequence secuencia del último cambio durable.
+     * @param records      cambios escritos.
+     * @param syncs        {@code fsync} realizados; {@code records / syncs} es el tamaño medio del lote.
+     * @param syncNanos    tiempo total en {@code fsync}.
+     */
+    public record Stats(long lastSequence, long records, long syncs, long syncNanos) {
+    }
+
+    record Segment(Path path, long start) {
+    }
+
+    private sealed interface Request permits Append, Rotate, Stop {
+
+        void fail(RuntimeException error);
+    }
+
+    private record Append(ChangeRecord change, byte[] payload, CompletableFuture<Boolean> future) implements Request {
+
+        @Override
+        public void fail(RuntimeException error) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    private record Rotate<T>(Supplier<T> capture, CompletableFuture<Checkpoint<T>> future) implements Request {
+
+        @Override
+        public void fail(RuntimeException error) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    private record Stop() implements Request {
+
+        @Override
+        public void fail(RuntimeException error) {
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.itemapi.repository.changelog;
+
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Cambio sobre un producto del catálogo, tal como se guarda en el
+ * {@link ChangeLog}. Sólo los campos de su {@link Operation} tienen valor.
+ *
+ * @param operation tipo de cambio.
+ * @param id        identificador del producto afectado.
+ * @param product   documento completo, para {@link Operation#UPSERT}.
+ * @param price     nuevo precio, para {@link Operation#PRICE}.
+ * @param quantity  nuevo stock, para {@link Operation#STOCK}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeRecord(Operation operation, String id, Product product, Double price, Integer quantity) {
+
+    /**
+     * Crea o reemplaza un producto completo.
+     *
+     * @param product documento con ID.
+     * @return cambio de tipo {@link Operation#UPSERT}.
+     */
+    public static ChangeRecord upsert(Product product) {
+        return new ChangeRecord(Operation.UPSERT, product.getId(), product, null, null);
+    }
+
+    /**
+     * @param id producto a eliminar.
+     * @return cambio de tipo {@link Operation#DELETE}.
+     */
+    public static ChangeRecord delete(String id) {
+        return new ChangeRecord(Operation.DELETE, id, null, null, null);
+    }
+
+    /**
+     * @param id    producto a modificar.
+     * @param price nuevo precio.
+     * @return cambio de tipo {@link Operation#PRICE}.
+     */
+    public static ChangeRecord price(String id, double price) {
+        return new ChangeRecord(Operation.PRICE, id, null, price, null);
+    }
+
+    /**
+     * @param id       producto a modificar.
+     * @param quantity nuevo stock.
+     * @return cambio de tipo {@link Operation#STOCK}.
+     */
+    public static ChangeRecord stock(String id, int quantity) {
+        return new ChangeRecord(Operation.STOCK, id, null, null, quantity);
+    }
+
+    /**
+     * Tipos de cambio.
+     */
+    public enum Operation {
+        UPSERT, DELETE, PRICE, STOCK
+    }
+}
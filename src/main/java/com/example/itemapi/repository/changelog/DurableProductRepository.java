@@ -0,0 +1,470 @@
+package com.example.itemapi.repository.changelog;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.repository.snapshot.SnapshotProductRepository;
+import com.example.itemapi.repository.snapshot.SnapshotWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link ProductRepository} en memoria con escrituras durables: altas,
+ * reemplazos, bajas y cambios de precio o de stock se registran en un
+ * {@link ChangeLog} antes de aplicarse.
+ *
+ * <p><b>Escritura:</b> cada operación se agrega al log y espera su
+ * {@code fsync}, que el log comparte entre todas las escrituras concurrentes
+ * (commit en grupo, hasta {@code catalog.changelog.max-batch} por
+ * {@code fsync}). El cambio se aplica al catálogo en memoria recién cuando es
+ * durable, y se publica un {@link ProductChangedEvent}. Los documentos nunca
+ * se modifican en el lugar: un cambio de precio o de stock reemplaza el
+ * producto por una copia, de modo que las lecturas en curso y las respuestas
+ * cacheadas por identidad siguen siendo consistentes.</p>
+ *
+ * <p><b>Arranque:</b> se abre el último snapshot
+ * {@code snapshot-<secuencia>.snap} del directorio
+ * ({@code catalog.changelog.dir}) y se reaplican los cambios posteriores a su
+ * secuencia. Sin snapshot, el catálogo inicial se carga como
+ * {@link JsonProductRepository} y se guarda como snapshot de secuencia 0.</p>
+ *
+ * <p><b>Compactación:</b> cada {@code catalog.changelog.compact-interval}, si
+ * se acumularon al menos {@code catalog.changelog.compact-min-records}
+ * cambios, el estado se guarda como un snapshot nuevo (escrito aparte y
+ * renombrado de forma atómica), se eliminan los segmentos y snapshots que
+ * quedaron cubiertos y se publica un {@link CatalogReloadedEvent}, con el
+ * que los índices de búsqueda, facetas y rangos se reconstruyen. Entre
+ * compactaciones esos índices coinciden contra el último snapshot, mientras
+ * que el detalle y el listado ya muestran cada cambio; por eso
+ * {@link #isSnapshot()} es {@code false}, y el servicio vuelve a leer de aquí
+ * cada producto de una página de búsqueda, filtros o rangos: se sirven sus
+ * últimos cambios y los eliminados se omiten. Los productos nuevos aparecen
+ * en esos resultados tras la siguiente compactación.</p>
+ *
+ * <p>
+ * Publica {@code catalog.changelog.records}, {@code catalog.changelog.syncs} y
+ * {@code catalog.changelog.pending} (cambios aún no compactados).
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "durable")
+public class DurableProductRepository implements ProductRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableProductRepository.class);
+
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final CatalogProperties.Changelog properties;
+    private final ApplicationEventPublisher events;
+    private final Map<String, Product> byId = new ConcurrentHashMap<>();
+    private final Map<String, Product> ordered = new LinkedHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object compaction = new Object();
+    private final ScheduledExecutorService compactor;
+    private final ChangeLog changeLog;
+
+    private volatile List<Product> listing;
+    private volatile long snapshotSequence;
+
+    /**
+     * Recupera el catálogo del último snapshot y del log de cambios, y abre
+     * el log para nuevas escrituras.
+     *
+     * @param properties configuración del catálogo ({@code catalog.changelog.*}).
+     * @param mapper     mapper de la aplicación, usado para los cambios del log.
+     * @param events     publicador de {@link ProductChangedEvent} y {@link CatalogReloadedEvent}.
+     * @param registry   registro en el que se publican los contadores del log.
+     * @throws UncheckedIOException si el snapshot o el log no pueden leerse.
+     */
+    public DurableProductRepository(CatalogProperties properties, ObjectMapper mapper,
+                                    ApplicationEventPublisher events, MeterRegistry registry) {
+        this.directory = Path.of(properties.getChangelog().getDir());
+        this.properties = properties.getChangelog();
+        this.events = events;
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            deleteTemporaryFiles();
+            Path snapshot = latestSnapshot();
+            if (snapshot != null) {
+                snapshotSequence = snapshotSequence(snapshot);
+                load(new SnapshotProductRepository(snapshot).findAll());
+            } else {
+                load(new JsonProductRepository(properties).findAll());
+                writeSnapshot(findAll(), 0);
+            }
+            ChangeLog.Replay replay = ChangeLog.replay(directory, mapper, snapshotSequence,
+                    (sequence, change) -> apply(change));
+            this.changeLog = new ChangeLog(directory, replay.lastSequence(), this.properties.getMaxBatch(), mapper,
+                    this::applyAndPublish);
+            log.info("Catálogo durable recuperado de {}: {} productos, snapshot {} y {} cambios reaplicados ({} ms)",
+                    directory, byId.size(), snapshotSequence, replay.applied(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error recuperando el catálogo durable de " + directory, e);
+        }
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "changelog-compact");
+            thread.setDaemon(true);
+            return thread;
+        });
+        bindMetrics(registry);
+    }
+
+    /**
+     * Programa la compactación periódica.
+     */
+    @PostConstruct
+    public void start() {
+        long interval = properties.getCompactInterval().toMillis();
+        if (interval > 0) {
+            compactor.scheduleWithFixedDelay(this::compactIfNeeded, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Detiene la compactación y cierra el log tras hacer durables los cambios encolados.
+     */
+    @PreDestroy
+    public void close() {
+        compactor.shutdownNow();
+        changeLog.close();
+    }
+
+    /**
+     * Devuelve el catálogo vigente, en orden de alta. La lista se reconstruye
+     * en la primera lectura posterior a un cambio.
+     *
+     * @return lista inmutable de {@link Product}.
+     */
+    @Override
+    public List<Product> findAll() {
+        List<Product> current = listing;
+        if (current == null) {
+            synchronized (this) {
+                current = listing;
+                if (current == null) {
+                    listing = current = List.copyOf(ordered.values());
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Busca un producto por su identificador.
+     *
+     * @param id identificador del producto a buscar.
+     * @return el producto con sus últimos cambios durables, o {@code null} si no existe.
+     */
+    @Override
+    public Product findById(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * El detalle refleja cada cambio, los índices derivados sólo la última compactación.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean isSnapshot() {
+        return false;
+    }
+
+    /**
+     * Crea o reemplaza un producto. El documento no debe modificarse después.
+     *
+     * @param product producto completo, con ID.
+     * @return {@code true} una vez que el cambio es durable y está aplicado.
+     * @throws UncheckedIOException si no pudo hacerse durable.
+     */
+    public boolean upsert(Product product) {
+        if (product.getId() == null || product.getId().isBlank()) {
+            throw new IllegalArgumentException("El producto no tiene ID");
+        }
+        return write(ChangeRecord.upsert(product));
+    }
+
+    /**
+     * Elimina un producto.
+     *
+     * @param id identificador del producto.
+     * @return {@code false} si el producto no existía.
+     * @throws UncheckedIOException si no pudo hacerse durable.
+     */
+    public boolean delete(String id) {
+        return write(ChangeRecord.delete(id));
+    }
+
+    /**
+     * Cambia el precio de un producto.
+     *
+     * @param id    identificador del producto.
+     * @param price nuevo precio, mayor o igual que cero.
+     * @return {@code false} si el producto no existía.
+     * @throws UncheckedIOException si no pudo hacerse durable.
+     */
+    public boolean updatePrice(String id, double price) {
+        if (!(price >= 0) || Double.isInfinite(price)) {
+            throw new IllegalArgumentException("Precio inválido: " + price);
+        }
+        return write(ChangeRecord.price(id, price));
+    }
+
+    /**
+     * Fija el stock de un producto.
+     *
+     * @param id       identificador del producto.
+     * @param quantity nuevo stock, mayor o igual que cero.
+     * @return {@code false} si el producto no existía.
+     * @throws UncheckedIOException si no pudo hacerse durable.
+     */
+    public boolean updateStock(String id, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Cantidad inválida: " + quantity);
+        }
+        return write(ChangeRecord.stock(id, quantity));
+    }
+
+    /**
+     * Guarda el estado vigente como un snapshot nuevo y elimina los segmentos
+     * del log que quedaron cubiertos por él. Las escrituras continúan
+     * mientras se escribe el snapshot.
+     *
+     * @return secuencia del snapshot escrito.
+     * @throws UncheckedIOException si el snapshot no puede escribirse.
+     */
+    public long compact() {
+        synchronized (compaction) {
+            return compactNow();
+        }
+    }
+
+    private long compactNow() {
+        long start = System.nanoTime();
+        ChangeLog.Checkpoint<List<Product>> checkpoint = changeLog.checkpoint(this::findAll).join();
+        if (checkpoint.sequence() == snapshotSequence) {
+            return snapshotSequence;
+        }
+        try {
+            Path snapshot = writeSnapshot(checkpoint.state(), checkpoint.sequence());
+            snapshotSequence = checkpoint.sequence();
+            int segments = changeLog.deleteSegmentsThrough(checkpoint.sequence());
+            for (Path previous : snapshots()) {
+                if (!previous.equals(snapshot)) {
+                    Files.deleteIfExists(previous);
+                }
+            }
+            log.info("Log de cambios compactado en {}: {} productos, {} segmentos eliminados ({} ms)",
+                    snapshot.getFileName(), checkpoint.state().size(), segments,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error compactando el log de cambios en " + directory, e);
+        }
+        events.publishEvent(new CatalogReloadedEvent(checkpoint.state(), generation.incrementAndGet()));
+        return checkpoint.sequence();
+    }
+
+    /**
+     * @return contadores del log de cambios.
+     */
+    public ChangeLog.Stats getStats() {
+        return changeLog.getStats();
+    }
+
+    /**
+     * @return cambios durables aún no incluidos en un snapshot.
+     */
+    public long getPendingRecords() {
+        return changeLog.lastSequence() - snapshotSequence;
+    }
+
+    private boolean write(ChangeRecord change) {
+        try {
+            return changeLog.append(change).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void compactIfNeeded() {
+        try {
+            if (getPendingRecords() >= properties.getCompactMinRecords()) {
+                compact();
+            }
+        } catch (RuntimeException e) {
+            log.error("Falló la compactación del log de cambios; se reintentará", e);
+        }
+    }
+
+    private boolean applyAndPublish(long sequence, ChangeRecord change) {
+        boolean applied = apply(change);
+        if (applied) {
+            events.publishEvent(new ProductChangedEvent(sequence, change));
+        }
+        return applied;
+    }
+
+    /**
+     * Aplica un cambio; sólo se invoca desde la recuperación o desde el hilo del log.
+     */
+    private synchronized boolean apply(ChangeRecord change) {
+        String id = change.id();
+        Product current = byId.get(id);
+        Product next;
+        switch (change.operation()) {
+            case UPSERT -> next = change.product();
+            case DELETE -> {
+                if (current == null) {
+                    return false;
+                }
+                byId.remove(id);
+                ordered.remove(id);
+                listing = null;
+                return true;
+            }
+            case PRICE -> {
+                if (current == null) {
+                    return false;
+                }
+                next = copy(current);
+                next.setPrice(change.price());
+            }
+            case STOCK -> {
+                if (current == null) {
+                    return false;
+                }
+                next = copy(current);
+                next.setAvailableQuantity(change.quantity());
+            }
+            default -> throw new IllegalStateException("Operación desconocida: " + change.operation());
+        }
+        byId.put(id, next);
+        ordered.put(id, next);
+        listing = null;
+        return true;
+    }
+
+    /**
+     * Carga el catálogo inicial. El catálogo JSON conserva los productos sin
+     * ID, pero aquí no pueden direccionarse ni modificarse: se descartan, y
+     * por eso tampoco llegan al snapshot inicial.
+     */
+    private synchronized void load(List<Product> products) {
+        int skipped = 0;
+        for (Product product : products) {
+            if (product.getId() == null) {
+                skipped++;
+                continue;
+            }
+            byId.put(product.getId(), product);
+            ordered.put(product.getId(), product);
+        }
+        if (skipped > 0) {
+            log.warn("Se descartaron {} productos sin ID del catálogo durable", skipped);
+        }
+        listing = null;
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getCurrency(), product.getAvailableQuantity(), product.getImages(), product.getCategory(),
+                product.getBrand(), product.getSellerDescription(), product.getGeneralInfo(),
+                product.getCharacteristics(), product.getReviews());
+    }
+
+    /**
+     * Escribe el snapshot en un archivo temporal, lo fuerza a disco y lo
+     * renombra de forma atómica: un snapshot visible siempre está completo.
+     */
+    private Path writeSnapshot(List<Product> products, long sequence) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (SnapshotWriter writer = new SnapshotWriter(temporary)) {
+            for (Product product : products) {
+                writer.write(product);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        ChangeLog.syncDirectory(directory);
+        return target;
+    }
+
+    private Path latestSnapshot() throws IOException {
+        List<Path> snapshots = snapshots();
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(DurableProductRepository::snapshotSequence))
+                    .toList();
+        }
+    }
+
+    private static long snapshotSequence(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    /**
+     * Los snapshots a medio escribir de una compactación interrumpida se descartan.
+     */
+    private void deleteTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".tmp"))::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.changelog.records", this, r -> r.getStats().records())
+                .description("Cambios escritos en el log de cambios")
+                .register(registry);
+        FunctionCounter.builder("catalog.changelog.syncs", this, r -> r.getStats().syncs())
+                .description("fsync del log de cambios; records / syncs es el tamaño medio del lote")
+                .register(registry);
+        Gauge.builder("catalog.changelog.pending", this, DurableProductRepository::getPendingRecords)
+                .description("Cambios durables aún no compactados en un snapshot")
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.itemapi.repository.changelog;
+
+/**
+ * Evento publicado en el contexto de Spring cada vez que un cambio ya durable
+ * se aplica al catálogo de {@link DurableProductRepository}.
+ *
+ * <p>
+ * A diferencia de {@link com.example.itemapi.repository.CatalogReloadedEvent},
+ * que reconstruye las estructuras derivadas tras cada compactación, este
+ * evento es por producto y se publica desde el hilo que aplica los cambios,
+ * en orden de secuencia: los listeners deben ser rápidos.
+ * </p>
+ *
+ * @param sequence secuencia del cambio en el log.
+ * @param change   cambio aplicado.
+ */
+public record ProductChangedEvent(long sequence, ChangeRecord change) {
+}
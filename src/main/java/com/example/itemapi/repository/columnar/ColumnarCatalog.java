@@ -0,0 +1,341 @@
+package com.example.itemapi.repository.columnar;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import com.example.itemapi.repository.ProductIdIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Catálogo inmutable almacenado por columnas.
+ *
+ * <p>
+ * En lugar de un grafo de objetos por producto, cada campo es un arreglo
+ * indexado por ordinal:
+ * </p>
+ * <ul>
+ *   <li>numéricos en {@code double[]} / {@code int[]} primitivos, con
+ *       {@link Double#NaN} / {@link #NULL_INT} como ausencia de valor;</li>
+ *   <li>cadenas de baja cardinalidad (moneda, categoría, marca, cuotas, línea,
+ *       género, edad y colores/materiales) como códigos {@code int} de un
+ *       {@link StringDictionary} por columna;</li>
+ *   <li>cadenas propias de cada producto (ID, nombre, descripciones, modelo)
+ *       en {@code String[]};</li>
+ *   <li>listas ({@code images}, {@code comments}) aplanadas en un único
+ *       {@code String[]} con un arreglo de posiciones de inicio;</li>
+ *   <li>presencia de los objetos anidados y {@code freeShipping} en un byte de banderas.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link #product(int)} materializa un {@link Product} nuevo a partir de las
+ * columnas cada vez que se lo pide; los objetos resultantes son equivalentes
+ * ({@code equals}) a los deserializados del JSON original.
+ * </p>
+ */
+public final class ColumnarCatalog {
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    // Cadenas propias de cada producto
+    private static final int ID = 0, NAME = 1, DESCRIPTION = 2, SELLER_DESCRIPTION = 3, MODEL = 4, RAW = 5;
+    // Cadenas codificadas por diccionario
+    private static final int CURRENCY = 0, CATEGORY = 1, BRAND = 2, INSTALLMENTS = 3, LINE = 4, GENDER = 5,
+            AGE = 6, CASE_COLOR = 7, STRAP_MATERIAL = 8, CLASP_TYPE = 9, STRAP_COLOR = 10, BEZEL_COLOR = 11,
+            DIAL_COLOR = 12, CODED = 13;
+    private static final int PRICE = 0, DISCOUNT_PRICE = 1, ORIGINAL_PRICE = 2, RATING = 3, DOUBLES = 4;
+    private static final int AVAILABLE_QUANTITY = 0, DISCOUNT_PERCENTAGE = 1, TOTAL_REVIEWS = 2, INTS = 3;
+
+    private static final byte HAS_GENERAL_INFO = 1, HAS_CHARACTERISTICS = 2, HAS_REVIEWS = 4, HAS_IMAGES = 8,
+            HAS_COMMENTS = 16, HAS_FREE_SHIPPING = 32, FREE_SHIPPING = 64;
+
+    private final int size;
+    private final String[][] raw;
+    private final int[][] codes;
+    private final StringDictionary[] dictionaries;
+    private final double[][] doubles;
+    private final int[][] ints;
+    private final byte[] flags;
+    private final int[] imageStart;
+    private final String[] images;
+    private final int[] commentStart;
+    private final String[] comments;
+    private final ProductIdIndex index;
+
+    private ColumnarCatalog(Builder builder) {
+        this.size = builder.size;
+        this.raw = trim(builder.raw, size);
+        this.codes = new int[CODED][];
+        for (int c = 0; c < CODED; c++) {
+            codes[c] = Arrays.copyOf(builder.codes[c], size);
+            builder.dictionaries[c].freeze();
+        }
+        this.dictionaries = builder.dictionaries;
+        this.doubles = new double[DOUBLES][];
+        for (int c = 0; c < DOUBLES; c++) {
+            doubles[c] = Arrays.copyOf(builder.doubles[c], size);
+        }
+        this.ints = new int[INTS][];
+        for (int c = 0; c < INTS; c++) {
+            ints[c] = Arrays.copyOf(builder.ints[c], size);
+        }
+        this.flags = Arrays.copyOf(builder.flags, size);
+        this.imageStart = Arrays.copyOf(builder.imageStart, size + 1);
+        this.images = builder.images.toArray(new String[0]);
+        this.commentStart = Arrays.copyOf(builder.commentStart, size + 1);
+        this.comments = builder.comments.toArray(new String[0]);
+        this.index = ProductIdIndex.build(raw[ID], size);
+    }
+
+    private static String[][] trim(String[][] columns, int size) {
+        String[][] trimmed = new String[columns.length][];
+        for (int c = 0; c < columns.length; c++) {
+            trimmed[c] = Arrays.copyOf(columns[c], size);
+        }
+        return trimmed;
+    }
+
+    /**
+     * @return cantidad de productos del catálogo.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Devuelve el ordinal del producto con el ID indicado.
+     *
+     * @param id identificador del producto.
+     * @return ordinal o {@link ProductIdIndex#NOT_FOUND}.
+     */
+    public int ordinalOf(String id) {
+        return index.ordinalOf(id);
+    }
+
+    /**
+     * Materializa el producto de un ordinal a partir de las columnas.
+     *
+     * @param ordinal posición del producto.
+     * @return un {@link Product} nuevo con los valores del catálogo.
+     */
+    public Product product(int ordinal) {
+        byte flag = flags[ordinal];
+        Product product = new Product();
+        product.setId(raw[ID][ordinal]);
+        product.setName(raw[NAME][ordinal]);
+        product.setDescription(raw[DESCRIPTION][ordinal]);
+        product.setPrice(boxed(doubles[PRICE][ordinal]));
+        product.setCurrency(decode(CURRENCY, ordinal));
+        product.setAvailableQuantity(boxed(ints[AVAILABLE_QUANTITY][ordinal]));
+        if ((flag & HAS_IMAGES) != 0) {
+            product.setImages(slice(images, imageStart, ordinal));
+        }
+        product.setCategory(decode(CATEGORY, ordinal));
+        product.setBrand(decode(BRAND, ordinal));
+        product.setSellerDescription(raw[SELLER_DESCRIPTION][ordinal]);
+        if ((flag & HAS_GENERAL_INFO) != 0) {
+            product.setGeneralInfo(new GeneralInfo(
+                    boxed(doubles[DISCOUNT_PRICE][ordinal]),
+                    boxed(doubles[ORIGINAL_PRICE][ordinal]),
+                    boxed(ints[DISCOUNT_PERCENTAGE][ordinal]),
+                    decode(INSTALLMENTS, ordinal),
+                    (flag & HAS_FREE_SHIPPING) == 0 ? null : (flag & FREE_SHIPPING) != 0));
+        }
+        if ((flag & HAS_CHARACTERISTICS) != 0) {
+            product.setCharacteristics(new Characteristics(
+                    decode(LINE, ordinal),
+                    raw[MODEL][ordinal],
+                    decode(GENDER, ordinal),
+                    decode(AGE, ordinal),
+                    decode(CASE_COLOR, ordinal),
+                    decode(STRAP_MATERIAL, ordinal),
+                    decode(CLASP_TYPE, ordinal),
+                    decode(STRAP_COLOR, ordinal),
+                    decode(BEZEL_COLOR, ordinal),
+                    decode(DIAL_COLOR, ordinal)));
+        }
+        if ((flag & HAS_REVIEWS) != 0) {
+            product.setReviews(new Reviews(
+                    boxed(doubles[RATING][ordinal]),
+                    boxed(ints[TOTAL_REVIEWS][ordinal]),
+                    (flag & HAS_COMMENTS) != 0 ? slice(comments, commentStart, ordinal) : null));
+        }
+        return product;
+    }
+
+    /**
+     * Cantidad de valores distintos de las columnas codificadas por diccionario.
+     *
+     * @return suma de los tamaños de todos los diccionarios.
+     */
+    public int dictionaryEntries() {
+        int entries = 0;
+        for (StringDictionary dictionary : dictionaries) {
+            entries += dictionary.size();
+        }
+        return entries;
+    }
+
+    private String decode(int column, int ordinal) {
+        return dictionaries[column].decode(codes[column][ordinal]);
+    }
+
+    private static List<String> slice(String[] values, int[] start, int ordinal) {
+        return new ArrayList<>(Arrays.asList(values).subList(start[ordinal], start[ordinal + 1]));
+    }
+
+    private static Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static Integer boxed(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    /**
+     * Construye un {@link ColumnarCatalog} agregando productos de a uno, de
+     * modo que el catálogo se puede cargar en streaming sin retener los objetos.
+     */
+    public static final class Builder {
+
+        private int size;
+        private int capacity = 1024;
+        private final String[][] raw = new String[RAW][capacity];
+        private final int[][] codes = new int[CODED][capacity];
+        private final StringDictionary[] dictionaries = new StringDictionary[CODED];
+        private final double[][] doubles = new double[DOUBLES][capacity];
+        private final int[][] ints = new int[INTS][capacity];
+        private byte[] flags = new byte[capacity];
+        private int[] imageStart = new int[capacity + 1];
+        private final List<String> images = new ArrayList<>();
+        private int[] commentStart = new int[capacity + 1];
+        private final List<String> comments = new ArrayList<>();
+
+        public Builder() {
+            for (int c = 0; c < CODED; c++) {
+                dictionaries[c] = new StringDictionary();
+            }
+        }
+
+        /**
+         * Agrega un producto como nueva fila.
+         *
+         * @param product producto a agregar.
+         * @return ordinal asignado al producto.
+         */
+        public int add(Product product) {
+            if (size == capacity) {
+                grow();
+            }
+            int row = size++;
+            byte flag = 0;
+            raw[ID][row] = product.getId();
+            raw[NAME][row] = product.getName();
+            raw[DESCRIPTION][row] = product.getDescription();
+            raw[SELLER_DESCRIPTION][row] = product.getSellerDescription();
+            doubles[PRICE][row] = unboxed(product.getPrice());
+            ints[AVAILABLE_QUANTITY][row] = unboxed(product.getAvailableQuantity());
+            encode(CURRENCY, row, product.getCurrency());
+            encode(CATEGORY, row, product.getCategory());
+            encode(BRAND, row, product.getBrand());
+            if (product.getImages() != null) {
+                flag |= HAS_IMAGES;
+                images.addAll(product.getImages());
+            }
+            imageStart[row + 1] = images.size();
+
+            GeneralInfo info = product.getGeneralInfo();
+            if (info != null) {
+                flag |= HAS_GENERAL_INFO;
+                if (info.getFreeShipping() != null) {
+                    flag |= info.getFreeShipping() ? HAS_FREE_SHIPPING | FREE_SHIPPING : HAS_FREE_SHIPPING;
+                }
+            }
+            doubles[DISCOUNT_PRICE][row] = info == null ? Double.NaN : unboxed(info.getDiscountPrice());
+            doubles[ORIGINAL_PRICE][row] = info == null ? Double.NaN : unboxed(info.getOriginalPrice());
+            ints[DISCOUNT_PERCENTAGE][row] = info == null ? NULL_INT : unboxed(info.getDiscountPercentage());
+            encode(INSTALLMENTS, row, info == null ? null : info.getInstallments());
+
+            Characteristics ch = product.getCharacteristics();
+            if (ch != null) {
+                flag |= HAS_CHARACTERISTICS;
+            }
+            raw[MODEL][row] = ch == null ? null : ch.getModel();
+            encode(LINE, row, ch == null ? null : ch.getLine());
+            encode(GENDER, row, ch == null ? null : ch.getGender());
+            encode(AGE, row, ch == null ? null : ch.getAge());
+            encode(CASE_COLOR, row, ch == null ? null : ch.getCaseColor());
+            encode(STRAP_MATERIAL, row, ch == null ? null : ch.getStrapMaterial());
+            encode(CLASP_TYPE, row, ch == null ? null : ch.getClaspType());
+            encode(STRAP_COLOR, row, ch == null ? null : ch.getStrapColor());
+            encode(BEZEL_COLOR, row, ch == null ? null : ch.getBezelColor());
+            encode(DIAL_COLOR, row, ch == null ? null : ch.getDialColor());
+
+            Reviews reviews = product.getReviews();
+            if (reviews != null) {
+                flag |= HAS_REVIEWS;
+                if (reviews.getComments() != null) {
+                    flag |= HAS_COMMENTS;
+                    comments.addAll(reviews.getComments());
+                }
+            }
+            commentStart[row + 1] = comments.size();
+            doubles[RATING][row] = reviews == null ? Double.NaN : unboxed(reviews.getRating());
+            ints[TOTAL_REVIEWS][row] = reviews == null ? NULL_INT : unboxed(reviews.getTotalReviews());
+
+            flags[row] = flag;
+            return row;
+        }
+
+        /**
+         * @return cantidad de productos agregados.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Congela las columnas en un catálogo inmutable; el builder no debe
+         * usarse después.
+         *
+         * @return catálogo columnar.
+         */
+        public ColumnarCatalog build() {
+            return new ColumnarCatalog(this);
+        }
+
+        private void encode(int column, int row, String value) {
+            codes[column][row] = dictionaries[column].encode(value);
+        }
+
+        private void grow() {
+            capacity = capacity + (capacity >> 1);
+            for (int c = 0; c < RAW; c++) {
+                raw[c] = Arrays.copyOf(raw[c], capacity);
+            }
+            for (int c = 0; c < CODED; c++) {
+                codes[c] = Arrays.copyOf(codes[c], capacity);
+            }
+            for (int c = 0; c < DOUBLES; c++) {
+                doubles[c] = Arrays.copyOf(doubles[c], capacity);
+            }
+            for (int c = 0; c < INTS; c++) {
+                ints[c] = Arrays.copyOf(ints[c], capacity);
+            }
+            flags = Arrays.copyOf(flags, capacity);
+            imageStart = Arrays.copyOf(imageStart, capacity + 1);
+            commentStart = Arrays.copyOf(commentStart, capacity + 1);
+        }
+
+        private static double unboxed(Double value) {
+            return value == null ? Double.NaN : value;
+        }
+
+        private static int unboxed(Integer value) {
+            return value == null ? NULL_INT : value;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.itemapi.repository.columnar;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogSource;
+import com.example.itemapi.repository.ProductIdIndex;
+import com.example.itemapi.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Implementación de {@link ProductRepository} que mantiene el catálogo en un
+ * {@link ColumnarCatalog}: arreglos primitivos por campo y códigos de
+ * diccionario para las cadenas de baja cardinalidad, en lugar de un objeto
+ * {@link Product} (con sus anidados y números en caja) por producto.
+ *
+ * <p>
+ * El catálogo se lee desde las mismas fuentes que
+ * {@code JsonProductRepository} ({@link CatalogSource}: {@code catalog.shards}
+ * en paralelo, {@code catalog.path} o {@code products.json} del classpath) y
+ * cada producto se vuelca a las columnas en cuanto se deserializa o termina
+ * su shard, sin retener el objeto. Las consultas
+ * materializan un {@link Product} nuevo en cada acceso: {@link #findAll()}
+ * devuelve una vista que construye el elemento pedido y {@link #findById(String)}
+ * resuelve el ordinal con el {@link ProductIdIndex}.
+ * </p>
+ *
+ * <p>
+ * Se activa con {@code catalog.source=columnar}. No admite recarga en caliente.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "columnar")
+public class ColumnarProductRepository implements ProductRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarProductRepository.class);
+
+    private final CatalogSource source;
+    private final ColumnarCatalog catalog;
+    private final List<Product> view = new ColumnarView();
+
+    /**
+     * Constructor usado por Spring: carga el catálogo según la configuración
+     * {@code catalog.*} de la aplicación.
+     *
+     * @param properties configuración del catálogo (ruta externa, shards y duplicados).
+     */
+    @Autowired
+    public ColumnarProductRepository(CatalogProperties properties) {
+        this.source = new CatalogSource(properties);
+        long start = System.nanoTime();
+        try {
+            this.catalog = load();
+        } catch (Exception e) {
+            throw new RuntimeException("Error cargando " + source.describe(), e);
+        }
+        log.info("Catálogo columnar {}: {} productos, {} valores en diccionarios ({} ms)",
+                source.describe(), catalog.size(), catalog.dictionaryEntries(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Crea el repositorio a partir de un catálogo columnar ya construido.
+     *
+     * @param catalog catálogo a servir.
+     */
+    public ColumnarProductRepository(ColumnarCatalog catalog) {
+        this.source = new CatalogSource(new CatalogProperties());
+        this.catalog = catalog;
+    }
+
+    private ColumnarCatalog load() throws IOException {
+        // Las columnas de diccionario ya deduplican los campos repetidos; no hace falta el pool de cadenas
+        ColumnarCatalog.Builder builder = new ColumnarCatalog.Builder();
+        Set<String> ids = new HashSet<>();
+        List<String> duplicates = new ArrayList<>();
+        source.read(new ObjectMapper(), product -> {
+            String id = product.getId();
+            if (id != null && !ids.add(id)) {
+                duplicates.add(id);
+            } else {
+                builder.add(product);
+            }
+        });
+        source.reportDuplicates(duplicates);
+        return builder.build();
+    }
+
+    /**
+     * Devuelve una vista de solo lectura del catálogo que materializa cada
+     * producto al accederlo.
+     *
+     * @return lista inmutable de {@link Product}.
+     */
+    @Override
+    public List<Product> findAll() {
+        return view;
+    }
+
+    /**
+     * Busca un producto a través del {@link ProductIdIndex} y materializa
+     * únicamente su fila.
+     *
+     * @param id identificador del producto a buscar.
+     * @return el {@link Product} correspondiente al ID,
+     *         o {@code null} si no existe en el catálogo.
+     */
+    @Override
+    public Product findById(String id) {
+        int ordinal = catalog.ordinalOf(id);
+        return ordinal == ProductIdIndex.NOT_FOUND ? null : catalog.product(ordinal);
+    }
+
+    private final class ColumnarView extends AbstractList<Product> implements RandomAccess {
+
+        @Override
+        public Product get(int index) {
+            if (index < 0 || index >= catalog.size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return catalog.product(index);
+        }
+
+        @Override
+        public int size() {
+            return catalog.size();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.itemapi.repository.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario de cadenas para columnas de baja cardinalidad ({@code currency},
+ * {@code category}, {@code brand}, colores...).
+ *
+ * <p>
+ * Cada valor distinto se guarda una única vez y las filas sólo almacenan su
+ * código {@code int}; {@link #NULL} representa la ausencia de valor. Durante la
+ * carga el diccionario crece con {@link #encode(String)}; los códigos son
+ * estables y consecutivos desde cero.
+ * </p>
+ */
+final class StringDictionary {
+
+    /**
+     * Código de un valor {@code null}.
+     */
+    static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private String[] frozen;
+
+    /**
+     * Devuelve el código del valor, agregándolo si es nuevo.
+     *
+     * @param value valor a codificar; puede ser {@code null}.
+     * @return código del valor o {@link #NULL}.
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Libera el mapa usado para codificar y deja sólo el arreglo de valores.
+     */
+    void freeze() {
+        frozen = values.toArray(new String[0]);
+        codes.clear();
+        values.clear();
+    }
+
+    /**
+     * Devuelve el valor de un código.
+     *
+     * @param code código obtenido de {@link #encode(String)}.
+     * @return valor o {@code null} si el código es {@link #NULL}.
+     */
+    String decode(int code) {
+        return code == NULL ? null : frozen[code];
+    }
+
+    /**
+     * @return cantidad de valores distintos.
+     */
+    int size() {
+        return frozen != null ? frozen.length : values.size();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.itemapi.repository.remote;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductBatch;
+import com.example.itemapi.repository.StreamingCatalogLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente HTTP de otra instancia de la API de productos, usada como fuente
+ * remota del catálogo.
+ *
+ * <ul>
+ *   <li>{@code GET {baseUrl}/products/{id}}: detalle; {@code 404} es un producto inexistente.</li>
+ *   <li>{@code GET {baseUrl}/products?ids=a,b}: lote, con {@code items} y {@code missingIds}.</li>
+ *   <li>{@code GET {baseUrl}/products} con {@code Accept: application/x-ndjson}: catálogo completo en streaming.</li>
+ * </ul>
+ *
+ * <p>
+ * La latencia de cada llamada se registra en el timer {@code catalog.remote.requests},
+ * etiquetado por {@code operation} ({@code detail}, {@code batch}, {@code list})
+ * y {@code outcome} ({@code success}, {@code not_found}, {@code error}).
+ * Un estado distinto de {@code 200}/{@code 404} o un error de red se propaga
+ * como {@link UncheckedIOException}.
+ * </p>
+ */
+public class RemoteCatalogClient {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final URI baseUrl;
+    private final Duration requestTimeout;
+    private final int batchSize;
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final ObjectReader productReader;
+    private final ObjectReader batchReader;
+    private final MeterRegistry registry;
+
+    /**
+     * @param properties configuración {@code catalog.remote.*}.
+     * @param mapper     mapper usado para leer las respuestas.
+     * @param registry   registro en el que se publica la latencia de la fuente remota.
+     */
+    public RemoteCatalogClient(CatalogProperties.Remote properties, ObjectMapper mapper, MeterRegistry registry) {
+        if (properties.getBaseUrl() == null || properties.getBaseUrl().isBlank()) {
+            throw new IllegalStateException("catalog.remote.base-url es obligatorio con catalog.source=remote");
+        }
+        String base = properties.getBaseUrl();
+        this.baseUrl = URI.create(base.endsWith("/") ? base : base + "/");
+        this.requestTimeout = properties.getRequestTimeout();
+        this.batchSize = properties.getBatchSize();
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        this.mapper = mapper;
+        this.productReader = mapper.readerFor(Product.class);
+        this.batchReader = mapper.readerFor(ProductBatch.class);
+        this.registry = registry;
+    }
+
+    /**
+     * Consulta el detalle de un producto.
+     *
+     * @param id identificador del producto.
+     * @return producto y tamaño de su JSON; el producto es {@code null} si no existe.
+     * @throws UncheckedIOException si la llamada falla o responde un estado inesperado.
+     */
+    public Fetched fetch(String id) {
+        URI uri = baseUrl.resolve("products/" + UriUtils.encodePathSegment(id, StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            HttpResponse<byte[]> response = http.send(get(uri).build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 404) {
+                outcome = "not_found";
+                return new Fetched(null, 0);
+            }
+            byte[] body = expectOk(response, uri);
+            Product product = productReader.readValue(body);
+            outcome = "success";
+            return new Fetched(product, body.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error consultando " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException("Consulta interrumpida: " + uri, new IOException(e));
+        } finally {
+            record("detail", outcome, start);
+        }
+    }
+
+    /**
+     * Consulta varios productos con llamadas de lote de hasta
+     * {@code catalog.remote.batch-size} IDs.
+     *
+     * @param ids identificadores a consultar.
+     * @return resultado por cada ID pedido; los inexistentes con producto {@code null}.
+     * @throws UncheckedIOException si alguna llamada falla.
+     */
+    public Map<String, Fetched> fetchAll(Collection<String> ids) {
+        Map<String, Fetched> result = new HashMap<>(ids.size() * 2);
+        List<String> chunk = new ArrayList<>(batchSize);
+        for (String id : ids) {
+            chunk.add(id);
+            if (chunk.size() == batchSize) {
+                fetchBatch(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            fetchBatch(chunk, result);
+        }
+        return result;
+    }
+
+    private void fetchBatch(List<String> ids, Map<String, Fetched> result) {
+        StringBuilder query = new StringBuilder("products?ids=");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                query.append(',');
+            }
+            query.append(UriUtils.encodeQueryParam(ids.get(i), StandardCharsets.UTF_8));
+        }
+        URI uri = baseUrl.resolve(query.toString());
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            HttpResponse<byte[]> response = http.send(get(uri).build(), HttpResponse.BodyHandlers.ofByteArray());
+            byte[] body = expectOk(response, uri);
+            ProductBatch batch = batchReader.readValue(body);
+            List<Product> items = batch.getItems() == null ? List.of() : batch.getItems();
+            // El tamaño de cada producto se aproxima repartiendo el cuerpo entre los encontrados
+            int share = items.isEmpty() ? 0 : body.length / items.size();
+            for (Product product : items) {
+                result.put(product.getId(), new Fetched(product, share));
+            }
+            for (String id : ids) {
+                result.putIfAbsent(id, new Fetched(null, 0));
+            }
+            outcome = "success";
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error consultando " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException("Consulta interrumpida: " + uri, new IOException(e));
+        } finally {
+            record("batch", outcome, start);
+        }
+    }
+
+    /**
+     * Descarga el catálogo completo en NDJSON, producto a producto.
+     *
+     * @param progressInterval cada cuántos productos se registra el progreso.
+     * @return productos en el orden de la fuente remota.
+     * @throws UncheckedIOException si la llamada falla.
+     */
+    public List<Product> fetchCatalog(int progressInterval) {
+        URI uri = baseUrl.resolve("products");
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", NDJSON).GET().build();
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == 204) {
+                    outcome = "success";
+                    return List.of();
+                }
+                if (response.statusCode() != 200) {
+                    throw new IOException("Estado " + response.statusCode() + " de " + uri);
+                }
+                List<Product> products = new StreamingCatalogLoader(mapper, progressInterval).load(body, uri.toString());
+                outcome = "success";
+                return products;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error descargando el catálogo de " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException("Descarga interrumpida: " + uri, new IOException(e));
+        } finally {
+            record("list", outcome, start);
+        }
+    }
+
+    private HttpRequest.Builder get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(requestTimeout).header("Accept", "application/json").GET();
+    }
+
+    private static byte[] expectOk(HttpResponse<byte[]> response, URI uri) throws IOException {
+        if (response.statusCode() != 200) {
+            throw new IOException("Estado " + response.statusCode() + " de " + uri);
+        }
+        return response.body();
+    }
+
+    private void record(String operation, String outcome, long start) {
+        Timer.builder("catalog.remote.requests")
+                .description("Llamadas a la fuente remota del catálogo")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resultado de una consulta.
+     *
+     * @param product producto recibido, o {@code null} si no existe.
+     * @param bytes   tamaño aproximado de su JSON.
+     */
+    public record Fetched(Product product, int bytes) {
+    }
+}
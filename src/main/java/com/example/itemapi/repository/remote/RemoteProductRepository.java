@@ -0,0 +1,235 @@
+package com.example.itemapi.repository.remote;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * {@link ProductRepository} de lectura directa sobre otra instancia de la API
+ * ({@link RemoteCatalogClient}), con una caché acotada de Caffeine delante.
+ *
+ * <ul>
+ *   <li><b>Tamaño:</b> la caché se acota por heap aproximado
+ *       ({@code catalog.remote.cache-max-size}), estimando cada entrada a partir
+ *       del tamaño de su JSON; la política de desalojo de Caffeine es W-TinyLFU,
+ *       que admite una entrada nueva sólo si es más frecuente que la víctima.</li>
+ *   <li><b>Vigencia:</b> un producto expira a los {@code catalog.remote.ttl} y un ID
+ *       inexistente a los {@code catalog.remote.negative-ttl}. Pasado
+ *       {@code catalog.remote.refresh-after}, el siguiente acceso lo recarga en
+ *       segundo plano y mientras tanto sirve la versión cacheada; si la recarga
+ *       falla se conserva la anterior.</li>
+ *   <li><b>Coalescencia:</b> los fallos concurrentes para un mismo ID esperan una
+ *       única carga; {@link #findAllById(Collection)} resuelve los faltantes con
+ *       llamadas de lote.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link #findAll()} devuelve el listado descargado al arrancar, del que se
+ * construyen los índices de búsqueda, facetas y rangos; el detalle siempre
+ * pasa por la caché, por lo que {@link #isSnapshot()} es {@code false}.
+ * Las estadísticas de la caché se publican con {@link CaffeineCacheMetrics}
+ * bajo {@code cache=products} y la latencia de la fuente remota en
+ * {@code catalog.remote.requests}.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "remote")
+public class RemoteProductRepository implements ProductRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteProductRepository.class);
+
+    /** Heap aproximado de un {@link Product} por byte de su JSON. */
+    static final int HEAP_BYTES_PER_JSON_BYTE = 2;
+
+    /** Costo fijo de una entrada: nodo de la caché, clave y envoltorio. */
+    static final int ENTRY_OVERHEAD = 96;
+
+    private final RemoteCatalogClient client;
+    private final LoadingCache<String, CachedProduct> cache;
+    private final List<Product> catalog;
+
+    /**
+     * Constructor usado por Spring.
+     *
+     * @param properties configuración del catálogo ({@code catalog.remote.*}).
+     * @param mapper     mapper de la aplicación, usado para leer las respuestas remotas.
+     * @param registry   registro en el que se publican la caché y la latencia remota.
+     */
+    @Autowired
+    public RemoteProductRepository(CatalogProperties properties, ObjectMapper mapper, MeterRegistry registry) {
+        this(properties, new RemoteCatalogClient(properties.getRemote(), mapper, registry), registry,
+                Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param properties configuración del catálogo.
+     * @param client     cliente de la fuente remota.
+     * @param registry   registro de métricas.
+     * @param ticker     reloj de la caché, reemplazable en pruebas.
+     * @param executor   ejecutor de las recargas en segundo plano.
+     */
+    RemoteProductRepository(CatalogProperties properties, RemoteCatalogClient client, MeterRegistry registry,
+                            Ticker ticker, Executor executor) {
+        CatalogProperties.Remote remote = properties.getRemote();
+        this.client = client;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(remote.getCacheMaxSize().toBytes())
+                .weigher((String id, CachedProduct entry) -> entry.weight())
+                .expireAfter(new ProductExpiry(remote.getTtl().toNanos(), remote.getNegativeTtl().toNanos()))
+                .refreshAfterWrite(remote.getRefreshAfter())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build(new ProductLoader());
+        CaffeineCacheMetrics.monitor(registry, cache, "products");
+        this.catalog = Collections.unmodifiableList(client.fetchCatalog(properties.getProgressInterval()));
+        log.info("Catálogo remoto {}: {} productos en el listado; caché de {} MB, ttl {}, recarga tras {}",
+                remote.getBaseUrl(), catalog.size(), remote.getCacheMaxSize().toMegabytes(),
+                remote.getTtl(), remote.getRefreshAfter());
+    }
+
+    /**
+     * Devuelve el listado descargado al arrancar.
+     *
+     * @return lista inmutable de {@link Product}.
+     */
+    @Override
+    public List<Product> findAll() {
+        return catalog;
+    }
+
+    /**
+     * Busca un producto en la caché y, si no está, en la fuente remota. Las
+     * consultas concurrentes por un mismo ID comparten una única llamada.
+     *
+     * @param id identificador del producto a buscar.
+     * @return el producto, o {@code null} si la fuente remota no lo tiene.
+     * @throws java.io.UncheckedIOException si la fuente remota falla.
+     */
+    @Override
+    public Product findById(String id) {
+        return cache.get(id).product();
+    }
+
+    /**
+     * Busca varios productos; los que no están en la caché se consultan con
+     * llamadas de lote.
+     *
+     * @param ids identificadores a buscar.
+     * @return productos encontrados, en el orden de {@code ids}.
+     */
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        Map<String, CachedProduct> entries = cache.getAll(ids);
+        List<Product> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            CachedProduct entry = entries.get(id);
+            if (entry != null && entry.product() != null) {
+                found.add(entry.product());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * El detalle se consulta en vivo y puede diferir del listado.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    public boolean isSnapshot() {
+        return false;
+    }
+
+    /**
+     * @return aciertos, fallos, cargas y desalojos acumulados de la caché.
+     */
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return entradas cacheadas, incluidas las de IDs inexistentes.
+     */
+    public long getCacheSize() {
+        return cache.estimatedSize();
+    }
+
+    private static CachedProduct toEntry(String id, RemoteCatalogClient.Fetched fetched) {
+        int weight = ENTRY_OVERHEAD + 2 * id.length() + HEAP_BYTES_PER_JSON_BYTE * fetched.bytes();
+        return new CachedProduct(fetched.product(), weight);
+    }
+
+    /**
+     * Carga de una entrada o de un lote desde la fuente remota.
+     */
+    private final class ProductLoader implements CacheLoader<String, CachedProduct> {
+
+        @Override
+        public CachedProduct load(String id) {
+            return toEntry(id, client.fetch(id));
+        }
+
+        @Override
+        public Map<String, CachedProduct> loadAll(Set<? extends String> ids) {
+            Map<String, CachedProduct> entries = new HashMap<>(ids.size() * 2);
+            client.fetchAll(List.copyOf(ids)).forEach((id, fetched) -> entries.put(id, toEntry(id, fetched)));
+            return entries;
+        }
+    }
+
+    /**
+     * Vigencia distinta para productos encontrados e IDs inexistentes; una
+     * recarga reinicia el plazo.
+     */
+    private record ProductExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<String, CachedProduct> {
+
+        @Override
+        public long expireAfterCreate(String id, CachedProduct entry, long currentTime) {
+            return entry.product() == null ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, CachedProduct entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String id, CachedProduct entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Entrada de la caché.
+     *
+     * @param product producto, o {@code null} si la fuente remota no lo tiene.
+     * @param weight  heap aproximado de la entrada, en bytes.
+     */
+    private record CachedProduct(Product product, int weight) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.itemapi.repository.snapshot;
+
+import com.example.itemapi.repository.StreamingCatalogLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Herramienta de línea de comandos que convierte un catálogo JSON (o NDJSON)
+ * en un snapshot binario para {@link SnapshotProductRepository}.
+ *
+ * <p>
+ * El JSON se recorre en streaming y cada producto se escribe en el snapshot
+ * en cuanto se lee, sin materializar el catálogo completo.
+ * </p>
+ *
+ * <p>Uso:</p>
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.example.itemapi.repository.snapshot.CatalogSnapshotTool \
+ *     -Dexec.args="src/main/resources/products.json products.snap"
+ * </pre>
+ */
+public final class CatalogSnapshotTool {
+
+    private CatalogSnapshotTool() {
+    }
+
+    /**
+     * @param args ruta del JSON de entrada y ruta del snapshot de salida.
+     * @throws IOException si la lectura o la escritura fallan.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CatalogSnapshotTool <catalogo.json> <salida.snap>");
+            System.exit(2);
+        }
+        int written = convert(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Snapshot " + args[1] + " escrito con " + written + " productos");
+    }
+
+    /**
+     * Convierte un catálogo JSON en un snapshot binario.
+     *
+     * @param json     catálogo de entrada.
+     * @param snapshot archivo de salida; se sobrescribe si existe.
+     * @return cantidad de productos escritos (sin duplicados).
+     * @throws IOException si la lectura o la escritura fallan.
+     */
+    public static int convert(Path json, Path snapshot) throws IOException {
+        StreamingCatalogLoader loader = new StreamingCatalogLoader(new ObjectMapper(), 100_000);
+        try (InputStream in = Files.newInputStream(json);
+             SnapshotWriter writer = new SnapshotWriter(snapshot)) {
+            loader.read(in, json.toString(), product -> {
+                try {
+                    writer.write(product);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.count();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
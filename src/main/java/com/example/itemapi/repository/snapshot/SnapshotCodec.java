@@ -0,0 +1,240 @@
+package com.example.itemapi.repository.snapshot;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificación binaria de un {@link Product} dentro de un registro del snapshot.
+ *
+ * <p>
+ * Los campos se escriben en orden fijo. Las cadenas se guardan como longitud
+ * ({@code -1} = {@code null}) seguida de sus bytes UTF-8; los numéricos y
+ * booleanos envueltos llevan un byte de presencia; las listas, su tamaño
+ * ({@code -1} = {@code null}); y los objetos anidados, un byte de presencia.
+ * El ID va siempre primero para poder compararlo sin decodificar el resto.
+ * </p>
+ */
+final class SnapshotCodec {
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Codificador reutilizable: cada llamada a {@link #encode(Product)} devuelve
+     * el cuerpo del registro sobre el mismo búfer interno.
+     */
+    static final class Encoder {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        ByteArrayOutputStream encode(Product p) throws IOException {
+            bytes.reset();
+            writeString(p.getId());
+            writeString(p.getName());
+            writeString(p.getDescription());
+            writeDouble(p.getPrice());
+            writeString(p.getCurrency());
+            writeInteger(p.getAvailableQuantity());
+            writeStrings(p.getImages());
+            writeString(p.getCategory());
+            writeString(p.getBrand());
+            writeString(p.getSellerDescription());
+
+            GeneralInfo info = p.getGeneralInfo();
+            out.writeBoolean(info != null);
+            if (info != null) {
+                writeDouble(info.getDiscountPrice());
+                writeDouble(info.getOriginalPrice());
+                writeInteger(info.getDiscountPercentage());
+                writeString(info.getInstallments());
+                writeBoolean(info.getFreeShipping());
+            }
+
+            Characteristics c = p.getCharacteristics();
+            out.writeBoolean(c != null);
+            if (c != null) {
+                writeString(c.getLine());
+                writeString(c.getModel());
+                writeString(c.getGender());
+                writeString(c.getAge());
+                writeString(c.getCaseColor());
+                writeString(c.getStrapMaterial());
+                writeString(c.getClaspType());
+                writeString(c.getStrapColor());
+                writeString(c.getBezelColor());
+                writeString(c.getDialColor());
+            }
+
+            Reviews r = p.getReviews();
+            out.writeBoolean(r != null);
+            if (r != null) {
+                writeDouble(r.getRating());
+                writeInteger(r.getTotalReviews());
+                writeStrings(r.getComments());
+            }
+            out.flush();
+            return bytes;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+
+        private void writeStrings(List<String> values) throws IOException {
+            if (values == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(values.size());
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        private void writeDouble(Double value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeDouble(value);
+            }
+        }
+
+        private void writeInteger(Integer value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeInt(value);
+            }
+        }
+
+        private void writeBoolean(Boolean value) throws IOException {
+            out.writeByte(value == null ? -1 : (value ? 1 : 0));
+        }
+    }
+
+    /**
+     * Decodifica el cuerpo de un registro leyendo directamente de la región
+     * proyectada, sin copiar el registro completo al heap.
+     */
+    static final class Decoder {
+
+        private final ByteBuffer buffer;
+        private int position;
+
+        Decoder(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        Product decode() {
+            Product p = new Product();
+            p.setId(readString());
+            p.setName(readString());
+            p.setDescription(readString());
+            p.setPrice(readDouble());
+            p.setCurrency(readString());
+            p.setAvailableQuantity(readInteger());
+            p.setImages(readStrings());
+            p.setCategory(readString());
+            p.setBrand(readString());
+            p.setSellerDescription(readString());
+
+            if (readPresence()) {
+                p.setGeneralInfo(new GeneralInfo(readDouble(), readDouble(), readInteger(), readString(), readBoolean()));
+            }
+            if (readPresence()) {
+                p.setCharacteristics(new Characteristics(readString(), readString(), readString(), readString(),
+                        readString(), readString(), readString(), readString(), readString(), readString()));
+            }
+            if (readPresence()) {
+                p.setReviews(new Reviews(readDouble(), readInteger(), readStrings()));
+            }
+            return p;
+        }
+
+        private boolean readPresence() {
+            return buffer.get(position++) != 0;
+        }
+
+        private String readString() {
+            int length = buffer.getInt(position);
+            position += 4;
+            if (length < 0) {
+                return null;
+            }
+            byte[] utf8 = new byte[length];
+            buffer.get(position, utf8);
+            position += length;
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        private List<String> readStrings() {
+            int size = buffer.getInt(position);
+            position += 4;
+            if (size < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        private Double readDouble() {
+            if (!readPresence()) {
+                return null;
+            }
+            double value = buffer.getDouble(position);
+            position += 8;
+            return value;
+        }
+
+        private Integer readInteger() {
+            if (!readPresence()) {
+                return null;
+            }
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        private Boolean readBoolean() {
+            byte value = buffer.get(position++);
+            return value < 0 ? null : value == 1;
+        }
+    }
+
+    /**
+     * Compara el ID codificado al inicio de un registro con los bytes UTF-8
+     * de un ID buscado, sin crear cadenas.
+     */
+    static boolean idEquals(ByteBuffer buffer, int bodyPosition, byte[] id) {
+        int length = buffer.getInt(bodyPosition);
+        if (length != id.length) {
+            return false;
+        }
+        int start = bodyPosition + 4;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.itemapi.repository.snapshot;
+
+/**
+ * Constantes y utilidades compartidas del formato binario de snapshot del catálogo.
+ *
+ * <p><b>Estructura del archivo</b> (enteros en big-endian):</p>
+ * <pre>
+ * Cabecera (40 bytes)
+ *   0  long  MAGIC ("MELISNAP")
+ *   8  int   versión del formato
+ *   12 int   tamaño de segmento (potencia de dos)
+ *   16 int   cantidad de productos
+ *   20 int   capacidad de la tabla hash (potencia de dos)
+ *   24 long  posición de la tabla de offsets
+ *   32 long  posición de la tabla hash
+ * Registros
+ *   int longitud del cuerpo + cuerpo codificado (ver {@link SnapshotCodec});
+ *   ningún registro cruza un límite de segmento.
+ * Tabla de offsets (alineada a 8)
+ *   long por producto con la posición de su registro, en orden de catálogo.
+ * Tabla hash (alineada a 8)
+ *   por cada slot: int hash del ID + int (ordinal + 1), 0 = vacío.
+ * </pre>
+ *
+ * <p>
+ * El archivo se proyecta en memoria por segmentos de tamaño fijo, de modo que
+ * catálogos de varios GB no quedan limitados por el máximo de 2 GB de un
+ * {@link java.nio.MappedByteBuffer}.
+ * </p>
+ */
+final class SnapshotFormat {
+
+    static final long MAGIC = 0x4D454C49534E4150L;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+    static final int SLOT_SIZE = 8;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * Misma dispersión que usa el índice en memoria: mezcla los bits altos
+     * del {@link String#hashCode()} en los bajos antes de aplicar la máscara.
+     */
+    static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+
+    static int tableSizeFor(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(2, expected * 2 - 1)) << 1;
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Catálogo demasiado grande para el snapshot: " + expected);
+        }
+        return capacity;
+    }
+}
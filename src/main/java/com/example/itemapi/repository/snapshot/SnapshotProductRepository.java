@@ -0,0 +1,185 @@
+package com.example.itemapi.repository.snapshot;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementación de {@link ProductRepository} que sirve el catálogo desde un
+ * snapshot binario proyectado en memoria ({@link MappedByteBuffer}).
+ *
+ * <p>
+ * Abrir el repositorio sólo valida la cabecera y proyecta el archivo, por lo
+ * que el arranque es casi instantáneo y el catálogo vive fuera del heap. Los
+ * productos se decodifican de forma perezosa en cada consulta: {@link #findById(String)}
+ * resuelve el registro mediante la tabla hash del propio archivo y
+ * {@link #findAll()} devuelve una vista que decodifica cada elemento al accederlo.
+ * </p>
+ *
+ * <p>
+ * Se activa con {@code catalog.source=snapshot}; el archivo se indica en
+ * {@code catalog.snapshot-path} y se genera con {@link CatalogSnapshotTool}.
+ * </p>
+ */
+@Repository
+@ConditionalOnProperty(prefix = "catalog", name = "source", havingValue = "snapshot")
+public class SnapshotProductRepository implements ProductRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotProductRepository.class);
+
+    private final ByteBuffer[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int count;
+    private final int tableMask;
+    private final long offsetsPosition;
+    private final long tablePosition;
+    private final List<Product> view = new SnapshotView();
+
+    /**
+     * Constructor usado por Spring: abre el snapshot de {@code catalog.snapshot-path}.
+     *
+     * @param properties configuración del catálogo.
+     */
+    @Autowired
+    public SnapshotProductRepository(CatalogProperties properties) {
+        this(Path.of(properties.getSnapshotPath()));
+    }
+
+    /**
+     * Abre y proyecta en memoria un snapshot existente.
+     *
+     * @param file ruta del snapshot.
+     * @throws UncheckedIOException si el archivo no existe o no es un snapshot válido.
+     */
+    public SnapshotProductRepository(Path file) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SnapshotFormat.HEADER_SIZE) {
+                throw new IOException("Archivo demasiado corto para ser un snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SnapshotFormat.HEADER_SIZE);
+            if (header.getLong(0) != SnapshotFormat.MAGIC) {
+                throw new IOException("El archivo no es un snapshot del catálogo: " + file);
+            }
+            if (header.getInt(8) != SnapshotFormat.VERSION) {
+                throw new IOException("Versión de snapshot no soportada: " + header.getInt(8));
+            }
+            int segmentSize = header.getInt(12);
+            this.count = header.getInt(16);
+            this.tableMask = header.getInt(20) - 1;
+            this.offsetsPosition = header.getLong(24);
+            this.tablePosition = header.getLong(32);
+            this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+            this.segmentMask = segmentSize - 1;
+
+            int segmentCount = (int) ((size + segmentSize - 1) >>> segmentShift);
+            this.segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long from = (long) i << segmentShift;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(segmentSize, size - from));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error abriendo el snapshot " + file, e);
+        }
+        log.info("Snapshot {} abierto: {} productos en {} segmentos ({} ms)",
+                file, count, segments.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Devuelve una vista de solo lectura del catálogo que decodifica cada
+     * producto al accederlo.
+     *
+     * @return lista inmutable de {@link Product}.
+     */
+    @Override
+    public List<Product> findAll() {
+        return view;
+    }
+
+    /**
+     * Busca un producto mediante la tabla hash del snapshot y decodifica
+     * únicamente su registro.
+     *
+     * @param id identificador del producto a buscar.
+     * @return el {@link Product} correspondiente al ID,
+     *         o {@code null} si no existe en el snapshot.
+     */
+    @Override
+    public Product findById(String id) {
+        if (id == null) {
+            return null;
+        }
+        int hash = id.hashCode();
+        byte[] utf8 = null;
+        int slot = SnapshotFormat.spread(hash) & tableMask;
+        while (true) {
+            long slotPosition = tablePosition + (long) slot * SnapshotFormat.SLOT_SIZE;
+            int ordinal = getInt(slotPosition + 4) - 1;
+            if (ordinal < 0) {
+                return null;
+            }
+            if (getInt(slotPosition) == hash) {
+                if (utf8 == null) {
+                    utf8 = id.getBytes(StandardCharsets.UTF_8);
+                }
+                long record = getLong(offsetsPosition + 8L * ordinal);
+                ByteBuffer segment = segments[(int) (record >>> segmentShift)];
+                int bodyPosition = (int) (record & segmentMask) + 4;
+                if (SnapshotCodec.idEquals(segment, bodyPosition, utf8)) {
+                    return new SnapshotCodec.Decoder(segment, bodyPosition).decode();
+                }
+            }
+            slot = (slot + 1) & tableMask;
+        }
+    }
+
+    private Product decode(int ordinal) {
+        long record = getLong(offsetsPosition + 8L * ordinal);
+        ByteBuffer segment = segments[(int) (record >>> segmentShift)];
+        return new SnapshotCodec.Decoder(segment, (int) (record & segmentMask) + 4).decode();
+    }
+
+    // Las entradas de las tablas están alineadas a 8 bytes y nunca cruzan un segmento
+    private int getInt(long position) {
+        return segments[(int) (position >>> segmentShift)].getInt((int) (position & segmentMask));
+    }
+
+    private long getLong(long position) {
+        return segments[(int) (position >>> segmentShift)].getLong((int) (position & segmentMask));
+    }
+
+    private final class SnapshotView extends AbstractList<Product> implements RandomAccess {
+
+        @Override
+        public Product get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return decode(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.itemapi.repository.snapshot;
+
+import com.example.itemapi.model.Product;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Escribe un snapshot binario del catálogo producto a producto.
+ *
+ * <p>
+ * Los registros se vuelcan al archivo a medida que llegan; en memoria sólo
+ * se retienen los offsets, los hashes y los IDs ya vistos (para descartar
+ * duplicados conservando la primera aparición, igual que
+ * {@code JsonProductRepository}). Al cerrar se escriben la tabla de offsets,
+ * la tabla hash y finalmente la cabecera.
+ * </p>
+ *
+ * @see SnapshotFormat
+ */
+public class SnapshotWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer staging = ByteBuffer.allocateDirect(1 << 20);
+    private final SnapshotCodec.Encoder encoder = new SnapshotCodec.Encoder();
+    private final int segmentSize;
+    private final Set<String> seenIds = new HashSet<>();
+
+    private long position = SnapshotFormat.HEADER_SIZE;
+    private long[] offsets = new long[1024];
+    private int[] hashes = new int[1024];
+    private boolean[] indexed = new boolean[1024];
+    private int count;
+
+    /**
+     * Crea (o sobrescribe) un snapshot con el tamaño de segmento por defecto.
+     *
+     * @param file ruta del archivo de salida.
+     * @throws IOException si el archivo no puede crearse.
+     */
+    public SnapshotWriter(Path file) throws IOException {
+        this(file, SnapshotFormat.DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param file        ruta del archivo de salida.
+     * @param segmentSize tamaño de los segmentos de proyección; debe ser potencia de dos y al menos 4 KB.
+     * @throws IOException si el archivo no puede crearse.
+     */
+    public SnapshotWriter(Path file, int segmentSize) throws IOException {
+        if (Integer.bitCount(segmentSize) != 1 || segmentSize < 4096) {
+            throw new IllegalArgumentException("El tamaño de segmento debe ser potencia de dos >= 4096: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(SnapshotFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Agrega un producto al snapshot.
+     *
+     * @param product producto a escribir.
+     * @return {@code false} si se descartó por tener un ID ya escrito.
+     * @throws IOException si falla la escritura o el registro excede el tamaño de segmento.
+     */
+    public boolean write(Product product) throws IOException {
+        String id = product.getId();
+        if (id != null && !seenIds.add(id)) {
+            return false;
+        }
+        ByteArrayOutputStream body = encoder.encode(product);
+        int recordSize = 4 + body.size();
+        if (recordSize > segmentSize) {
+            throw new IOException("El producto " + id + " no cabe en un segmento de " + segmentSize + " bytes");
+        }
+        long used = position & (segmentSize - 1);
+        if (used + recordSize > segmentSize) {
+            pad(segmentSize - used);
+        }
+
+        ensureCapacity();
+        offsets[count] = position;
+        hashes[count] = id == null ? 0 : id.hashCode();
+        indexed[count] = id != null;
+        count++;
+
+        putInt(body.size());
+        put(body.toByteArray());
+        return true;
+    }
+
+    /**
+     * Cantidad de productos escritos hasta el momento.
+     *
+     * @return productos en el snapshot.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Escribe las tablas y la cabecera, fuerza los datos a disco y cierra el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            pad((8 - (position & 7)) & 7);
+            long offsetsPosition = position;
+            for (int i = 0; i < count; i++) {
+                putLong(offsets[i]);
+            }
+
+            int capacity = SnapshotFormat.tableSizeFor(count);
+            int mask = capacity - 1;
+            int[] slotHashes = new int[capacity];
+            int[] slotOrdinals = new int[capacity];
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                if (!indexed[ordinal]) {
+                    continue;
+                }
+                int slot = SnapshotFormat.spread(hashes[ordinal]) & mask;
+                while (slotOrdinals[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slotHashes[slot] = hashes[ordinal];
+                slotOrdinals[slot] = ordinal + 1;
+            }
+            long tablePosition = position;
+            for (int slot = 0; slot < capacity; slot++) {
+                putInt(slotHashes[slot]);
+                putInt(slotOrdinals[slot]);
+            }
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+            header.putLong(SnapshotFormat.MAGIC)
+                    .putInt(SnapshotFormat.VERSION)
+                    .putInt(segmentSize)
+                    .putInt(count)
+                    .putInt(capacity)
+                    .putLong(offsetsPosition)
+                    .putLong(tablePosition)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, SnapshotFormat.HEADER_SIZE - header.remaining());
+            }
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensureCapacity() {
+        if (count == offsets.length) {
+            int newLength = offsets.length * 2;
+            offsets = Arrays.copyOf(offsets, newLength);
+            hashes = Arrays.copyOf(hashes, newLength);
+            indexed = Arrays.copyOf(indexed, newLength);
+        }
+    }
+
+    private void pad(long bytes) throws IOException {
+        for (long i = 0; i < bytes; i++) {
+            ensureStaging(1);
+            staging.put((byte) 0);
+        }
+        position += bytes;
+    }
+
+    private void putInt(int value) throws IOException {
+        ensureStaging(4);
+        staging.putInt(value);
+        position += 4;
+    }
+
+    private void putLong(long value) throws IOException {
+        ensureStaging(8);
+        staging.putLong(value);
+        position += 8;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureStaging(1);
+            int chunk = Math.min(bytes.length - offset, staging.remaining());
+            staging.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+        position += bytes.length;
+    }
+
+    private void ensureStaging(int bytes) throws IOException {
+        if (staging.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        staging.flip();
+        while (staging.hasRemaining()) {
+            channel.write(staging);
+        }
+        staging.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.itemapi.service;
+
+import com.example.itemapi.model.Product;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Resultado de buscar un producto por ID sin usar excepciones para los casos
+ * esperados.
+ *
+ * <p>
+ * Un ID inexistente o vacío no es un error excepcional sino la respuesta
+ * habitual ante tráfico de IDs aleatorios; por eso se representa con las
+ * constantes de {@link Failure}, que no reservan memoria ni capturan stack
+ * traces, en lugar de lanzar una {@code ResponseStatusException} por petición.
+ * </p>
+ */
+public sealed interface ProductLookup permits ProductLookup.Found, ProductLookup.Failure {
+
+    /**
+     * Producto encontrado.
+     *
+     * @param product producto del catálogo.
+     */
+    record Found(Product product) implements ProductLookup {
+    }
+
+    /**
+     * Búsquedas sin producto, con el estado HTTP y el mensaje que les corresponde.
+     */
+    enum Failure implements ProductLookup {
+
+        /** El ID es nulo o vacío. */
+        INVALID_ID(HttpStatus.BAD_REQUEST, "El ID del producto no puede ser nulo o vacío"),
+
+        /** No existe un producto con ese ID. */
+        NOT_FOUND(HttpStatus.NOT_FOUND, "Producto no encontrado");
+
+        private final HttpStatus status;
+        private final String message;
+
+        Failure(HttpStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        /**
+         * @return estado HTTP de la respuesta.
+         */
+        public HttpStatus status() {
+            return status;
+        }
+
+        /**
+         * @return mensaje para el cliente; no incluye el ID consultado.
+         */
+        public String message() {
+            return message;
+        }
+    }
+}
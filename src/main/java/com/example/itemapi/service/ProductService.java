@@ -1,7 +1,16 @@
 package com.example.itemapi.service;
 
+import com.example.itemapi.index.ProductFacet;
+import com.example.itemapi.index.RangeQuery;
 import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductBatch;
+import com.example.itemapi.model.ProductFilterResult;
+import com.example.itemapi.model.ProductPage;
+
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio de negocio para la gestión de {@link Product}.
@@ -33,6 +42,28 @@ public interface ProductService {
      */
     List<Product> listProducts();
 
+    /**
+     * Devuelve una página del catálogo.
+     *
+     * <p>
+     * Sólo se materializan los productos de la página solicitada; si
+     * {@code offset} supera el total se retorna una página vacía.
+     * </p>
+     *
+     * @param offset posición del primer producto (mayor o igual a cero)
+     * @param limit  cantidad máxima de productos de la página
+     * @return página de productos, nunca {@code null}
+     */
+    ProductPage listProducts(int offset, int limit);
+
+    /**
+     * Recorre el catálogo completo producto a producto, sin copiarlo,
+     * para escribirlo de forma incremental (por ejemplo en NDJSON).
+     *
+     * @return iterador sobre todos los productos, en el orden del catálogo
+     */
+    Iterator<Product> productIterator();
+
     /**
      * Recupera un {@link Product} a partir de su identificador único.
      *
@@ -46,4 +77,71 @@ public interface ProductService {
      * @return producto correspondiente o {@code null} si no se encuentra
      */
     Product getProductById(String id);
+
+    /**
+     * Busca un {@link Product} por su identificador sin lanzar excepciones
+     * cuando el ID es vacío o no existe.
+     *
+     * @param id identificador único del producto
+     * @return {@link ProductLookup.Found} con el producto, o la constante de
+     *         {@link ProductLookup.Failure} que corresponda
+     */
+    ProductLookup findProductById(String id);
+
+    /**
+     * Recupera varios productos por ID en una sola operación.
+     *
+     * <p>
+     * Los IDs se normalizan (se descartan vacíos y repetidos) y los que no
+     * existen se informan en {@link ProductBatch#getMissingIds()} en lugar
+     * de producir un error.
+     * </p>
+     *
+     * @param ids identificadores solicitados
+     * @return productos encontrados e IDs inexistentes
+     */
+    ProductBatch getProductsByIds(Collection<String> ids);
+
+    /**
+     * Busca productos por texto en su nombre, descripción, marca, modelo y línea.
+     *
+     * <p>
+     * La búsqueda no distingue mayúsculas ni acentos y devuelve sólo los
+     * productos que contienen todos los términos, ordenados por relevancia.
+     * </p>
+     *
+     * @param query  texto de búsqueda
+     * @param offset posición del primer resultado (mayor o igual a cero)
+     * @param limit  cantidad máxima de resultados de la página
+     * @return página de resultados; {@code total} es la cantidad de coincidencias
+     */
+    ProductPage searchProducts(String query, int offset, int limit);
+
+    /**
+     * Filtra el catálogo por facetas ({@code category}, {@code brand},
+     * {@code gender}, {@code strapMaterial}, {@code caseColor}, {@code freeShipping}).
+     *
+     * <p>
+     * Los valores de una misma faceta se combinan con OR y las facetas entre
+     * sí con AND. Junto con la página se devuelven los conteos por valor.
+     * </p>
+     *
+     * @param filters valores pedidos por faceta; las facetas sin valores no filtran
+     * @param offset  posición del primer producto (mayor o igual a cero)
+     * @param limit   cantidad máxima de productos de la página
+     * @return página filtrada y conteos por faceta
+     */
+    ProductFilterResult filterProducts(Map<ProductFacet, List<String>> filters, int offset, int limit);
+
+    /**
+     * Devuelve los productos cuyo campo numérico está en un rango, ordenados
+     * por ese u otro campo (por ejemplo precio entre dos valores ordenado por
+     * descuento, o los mejor calificados primero).
+     *
+     * @param query  rango y orden
+     * @param offset posición del primer producto (mayor o igual a cero)
+     * @param limit  cantidad máxima de productos de la página
+     * @return página de resultados; {@code total} es la cantidad que cumple el rango
+     */
+    ProductPage rangeQuery(RangeQuery query, int offset, int limit);
 }
@@ -1,16 +1,34 @@
 package com.example.itemapi.service;
 
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.index.ProductFacet;
+import com.example.itemapi.index.ProductFacetIndex;
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.index.ProductRangeIndex;
+import com.example.itemapi.index.ProductSearchIndex;
+import com.example.itemapi.index.RangeQuery;
+import com.example.itemapi.metrics.ProductMetrics;
 import com.example.itemapi.model.Product;
-import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.model.ProductBatch;
+import com.example.itemapi.model.ProductFilterResult;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.ProductRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementación de {@link ProductService} que obtiene los productos
- * desde un repositorio basado en archivo JSON ({@link JsonProductRepository}).
+ * desde el {@link ProductRepository} configurado (JSON en memoria por defecto,
+ * o snapshot binario según {@code catalog.source}).
  *
  * <p>
  * Esta clase se encarga de la lógica de negocio relacionada con la
@@ -21,15 +39,36 @@ import java.util.List;
 @Service
 public class ProductServiceImpl implements ProductService {
 
-    private final JsonProductRepository repository;
+    private final ProductRepository repository;
+    private final ApiProperties apiProperties;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFacetIndex facetIndex;
+    private final ProductRangeIndex rangeIndex;
+    private final ProductIdFilter idFilter;
+    private final ProductMetrics metrics;
 
     /**
      * Constructor con inyección de dependencias.
      *
-     * @param repository repositorio que provee los productos desde un archivo JSON
+     * @param repository    repositorio que provee los productos
+     * @param apiProperties límites de paginación de la API
+     * @param searchIndex   índice de búsqueda por texto
+     * @param facetIndex    índice de facetas
+     * @param rangeIndex    índice de rangos numéricos
+     * @param idFilter      filtro de IDs inexistentes consultado antes del repositorio
+     * @param metrics       latencias, aciertos y errores de búsqueda y listado
      */
-    public ProductServiceImpl(JsonProductRepository repository) {
+    public ProductServiceImpl(ProductRepository repository, ApiProperties apiProperties,
+                              ProductSearchIndex searchIndex, ProductFacetIndex facetIndex,
+                              ProductRangeIndex rangeIndex, ProductIdFilter idFilter,
+                              ProductMetrics metrics) {
         this.repository = repository;
+        this.apiProperties = apiProperties;
+        this.searchIndex = searchIndex;
+        this.facetIndex = facetIndex;
+        this.rangeIndex = rangeIndex;
+        this.idFilter = idFilter;
+        this.metrics = metrics;
     }
 
     /**
@@ -45,19 +84,69 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     public List<Product> listProducts() {
+        long start = System.nanoTime();
         try {
             List<Product> products = repository.findAll();
             if (products == null || products.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.NO_CONTENT, "No hay productos disponibles");
             }
+            metrics.recordList(System.nanoTime() - start);
             return products;
         } catch (ResponseStatusException e) {
             throw e; // Se re-lanza para mantener el status original
         } catch (Exception e) {
+            metrics.recordListError();
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al obtener productos", e);
         }
     }
 
+    /**
+     * Devuelve una página del catálogo como una vista sobre la lista del
+     * repositorio, sin copiar los productos.
+     *
+     * <p>
+     * - Retorna {@link HttpStatus#BAD_REQUEST} si {@code offset} es negativo o
+     * {@code limit} está fuera del rango {@code [1, api.products.max-page-size]}.
+     * </p>
+     *
+     * @param offset posición del primer producto
+     * @param limit  tamaño de la página
+     * @return página de productos
+     * @throws ResponseStatusException si los parámetros de paginación son inválidos
+     */
+    @Override
+    public ProductPage listProducts(int offset, int limit) {
+        validatePage(offset, limit);
+        long start = System.nanoTime();
+        List<Product> products = repository.findAll();
+        int total = products.size();
+        int from = Math.min(offset, total);
+        int to = (int) Math.min((long) from + limit, total);
+        ProductPage page = new ProductPage(products.subList(from, to), offset, limit, total);
+        metrics.recordList(System.nanoTime() - start);
+        return page;
+    }
+
+    private void validatePage(int offset, int limit) {
+        if (offset < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El offset no puede ser negativo");
+        }
+        if (limit < 1 || limit > apiProperties.getMaxPageSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "El limit debe estar entre 1 y " + apiProperties.getMaxPageSize());
+        }
+    }
+
+    /**
+     * Devuelve un iterador sobre la lista del repositorio.
+     *
+     * @return iterador sobre todos los productos
+     */
+    @Override
+    public Iterator<Product> productIterator() {
+        return repository.findAll().iterator();
+    }
+
     /**
      * Recupera un {@link Product} a partir de su identificador único.
      *
@@ -66,6 +155,11 @@ public class ProductServiceImpl implements ProductService {
      * - Retorna {@link HttpStatus#NOT_FOUND} si no existe el producto.<br>
      * - Retorna {@link HttpStatus#INTERNAL_SERVER_ERROR} en caso de error inesperado.
      * </p>
+     * <p>
+     * Los caminos esperados se resuelven con {@link #findProductById(String)};
+     * este método sólo convierte sus fallos en excepciones para los llamadores
+     * que las prefieren.
+     * </p>
      *
      * @param id identificador único del producto (no puede ser nulo o vacío)
      * @return el producto encontrado
@@ -73,20 +167,239 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     public Product getProductById(String id) {
-        if (id == null || id.trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El ID del producto no puede ser nulo o vacío");
+        ProductLookup lookup = findProductById(id);
+        if (lookup instanceof ProductLookup.Found found) {
+            return found.product();
         }
+        ProductLookup.Failure failure = (ProductLookup.Failure) lookup;
+        String reason = failure == ProductLookup.Failure.NOT_FOUND ? failure.message() + ": " + id : failure.message();
+        throw new ResponseStatusException(failure.status(), reason);
+    }
 
+    /**
+     * Busca un {@link Product} por ID devolviendo el resultado como valor.
+     *
+     * <p>
+     * Un ID vacío o inexistente devuelve la constante de
+     * {@link ProductLookup.Failure} correspondiente, sin crear excepciones.
+     * Los IDs que el {@link ProductIdFilter} descarta no llegan al repositorio.
+     * Sólo un fallo inesperado del repositorio se propaga como
+     * {@link HttpStatus#INTERNAL_SERVER_ERROR}.
+     * </p>
+     * <p>
+     * La latencia total se registra en {@link ProductMetrics} según el
+     * resultado, junto con un conteo de aciertos y fallos de
+     * {@link ProductRepository#findById(String)}.
+     * </p>
+     *
+     * @param id identificador único del producto
+     * @return producto encontrado o motivo por el que no se encontró
+     * @throws ResponseStatusException si el repositorio falla
+     */
+    @Override
+    public ProductLookup findProductById(String id) {
+        long start = System.nanoTime();
+        ProductLookup lookup = lookup(id);
+        metrics.recordLookup(lookup, System.nanoTime() - start);
+        return lookup;
+    }
+
+    private ProductLookup lookup(String id) {
+        if (id == null || id.isBlank()) {
+            return ProductLookup.Failure.INVALID_ID;
+        }
+        ProductIdFilter.Verdict verdict = idFilter.check(id);
+        if (verdict == ProductIdFilter.Verdict.ABSENT) {
+            return ProductLookup.Failure.NOT_FOUND;
+        }
+        Product product;
         try {
-            Product producto = repository.findById(id);
-            if (producto == null) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Producto no encontrado: " + id);
-            }
-            return producto;
-        } catch (ResponseStatusException e) {
-            throw e; // Se re-lanza para mantener el status original
+            product = repository.findById(id);
         } catch (Exception e) {
+            metrics.recordLookupError();
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al buscar producto: " + id, e);
         }
+        metrics.recordRepositoryFindById(product != null);
+        if (product == null) {
+            idFilter.recordMiss(verdict);
+            return ProductLookup.Failure.NOT_FOUND;
+        }
+        return new ProductLookup.Found(product);
+    }
+
+    /**
+     * Recupera varios productos por ID con una única consulta al repositorio.
+     *
+     * <p>
+     * Los IDs se recortan y se descartan los vacíos y repetidos, conservando
+     * el orden de la primera aparición. Los inexistentes se devuelven en
+     * {@link ProductBatch#getMissingIds()} sin lanzar excepciones por elemento.
+     * </p>
+     * <p>
+     * - Retorna {@link HttpStatus#BAD_REQUEST} si no queda ningún ID válido o si
+     * se superan los {@code api.products.max-batch-size} IDs distintos.<br>
+     * - Retorna {@link HttpStatus#INTERNAL_SERVER_ERROR} en caso de error inesperado.
+     * </p>
+     *
+     * @param ids identificadores solicitados
+     * @return productos encontrados e IDs inexistentes
+     * @throws ResponseStatusException si el lote es inválido o falla el repositorio
+     */
+    @Override
+    public ProductBatch getProductsByIds(Collection<String> ids) {
+        Set<String> unique = new LinkedHashSet<>();
+        if (ids != null) {
+            for (String id : ids) {
+                if (id != null && !id.isBlank()) {
+                    unique.add(id.trim());
+                }
+            }
+        }
+        if (unique.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe indicar al menos un ID de producto");
+        }
+        if (unique.size() > apiProperties.getMaxBatchSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Se admiten como máximo " + apiProperties.getMaxBatchSize() + " IDs por consulta");
+        }
+
+        List<Product> found;
+        try {
+            found = repository.findAllById(unique);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al buscar productos", e);
+        }
+        List<String> missing = new ArrayList<>();
+        if (found.size() < unique.size()) {
+            Set<String> foundIds = new LinkedHashSet<>();
+            for (Product product : found) {
+                foundIds.add(product.getId());
+            }
+            for (String id : unique) {
+                if (!foundIds.contains(id)) {
+                    missing.add(id);
+                }
+            }
+        }
+        return new ProductBatch(found, missing);
+    }
+
+    /**
+     * Busca productos por texto a través del {@link ProductSearchIndex}.
+     *
+     * <p>
+     * - Retorna {@link HttpStatus#BAD_REQUEST} si la consulta es nula o vacía,
+     * o si los parámetros de paginación son inválidos.<br>
+     * - Retorna {@link HttpStatus#INTERNAL_SERVER_ERROR} en caso de error inesperado.
+     * </p>
+     *
+     * @param query  texto de búsqueda
+     * @param offset posición del primer resultado
+     * @param limit  tamaño de la página
+     * @return página de resultados ordenados por relevancia
+     * @throws ResponseStatusException si la consulta o la paginación son inválidas
+     */
+    @Override
+    public ProductPage searchProducts(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El texto de búsqueda no puede ser nulo o vacío");
+        }
+        validatePage(offset, limit);
+        try {
+            return current(searchIndex.search(query, offset, limit));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al buscar productos", e);
+        }
+    }
+
+    /**
+     * Filtra el catálogo por facetas a través del {@link ProductFacetIndex}.
+     *
+     * <p>
+     * - Retorna {@link HttpStatus#BAD_REQUEST} si los parámetros de paginación son inválidos.<br>
+     * - Retorna {@link HttpStatus#INTERNAL_SERVER_ERROR} en caso de error inesperado.
+     * </p>
+     *
+     * @param filters valores pedidos por faceta
+     * @param offset  posición del primer producto
+     * @param limit   tamaño de la página
+     * @return página filtrada y conteos por faceta
+     * @throws ResponseStatusException si la paginación es inválida
+     */
+    @Override
+    public ProductFilterResult filterProducts(Map<ProductFacet, List<String>> filters, int offset, int limit) {
+        validatePage(offset, limit);
+        try {
+            ProductFilterResult result = facetIndex.filter(filters, offset, limit);
+            result.setItems(current(result.getItems()));
+            return result;
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al filtrar productos", e);
+        }
+    }
+
+    /**
+     * Resuelve una consulta por rango y orden a través del {@link ProductRangeIndex}.
+     *
+     * <p>
+     * - Retorna {@link HttpStatus#BAD_REQUEST} si falta el campo de orden, si se
+     * indican límites sin campo de rango, si {@code min} es mayor que {@code max}
+     * o si los parámetros de paginación son inválidos.<br>
+     * - Retorna {@link HttpStatus#INTERNAL_SERVER_ERROR} en caso de error inesperado.
+     * </p>
+     *
+     * @param query  rango y orden
+     * @param offset posición del primer producto
+     * @param limit  tamaño de la página
+     * @return página de resultados en el orden pedido
+     * @throws ResponseStatusException si la consulta o la paginación son inválidas
+     */
+    @Override
+    public ProductPage rangeQuery(RangeQuery query, int offset, int limit) {
+        if (query == null || query.sortField() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe indicar el campo de orden");
+        }
+        if (query.rangeField() == null && (query.min() != null || query.max() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Debe indicar el campo sobre el que aplicar el rango");
+        }
+        if (query.min() != null && query.max() != null && query.min() > query.max()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El mínimo del rango no puede ser mayor que el máximo");
+        }
+        validatePage(offset, limit);
+        try {
+            return current(rangeIndex.query(query, offset, limit));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error al consultar productos", e);
+        }
+    }
+
+    /**
+     * Con una fuente viva ({@link ProductRepository#isSnapshot()} en
+     * {@code false}) los índices de búsqueda, facetas y rangos reflejan la
+     * última versión publicada del catálogo. Cada producto de la página se
+     * vuelve a leer del repositorio, de modo que se sirven sus últimos cambios
+     * y los eliminados desde entonces se omiten. La coincidencia y el total
+     * siguen siendo los del índice; si se omitió alguno, el total se informa
+     * como estimado.
+     */
+    private ProductPage current(ProductPage page) {
+        if (repository.isSnapshot()) {
+            return page;
+        }
+        List<Product> items = current(page.getItems());
+        int skipped = page.getItems().size() - items.size();
+        return new ProductPage(items, page.getOffset(), page.getLimit(), page.getTotal(),
+                page.isTotalExact() && skipped == 0, page.getSkipped() + skipped);
+    }
+
+    private List<Product> current(List<Product> items) {
+        if (repository.isSnapshot() || items.isEmpty()) {
+            return items;
+        }
+        List<String> ids = new ArrayList<>(items.size());
+        for (Product item : items) {
+            ids.add(item.getId());
+        }
+        return repository.findAllById(ids);
     }
 }
@@ -0,0 +1,36 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Crea repositorios reales sobre catálogos sintéticos para los benchmarks,
+ * pasando por el mismo camino de carga que la aplicación.
+ */
+final class BenchmarkRepositories {
+
+    private BenchmarkRepositories() {
+    }
+
+    static JsonProductRepository json(int size) {
+        try {
+            Path file = new CatalogGenerator().write(Files.createTempFile("catalog", ".json"), size);
+            try {
+                CatalogProperties properties = new CatalogProperties();
+                properties.setPath(file.toString());
+                properties.setProgressInterval(0);
+                return new JsonProductRepository(properties);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.controller.ResponseFormat;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.testdata.CatalogGenerator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara JSON, Smile y CBOR al codificar y decodificar un producto (la
+ * respuesta del detalle) y el catálogo completo (lo que descarga un servicio
+ * interno con {@code GET /v1/products}). Los writers son los mismos que usa el
+ * controller: el writer JSON adaptado con {@link ResponseFormat#writer}.
+ *
+ * <p>
+ * El tamaño de cada cuerpo se imprime en el setup. Para el catálogo conviene
+ * correrlo con más memoria: {@code -Djmh.args="-jvmArgs -Xmx4g"}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private ResponseFormat format;
+
+    @Param({"1", "100000"})
+    private int products;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private Object value;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        writer = format.writer(mapper.writer());
+        ObjectMapper decoder = new ObjectMapper(factory(format));
+        CatalogGenerator generator = new CatalogGenerator();
+        if (products == 1) {
+            value = generator.product(7);
+            reader = decoder.readerFor(Product.class);
+        } else {
+            value = generator.products(products);
+            reader = decoder.readerFor(new TypeReference<List<Product>>() { });
+        }
+        body = writer.writeValueAsBytes(value);
+        System.out.printf("%n%s, %d productos: %,d bytes%n", format, products, body.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return reader.readValue(body);
+    }
+
+    private static JsonFactory factory(ResponseFormat format) {
+        return switch (format) {
+            case JSON -> new JsonFactory();
+            case SMILE -> new SmileFactory();
+            case CBOR -> new CBORFactory();
+        };
+    }
+}
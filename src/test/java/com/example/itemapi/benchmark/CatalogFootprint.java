@@ -0,0 +1,82 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.columnar.ColumnarCatalog;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara el heap retenido por el catálogo como {@code List<Product>} (lo que
+ * mantiene {@code JsonProductRepository}) con el mismo catálogo en un
+ * {@link ColumnarCatalog}.
+ *
+ * <p>
+ * Los productos se generan variando los de {@code products.json} y se
+ * deserializan uno a uno con Jackson, de modo que cada cadena es una instancia
+ * propia como en una carga real. El tamaño se mide como heap usado tras un GC
+ * completo, antes y después de construir cada representación.
+ * </p>
+ *
+ * <p>Se ejecuta con {@code java -Xmx4g ... com.example.itemapi.benchmark.CatalogFootprint [cantidad]}
+ * sobre el classpath de pruebas; por defecto usa 1.000.000 productos.</p>
+ */
+public class CatalogFootprint {
+
+    public static void main(String[] args) throws IOException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        ObjectMapper mapper = new ObjectMapper();
+        List<Product> templates;
+        try (InputStream in = CatalogFootprint.class.getResourceAsStream("/products.json")) {
+            templates = mapper.readValue(in, new TypeReference<List<Product>>() { });
+        }
+
+        long baseline = usedHeap();
+        List<Product> products = generate(mapper, templates, size);
+        long listBytes = usedHeap() - baseline;
+
+        ColumnarCatalog.Builder builder = new ColumnarCatalog.Builder();
+        products.forEach(builder::add);
+        ColumnarCatalog catalog = builder.build();
+        products = null;
+        long columnarBytes = usedHeap() - baseline;
+
+        System.out.printf("Productos:          %,d%n", catalog.size());
+        System.out.printf("List<Product>:      %,d bytes (%d bytes/producto)%n", listBytes, listBytes / size);
+        System.out.printf("ColumnarCatalog:    %,d bytes (%d bytes/producto)%n", columnarBytes, columnarBytes / size);
+        System.out.printf("Valores en diccionarios: %,d%n", catalog.dictionaryEntries());
+        System.out.printf("Reducción:          %.1f%%%n", 100.0 * (listBytes - columnarBytes) / listBytes);
+    }
+
+    private static List<Product> generate(ObjectMapper mapper, List<Product> templates, int size) throws IOException {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product p = templates.get(i % templates.size());
+            p.setId("MLA" + (1_000_000_000L + i));
+            p.setName(p.getBrand() + " modelo " + random.nextInt(50_000));
+            p.setPrice(Math.round(random.nextDouble() * 2_000_000) / 1.0);
+            p.setAvailableQuantity(random.nextInt(100));
+            p.getGeneralInfo().setDiscountPercentage(random.nextInt(60));
+            p.getReviews().setRating(Math.round(random.nextDouble() * 50) / 10.0);
+            // Ida y vuelta por JSON para que cada producto tenga sus propias instancias
+            products.add(mapper.readValue(mapper.writeValueAsBytes(p), Product.class));
+        }
+        return products;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
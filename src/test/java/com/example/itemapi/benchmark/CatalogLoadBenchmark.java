@@ -0,0 +1,60 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el arranque de {@link JsonProductRepository}: lectura en streaming del
+ * archivo, deduplicación de cadenas y construcción del índice por ID.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CatalogLoadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path file;
+    private CatalogProperties properties;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = new CatalogGenerator().write(Files.createTempFile("catalog", ".json"), size);
+        properties = new CatalogProperties();
+        properties.setPath(file.toString());
+        properties.setProgressInterval(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public JsonProductRepository load() {
+        return new JsonProductRepository(properties);
+    }
+}
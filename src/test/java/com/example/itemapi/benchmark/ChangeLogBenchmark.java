@@ -0,0 +1,91 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.repository.changelog.ChangeLog;
+import com.example.itemapi.repository.changelog.ChangeRecord;
+import com.example.itemapi.testdata.CatalogGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de escrituras durables en {@link ChangeLog} según el máximo de
+ * cambios por {@code fsync} ({@code maxBatch}).
+ *
+ * <p>
+ * Cada operación agrega un cambio de precio y espera a que sea durable, como
+ * una petición de escritura. Con {@code maxBatch=1} cada cambio paga su propio
+ * {@code fsync}; con lotes mayores los hilos que escriben mientras otro lote
+ * se sincroniza comparten el siguiente. Al terminar se imprime el tamaño medio
+ * de lote alcanzado (cambios por {@code fsync}). El
+ * resultado depende sobre todo de la latencia de {@code fsync} del disco del
+ * directorio temporal.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ChangeLogBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int maxBatch;
+
+    private Path dir;
+    private ChangeLog log;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("changelog");
+        log = new ChangeLog(dir, 0, maxBatch, new ObjectMapper(), (sequence, change) -> true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        log.close();
+        ChangeLog.Stats stats = log.getStats();
+        System.out.printf("%nmaxBatch=%d: %d cambios en %d fsync (%.1f por fsync, %.2f ms por fsync)%n",
+                maxBatch, stats.records(), stats.syncs(), (double) stats.records() / stats.syncs(),
+                stats.syncNanos() / 1e6 / stats.syncs());
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    /**
+     * Generador de cambios propio de cada hilo.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+
+        ChangeRecord next() {
+            return ChangeRecord.price(CatalogGenerator.id(random.nextInt(100_000)), random.nextInt(1_000_000) / 100.0);
+        }
+    }
+
+    @Benchmark
+    public boolean appendDurable(Writer writer) {
+        return log.append(writer.next()).join();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.index.FacetIndex;
+import com.example.itemapi.index.ProductFacet;
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara el filtrado por facetas con {@link FacetIndex} frente a un
+ * {@code stream().filter()} sobre la lista completa, como haría un cliente
+ * sobre la respuesta de {@code findAll()}.
+ *
+ * <p>
+ * El filtro es {@code brand ∈ {Casio, Seiko}} AND {@code strapMaterial = Cuero}
+ * AND {@code freeShipping = true}. {@code bitmapFilter} incluye además el
+ * cálculo de los conteos de todas las facetas; {@code streamFilterWithCounts}
+ * hace lo mismo agrupando sobre la lista. La memoria ocupada por el índice se
+ * imprime al preparar cada tamaño.
+ * </p>
+ *
+ * <p>Se ejecuta con {@code org.openjdk.jmh.Main FacetFilterBenchmark} sobre el classpath de pruebas.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FacetFilterBenchmark {
+
+    private static final String[] BRANDS = {"Casio", "Seiko", "Citizen", "Garmin", "Fossil", "Tissot", "Orient",
+            "Timex", "Swatch", "Omega", "Rolex", "Samsung", "Apple", "Huawei", "Xiaomi", "Amazfit"};
+    private static final String[] MATERIALS = {"Acero inoxidable", "Cuero", "Silicona", "Titanio", "Nailon", "Cerámica"};
+    private static final String[] COLORS = {"Negro", "Plateado", "Dorado", "Azul", "Blanco", "Rosa"};
+    private static final String[] GENDERS = {"Hombre", "Mujer", "Unisex"};
+    private static final String[] CATEGORIES = {"Relojes", "Smartwatches", "Accesorios"};
+
+    private static final Set<String> WANTED_BRANDS = Set.of("Casio", "Seiko");
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Product> products;
+    private FacetIndex index;
+    private Map<ProductFacet, List<String>> filters;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product p = new Product();
+            p.setId("MLA" + (1_000_000_000L + i));
+            p.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            p.setBrand(BRANDS[random.nextInt(BRANDS.length)]);
+            Characteristics characteristics = new Characteristics();
+            characteristics.setGender(GENDERS[random.nextInt(GENDERS.length)]);
+            characteristics.setStrapMaterial(MATERIALS[random.nextInt(MATERIALS.length)]);
+            characteristics.setCaseColor(COLORS[random.nextInt(COLORS.length)]);
+            p.setCharacteristics(characteristics);
+            GeneralInfo info = new GeneralInfo();
+            info.setFreeShipping(random.nextBoolean());
+            p.setGeneralInfo(info);
+            products.add(p);
+        }
+        index = FacetIndex.build(products);
+        filters = new EnumMap<>(ProductFacet.class);
+        filters.put(ProductFacet.BRAND, List.of("Casio", "Seiko"));
+        filters.put(ProductFacet.STRAP_MATERIAL, List.of("Cuero"));
+        filters.put(ProductFacet.FREE_SHIPPING, List.of("true"));
+        System.out.printf("%n[facetas] %d productos: índice (bitmaps + columnas) = %d KB%n", size, index.sizeInBytes() / 1024);
+    }
+
+    @Benchmark
+    public FacetIndex.Result bitmapFilter() {
+        return index.filter(filters);
+    }
+
+    @Benchmark
+    public List<Product> streamFilter() {
+        return products.stream().filter(this::matches).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<ProductFacet, Map<String, Long>> streamFilterWithCounts() {
+        List<Product> matches = streamFilter();
+        Map<ProductFacet, Map<String, Long>> counts = new EnumMap<>(ProductFacet.class);
+        for (ProductFacet facet : ProductFacet.values()) {
+            counts.put(facet, matches.stream()
+                    .map(facet::valueOf)
+                    .filter(v -> v != null)
+                    .collect(Collectors.groupingBy(v -> v, Collectors.counting())));
+        }
+        return counts;
+    }
+
+    private boolean matches(Product p) {
+        return WANTED_BRANDS.contains(p.getBrand())
+                && "Cuero".equals(p.getCharacteristics().getStrapMaterial())
+                && Boolean.TRUE.equals(p.getGeneralInfo().getFreeShipping());
+    }
+}
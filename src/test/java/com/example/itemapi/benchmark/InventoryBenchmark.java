@@ -0,0 +1,144 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.inventory.StockChange;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de reservas de stock con varios hilos: cada operación reserva y
+ * libera una unidad, de modo que el stock no se agota durante la medición.
+ *
+ * <ul>
+ *   <li>{@code atomic}: {@link ProductInventory}, compare-and-set sobre un
+ *       {@code AtomicIntegerArray} por ordinal.</li>
+ *   <li>{@code locked}: la alternativa ingenua de modificar
+ *       {@link Product#setAvailableQuantity(Integer)} bajo un único monitor.</li>
+ * </ul>
+ *
+ * <p>
+ * Con {@code ids=hot} todos los hilos compiten por el mismo producto (una
+ * oferta durante una venta); con {@code ids=spread} cada operación elige un
+ * producto al azar.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class InventoryBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"atomic", "locked"})
+    public String store;
+
+    @Param({"hot", "spread"})
+    public String ids;
+
+    private ProductInventory inventory;
+    private LockedInventory locked;
+    private String[] catalogIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Product> products = new CatalogGenerator().products(size);
+        for (Product product : products) {
+            product.setAvailableQuantity(1_000_000);
+        }
+        catalogIds = products.stream().map(Product::getId).toArray(String[]::new);
+        if (store.equals("atomic")) {
+            inventory = new ProductInventory(new ProductRepository() {
+                @Override
+                public List<Product> findAll() {
+                    return products;
+                }
+
+                @Override
+                public Product findById(String id) {
+                    throw new UnsupportedOperationException();
+                }
+            }, new CatalogProperties());
+        } else {
+            locked = new LockedInventory(products);
+        }
+    }
+
+    /**
+     * Generador de IDs propio de cada hilo.
+     */
+    @State(Scope.Thread)
+    public static class Picker {
+
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+
+        String next(InventoryBenchmark benchmark) {
+            String[] all = benchmark.catalogIds;
+            return benchmark.ids.equals("hot") ? all[0] : all[random.nextInt(all.length)];
+        }
+    }
+
+    @Benchmark
+    public int reserveAndRelease(Picker picker) {
+        String id = picker.next(this);
+        if (inventory != null) {
+            StockChange reserved = inventory.reserve(id, 1);
+            StockChange released = inventory.release(id, 1);
+            return reserved.hashCode() + released.hashCode();
+        }
+        return locked.reserve(id, 1) + locked.release(id, 1);
+    }
+
+    /**
+     * Stock guardado en los propios documentos y protegido por un único monitor.
+     */
+    private static final class LockedInventory {
+
+        private final Map<String, Product> byId = new HashMap<>();
+
+        private LockedInventory(List<Product> products) {
+            products.forEach(product -> byId.put(product.getId(), product));
+        }
+
+        synchronized int reserve(String id, int quantity) {
+            Product product = byId.get(id);
+            int available = product.getAvailableQuantity();
+            if (available < quantity) {
+                return -1;
+            }
+            product.setAvailableQuantity(available - quantity);
+            return available - quantity;
+        }
+
+        synchronized int release(String id, int quantity) {
+            Product product = byId.get(id);
+            product.setAvailableQuantity(product.getAvailableQuantity() + quantity);
+            return product.getAvailableQuantity();
+        }
+    }
+}
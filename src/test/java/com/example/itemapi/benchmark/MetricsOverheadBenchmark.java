@@ -0,0 +1,100 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.metrics.ProductMetrics;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.service.ProductLookup;
+import com.example.itemapi.service.ProductServiceImpl;
+import com.example.itemapi.testdata.CatalogGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de instrumentar {@link ProductServiceImpl} con {@link ProductMetrics}.
+ *
+ * <ul>
+ *   <li>{@code registry=noop}: un {@link CompositeMeterRegistry} sin registros
+ *       hijos, cuyos medidores no hacen nada; sólo queda el costo de
+ *       {@code System.nanoTime()} y de la llamada.</li>
+ *   <li>{@code registry=prometheus}: el registro que usa Actuator, con los
+ *       histogramas de percentiles activos.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"noop", "prometheus"})
+    public String registry;
+
+    private ProductServiceImpl service;
+    private String[] hitIds;
+    private String[] missIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ProductRepository repository = BenchmarkRepositories.json(size);
+        MeterRegistry meterRegistry = "prometheus".equals(registry)
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+        service = new ProductServiceImpl(repository, new ApiProperties(), null, null, null,
+                new ProductIdFilter(repository, new CatalogProperties()), new ProductMetrics(meterRegistry));
+        Random random = new Random(42);
+        hitIds = new String[QUERIES];
+        missIds = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            hitIds[i] = CatalogGenerator.id(random.nextInt(size));
+            missIds[i] = "NO-" + random.nextInt(size);
+        }
+    }
+
+    private String next(String[] ids) {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public ProductLookup findByIdFound() {
+        return service.findProductById(next(hitIds));
+    }
+
+    @Benchmark
+    public ProductLookup findByIdNotFound() {
+        return service.findProductById(next(missIds));
+    }
+
+    @Benchmark
+    public ProductPage listPage() {
+        return service.listProducts(cursor = (cursor + 50) % size, 50);
+    }
+}
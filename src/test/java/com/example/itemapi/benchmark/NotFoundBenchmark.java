@@ -0,0 +1,144 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.controller.ProductController;
+import com.example.itemapi.controller.ProductProjections;
+import com.example.itemapi.controller.ProductResponseCache;
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.index.ProductVersions;
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.metrics.ProductMetrics;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.service.ProductServiceImpl;
+import com.example.itemapi.testdata.CatalogGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Mide el detalle de producto con un 100&nbsp;% de IDs inexistentes, como el
+ * tráfico de scrapers.
+ *
+ * <ul>
+ *   <li>{@code exceptionPath}: el flujo anterior, {@code getProductById} lanza
+ *       una {@link ResponseStatusException} con mensaje concatenado y stack trace
+ *       y Spring la resuelve con {@link ResponseStatusExceptionResolver}.</li>
+ *   <li>{@code lookupPath}: el controlador consulta {@code findProductById} y
+ *       devuelve la respuesta 404 pre-construida.</li>
+ * </ul>
+ * <p>
+ * Con {@code idFilter=true} el {@link ProductIdFilter} descarta los IDs antes
+ * del repositorio. En ambos casos se fija el estado en un {@link MockHttpServletResponse}
+ * reutilizado. {@code depth} agrega marcos de pila antes de la consulta para
+ * aproximar la profundidad de Tomcat y Spring MVC, de la que depende el costo
+ * de capturar el stack trace de la excepción.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"0", "100"})
+    public int depth;
+
+    @Param({"false", "true"})
+    public boolean idFilter;
+
+    private ProductServiceImpl service;
+    private ProductController controller;
+    private ResponseStatusExceptionResolver resolver;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ServletWebRequest webRequest;
+    private String[] missIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ObjectMapper mapper = new ObjectMapper();
+        ProductRepository repository = BenchmarkRepositories.json(size);
+        CatalogProperties properties = new CatalogProperties();
+        properties.getIdFilter().setEnabled(idFilter);
+        service = new ProductServiceImpl(repository, new ApiProperties(), null, null, null,
+                new ProductIdFilter(repository, properties), new ProductMetrics(new SimpleMeterRegistry()));
+        controller = new ProductController(service, new ProductResponseCache(mapper, new ApiProperties()), mapper, new ApiProperties(),
+                new ProductProjections(mapper), new ProductVersions(repository, mapper, new ApiProperties()),
+                new ProductInventory(repository, properties), new ProductMetrics(new SimpleMeterRegistry()));
+        resolver = new ResponseStatusExceptionResolver();
+        request = new MockHttpServletRequest("GET", "/v1/products/x");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
+        Random random = new Random(42);
+        missIds = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            missIds[i] = "NO-" + CatalogGenerator.id(random.nextInt(size));
+        }
+    }
+
+    private String next() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return missIds[cursor];
+    }
+
+    @Benchmark
+    public int exceptionPath() {
+        return descend(depth, this::viaException);
+    }
+
+    @Benchmark
+    public int lookupPath() {
+        return descend(depth, this::viaLookup);
+    }
+
+    private int viaException() {
+        response.setCommitted(false);
+        try {
+            service.getProductById(next());
+            response.setStatus(200);
+        } catch (ResponseStatusException e) {
+            resolver.resolveException(request, response, null, e);
+        }
+        return response.getStatus();
+    }
+
+    private int viaLookup() {
+        ResponseEntity<byte[]> entity = controller.getProductById(next(), null, null, null, webRequest);
+        response.setStatus(entity.getStatusCode().value());
+        return response.getStatus();
+    }
+
+    private static int descend(int depth, IntSupplier call) {
+        return depth == 0 ? call.getAsInt() : descend(depth - 1, call);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.ProductIdIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la búsqueda por ID mediante {@link ProductIdIndex} con el recorrido
+ * lineal por {@code stream()} que usaba originalmente {@code JsonProductRepository}.
+ *
+ * <p>Se ejecuta con {@code org.openjdk.jmh.Main ProductLookupBenchmark} sobre el classpath de pruebas.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductLookupBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Product> products;
+    private ProductIdIndex index;
+    private String[] hitIds;
+    private String[] missIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product p = new Product();
+            p.setId("MLA" + (1_000_000_000L + i));
+            p.setName("Producto " + i);
+            products.add(p);
+        }
+        index = ProductIdIndex.build(products);
+
+        Random random = new Random(42);
+        hitIds = new String[QUERIES];
+        missIds = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            // Copias nuevas para no comparar por identidad con las claves del índice
+            hitIds[i] = new String(products.get(random.nextInt(size)).getId());
+            missIds[i] = "NO-" + random.nextInt(size);
+        }
+    }
+
+    private String next(String[] ids) {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public Product indexHit() {
+        int ordinal = index.ordinalOf(next(hitIds));
+        return ordinal == ProductIdIndex.NOT_FOUND ? null : products.get(ordinal);
+    }
+
+    @Benchmark
+    public Product indexMiss() {
+        int ordinal = index.ordinalOf(next(missIds));
+        return ordinal == ProductIdIndex.NOT_FOUND ? null : products.get(ordinal);
+    }
+
+    @Benchmark
+    public Product streamScanHit() {
+        String id = next(hitIds);
+        return products.stream().filter(p -> p.getId().equals(id)).findFirst().orElse(null);
+    }
+
+    @Benchmark
+    public Product streamScanMiss() {
+        String id = next(missIds);
+        return products.stream().filter(p -> p.getId().equals(id)).findFirst().orElse(null);
+    }
+}
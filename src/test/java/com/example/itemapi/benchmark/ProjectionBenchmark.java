@@ -0,0 +1,86 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.controller.ProductProjections;
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el tiempo de serialización y el tamaño en bytes de una página de
+ * productos completa frente a la proyección de listado {@code id,name,price,images}.
+ *
+ * <p>Los tamaños de cada variante se imprimen al preparar el benchmark.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    @Param({"1", "50"})
+    public int pageSize;
+
+    @Param({"id,name,price,images", "id,name,price,generalInfo.discountPrice,reviews.rating"})
+    public String fields;
+
+    private List<Product> page;
+    private ObjectWriter fullWriter;
+    private ObjectWriter projectedWriter;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(product(i));
+        }
+        fullWriter = mapper.writer();
+        projectedWriter = new ProductProjections(mapper).writerFor(fields);
+        System.out.printf("%n[bytes] página=%d completa=%d proyección(%s)=%d%n", pageSize,
+                fullWriter.writeValueAsBytes(page).length, fields, projectedWriter.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    public byte[] fullPage() throws Exception {
+        return fullWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] projectedPage() throws Exception {
+        return projectedWriter.writeValueAsBytes(page);
+    }
+
+    private static Product product(int i) {
+        return new Product("MLA" + (1_000_000_000L + i), "Reloj Unisex Casio A168wemb-1bdf Vintage " + i,
+                "Reloj unisex Casio Vintage con correa de acero inoxidable y cierre desplegable.",
+                437574.0 + i, "COP", 5, List.of("/images/casio-a168-1.jpg", "/images/casio-a168-2.jpg"),
+                "Relojes", "Casio",
+                "Producto original Casio, línea Vintage. Incluye caja y manual. Garantía oficial de 12 meses.",
+                new GeneralInfo(437574.0, 659000.0, 33, "3 cuotas de $145.858 sin interés", true),
+                new Characteristics("Vintage", "A168WEMB-1BDF", "Unisex", "Adultos", "Gris", "Acero inoxidable",
+                        "Desplegable", "Negro", "Gris", "Negro"),
+                new Reviews(4.8, 3, List.of("Excelente reloj, llegó muy rápido", "Muy buena calidad",
+                        "El tamaño es perfecto")));
+    }
+}
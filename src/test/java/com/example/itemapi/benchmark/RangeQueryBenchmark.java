@@ -0,0 +1,109 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.index.NumericField;
+import com.example.itemapi.index.RangeIndex;
+import com.example.itemapi.index.RangeQuery;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara las consultas de {@link RangeIndex} (top 50) con el equivalente
+ * sobre la lista usando {@code stream().sorted()} y comparadores sobre los
+ * campos empaquetados del modelo.
+ *
+ * <p>
+ * {@code bestRated}: todo el catálogo, mejor calificación primero (se lee del
+ * extremo de la columna ordenada). {@code priceRangeByDiscount}: precio entre
+ * 200 y 400 (~20% del catálogo) ordenado por mayor porcentaje de descuento
+ * (recorre el tramo con un montículo).
+ * </p>
+ *
+ * <p>Se ejecuta con {@code org.openjdk.jmh.Main RangeQueryBenchmark} sobre el classpath de pruebas.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RangeQueryBenchmark {
+
+    private static final int TOP = 50;
+
+    private static final RangeQuery BEST_RATED = new RangeQuery(null, null, null, NumericField.RATING, true);
+    private static final RangeQuery PRICE_RANGE_BY_DISCOUNT =
+            new RangeQuery(NumericField.PRICE, 200.0, 400.0, NumericField.DISCOUNT_PERCENTAGE, true);
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Product> products;
+    private RangeIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product p = new Product();
+            p.setId("MLA" + (1_000_000_000L + i));
+            p.setPrice(Math.round(random.nextDouble() * 100_000) / 100.0);
+            GeneralInfo info = new GeneralInfo();
+            info.setDiscountPercentage(random.nextInt(60));
+            info.setDiscountPrice(p.getPrice() * (100 - info.getDiscountPercentage()) / 100);
+            p.setGeneralInfo(info);
+            Reviews reviews = new Reviews();
+            reviews.setRating(random.nextInt(41) / 10.0 + 1);
+            p.setReviews(reviews);
+            products.add(p);
+        }
+        index = RangeIndex.build(products);
+    }
+
+    @Benchmark
+    public RangeIndex.Hits indexBestRated() {
+        return index.query(BEST_RATED, 0, TOP);
+    }
+
+    @Benchmark
+    public List<Product> streamBestRated() {
+        return products.stream()
+                .sorted(Comparator.comparing((Product p) -> p.getReviews().getRating()).reversed())
+                .limit(TOP)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public RangeIndex.Hits indexPriceRangeByDiscount() {
+        return index.query(PRICE_RANGE_BY_DISCOUNT, 0, TOP);
+    }
+
+    @Benchmark
+    public List<Product> streamPriceRangeByDiscount() {
+        return products.stream()
+                .filter(p -> p.getPrice() >= 200 && p.getPrice() <= 400)
+                .sorted(Comparator.comparing((Product p) -> p.getGeneralInfo().getDiscountPercentage()).reversed())
+                .limit(TOP)
+                .collect(Collectors.toList());
+    }
+}
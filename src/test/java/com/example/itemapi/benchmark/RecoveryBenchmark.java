@@ -0,0 +1,107 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.repository.changelog.ChangeLog;
+import com.example.itemapi.repository.changelog.ChangeRecord;
+import com.example.itemapi.repository.changelog.DurableProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de arranque de {@link DurableProductRepository} según la cantidad de
+ * cambios pendientes de compactar: abrir el snapshot de 10.000 productos y
+ * reaplicar {@code logLength} cambios de precio y de stock. Es el costo que la
+ * compactación periódica mantiene acotado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RecoveryBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int logLength;
+
+    private Path dir;
+    private Path catalog;
+    private CatalogProperties properties;
+    private DurableProductRepository repository;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("recovery");
+        catalog = new CatalogGenerator().write(Files.createTempFile("catalog", ".json"), CATALOG_SIZE);
+        properties = new CatalogProperties();
+        properties.setPath(catalog.toString());
+        properties.setProgressInterval(0);
+        properties.getChangelog().setDir(dir.toString());
+        properties.getChangelog().setCompactInterval(Duration.ZERO);
+        // El primer arranque guarda el catálogo como snapshot de secuencia 0
+        open().close();
+
+        ObjectMapper mapper = new ObjectMapper();
+        SplittableRandom random = new SplittableRandom(42);
+        try (ChangeLog log = new ChangeLog(dir, 0, 4096, mapper, (sequence, change) -> true)) {
+            CompletableFuture<Boolean> last = null;
+            for (int i = 0; i < logLength; i++) {
+                String id = CatalogGenerator.id(random.nextInt(CATALOG_SIZE));
+                last = log.append(i % 2 == 0
+                        ? ChangeRecord.price(id, random.nextInt(1_000_000) / 100.0)
+                        : ChangeRecord.stock(id, random.nextInt(100)));
+            }
+            last.join();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRepository() {
+        if (repository != null) {
+            repository.close();
+            repository = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+        Files.deleteIfExists(catalog);
+    }
+
+    @Benchmark
+    public DurableProductRepository recover() {
+        repository = open();
+        return repository;
+    }
+
+    private DurableProductRepository open() {
+        return new DurableProductRepository(properties, new ObjectMapper(), event -> {
+        }, new SimpleMeterRegistry());
+    }
+}
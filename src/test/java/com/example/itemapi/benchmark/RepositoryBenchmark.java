@@ -0,0 +1,88 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las lecturas de {@link JsonProductRepository} ya cargado:
+ * {@code findById} con IDs existentes e inexistentes, {@code findAll} y el
+ * recorrido completo de la lista que devuelve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ProductRepository repository;
+    private String[] hitIds;
+    private String[] missIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = BenchmarkRepositories.json(size);
+        Random random = new Random(42);
+        hitIds = new String[QUERIES];
+        missIds = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            hitIds[i] = CatalogGenerator.id(random.nextInt(size));
+            missIds[i] = "NO-" + random.nextInt(size);
+        }
+    }
+
+    private String next(String[] ids) {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public Product findByIdHit() {
+        return repository.findById(next(hitIds));
+    }
+
+    @Benchmark
+    public Product findByIdMiss() {
+        return repository.findById(next(missIds));
+    }
+
+    @Benchmark
+    public List<Product> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double findAllScan() {
+        double total = 0;
+        for (Product product : repository.findAll()) {
+            total += product.getPrice();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.index.InvertedIndex;
+import com.example.itemapi.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la latencia de {@link InvertedIndex#search(String, int)} (top 50) con
+ * consultas de distinta selectividad sobre catálogos sintéticos.
+ *
+ * <p>
+ * {@code selective} combina marca y modelo (pocas coincidencias), {@code mixed}
+ * un término frecuente con uno poco frecuente, y {@code broad} dos términos
+ * presentes en una fracción grande del catálogo, que es el peor caso porque
+ * la lista más corta sigue siendo larga.
+ * </p>
+ *
+ * <p>Se ejecuta con {@code org.openjdk.jmh.Main SearchBenchmark} sobre el classpath de pruebas
+ * (requiere {@code -Xmx2g} o más para el catálogo de 1M).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SearchBenchmark {
+
+    private static final String[] BRANDS = {"Casio", "Seiko", "Citizen", "Garmin", "Fossil", "Tissot", "Orient",
+            "Timex", "Swatch", "Omega", "Rolex", "Samsung", "Apple", "Huawei", "Xiaomi", "Amazfit"};
+    private static final String[] TYPES = {"Reloj", "Smartwatch", "Cronógrafo", "Reloj Digital", "Reloj Análogo"};
+    private static final String[] MATERIALS = {"acero inoxidable", "cuero", "silicona", "titanio", "nylon", "cerámica"};
+    private static final String[] STYLES = {"deportivo", "clásico", "elegante", "sumergible", "militar", "casual"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"selective", "mixed", "broad"})
+    public String query;
+
+    private InvertedIndex index;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            Product p = new Product();
+            p.setId("MLA" + (1_000_000_000L + i));
+            p.setBrand(brand);
+            p.setName(TYPES[random.nextInt(TYPES.length)] + " " + brand + " "
+                    + STYLES[random.nextInt(STYLES.length)] + " M" + random.nextInt(5000));
+            p.setDescription("Reloj " + STYLES[random.nextInt(STYLES.length)] + " con malla de "
+                    + MATERIALS[random.nextInt(MATERIALS.length)] + " y caja de "
+                    + MATERIALS[random.nextInt(MATERIALS.length)]);
+            products.add(p);
+        }
+        index = InvertedIndex.build(products);
+        text = switch (query) {
+            case "selective" -> "casio m1234";
+            case "mixed" -> "reloj tissot";
+            default -> "reloj acero";
+        };
+    }
+
+    @Benchmark
+    public InvertedIndex.Hits search() {
+        return index.search(text, 50);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.testdata.CatalogGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la serialización con Jackson de un {@link Product} completo y de una
+ * página de 50 productos (la respuesta por defecto del listado), además de la
+ * deserialización de un producto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private Product product;
+    private List<Product> page;
+    private byte[] productJson;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        writer = mapper.writer();
+        reader = mapper.readerFor(Product.class);
+        CatalogGenerator generator = new CatalogGenerator();
+        product = generator.product(7);
+        page = generator.products(50);
+        productJson = writer.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws IOException {
+        return writer.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] serializePage() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Product deserializeProduct() throws IOException {
+        return reader.readValue(productJson);
+    }
+}
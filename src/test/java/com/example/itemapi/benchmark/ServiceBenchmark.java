@@ -0,0 +1,117 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.metrics.ProductMetrics;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.service.ProductLookup;
+import com.example.itemapi.service.ProductServiceImpl;
+import com.example.itemapi.testdata.CatalogGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link ProductServiceImpl} sobre un repositorio real, incluyendo los
+ * caminos de error: producto inexistente (404), ID vacío y paginación
+ * inválida (400), que {@code getProductById} y {@code listProducts} resuelven
+ * lanzando {@link ResponseStatusException}. {@code findByIdNotFound} mide el
+ * mismo 404 con {@code findProductById}, sin excepciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServiceBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ProductServiceImpl service;
+    private String[] hitIds;
+    private String[] missIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Los índices de búsqueda, facetas y rangos no intervienen en estos caminos
+        ProductRepository repository = BenchmarkRepositories.json(size);
+        service = new ProductServiceImpl(repository, new ApiProperties(), null, null, null,
+                new ProductIdFilter(repository, new CatalogProperties()), new ProductMetrics(new SimpleMeterRegistry()));
+        Random random = new Random(42);
+        hitIds = new String[QUERIES];
+        missIds = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            hitIds[i] = CatalogGenerator.id(random.nextInt(size));
+            missIds[i] = "NO-" + random.nextInt(size);
+        }
+    }
+
+    private String next(String[] ids) {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public Product getByIdFound() {
+        return service.getProductById(next(hitIds));
+    }
+
+    @Benchmark
+    public Object getByIdNotFound() {
+        try {
+            return service.getProductById(next(missIds));
+        } catch (ResponseStatusException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ProductLookup findByIdNotFound() {
+        return service.findProductById(next(missIds));
+    }
+
+    @Benchmark
+    public Object getByIdBlank() {
+        try {
+            return service.getProductById(" ");
+        } catch (ResponseStatusException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ProductPage listPage() {
+        return service.listProducts(cursor = (cursor + 50) % size, 50);
+    }
+
+    @Benchmark
+    public Object listInvalidPage() {
+        try {
+            return service.listProducts(-1, 50);
+        } catch (ResponseStatusException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.ShardedCatalogLoader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mide la escalabilidad de {@link ShardedCatalogLoader} con el número de hilos
+ * del pool fork-join, cargando el mismo catálogo repartido en 16 shards NDJSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShardedLoadBenchmark {
+
+    private static final int SHARDS = 16;
+
+    @Param({"200000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private Path dir;
+    private List<Path> shards;
+    private ShardedCatalogLoader loader;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        dir = Files.createTempDirectory("shards");
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Path file = dir.resolve(String.format("products-%02d.ndjson", shard));
+            try (OutputStream out = Files.newOutputStream(file);
+                 JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                for (int i = shard; i < size; i += SHARDS) {
+                    mapper.writeValue(generator, product(i));
+                }
+            }
+        }
+        shards = ShardedCatalogLoader.resolveShards(dir.resolve("products-*.ndjson").toString());
+        loader = new ShardedCatalogLoader(mapper, 0, parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Product> loadShards() throws IOException {
+        return loader.load(shards);
+    }
+
+    private static Product product(int i) {
+        Product p = new Product();
+        p.setId("MLA" + (1_000_000_000L + i));
+        p.setName("Reloj de prueba " + i);
+        p.setDescription("Reloj con correa de acero inoxidable y resistencia al agua " + i);
+        p.setPrice(100_000.0 + i);
+        p.setCurrency("COP");
+        p.setAvailableQuantity(i % 50);
+        p.setImages(List.of("/images/p-" + i + "-1.jpg", "/images/p-" + i + "-2.jpg"));
+        p.setCategory("Relojes");
+        p.setBrand("Marca " + (i % 40));
+        return p;
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.itemapi.benchmark;
+
+import com.example.itemapi.ItemApiApplication;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga de {@code GET /v1/products/{id}} con un repositorio remoto
+ * simulado, que tarda {@code latencyMs} en cada {@code findById}, atendiendo
+ * las peticiones con el pool de hilos de plataforma de Tomcat y con hilos
+ * virtuales ({@code spring.threads.virtual.enabled=true}).
+ *
+ * <p>
+ * Para cada modo arranca la aplicación completa en un puerto libre, con
+ * {@code concurrency} clientes en lazo cerrado (cada uno envía la siguiente
+ * petición al recibir la respuesta), descarta los primeros {@code warmup}
+ * segundos y mide durante {@code seconds}. Cada cliente usa su propia
+ * conexión keep-alive ({@link KeepAliveClient}). Informa peticiones por segundo,
+ * p50, p99 y errores. Con el pool de plataforma el techo teórico es
+ * {@code server.tomcat.threads.max / latencia}; con hilos virtuales una
+ * petición bloqueada en el repositorio no ocupa un hilo del sistema.
+ * </p>
+ *
+ * <p>
+ * El modo virtual requiere ejecutar sobre un JDK 21: se ejecuta con
+ * {@code mvn -Ploadtest verify -Dloadtest.args="latencyMs=50 concurrency=400"}.
+ * En una JVM anterior ese modo se omite.
+ * </p>
+ */
+public class VirtualThreadLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "size", "100000", "latencyMs", "50", "concurrency", "400",
+                "seconds", "20", "warmup", "5", "tomcatThreads", "200", "modes", "platform,virtual"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+        int size = Integer.parseInt(options.get("size"));
+        List<Product> products = new CatalogGenerator(42).products(size);
+        Duration latency = Duration.ofMillis(Long.parseLong(options.get("latencyMs")));
+
+        System.out.printf("Catálogo: %,d productos, latencia del repositorio: %d ms, clientes: %s, Tomcat: %s hilos%n",
+                size, latency.toMillis(), options.get("concurrency"), options.get("tomcatThreads"));
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "modo", "peticiones/s", "p50 ms", "p99 ms", "errores");
+        for (String mode : options.get("modes").split(",")) {
+            boolean virtual = "virtual".equals(mode);
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.printf("%-10s omitido: requiere Java 21 (JVM actual: %d)%n", mode, Runtime.version().feature());
+                continue;
+            }
+            Result result = run(new SlowProductRepository(products, latency), virtual, options);
+            System.out.printf("%-10s %12.0f %10.1f %10.1f %8d%n",
+                    mode, result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+        }
+    }
+
+    private static Result run(ProductRepository repository, boolean virtual, Map<String, String> options)
+            throws InterruptedException {
+        // Como argumentos de línea de comandos, para que prevalezcan sobre application.properties
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ItemApiApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx)
+                        .registerBean(ProductRepository.class, () -> repository))
+                .run("--server.port=0",
+                        // Ninguna fuente del catálogo coincide: el repositorio lo registra esta prueba
+                        "--catalog.source=simulated",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.tomcat.threads.max=" + options.get("tomcatThreads"),
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=2000",
+                        "--server.tomcat.max-keep-alive-requests=-1",
+                        "--logging.level.root=WARN");
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return load(port, repository.findAll().size(), options);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result load(int port, int size, Map<String, String> options) throws InterruptedException {
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("warmup")));
+        long measureNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("seconds")));
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long measureUntil = measureFrom + measureNanos;
+        // Cada cliente escribe sólo su posición; await() publica los resultados
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            int index = c;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(index);
+                long[] samples = new long[1024];
+                int count = 0;
+                KeepAliveClient client = new KeepAliveClient(port);
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        int status = client.get("/v1/products/" + CatalogGenerator.id(random.nextInt(size)));
+                        long end = System.nanoTime();
+                        if (now < measureFrom || end > measureUntil) {
+                            continue;
+                        }
+                        if (status != 200) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                        }
+                        samples[count++] = end - now;
+                    }
+                } finally {
+                    client.close();
+                    latencies[index] = samples;
+                    counts[index] = count;
+                    done.countDown();
+                }
+            }, "load-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        double seconds = measureNanos / 1e9;
+        return new Result(total / seconds, percentile(all, 0.50), percentile(all, 0.99), errors.get());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Cliente HTTP/1.1 mínimo sobre un socket con keep-alive. El
+     * {@code java.net.http.HttpClient} consume varias veces más CPU por
+     * petición que el servidor, lo que con pocos núcleos convierte al cliente
+     * en el cuello de botella de la prueba.
+     */
+    static final class KeepAliveClient implements Closeable {
+
+        private final int port;
+        private Socket socket;
+        private OutputStream out;
+        private InputStream in;
+
+        KeepAliveClient(int port) {
+            this.port = port;
+        }
+
+        /**
+         * @param path ruta a consultar.
+         * @return código de estado, o {@code -1} si la conexión falló (se reabre en la siguiente).
+         */
+        int get(String path) {
+            try {
+                if (socket == null) {
+                    socket = new Socket("localhost", port);
+                    socket.setTcpNoDelay(true);
+                    socket.setSoTimeout(30_000);
+                    out = new BufferedOutputStream(socket.getOutputStream());
+                    in = new BufferedInputStream(socket.getInputStream());
+                }
+                out.write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                String statusLine = readLine();
+                int status = Integer.parseInt(statusLine.substring(9, 12));
+                long contentLength = 0;
+                boolean closing = false;
+                String header;
+                while (!(header = readLine()).isEmpty()) {
+                    if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                        contentLength = Long.parseLong(header.substring(15).trim());
+                    } else if (header.regionMatches(true, 0, "Connection: close", 0, 17)) {
+                        closing = true;
+                    }
+                }
+                in.skipNBytes(contentLength);
+                if (closing) {
+                    close();
+                }
+                return status;
+            } catch (IOException | RuntimeException e) {
+                close();
+                return -1;
+            }
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder(64);
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    throw new EOFException("Conexión cerrada por el servidor");
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+
+        @Override
+        public void close() {
+            if (socket != null) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // La conexión se descarta de todos modos
+                }
+                socket = null;
+            }
+        }
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, long errors) {
+    }
+
+    /**
+     * Repositorio en memoria que simula una fuente remota: cada consulta por
+     * ID bloquea el hilo durante la latencia configurada.
+     */
+    static final class SlowProductRepository implements ProductRepository {
+
+        private final List<Product> products;
+        private final Map<String, Product> byId;
+        private final Duration latency;
+
+        SlowProductRepository(List<Product> products, Duration latency) {
+            this.products = List.copyOf(products);
+            this.byId = new HashMap<>(products.size() * 2);
+            for (Product product : products) {
+                byId.put(product.getId(), product);
+            }
+            this.latency = latency;
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return products;
+        }
+
+        @Override
+        public Product findById(String id) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return byId.get(id);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class InventoryControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        List<Product> catalog = List.of(buildProduct("w-001", 2), buildProduct("w-002", null));
+        ProductRepository repository = new ProductRepository() {
+            @Override
+            public List<Product> findAll() {
+                return catalog;
+            }
+
+            @Override
+            public Product findById(String id) {
+                return catalog.stream().filter(p -> p.getId().equals(id)).findFirst().orElse(null);
+            }
+        };
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new InventoryController(new ProductInventory(repository, new CatalogProperties()))).build();
+    }
+
+    @Test
+    void reserve_shouldReturn409OnceStockIsExhausted() throws Exception {
+        mockMvc.perform(reserve("w-001", 2))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value("w-001"))
+            .andExpect(jsonPath("$.availableQuantity").value(0));
+        mockMvc.perform(reserve("w-001", 1))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("Stock insuficiente"));
+        mockMvc.perform(post("/v1/products/w-001/stock/release")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"quantity\":1}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.availableQuantity").value(1));
+    }
+
+    @Test
+    void set_shouldStartTrackingProductsWithoutStock() throws Exception {
+        mockMvc.perform(get("/v1/products/w-002/stock"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.availableQuantity").doesNotExist());
+        mockMvc.perform(reserve("w-002", 1))
+            .andExpect(status().isConflict());
+        mockMvc.perform(put("/v1/products/w-002/stock")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"quantity\":5}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.availableQuantity").value(5));
+        mockMvc.perform(get("/v1/products/w-002/stock"))
+            .andExpect(jsonPath("$.availableQuantity").value(5));
+    }
+
+    @Test
+    void operations_shouldRejectUnknownIdsAndInvalidQuantities() throws Exception {
+        mockMvc.perform(get("/v1/products/no-existe/stock"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(reserve("no-existe", 1))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(reserve("w-001", 0))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/v1/products/w-001/stock").contentType(MediaType.APPLICATION_JSON).content("{}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static RequestBuilder reserve(String id, int quantity) {
+        return post("/v1/products/" + id + "/stock/reserve")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"quantity\":" + quantity + "}");
+    }
+
+    private static Product buildProduct(String id, Integer availableQuantity) {
+        Product p = new Product();
+        p.setId(id);
+        p.setAvailableQuantity(availableQuantity);
+        return p;
+    }
+}
@@ -1,23 +1,55 @@
 package com.example.itemapi.controller;
 
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.config.MessageConvertersConfiguration;
+import com.example.itemapi.index.NumericField;
+import com.example.itemapi.index.ProductFacet;
+import com.example.itemapi.index.ProductVersions;
+import com.example.itemapi.index.RangeQuery;
+import com.example.itemapi.inventory.LiveStockModule;
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.metrics.ProductMetrics;
 import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductBatch;
+import com.example.itemapi.model.ProductFilterResult;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.service.ProductLookup;
 import com.example.itemapi.service.ProductService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -29,12 +61,48 @@ class ProductControllerTest {
     @Mock
     private ProductService service;
 
-    @InjectMocks
     private ProductController controller;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    private ProductInventory inventory;
+
     @BeforeEach
     void setup() {
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        setupWithCatalog(List.of());
+    }
+
+    /**
+     * Crea el controlador con las versiones calculadas sobre {@code catalog};
+     * con un catálogo vacío no hay versión vigente y el ETag se deriva del cuerpo.
+     * Los message converters son los de la aplicación, con el stock en vivo.
+     */
+    private void setupWithCatalog(List<Product> catalog) {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new LiveStockModule());
+        ApiProperties apiProperties = new ApiProperties();
+        ProductRepository repository = new ProductRepository() {
+            @Override
+            public List<Product> findAll() {
+                return catalog;
+            }
+
+            @Override
+            public Product findById(String id) {
+                return catalog.stream().filter(p -> p.getId().equals(id)).findFirst().orElse(null);
+            }
+        };
+        meterRegistry = new SimpleMeterRegistry();
+        inventory = new ProductInventory(repository, new CatalogProperties());
+        controller = new ProductController(service, new ProductResponseCache(mapper, apiProperties), mapper, apiProperties,
+            new ProductProjections(mapper), new ProductVersions(repository, mapper, apiProperties), inventory,
+            new ProductMetrics(meterRegistry));
+        MessageConvertersConfiguration converters = new MessageConvertersConfiguration();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setMessageConverters(new ByteArrayHttpMessageConverter(), new StringHttpMessageConverter(),
+                converters.jsonHttpMessageConverter(mapper, inventory),
+                converters.smileHttpMessageConverter(mapper, inventory),
+                converters.cborHttpMessageConverter(mapper, inventory))
+            .build();
     }
 
     @Test
@@ -66,10 +134,104 @@ class ProductControllerTest {
         verify(service, times(1)).listProducts();
     }
 
+    @Test
+    void getAllProducts_withLimit_shouldReturnPageAndNextCursor() throws Exception {
+        Product p1 = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(service.listProducts(0, 1)).thenReturn(new ProductPage(List.of(p1), 0, 1, 2));
+
+        String next = mockMvc.perform(get("/v1/products").param("limit", "1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ProductController.TOTAL_COUNT_HEADER, "2"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value("w-001"))
+            .andReturn().getResponse().getHeader(ProductController.NEXT_CURSOR_HEADER);
+
+        Product p2 = buildProduct("w-002", "Samsung Galaxy Watch 6", 299.99);
+        Mockito.when(service.listProducts(1, 1)).thenReturn(new ProductPage(List.of(p2), 1, 1, 2));
+
+        mockMvc.perform(get("/v1/products").param("cursor", next).param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(ProductController.NEXT_CURSOR_HEADER))
+            .andExpect(jsonPath("$[0].id").value("w-002"));
+    }
+
+    @Test
+    void getAllProducts_withInvalidCursor_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/v1/products").param("cursor", "no-es-un-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamProducts_shouldWriteOneProductPerLine() throws Exception {
+        Product p1 = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Product p2 = buildProduct("w-002", "Samsung Galaxy Watch 6", 299.99);
+        Mockito.when(service.productIterator()).thenReturn(List.of(p1, p2).iterator());
+
+        MvcResult result = mockMvc.perform(get("/v1/products").accept(ProductController.APPLICATION_NDJSON_VALUE))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(ProductController.APPLICATION_NDJSON_VALUE))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("w-002", new ObjectMapper().readValue(lines[1], Product.class).getId());
+    }
+
+    @Test
+    void getProductsByIds_shouldReturnItemsAndMissingIds() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(service.getProductsByIds(List.of("w-001", "nope")))
+            .thenReturn(new ProductBatch(List.of(p), List.of("nope")));
+
+        mockMvc.perform(get("/v1/products").param("ids", "w-001,nope").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value("w-001"))
+            .andExpect(jsonPath("$.missingIds[0]").value("nope"));
+    }
+
+    @Test
+    void getAllProducts_withFields_shouldOnlyWriteSelectedFields() throws Exception {
+        Product p1 = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        p1.setDescription("Descripción larga");
+        Mockito.when(service.listProducts()).thenReturn(List.of(p1));
+
+        mockMvc.perform(get("/v1/products").param("fields", "id,price").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value("w-001"))
+            .andExpect(jsonPath("$[0].price").value(399.99))
+            .andExpect(jsonPath("$[0].name").doesNotExist())
+            .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void getAllProducts_withEmptyFieldSegments_shouldReturn400() throws Exception {
+        Mockito.when(service.listProducts())
+            .thenReturn(List.of(buildProduct("w-001", "Apple Watch Series 9", 399.99)));
+
+        for (String fields : List.of(".", "..", "id,generalInfo.", ".name")) {
+            mockMvc.perform(get("/v1/products").param("fields", fields))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void getProductById_withUnknownField_shouldReturn400() throws Exception {
+        Mockito.when(service.findProductById("w-001"))
+            .thenReturn(new ProductLookup.Found(buildProduct("w-001", "Apple Watch Series 9", 399.99)));
+
+        mockMvc.perform(get("/v1/products/w-001").param("fields", "id,noExiste"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getProductById_whenFound_shouldReturn200AndProduct() throws Exception {
         Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
-        Mockito.when(service.getProductById("w-001")).thenReturn(p);
+        Mockito.when(service.findProductById("w-001")).thenReturn(new ProductLookup.Found(p));
 
         mockMvc.perform(get("/v1/products/w-001").accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
@@ -78,17 +240,321 @@ class ProductControllerTest {
             .andExpect(jsonPath("$.name").value("Apple Watch Series 9"))
             .andExpect(jsonPath("$.price").value(399.99));
 
-        verify(service, times(1)).getProductById("w-001");
+        verify(service, times(1)).findProductById("w-001");
     }
 
     @Test
     void getProductById_whenNotFound_shouldReturn404() throws Exception {
-        Mockito.when(service.getProductById(anyString())).thenReturn(null);
+        Mockito.when(service.findProductById(anyString())).thenReturn(ProductLookup.Failure.NOT_FOUND);
 
         mockMvc.perform(get("/v1/products/no-such-id").accept(MediaType.APPLICATION_JSON))
-            .andExpect(status().isNotFound());
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.status").value(404))
+            .andExpect(jsonPath("$.message").value("Producto no encontrado"));
+
+        verify(service, times(1)).findProductById("no-such-id");
+    }
+
+    @Test
+    void getProductById_shouldReturnEtagAndNotModifiedWhenItMatches() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(service.findProductById("w-001")).thenReturn(new ProductLookup.Found(p));
+
+        String etag = mockMvc.perform(get("/v1/products/w-001"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v1/products/w-001").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getProductById_whenVersionMatches_shouldReturn304WithoutCallingService() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        setupWithCatalog(List.of(p));
+        Mockito.when(service.findProductById("w-001")).thenReturn(new ProductLookup.Found(p));
+
+        MvcResult first = mockMvc.perform(get("/v1/products/w-001"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(1, first.getResponse().getHeaders(HttpHeaders.ETAG).size());
+
+        mockMvc.perform(get("/v1/products/w-001").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        mockMvc.perform(get("/v1/products/w-001").header(HttpHeaders.IF_NONE_MATCH, "\"otro\""))
+            .andExpect(status().isOk());
+
+        verify(service, times(2)).findProductById("w-001");
+        assertEquals(1.0, meterRegistry.get("products.conditional.requests")
+            .tags("endpoint", "detail", "result", "not_modified").counter().count());
+        assertEquals(1.0, meterRegistry.get("products.conditional.requests")
+            .tags("endpoint", "detail", "result", "modified").counter().count());
+    }
+
+    @Test
+    void getProductById_shouldServeLiveStockWithoutChangingTheProduct() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        p.setAvailableQuantity(10);
+        setupWithCatalog(List.of(p));
+        Mockito.when(service.findProductById("w-001")).thenReturn(new ProductLookup.Found(p));
+
+        String before = mockMvc.perform(get("/v1/products/w-001"))
+            .andExpect(jsonPath("$.availableQuantity").value(10))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        inventory.reserve("w-001", 3);
+
+        String after = mockMvc.perform(get("/v1/products/w-001").header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.availableQuantity").value(7))
+            .andExpect(jsonPath("$.name").value("Apple Watch Series 9"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v1/products/w-001").param("fields", "id,availableQuantity"))
+            .andExpect(jsonPath("$.availableQuantity").value(7));
+        mockMvc.perform(get("/v1/products/w-001").header(HttpHeaders.IF_NONE_MATCH, after))
+            .andExpect(status().isNotModified());
+
+        assertFalse(before.equals(after));
+        assertEquals(10, p.getAvailableQuantity());
+    }
 
-        verify(service, times(1)).getProductById("no-such-id");
+    @Test
+    void listingEndpoints_shouldServeLiveStock() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        p.setAvailableQuantity(10);
+        Product untracked = buildProduct("w-002", "Samsung Galaxy Watch 6", 299.99);
+        setupWithCatalog(List.of(p, untracked));
+        inventory.reserve("w-001", 3);
+        Mockito.when(service.listProducts()).thenReturn(List.of(p, untracked));
+        Mockito.when(service.listProducts(0, 1)).thenReturn(new ProductPage(List.of(p), 0, 1, 2));
+        Mockito.when(service.searchProducts("apple", 0, 50)).thenReturn(new ProductPage(List.of(p), 0, 50, 1));
+        Mockito.when(service.getProductsByIds(List.of("w-001")))
+            .thenReturn(new ProductBatch(List.of(p), List.of()));
+        Mockito.when(service.filterProducts(Map.of(), 0, 50))
+            .thenReturn(new ProductFilterResult(List.of(p), 0, 50, 1, Map.of()));
+        Mockito.when(service.productIterator()).thenReturn(List.of(p).iterator());
+
+        mockMvc.perform(get("/v1/products"))
+            .andExpect(jsonPath("$[0].availableQuantity").value(7))
+            .andExpect(jsonPath("$[1].availableQuantity").doesNotExist());
+        mockMvc.perform(get("/v1/products").param("limit", "1").param("fields", "id,availableQuantity"))
+            .andExpect(jsonPath("$[0].availableQuantity").value(7));
+        mockMvc.perform(get("/v1/products/search").param("q", "apple"))
+            .andExpect(jsonPath("$[0].availableQuantity").value(7));
+        mockMvc.perform(get("/v1/products").param("ids", "w-001"))
+            .andExpect(jsonPath("$.items[0].availableQuantity").value(7));
+        mockMvc.perform(get("/v1/products/filter"))
+            .andExpect(jsonPath("$.items[0].availableQuantity").value(7));
+
+        byte[] smile = mockMvc.perform(get("/v1/products").accept(ResponseFormat.APPLICATION_SMILE_VALUE))
+            .andReturn().getResponse().getContentAsByteArray();
+        List<Product> decoded = new ObjectMapper(new SmileFactory()).readValue(smile, new TypeReference<>() {
+        });
+        assertEquals(7, decoded.get(0).getAvailableQuantity());
+
+        MvcResult stream = mockMvc.perform(get("/v1/products").accept(ProductController.APPLICATION_NDJSON_VALUE))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(stream))
+            .andExpect(content().string(containsString("\"availableQuantity\":7")));
+
+        assertEquals(10, p.getAvailableQuantity());
+    }
+
+    @Test
+    void getAllProducts_whenStockChanges_shouldChangeETag() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        p.setAvailableQuantity(10);
+        setupWithCatalog(List.of(p));
+        Mockito.when(service.listProducts()).thenReturn(List.of(p));
+
+        MvcResult before = mockMvc.perform(get("/v1/products")).andReturn();
+        inventory.reserve("w-001", 3);
+
+        String after = mockMvc.perform(get("/v1/products")
+                .header(HttpHeaders.IF_NONE_MATCH, before.getResponse().getHeader(HttpHeaders.ETAG)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].availableQuantity").value(7))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/v1/products")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, before.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/products").header(HttpHeaders.IF_NONE_MATCH, after))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllProducts_whenNotModifiedSinceCatalogLoad_shouldReturn304WithoutCallingService() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        setupWithCatalog(List.of(p));
+        Mockito.when(service.listProducts()).thenReturn(List.of(p));
+
+        MvcResult first = mockMvc.perform(get("/v1/products"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/v1/products").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/v1/products").header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeader(HttpHeaders.ETAG)))
+            .andExpect(status().isNotModified());
+
+        verify(service, times(1)).listProducts();
+        assertEquals(2.0, meterRegistry.get("products.conditional.requests")
+            .tags("endpoint", "list", "result", "not_modified").counter().count());
+    }
+
+    @Test
+    void getProductById_whenGzipAccepted_shouldReturnCompressedBody() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(service.findProductById("w-001")).thenReturn(new ProductLookup.Found(p));
+
+        MvcResult compressed = mockMvc.perform(get("/v1/products/w-001").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+        byte[] body = compressed.getResponse().getContentAsByteArray();
+        String identityEtag = mockMvc.perform(get("/v1/products/w-001"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals(identityEtag.replace("\"", "") + ProductResponseCache.GZIP_ETAG_SUFFIX,
+            compressed.getResponse().getHeader(HttpHeaders.ETAG).replace("\"", ""));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            Product decoded = new ObjectMapper().readValue(in, Product.class);
+            assertEquals(p, decoded);
+        }
+    }
+
+    @Test
+    void getProductById_whenSmileAccepted_shouldReturnCachedBinaryWithOwnEtag() throws Exception {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        setupWithCatalog(List.of(p));
+        Mockito.when(service.findProductById("w-001")).thenReturn(new ProductLookup.Found(p));
+
+        String jsonEtag = mockMvc.perform(get("/v1/products/w-001"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult smile = mockMvc.perform(get("/v1/products/w-001")
+                .header(HttpHeaders.ACCEPT, ResponseFormat.APPLICATION_SMILE_VALUE)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ResponseFormat.APPLICATION_SMILE_VALUE))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andReturn();
+        String smileEtag = smile.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals(p, new ObjectMapper(new SmileFactory()).readValue(smile.getResponse().getContentAsByteArray(),
+            Product.class));
+        assertNotEquals(jsonEtag, smileEtag);
+        assertTrue(smileEtag.endsWith("-smile\""));
+        mockMvc.perform(get("/v1/products/w-001")
+                .header(HttpHeaders.ACCEPT, ResponseFormat.APPLICATION_SMILE_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/products/w-001")
+                .header(HttpHeaders.ACCEPT, ResponseFormat.APPLICATION_SMILE_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, smileEtag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllProducts_whenCborAccepted_shouldEncodeListAndProjection() throws Exception {
+        Product p1 = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Product p2 = buildProduct("w-002", "Samsung Galaxy Watch 6", 299.99);
+        Mockito.when(service.listProducts()).thenReturn(List.of(p1, p2));
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+        byte[] full = mockMvc.perform(get("/v1/products").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] projected = mockMvc.perform(get("/v1/products").param("fields", "id,price")
+                .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(List.of(p1, p2), cbor.readValue(full, new TypeReference<List<Product>>() { }));
+        assertEquals(List.of(Map.of("id", "w-001", "price", 399.99), Map.of("id", "w-002", "price", 299.99)),
+            cbor.readValue(projected, new TypeReference<List<Map<String, Object>>>() { }));
+    }
+
+    @Test
+    void searchProducts_shouldReturnPageWithTotal() throws Exception {
+        Product p = buildProduct("w-001", "Reloj Casio", 49.99);
+        Mockito.when(service.searchProducts("reloj", 0, 1)).thenReturn(new ProductPage(List.of(p), 0, 1, 3));
+
+        mockMvc.perform(get("/v1/products/search").param("q", "reloj").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ProductController.TOTAL_COUNT_HEADER, "3"))
+            .andExpect(header().exists(ProductController.NEXT_CURSOR_HEADER))
+            .andExpect(header().doesNotExist(ProductController.TOTAL_ESTIMATED_HEADER))
+            .andExpect(jsonPath("$[0].id").value("w-001"));
+    }
+
+    @Test
+    void searchProducts_whenTotalIsEstimated_shouldFlagIt() throws Exception {
+        Product p = buildProduct("w-001", "Reloj Casio", 49.99);
+        Mockito.when(service.searchProducts("reloj", 0, 1))
+            .thenReturn(new ProductPage(List.of(p), 0, 1, 250_000, false));
+
+        mockMvc.perform(get("/v1/products/search").param("q", "reloj").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ProductController.TOTAL_COUNT_HEADER, "250000"))
+            .andExpect(header().string(ProductController.TOTAL_ESTIMATED_HEADER, "true"));
+    }
+
+    @Test
+    void filterProducts_shouldPassFacetsAndReturnCounts() throws Exception {
+        Product p = buildProduct("w-001", "Reloj Casio", 49.99);
+        Map<ProductFacet, List<String>> filters = Map.of(
+            ProductFacet.BRAND, List.of("Casio", "Seiko"),
+            ProductFacet.FREE_SHIPPING, List.of("true"));
+        Mockito.when(service.filterProducts(filters, 0, 50)).thenReturn(
+            new ProductFilterResult(List.of(p), 0, 50, 1, Map.of("brand", Map.of("Casio", 1))));
+
+        mockMvc.perform(get("/v1/products/filter").param("brand", "Casio,Seiko").param("freeShipping", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value("w-001"))
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.facets.brand.Casio").value(1));
+    }
+
+    @Test
+    void rangeQuery_shouldDefaultSortToRangeField() throws Exception {
+        Product p = buildProduct("w-001", "Reloj Casio", 149.99);
+        RangeQuery query = new RangeQuery(NumericField.PRICE, 100.0, 200.0, NumericField.PRICE, true);
+        Mockito.when(service.rangeQuery(query, 0, 50)).thenReturn(new ProductPage(List.of(p), 0, 50, 1));
+
+        mockMvc.perform(get("/v1/products/range").param("field", "price").param("min", "100")
+                .param("max", "200").param("order", "desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ProductController.TOTAL_COUNT_HEADER, "1"))
+            .andExpect(jsonPath("$[0].id").value("w-001"));
+    }
+
+    @Test
+    void rangeQuery_whenFieldUnknown_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/v1/products/range").param("sort", "weight"))
+            .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    void acceptsGzip_shouldHonourZeroWeight() {
+        assertTrue(ProductController.acceptsGzip("br, gzip;q=0.8"));
+        assertFalse(ProductController.acceptsGzip("gzip;q=0"));
+        assertFalse(ProductController.acceptsGzip("identity"));
+        assertFalse(ProductController.acceptsGzip(null));
     }
 
     // Helper
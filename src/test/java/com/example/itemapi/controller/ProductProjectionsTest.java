@@ -0,0 +1,77 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductProjectionsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ProductProjections projections = new ProductProjections(mapper);
+
+    @Test
+    void shouldWriteOnlyRequestedTopLevelAndNestedFields() throws Exception {
+        JsonNode json = write("id, name ,generalInfo.discountPrice");
+
+        assertEquals(3, json.size());
+        assertEquals("1001", json.get("id").asText());
+        assertEquals(1, json.get("generalInfo").size());
+        assertEquals(100.0, json.get("generalInfo").get("discountPrice").asDouble());
+    }
+
+    @Test
+    void shouldWriteWholeNestedObjectWhenNoSubfieldIsGiven() throws Exception {
+        JsonNode json = write("id,reviews,reviews.rating");
+
+        assertEquals(3, json.get("reviews").size());
+        assertEquals(List.of("Excelente"), mapper.convertValue(json.get("reviews").get("comments"), List.class));
+    }
+
+    @Test
+    void shouldCacheCompiledWriterPerNormalizedFieldSet() {
+        ObjectWriter first = projections.writerFor("name,id");
+        ObjectWriter second = projections.writerFor(" id ,name,");
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldRejectUnknownOrTooDeepFields() {
+        assertThrows(ResponseStatusException.class, () -> projections.writerFor("noExiste"));
+        assertThrows(ResponseStatusException.class, () -> projections.writerFor("generalInfo.noExiste"));
+        assertThrows(ResponseStatusException.class, () -> projections.writerFor("name.length"));
+        assertThrows(ResponseStatusException.class, () -> projections.writerFor("reviews.rating.x"));
+    }
+
+    @Test
+    void shouldNotAffectTheApplicationMapper() throws Exception {
+        projections.writerFor("id");
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsBytes(product()));
+
+        assertTrue(json.has("description"));
+    }
+
+    private JsonNode write(String fields) throws Exception {
+        return mapper.readTree(projections.writerFor(fields).writeValueAsBytes(product()));
+    }
+
+    private Product product() {
+        return new Product("1001", "Reloj Casio", "Reloj unisex", 437574.0, "COP", 5,
+                List.of("/images/casio-1.jpg"), "Relojes", "Casio", "Vendedor oficial",
+                new GeneralInfo(100.0, 200.0, 50, "3 cuotas", true),
+                new Characteristics("Vintage", "A168", "Unisex", "Adultos", "Gris", "Acero", "Desplegable",
+                        "Negro", "Gris", "Negro"),
+                new Reviews(5.0, 1, List.of("Excelente")));
+    }
+}
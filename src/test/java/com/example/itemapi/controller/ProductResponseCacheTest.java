@@ -0,0 +1,127 @@
+package com.example.itemapi.controller;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.inventory.LiveStockModule;
+import com.example.itemapi.inventory.ProductInventory;
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductResponseCacheTest {
+
+    private final ProductResponseCache cache = new ProductResponseCache(
+            new ObjectMapper().registerModule(new LiveStockModule()), new ApiProperties());
+
+    @Test
+    void shouldSerializeEachProductOnce() {
+        Product p = buildProduct("w-001", "Apple Watch Series 9");
+
+        ProductResponseCache.CachedResponse first = cache.get(p);
+        ProductResponseCache.CachedResponse second = cache.get(p);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+        assertEquals(first.etag().replace("\"", "") + "-gzip", first.gzipEtag().replace("\"", ""));
+    }
+
+    @Test
+    void shouldHitByVersionWhenRepositoryMaterializesEachLookup() {
+        ProductResponseCache.CachedResponse first = cache.get(buildProduct("w-001", "Apple Watch Series 9"),
+                "\"p1f\"", ProductInventory.UNTRACKED);
+        ProductResponseCache.CachedResponse second = cache.get(buildProduct("w-001", "Apple Watch Series 9"),
+                "\"p1f\"", ProductInventory.UNTRACKED);
+        ProductResponseCache.CachedResponse other = cache.get(buildProduct("w-001", "Apple Watch Series 10"),
+                "\"p2e\"", ProductInventory.UNTRACKED);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    void shouldHitUnversionedEntryForEqualDocument() {
+        ProductResponseCache.CachedResponse first = cache.get(buildProduct("w-001", "Apple Watch Series 9"));
+        ProductResponseCache.CachedResponse second = cache.get(buildProduct("w-001", "Apple Watch Series 9"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldEvictBeyondMaxSize() {
+        ApiProperties properties = new ApiProperties();
+        properties.setResponseCacheMaxSize(DataSize.ofKilobytes(4));
+        ProductResponseCache bounded = new ProductResponseCache(new ObjectMapper(), properties);
+
+        for (int i = 0; i < 200; i++) {
+            bounded.get(buildProduct("w-" + i, "Producto " + i));
+        }
+
+        assertTrue(bounded.size() < 200, "entradas: " + bounded.size());
+    }
+
+    @Test
+    void shouldRecomputeWhenCatalogProvidesANewInstance() {
+        ProductResponseCache.CachedResponse before = cache.get(buildProduct("w-001", "Apple Watch Series 9"));
+        ProductResponseCache.CachedResponse after = cache.get(buildProduct("w-001", "Apple Watch Series 10"));
+
+        assertNotSame(before, after);
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void shouldKeepEtagStableForEqualContent() {
+        ProductResponseCache.CachedResponse before = cache.get(buildProduct("w-001", "Apple Watch Series 9"));
+        cache.clear();
+        ProductResponseCache.CachedResponse after = cache.get(buildProduct("w-001", "Apple Watch Series 9"));
+
+        assertEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void shouldEncodeBinaryFormatOncePerProductAndStock() throws IOException {
+        Product p = buildProduct("w-001", "Apple Watch Series 9");
+        p.setAvailableQuantity(10);
+
+        ProductResponseCache.EncodedResponse first = cache.get(p, null, 10, ResponseFormat.SMILE);
+        ProductResponseCache.EncodedResponse again = cache.get(p, null, ProductInventory.UNTRACKED, ResponseFormat.SMILE);
+        ProductResponseCache.EncodedResponse live = cache.get(p, null, 3, ResponseFormat.SMILE);
+        ProductResponseCache.EncodedResponse cbor = cache.get(p, null, 10, ResponseFormat.CBOR);
+
+        assertSame(first, again);
+        assertNotSame(first, live);
+        assertEquals(3, new ObjectMapper(new SmileFactory()).readValue(live.body(), Product.class).getAvailableQuantity());
+        assertEquals(p, new ObjectMapper(new SmileFactory()).readValue(first.body(), Product.class));
+        assertNotEquals(first.etag(), cbor.etag());
+        assertThrows(IllegalArgumentException.class, () -> cache.get(p, null, 10, ResponseFormat.JSON));
+    }
+
+    @Test
+    void shouldServeAndReuseLiveStockVariant() {
+        Product p = buildProduct("w-001", "Apple Watch Series 9");
+        p.setAvailableQuantity(10);
+
+        ProductResponseCache.CachedResponse document = cache.get(p, null, 10);
+        ProductResponseCache.CachedResponse live = cache.get(p, null, 7);
+
+        assertSame(document, cache.get(p, null, ProductInventory.UNTRACKED));
+        assertSame(live, cache.get(p, null, 7));
+        assertTrue(new String(live.json()).contains("\"availableQuantity\":7"));
+        assertTrue(new String(document.json()).contains("\"availableQuantity\":10"));
+        assertNotEquals(document.etag(), live.etag());
+        assertEquals(10, p.getAvailableQuantity());
+    }
+
+    private Product buildProduct(String id, String name) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        return p;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.itemapi.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseFormatTest {
+
+    @Test
+    void negotiate_shouldPickHighestQualityAndPreferExplicitTypes() {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("*/*"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("text/html"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("no es un tipo;;"));
+        assertEquals(ResponseFormat.SMILE, ResponseFormat.negotiate("application/x-jackson-smile"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.negotiate("application/cbor, */*;q=0.8"));
+        assertEquals(ResponseFormat.SMILE,
+            ResponseFormat.negotiate("application/json;q=0.5, application/x-jackson-smile;q=0.9, application/cbor;q=0.7"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.negotiate("application/cbor;q=0, application/*"));
+    }
+
+    @Test
+    void etag_shouldDistinguishRepresentations() {
+        assertEquals("\"p1f\"", ResponseFormat.JSON.etag("\"p1f\""));
+        assertEquals("\"p1f-smile\"", ResponseFormat.SMILE.etag("\"p1f\""));
+        assertEquals("\"p1f-3-cbor\"", ResponseFormat.CBOR.etag("\"p1f-3\""));
+        assertNull(ResponseFormat.CBOR.etag(null));
+    }
+}
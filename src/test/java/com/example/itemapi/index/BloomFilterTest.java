@@ -0,0 +1,58 @@
+package com.example.itemapi.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldNeverReturnFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("MLA" + (1_000_000_000L + i));
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("MLA" + (1_000_000_000L + i)));
+        }
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateCloseToConfigured() {
+        for (double fpp : new double[]{0.05, 0.01, 0.001}) {
+            BloomFilter filter = BloomFilter.create(100_000, fpp);
+            for (int i = 0; i < 100_000; i++) {
+                filter.put("MLA" + (1_000_000_000L + i));
+            }
+
+            int falsePositives = 0;
+            for (int i = 0; i < 200_000; i++) {
+                if (filter.mightContain("NO-" + i)) {
+                    falsePositives++;
+                }
+            }
+
+            double observed = falsePositives / 200_000.0;
+            assertTrue(observed < fpp * 1.5, "fpp observada " + observed + " para " + fpp);
+            assertEquals(fpp, filter.expectedFpp(), fpp * 0.2);
+        }
+    }
+
+    @Test
+    void shouldSizeFilterFromExpectedCountAndFpp() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        // ~9,59 bits por elemento y 7 funciones hash
+        assertEquals(9_585_059, filter.bitSize());
+        assertEquals(7, filter.hashes());
+        assertEquals(0, filter.bitCount());
+        assertFalse(filter.mightContain("MLA1"));
+    }
+
+    @Test
+    void shouldRejectInvalidFpp() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1));
+    }
+}
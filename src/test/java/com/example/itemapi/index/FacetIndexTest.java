@@ -0,0 +1,73 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetIndexTest {
+
+    private final FacetIndex index = FacetIndex.build(List.of(
+            product("1", "Casio", "Acero inoxidable", true),
+            product("2", "Seiko", "Cuero", false),
+            product("3", "Casio", "Cuero", true),
+            product("4", "Garmin", "Silicona", null)));
+
+    @Test
+    void shouldCombineValuesWithOrAndFacetsWithAnd() {
+        FacetIndex.Result result = index.filter(Map.of(
+                ProductFacet.BRAND, List.of("casio", "SEIKO"),
+                ProductFacet.STRAP_MATERIAL, List.of("Cuero")));
+
+        assertArrayEquals(new int[]{1, 2}, result.ordinals().toArray());
+    }
+
+    @Test
+    void shouldIgnoreAccentsCaseAndUnknownValues() {
+        FacetIndex.Result result = index.filter(Map.of(
+                ProductFacet.STRAP_MATERIAL, List.of(" acero INOXIDÁBLE", "titanio")));
+
+        assertArrayEquals(new int[]{0}, result.ordinals().toArray());
+        assertTrue(index.filter(Map.of(ProductFacet.BRAND, List.of("Rolex"))).ordinals().isEmpty());
+    }
+
+    @Test
+    void shouldCountEachFacetAgainstTheOtherFilters() {
+        FacetIndex.Result result = index.filter(Map.of(
+                ProductFacet.BRAND, List.of("Casio"),
+                ProductFacet.FREE_SHIPPING, List.of("true")));
+
+        assertEquals(2, result.ordinals().getCardinality());
+        // Marcas: filtradas sólo por envío gratis
+        assertEquals(Map.of("Casio", 2), result.counts().get(ProductFacet.BRAND));
+        // Envío: filtrado sólo por marca
+        assertEquals(Map.of("true", 2), result.counts().get(ProductFacet.FREE_SHIPPING));
+        assertEquals(Map.of("Acero inoxidable", 1, "Cuero", 1), result.counts().get(ProductFacet.STRAP_MATERIAL));
+    }
+
+    @Test
+    void shouldReturnWholeCatalogWithoutFilters() {
+        FacetIndex.Result result = index.filter(Map.of());
+
+        assertEquals(4, result.ordinals().getCardinality());
+        assertEquals(Map.of("Casio", 2, "Seiko", 1, "Garmin", 1), result.counts().get(ProductFacet.BRAND));
+        assertEquals(Map.of("true", 2, "false", 1), result.counts().get(ProductFacet.FREE_SHIPPING));
+    }
+
+    private Product product(String id, String brand, String strapMaterial, Boolean freeShipping) {
+        Product p = new Product();
+        p.setId(id);
+        p.setBrand(brand);
+        p.setCategory("Relojes");
+        p.setCharacteristics(new Characteristics());
+        p.getCharacteristics().setStrapMaterial(strapMaterial);
+        p.setGeneralInfo(new GeneralInfo());
+        p.getGeneralInfo().setFreeShipping(freeShipping);
+        return p;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    @Test
+    void shouldNormalizeCaseAndAccents() {
+        assertEquals(List.of("reloj", "acero", "inoxidable"),
+                new ArrayList<>(TextNormalizer.terms("RELOJ de Acero Inoxidáble")));
+        assertEquals(List.of("nino", "cafe"), new ArrayList<>(TextNormalizer.terms("Niño, café")));
+        assertTrue(TextNormalizer.terms(" de la ").isEmpty());
+    }
+
+    @Test
+    void shouldRequireAllTermsAndRankByField() {
+        List<Product> products = List.of(
+                product("1", "Correa de cuero", "Reloj con malla de acero", null),
+                product("2", "Reloj Casio acero", "Clásico", "Casio"),
+                product("3", "Reloj deportivo", "Malla de silicona", null),
+                product("4", "Anillo de acero", "Joyería", null));
+
+        InvertedIndex index = InvertedIndex.build(products);
+        InvertedIndex.Hits hits = index.search("reloj ACERO", 10);
+
+        assertEquals(2, hits.total());
+        assertArrayEquals(new int[]{1, 0}, hits.ordinals());
+        assertEquals(0, index.search("reloj titanio", 10).total());
+        assertEquals(0, index.search("", 10).total());
+    }
+
+    @Test
+    void shouldIndexModelAndLine() {
+        Product product = product("1", "Reloj", null, null);
+        product.setCharacteristics(new Characteristics());
+        product.getCharacteristics().setModel("Seamaster Diver 300M");
+        product.getCharacteristics().setLine("Aqua Terra");
+
+        InvertedIndex index = InvertedIndex.build(List.of(product));
+
+        assertEquals(1, index.search("diver 300m", 5).total());
+        assertEquals(1, index.search("terra", 5).total());
+    }
+
+    @Test
+    void shouldKeepTopKInLoadOrderOnTies() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            products.add(product(String.valueOf(i), i % 10 == 0 ? "Reloj acero" : "Reloj", null, null));
+        }
+
+        InvertedIndex.Hits hits = InvertedIndex.build(products).search("reloj acero", 3);
+
+        assertEquals(100, hits.total());
+        assertArrayEquals(new int[]{0, 10, 20}, hits.ordinals());
+    }
+
+    @Test
+    void shouldPruneBlocksWithoutChangingTopKAndEstimateTotal() {
+        Random random = new Random(7);
+        String[] styles = {"deportivo", "clásico", "elegante", "sumergible"};
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            String style = styles[random.nextInt(styles.length)];
+            String name = random.nextInt(40) == 0 ? "Reloj acero " + style : "Reloj " + style;
+            String description = "Malla de " + (random.nextBoolean() ? "acero" : "cuero")
+                    + (random.nextInt(3) == 0 ? " y caja de acero" : "");
+            products.add(product(String.valueOf(i), name, description, null));
+        }
+        InvertedIndex index = InvertedIndex.build(products);
+
+        for (String query : List.of("reloj acero", "acero deportivo", "reloj")) {
+            InvertedIndex.Hits exact = index.search(query, Integer.MAX_VALUE);
+            InvertedIndex.Hits pruned = index.search(query, 20);
+
+            assertTrue(exact.exactTotal());
+            assertArrayEquals(Arrays.copyOf(exact.ordinals(), 20), pruned.ordinals(), query);
+            assertFalse(pruned.exactTotal(), query);
+            assertEquals(exact.total(), pruned.total(), exact.total() * 0.2, query);
+        }
+        assertTrue(index.search("deportivo caja", 20).total() < InvertedIndex.EXACT_TOTAL_THRESHOLD);
+        assertTrue(index.search("deportivo caja", 20).exactTotal());
+    }
+
+    @Test
+    void advanceShouldFindFirstDocNotBelowTarget() {
+        int[] docs = {1, 3, 5, 7, 9, 11, 13, 15, 17};
+
+        assertEquals(0, InvertedIndex.advance(docs, 0, 0));
+        assertEquals(3, InvertedIndex.advance(docs, 0, 7));
+        assertEquals(4, InvertedIndex.advance(docs, 2, 8));
+        assertEquals(8, InvertedIndex.advance(docs, 1, 17));
+        assertEquals(9, InvertedIndex.advance(docs, 5, 100));
+    }
+
+    private Product product(String id, String name, String description, String brand) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setDescription(description);
+        p.setBrand(brand);
+        return p;
+    }
+}
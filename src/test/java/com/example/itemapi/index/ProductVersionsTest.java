@@ -0,0 +1,90 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductVersionsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void shouldDeriveStableETagsFromContent() {
+        CatalogRepository repository = new CatalogRepository(new CatalogGenerator(7).products(100));
+        ProductVersions versions = new ProductVersions(repository, mapper, new ApiProperties());
+        ProductVersions again = new ProductVersions(
+                new CatalogRepository(new CatalogGenerator(7).products(100)), mapper, new ApiProperties());
+
+        String id = CatalogGenerator.id(10);
+        assertNotNull(versions.productETag(id));
+        assertTrue(versions.productETag(id).startsWith("\"p"));
+        assertEquals(versions.productETag(id), again.productETag(id));
+        assertEquals(versions.catalogETag(), again.catalogETag());
+        assertNotEquals(versions.productETag(id), versions.productETag(CatalogGenerator.id(11)));
+        assertNull(versions.productETag("no-existe"));
+        assertTrue(versions.lastModified() > 0);
+    }
+
+    @Test
+    void shouldChangeOnlyTheModifiedProductAndTheCatalogOnReload() {
+        List<Product> products = new CatalogGenerator(7).products(100);
+        CatalogRepository repository = new CatalogRepository(products);
+        ProductVersions versions = new ProductVersions(repository, mapper, new ApiProperties());
+        String catalog = versions.catalogETag();
+        String changedBefore = versions.productETag(CatalogGenerator.id(3));
+        String untouchedBefore = versions.productETag(CatalogGenerator.id(4));
+
+        List<Product> reloaded = new ArrayList<>(new CatalogGenerator(7).products(100));
+        reloaded.get(3).setPrice(reloaded.get(3).getPrice() + 1);
+        repository.products = reloaded;
+        // Publicado en el repositorio pero aún sin recalcular: no se informa una versión obsoleta
+        assertNull(versions.catalogETag());
+        assertNull(versions.productETag(CatalogGenerator.id(3)));
+
+        versions.onCatalogReloaded(new CatalogReloadedEvent(reloaded, 2));
+
+        assertNotEquals(catalog, versions.catalogETag());
+        assertNotEquals(changedBefore, versions.productETag(CatalogGenerator.id(3)));
+        assertEquals(untouchedBefore, versions.productETag(CatalogGenerator.id(4)));
+    }
+
+    @Test
+    void shouldBeDisabledByConfiguration() {
+        ApiProperties properties = new ApiProperties();
+        properties.setConditionalRequests(false);
+        ProductVersions versions = new ProductVersions(
+                new CatalogRepository(new CatalogGenerator(7).products(10)), mapper, properties);
+
+        assertNull(versions.catalogETag());
+        assertNull(versions.productETag(CatalogGenerator.id(1)));
+        assertEquals(-1, versions.lastModified());
+    }
+
+    private static final class CatalogRepository implements ProductRepository {
+
+        private List<Product> products;
+
+        CatalogRepository(List<Product> products) {
+            this.products = products;
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return products;
+        }
+
+        @Override
+        public Product findById(String id) {
+            return products.stream().filter(p -> p.getId().equals(id)).findFirst().orElse(null);
+        }
+    }
+}
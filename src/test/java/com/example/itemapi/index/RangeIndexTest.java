@@ -0,0 +1,104 @@
+package com.example.itemapi.index;
+
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeIndexTest {
+
+    private final List<Product> products = List.of(
+            product(100.0, 10, 4.5),
+            product(250.0, 30, null),
+            product(80.0, null, 4.9),
+            product(250.0, 5, 4.5),
+            product(null, 50, 3.0),
+            product(500.0, 30, 4.5));
+
+    private final RangeIndex index = RangeIndex.build(products);
+
+    @Test
+    void shouldScanRangeInOrder() {
+        RangeIndex.Hits hits = index.query(new RangeQuery(NumericField.PRICE, 90.0, 250.0, NumericField.PRICE, false), 0, 10);
+
+        assertEquals(3, hits.total());
+        assertArrayEquals(new int[]{0, 1, 3}, hits.ordinals());
+    }
+
+    @Test
+    void shouldKeepLoadOrderOnTiesWhenDescending() {
+        RangeIndex.Hits hits = index.query(new RangeQuery(null, null, null, NumericField.RATING, true), 0, 10);
+
+        assertEquals(6, hits.total());
+        // 4.9, luego los tres 4.5 en orden de carga, 3.0 y al final el que no tiene calificación
+        assertArrayEquals(new int[]{2, 0, 3, 5, 4, 1}, hits.ordinals());
+        assertArrayEquals(new int[]{3, 5, 4}, index.query(new RangeQuery(null, null, null, NumericField.RATING, true), 2, 3).ordinals());
+    }
+
+    @Test
+    void shouldSortRangeByAnotherField() {
+        RangeIndex.Hits hits = index.query(
+                new RangeQuery(NumericField.PRICE, 100.0, 500.0, NumericField.DISCOUNT_PERCENTAGE, true), 0, 10);
+
+        assertEquals(4, hits.total());
+        assertArrayEquals(new int[]{1, 5, 0, 3}, hits.ordinals());
+        assertArrayEquals(new int[]{0, 3},
+                index.query(new RangeQuery(NumericField.PRICE, 100.0, 500.0, NumericField.DISCOUNT_PERCENTAGE, true), 2, 5)
+                        .ordinals());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenRangeMatchesNothing() {
+        RangeIndex.Hits hits = index.query(new RangeQuery(NumericField.PRICE, 600.0, null, NumericField.PRICE, false), 0, 10);
+
+        assertEquals(0, hits.total());
+        assertEquals(0, hits.ordinals().length);
+    }
+
+    @Test
+    void shouldMatchNaiveSortOnRandomCatalog() {
+        Random random = new Random(7);
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            catalog.add(product(random.nextInt(20) == 0 ? null : (double) random.nextInt(1000),
+                    random.nextInt(60), random.nextInt(10) == 0 ? null : random.nextInt(50) / 10.0));
+        }
+        RangeIndex big = RangeIndex.build(catalog);
+
+        int[] actual = big.query(new RangeQuery(NumericField.PRICE, 200.0, 700.0, NumericField.RATING, true), 0, 100)
+                .ordinals();
+
+        int[] expected = IntStream.range(0, catalog.size())
+                .filter(i -> catalog.get(i).getPrice() != null)
+                .filter(i -> catalog.get(i).getPrice() >= 200 && catalog.get(i).getPrice() <= 700)
+                .boxed()
+                .sorted(Comparator.comparing((Integer i) -> rating(catalog.get(i)),
+                        Comparator.nullsLast(Comparator.<Double>reverseOrder())))
+                .limit(100)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        assertArrayEquals(expected, actual);
+    }
+
+    private static Double rating(Product product) {
+        return product.getReviews().getRating();
+    }
+
+    private Product product(Double price, Integer discountPercentage, Double rating) {
+        Product p = new Product();
+        p.setPrice(price);
+        p.setGeneralInfo(new GeneralInfo());
+        p.getGeneralInfo().setDiscountPercentage(discountPercentage);
+        p.setReviews(new Reviews());
+        p.getReviews().setRating(rating);
+        return p;
+    }
+}
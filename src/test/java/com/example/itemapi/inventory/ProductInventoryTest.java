@@ -0,0 +1,196 @@
+package com.example.itemapi.inventory;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductRepository;
+import com.example.itemapi.repository.changelog.ChangeRecord;
+import com.example.itemapi.repository.changelog.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductInventoryTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void reserve_shouldNeverOversellUnderContention() throws Exception {
+        ProductInventory inventory = inventoryOf(product("hot", 10_000));
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger negative = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 2_500; i++) {
+                StockChange change = inventory.reserve("hot", 1);
+                if (change instanceof StockChange.Applied result) {
+                    applied.incrementAndGet();
+                    if (result.availableQuantity() < 0) {
+                        negative.incrementAndGet();
+                    }
+                } else {
+                    assertEquals(StockChange.Failure.INSUFFICIENT_STOCK, change);
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(10_000, applied.get());
+        assertEquals(10_000, rejected.get());
+        assertEquals(0, negative.get());
+        assertEquals(0, inventory.availableQuantity("hot"));
+    }
+
+    @Test
+    void reserveAndRelease_shouldConserveStockUnderContention() throws Exception {
+        ProductInventory inventory = inventoryOf(product("hot", 50), product("cold", 3));
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                if (inventory.reserve("hot", 2) instanceof StockChange.Applied) {
+                    assertInstanceOf(StockChange.Applied.class, inventory.release("hot", 2));
+                }
+            }
+        });
+
+        assertEquals(50, inventory.availableQuantity("hot"));
+        assertEquals(3, inventory.availableQuantity("cold"));
+    }
+
+    @Test
+    void reload_shouldCarryLiveStockWithoutLosingConcurrentReservations() throws Exception {
+        ProductInventory inventory = inventoryOf(product("hot", 1_000_000), product("gone", 5));
+        AtomicInteger applied = new AtomicInteger();
+        AtomicBoolean reloading = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    while (reloading.get()) {
+                        if (inventory.reserve("hot", 1) instanceof StockChange.Applied) {
+                            applied.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (int generation = 2; generation < 50; generation++) {
+                // El JSON recargado trae otro stock: se conserva el vivo
+                inventory.onCatalogReloaded(new CatalogReloadedEvent(
+                        List.of(product("new", 7), product("hot", 42)), generation));
+            }
+            reloading.set(false);
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(applied.get() > 0);
+        assertEquals(1_000_000 - applied.get(), inventory.availableQuantity("hot"));
+        assertEquals(7, inventory.availableQuantity("new"));
+        assertEquals(StockChange.Failure.NOT_FOUND, inventory.reserve("gone", 1));
+    }
+
+    @Test
+    void operations_shouldRejectInvalidRequestsWithoutChangingStock() {
+        ProductInventory inventory = inventoryOf(product("w-001", 5), product("w-002", null));
+
+        assertEquals(StockChange.Failure.NOT_FOUND, inventory.reserve("no-existe", 1));
+        assertEquals(StockChange.Failure.INVALID_QUANTITY, inventory.reserve("w-001", 0));
+        assertEquals(StockChange.Failure.INVALID_QUANTITY, inventory.set("w-001", -1));
+        assertEquals(StockChange.Failure.INVALID_QUANTITY, inventory.release("w-001", Integer.MAX_VALUE));
+        assertEquals(StockChange.Failure.INSUFFICIENT_STOCK, inventory.reserve("w-001", 6));
+        assertEquals(5, inventory.availableQuantity("w-001"));
+        assertEquals(0, inventory.changes());
+
+        assertEquals(ProductInventory.UNTRACKED, inventory.availableQuantity("w-002"));
+        assertTrue(inventory.contains("w-002"));
+        assertEquals(StockChange.Failure.UNTRACKED, inventory.reserve("w-002", 1));
+        assertEquals(new StockChange.Applied(4), inventory.set("w-002", 4));
+        assertEquals(new StockChange.Applied(1), inventory.reserve("w-002", 3));
+        assertEquals(2, inventory.changes());
+    }
+
+    @Test
+    void productChanged_shouldOverrideLiveStockWithDurableValue() {
+        ProductInventory inventory = inventoryOf(product("a", 5), product("b", null));
+        inventory.reserve("a", 2);
+
+        inventory.onProductChanged(new ProductChangedEvent(1, ChangeRecord.stock("a", 10)));
+        inventory.onProductChanged(new ProductChangedEvent(2, ChangeRecord.upsert(product("b", 4))));
+        inventory.onProductChanged(new ProductChangedEvent(3, ChangeRecord.price("a", 1.0)));
+
+        assertEquals(10, inventory.availableQuantity("a"));
+        assertEquals(4, inventory.availableQuantity("b"));
+    }
+
+    @Test
+    void disabled_shouldTrackNothing() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getInventory().setEnabled(false);
+        ProductInventory inventory = new ProductInventory(repositoryOf(List.of(product("w-001", 5))), properties);
+
+        assertEquals(ProductInventory.UNTRACKED, inventory.availableQuantity("w-001"));
+        assertEquals(StockChange.Failure.NOT_FOUND, inventory.reserve("w-001", 1));
+    }
+
+    private static void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ProductInventory inventoryOf(Product... products) {
+        return new ProductInventory(repositoryOf(List.of(products)), new CatalogProperties());
+    }
+
+    private static ProductRepository repositoryOf(List<Product> products) {
+        return new ProductRepository() {
+            @Override
+            public List<Product> findAll() {
+                return products;
+            }
+
+            @Override
+            public Product findById(String id) {
+                return products.stream().filter(p -> p.getId().equals(id)).findFirst().orElse(null);
+            }
+        };
+    }
+
+    private static Product product(String id, Integer availableQuantity) {
+        Product p = new Product();
+        p.setId(id);
+        p.setAvailableQuantity(availableQuantity);
+        return p;
+    }
+}
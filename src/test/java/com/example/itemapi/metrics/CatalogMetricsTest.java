@@ -0,0 +1,55 @@
+package com.example.itemapi.metrics;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.index.ProductSearchIndex;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.CatalogReloader;
+import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.testdata.CatalogGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogMetricsTest {
+
+    @Test
+    void shouldPublishCatalogAndIdFilterGauges() {
+        JsonProductRepository repository = new JsonProductRepository();
+        ProductIdFilter idFilter = new ProductIdFilter(repository, new CatalogProperties());
+        CatalogMetrics metrics = new CatalogMetrics(repository, idFilter, new ProductSearchIndex(repository),
+                new StaticListableBeanFactory().getBeanProvider(CatalogReloader.class));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        metrics.bindTo(registry);
+        idFilter.mightContain("no-existe");
+
+        assertEquals(repository.findAll().size(), registry.get("catalog.size").gauge().value());
+        assertEquals(1.0, registry.get("catalog.generation").gauge().value());
+        assertEquals(repository.getLoadDuration().toMillis(),
+                registry.get("catalog.load.duration").timeGauge().value(TimeUnit.MILLISECONDS));
+        assertTrue(registry.get("catalog.heap.estimated").gauge().value() > 0);
+        assertEquals(1.0, registry.get("catalog.id.filter.checks").functionCounter().count());
+        assertTrue(registry.get("catalog.id.filter.size").gauge().value() > 0);
+        // Sin CatalogReloader no se publican contadores de recarga
+        assertNull(registry.find("catalog.reloads").meter());
+    }
+
+    @Test
+    void heapEstimateFromSampleShouldBeCloseToFullWalk() {
+        List<Product> products = new CatalogGenerator(42).products(20_000);
+
+        long full = CatalogHeapEstimator.estimate(products, products.size());
+        long sampled = CatalogHeapEstimator.estimate(products, 1_000);
+
+        // Un producto generado ocupa del orden de 1-3 KB
+        assertTrue(full > 20_000L * 1_000 && full < 20_000L * 3_000, "estimado " + full);
+        assertEquals(full, sampled, full * 0.1);
+        assertEquals(0, CatalogHeapEstimator.estimate(List.of(), 100));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogReloaderTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<Object> published = new CopyOnWriteArrayList<>();
+    private CatalogReloader reloader;
+
+    @AfterEach
+    void tearDown() {
+        if (reloader != null) {
+            reloader.stop();
+        }
+    }
+
+    @Test
+    void shouldSwapCatalogAndPublishEvent() throws Exception {
+        Path file = write("[{\"id\":\"1\",\"name\":\"Viejo\"}]");
+        JsonProductRepository repo = new JsonProductRepository(properties(file));
+        Product before = repo.findById("1");
+        reloader = new CatalogReloader(repo, properties(file), published::add);
+
+        write("[{\"id\":\"1\",\"name\":\"Nuevo\"},{\"id\":\"2\"}]");
+        int size = reloader.requestReload("test").get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, size);
+        assertEquals(2, repo.getGeneration());
+        assertEquals("Nuevo", repo.findById("1").getName());
+        assertEquals("Viejo", before.getName());
+        assertEquals(1, reloader.getStats().getSuccesses());
+        assertEquals(2, reloader.getStats().getLastItemCount());
+        CatalogReloadedEvent event = assertInstanceOf(CatalogReloadedEvent.class, published.get(0));
+        assertEquals(2, event.generation());
+        assertSame(repo.findAll(), event.products());
+    }
+
+    @Test
+    void shouldKeepPreviousCatalogWhenReloadFails() throws IOException {
+        Path file = write("[{\"id\":\"1\",\"name\":\"Vigente\"}]");
+        JsonProductRepository repo = new JsonProductRepository(properties(file));
+        reloader = new CatalogReloader(repo, properties(file), published::add);
+
+        write("[{\"id\":\"1\",");
+        CompletableFuture<Integer> future = reloader.requestReload("test");
+
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(1, repo.getGeneration());
+        assertEquals("Vigente", repo.findById("1").getName());
+        assertEquals(1, reloader.getStats().getFailures());
+        assertNotNull(reloader.getStats().getLastError());
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void shouldReloadWhenWatchedFileChanges() throws Exception {
+        Path file = write("[{\"id\":\"1\"}]");
+        CatalogProperties properties = properties(file);
+        properties.getReload().setWatch(true);
+        properties.getReload().setDebounce(Duration.ofMillis(50));
+        JsonProductRepository repo = new JsonProductRepository(properties);
+        reloader = new CatalogReloader(repo, properties, published::add);
+        reloader.start();
+
+        write("[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (repo.findAll().size() != 3 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(3, repo.findAll().size());
+    }
+
+    private CatalogProperties properties(Path file) {
+        CatalogProperties properties = new CatalogProperties();
+        properties.setPath(file.toString());
+        return properties;
+    }
+
+    private Path write(String json) throws IOException {
+        return Files.writeString(dir.resolve("catalog.json"), json);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductIdIndexTest {
+
+    @Test
+    void shouldResolveEveryIdToItsOrdinal() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            products.add(buildProduct("P-" + i));
+        }
+
+        ProductIdIndex index = ProductIdIndex.build(products);
+
+        assertEquals(10_000, index.size());
+        for (int i = 0; i < products.size(); i++) {
+            assertEquals(i, index.ordinalOf(new String("P-" + i)));
+        }
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingOrNullIds() {
+        ProductIdIndex index = ProductIdIndex.build(List.of(buildProduct("1001"), buildProduct("1002")));
+
+        assertEquals(ProductIdIndex.NOT_FOUND, index.ordinalOf("9999"));
+        assertEquals(ProductIdIndex.NOT_FOUND, index.ordinalOf(null));
+    }
+
+    @Test
+    void shouldKeepFirstOccurrenceOfDuplicatedIds() {
+        List<Product> products = List.of(buildProduct("A"), buildProduct("B"), buildProduct("A"));
+
+        ProductIdIndex index = ProductIdIndex.build(products);
+
+        assertEquals(2, index.size());
+        assertEquals(0, index.ordinalOf("A"));
+    }
+
+    @Test
+    void shouldHandleEmptyCatalog() {
+        ProductIdIndex index = ProductIdIndex.build(List.of());
+
+        assertEquals(0, index.size());
+        assertEquals(ProductIdIndex.NOT_FOUND, index.ordinalOf("1001"));
+    }
+
+    private Product buildProduct(String id) {
+        Product p = new Product();
+        p.setId(id);
+        return p;
+    }
+}
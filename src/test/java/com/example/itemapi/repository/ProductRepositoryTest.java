@@ -29,4 +29,13 @@ JsonProductRepository repo = new JsonProductRepository();
 Product p = repo.findById("NO_EXISTE");
 assertNull(p);
 }
-}
\ No newline at end of file
+
+@Test
+void shouldFindAllByIdSkippingMissingOnes() {
+JsonProductRepository repo = new JsonProductRepository();
+List<Product> found = repo.findAllById(List.of("1002", "NO_EXISTE", "1001"));
+assertEquals(2, found.size());
+assertEquals("1002", found.get(0).getId());
+assertEquals("1001", found.get(1).getId());
+}
+}
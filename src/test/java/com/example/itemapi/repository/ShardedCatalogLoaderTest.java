@@ -0,0 +1,72 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedCatalogLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldMergeShardsInFileNameOrder() throws IOException {
+        Files.writeString(dir.resolve("products-2.ndjson"), "{\"id\":\"c\"}\n{\"id\":\"d\"}\n");
+        Files.writeString(dir.resolve("products-1.ndjson"), "{\"id\":\"a\"}\n{\"id\":\"b\"}\n");
+        Files.writeString(dir.resolve("otro.json"), "[{\"id\":\"x\"}]");
+
+        List<Path> shards = ShardedCatalogLoader.resolveShards(dir.resolve("products-*.ndjson").toString());
+        List<Product> products = new ShardedCatalogLoader(new ObjectMapper(), 0, 4).load(shards);
+
+        assertEquals(2, shards.size());
+        assertEquals(List.of("a", "b", "c", "d"), products.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void shouldFailWhenNoShardMatches() {
+        assertThrows(IOException.class,
+                () -> ShardedCatalogLoader.resolveShards(dir.resolve("nada-*.json").toString()));
+    }
+
+    @Test
+    void shouldPropagateInvalidShard() throws IOException {
+        Files.writeString(dir.resolve("products-1.json"), "[{\"id\":\"a\"}]");
+        Files.writeString(dir.resolve("products-2.json"), "[{\"id\":");
+        List<Path> shards = ShardedCatalogLoader.resolveShards(dir.resolve("products-*.json").toString());
+
+        assertThrows(IOException.class, () -> new ShardedCatalogLoader(new ObjectMapper(), 0, 2).load(shards));
+    }
+
+    @Test
+    void repositoryShouldKeepFirstOccurrenceOfDuplicatedIdsAcrossShards() throws IOException {
+        Files.writeString(dir.resolve("products-1.json"), "[{\"id\":\"a\",\"name\":\"primero\"},{\"id\":\"b\"}]");
+        Files.writeString(dir.resolve("products-2.json"), "[{\"id\":\"a\",\"name\":\"repetido\"},{\"id\":\"c\"}]");
+        CatalogProperties properties = new CatalogProperties();
+        properties.setShards(dir.resolve("products-*.json").toString());
+
+        JsonProductRepository repo = new JsonProductRepository(properties);
+
+        assertEquals(List.of("a", "b", "c"), repo.findAll().stream().map(Product::getId).toList());
+        assertEquals("primero", repo.findById("a").getName());
+    }
+
+    @Test
+    void repositoryShouldFailOnDuplicatedIdsWhenConfigured() throws IOException {
+        Files.writeString(dir.resolve("products-1.json"), "[{\"id\":\"a\"}]");
+        Files.writeString(dir.resolve("products-2.json"), "[{\"id\":\"a\"}]");
+        CatalogProperties properties = new CatalogProperties();
+        properties.setShards(dir.resolve("products-*.json").toString());
+        properties.setFailOnDuplicateIds(true);
+
+        assertThrows(RuntimeException.class, () -> new JsonProductRepository(properties));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingCatalogLoaderTest {
+
+    private final StreamingCatalogLoader loader = new StreamingCatalogLoader(new ObjectMapper(), 1);
+
+    @Test
+    void shouldLoadProductsInFileOrder() throws IOException {
+        String json = "[{\"id\":\"a\",\"name\":\"A\",\"generalInfo\":{\"freeShipping\":true}},"
+                + "{\"id\":\"b\",\"reviews\":{\"rating\":4.5,\"comments\":[\"ok\"]}}]";
+
+        List<Product> products = loader.load(stream(json), "test");
+
+        assertEquals(2, products.size());
+        assertEquals("a", products.get(0).getId());
+        assertTrue(products.get(0).getGeneralInfo().getFreeShipping());
+        assertEquals("b", products.get(1).getId());
+        assertEquals(List.of("ok"), products.get(1).getReviews().getComments());
+    }
+
+    @Test
+    void shouldDeliverProductsOneByOneToSink() throws IOException {
+        List<String> ids = new ArrayList<>();
+
+        long count = loader.read(stream("[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]"), "test",
+                p -> ids.add(p.getId()));
+
+        assertEquals(3, count);
+        assertEquals(List.of("1", "2", "3"), ids);
+    }
+
+    @Test
+    void shouldLoadNdjsonSegments() throws IOException {
+        List<Product> products = loader.load(stream("{\"id\":\"1\"}\n{\"id\":\"2\"}\n"), "test");
+
+        assertEquals(2, products.size());
+        assertEquals("2", products.get(1).getId());
+    }
+
+    @Test
+    void shouldRejectInvalidDocuments() {
+        assertThrows(IOException.class, () -> loader.load(stream("5"), "test"));
+        assertThrows(IOException.class, () -> loader.load(stream("{\"id\":\"1\"} [1]"), "test"));
+        assertThrows(IOException.class, () -> loader.load(stream("[{\"id\":\"1\"}, 5]"), "test"));
+    }
+
+    @Test
+    void repositoryShouldLoadFromExternalPath(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("catalog.json");
+        Files.writeString(file, "[{\"id\":\"ext-1\",\"name\":\"Externo\"}]");
+        CatalogProperties properties = new CatalogProperties();
+        properties.setPath(file.toString());
+
+        JsonProductRepository repo = new JsonProductRepository(properties);
+
+        assertEquals(1, repo.findAll().size());
+        assertEquals("Externo", repo.findById("ext-1").getName());
+    }
+
+    private InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
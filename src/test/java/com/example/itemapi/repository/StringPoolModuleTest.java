@@ -0,0 +1,124 @@
+package com.example.itemapi.repository;
+
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolModuleTest {
+
+    private static final String PRODUCT = "{\"id\":\"%s\",\"name\":\"Reloj\",\"currency\":\"COP\",\"brand\":\"Casio\","
+            + "\"images\":[\"/images/casio-1.jpg\"],\"generalInfo\":{\"installments\":\"3 cuotas\"},"
+            + "\"characteristics\":{\"gender\":\"Unisex\",\"caseColor\":\"Negro\",\"model\":\"A168\"}}\n";
+
+    @Test
+    void shouldShareInstancesOfRepeatedFields() throws IOException {
+        StringPool pool = new StringPool();
+
+        List<Product> products = load(new ObjectMapper().registerModule(new StringPoolModule(pool)),
+                PRODUCT.formatted("1") + PRODUCT.formatted("2"));
+
+        Product first = products.get(0);
+        Product second = products.get(1);
+        assertEquals(first.getCurrency(), second.getCurrency());
+        assertSame(first.getCurrency(), second.getCurrency());
+        assertSame(first.getBrand(), second.getBrand());
+        assertSame(first.getGeneralInfo().getInstallments(), second.getGeneralInfo().getInstallments());
+        assertSame(first.getCharacteristics().getGender(), second.getCharacteristics().getGender());
+        // Los campos de texto libre no pasan por el pool
+        assertNotSame(first.getName(), second.getName());
+        assertNotSame(first.getImages().get(0), second.getImages().get(0));
+        assertNotSame(first.getCharacteristics().getModel(), second.getCharacteristics().getModel());
+    }
+
+    @Test
+    void shouldReportPoolStats() throws IOException {
+        StringPool pool = new StringPool();
+
+        load(new ObjectMapper().registerModule(new StringPoolModule(pool)),
+                PRODUCT.formatted("1") + PRODUCT.formatted("2") + PRODUCT.formatted("3"));
+
+        StringPool.Stats stats = pool.stats();
+        assertEquals(15, stats.lookups());
+        assertEquals(5, stats.distinct());
+        assertEquals(10, stats.duplicates());
+        assertTrue(stats.savedBytes() > 10 * 40);
+    }
+
+    @Test
+    void shouldKeepNullsAndDefaultBehaviour() throws IOException {
+        StringPool pool = new StringPool();
+        List<Product> products = load(new ObjectMapper().registerModule(new StringPoolModule(pool)),
+                "{\"id\":\"1\",\"currency\":null,\"brand\":12,\"images\":[\"a\",null]}");
+
+        assertNull(products.get(0).getCurrency());
+        assertEquals("12", products.get(0).getBrand());
+        assertEquals(Arrays.asList("a", null), products.get(0).getImages());
+    }
+
+    @Test
+    void shouldKeepOneInstancePerDistinctValueAcrossCatalog() throws IOException {
+        String catalog = syntheticCatalog(5_000);
+
+        List<Product> plain = load(new ObjectMapper(), catalog);
+        StringPool pool = new StringPool();
+        List<Product> pooled = load(new ObjectMapper().registerModule(new StringPoolModule(pool)), catalog);
+
+        // Sin pool cada producto tiene sus propias cadenas; con pool, una por valor distinto
+        assertEquals(5_000, instances(plain, Product::getBrand));
+        assertEquals(values(pooled, Product::getBrand), instances(pooled, Product::getBrand));
+        assertEquals(values(pooled, p -> p.getCharacteristics().getCaseColor()),
+                instances(pooled, p -> p.getCharacteristics().getCaseColor()));
+        assertTrue(pool.stats().duplicates() > 5_000 * 9L, "duplicados: " + pool.stats().duplicates());
+    }
+
+    private static long instances(List<Product> products, Function<Product, String> field) {
+        Set<String> identities = Collections.newSetFromMap(new IdentityHashMap<>());
+        products.stream().map(field).filter(Objects::nonNull).forEach(identities::add);
+        return identities.size();
+    }
+
+    private static long values(List<Product> products, Function<Product, String> field) {
+        return products.stream().map(field).filter(Objects::nonNull).distinct().count();
+    }
+
+    /**
+     * Genera un NDJSON variando los productos de {@code products.json} con IDs únicos.
+     */
+    private static String syntheticCatalog(int size) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<ObjectNode> templates;
+        try (InputStream in = StringPoolModuleTest.class.getResourceAsStream("/products.json")) {
+            templates = mapper.readerForListOf(ObjectNode.class).readValue(in);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < size; i++) {
+            ObjectNode product = templates.get(i % templates.size());
+            product.put("id", "MLA" + i);
+            product.put("name", "Reloj " + i);
+            out.write(mapper.writeValueAsBytes(product));
+            out.write('\n');
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<Product> load(ObjectMapper mapper, String json) throws IOException {
+        return new StreamingCatalogLoader(mapper, 0)
+                .load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "test");
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.itemapi.repository.changelog;
+
+import com.example.itemapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldReplayAppendedChangesInOrder() throws IOException {
+        List<Long> applied = new ArrayList<>();
+        try (ChangeLog log = new ChangeLog(dir, 0, 16, mapper, (sequence, change) -> applied.add(sequence))) {
+            assertTrue(log.append(ChangeRecord.upsert(product("A"))).join());
+            assertTrue(log.append(ChangeRecord.price("A", 10.5)).join());
+            assertTrue(log.append(ChangeRecord.delete("A")).join());
+            assertEquals(3, log.lastSequence());
+        }
+        assertEquals(List.of(1L, 2L, 3L), applied);
+
+        List<ChangeRecord> replayed = new ArrayList<>();
+        ChangeLog.Replay replay = ChangeLog.replay(dir, mapper, 0, (sequence, change) -> replayed.add(change));
+
+        assertEquals(new ChangeLog.Replay(3, 3, 0), replay);
+        assertEquals(product("A"), replayed.get(0).product());
+        assertEquals(ChangeRecord.price("A", 10.5), replayed.get(1));
+        assertEquals(ChangeRecord.delete("A"), replayed.get(2));
+    }
+
+    @Test
+    void shouldTruncateTornTailAndContinueAfterIt() throws IOException {
+        try (ChangeLog log = new ChangeLog(dir, 0, 16, mapper, (sequence, change) -> true)) {
+            log.append(ChangeRecord.stock("A", 1)).join();
+            log.append(ChangeRecord.stock("A", 2)).join();
+        }
+        Path segment = dir.resolve(ChangeLog.segmentName(1));
+        long valid = Files.size(segment);
+        // Un registro a medio escribir: cabecera completa y sólo parte del JSON
+        byte[] torn = new byte[ChangeLog.HEADER_SIZE + 3];
+        torn[3] = 100;
+        Files.write(segment, torn, StandardOpenOption.APPEND);
+
+        ChangeLog.Replay replay = ChangeLog.replay(dir, mapper, 0, (sequence, change) -> true);
+
+        assertEquals(new ChangeLog.Replay(2, 2, torn.length), replay);
+        assertEquals(valid, Files.size(segment));
+        try (ChangeLog log = new ChangeLog(dir, replay.lastSequence(), 16, mapper, (sequence, change) -> true)) {
+            log.append(ChangeRecord.stock("A", 3)).join();
+        }
+        List<Integer> quantities = new ArrayList<>();
+        ChangeLog.replay(dir, mapper, 0, (sequence, change) -> quantities.add(change.quantity()));
+        assertEquals(List.of(1, 2, 3), quantities);
+    }
+
+    @Test
+    void shouldRejectCorruptionBeforeTheLastSegment() throws IOException {
+        try (ChangeLog log = new ChangeLog(dir, 0, 16, mapper, (sequence, change) -> true)) {
+            log.append(ChangeRecord.stock("A", 1)).join();
+        }
+        try (ChangeLog log = new ChangeLog(dir, 1, 16, mapper, (sequence, change) -> true)) {
+            log.append(ChangeRecord.stock("A", 2)).join();
+        }
+        Path first = dir.resolve(ChangeLog.segmentName(1));
+        byte[] bytes = Files.readAllBytes(first);
+        bytes[bytes.length - 2] ^= 1;
+        Files.write(first, bytes);
+
+        assertThrows(IOException.class, () -> ChangeLog.replay(dir, mapper, 0, (sequence, change) -> true));
+    }
+
+    @Test
+    void shouldShareOneSyncAcrossQueuedChanges() throws Exception {
+        CountDownLatch queued = new CountDownLatch(1);
+        List<Long> applied = new ArrayList<>();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        ChangeLog.Stats stats;
+        try (ChangeLog log = new ChangeLog(dir, 0, 64, mapper, (sequence, change) -> {
+            awaitUninterruptibly(queued);
+            return applied.add(sequence);
+        })) {
+            for (int i = 0; i < 500; i++) {
+                futures.add(log.append(ChangeRecord.stock("A", i)));
+            }
+            queued.countDown();
+            futures.forEach(future -> assertTrue(future.join()));
+            stats = log.getStats();
+        }
+
+        assertEquals(500, stats.records());
+        assertEquals(500, stats.lastSequence());
+        // El primer lote puede salir solo; el resto se agrupa de a 64
+        assertTrue(stats.syncs() <= 1 + (499 + 63) / 64, "syncs: " + stats.syncs());
+        for (int i = 0; i < applied.size(); i++) {
+            assertEquals(i + 1, applied.get(i));
+        }
+    }
+
+    @Test
+    void shouldSyncEveryChangeWithBatchOfOne() throws IOException {
+        try (ChangeLog log = new ChangeLog(dir, 0, 1, mapper, (sequence, change) -> true)) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(log.append(ChangeRecord.stock("A", i)));
+            }
+            futures.forEach(CompletableFuture::join);
+            assertEquals(20, log.getStats().syncs());
+        }
+    }
+
+    @Test
+    void shouldDeleteSegmentsCoveredByCheckpoint() throws IOException {
+        try (ChangeLog log = new ChangeLog(dir, 0, 16, mapper, (sequence, change) -> true)) {
+            log.append(ChangeRecord.stock("A", 1)).join();
+            log.append(ChangeRecord.stock("A", 2)).join();
+            ChangeLog.Checkpoint<String> checkpoint = log.checkpoint(() -> "estado").join();
+            log.append(ChangeRecord.stock("A", 3)).join();
+
+            assertEquals(new ChangeLog.Checkpoint<>(2, "estado"), checkpoint);
+            assertEquals(1, log.deleteSegmentsThrough(checkpoint.sequence()));
+            assertEquals(0, log.deleteSegmentsThrough(checkpoint.sequence()));
+        }
+
+        List<Long> replayed = new ArrayList<>();
+        assertEquals(1, ChangeLog.replay(dir, mapper, 2, (sequence, change) -> replayed.add(sequence)).applied());
+        assertEquals(List.of(3L), replayed);
+        // Sin el snapshot, los cambios eliminados faltan
+        assertThrows(IOException.class, () -> ChangeLog.replay(dir, mapper, 0, (sequence, change) -> true));
+    }
+
+    @Test
+    void shouldRejectAppendsAfterClose() throws IOException {
+        ChangeLog log = new ChangeLog(dir, 0, 16, mapper, (sequence, change) -> true);
+        log.close();
+
+        CompletableFuture<Boolean> future = log.append(ChangeRecord.stock("A", 1));
+
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    private static Product product(String id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Producto " + id);
+        product.setPrice(1.0);
+        return product;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
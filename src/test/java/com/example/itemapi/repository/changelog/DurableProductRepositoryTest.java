@@ -0,0 +1,203 @@
+package com.example.itemapi.repository.changelog;
+
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.index.NumericField;
+import com.example.itemapi.index.ProductFacetIndex;
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.index.ProductRangeIndex;
+import com.example.itemapi.index.ProductSearchIndex;
+import com.example.itemapi.index.RangeQuery;
+import com.example.itemapi.metrics.ProductMetrics;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.service.ProductServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableProductRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private CatalogProperties properties;
+    private DurableProductRepository repository;
+
+    @BeforeEach
+    void setup() {
+        properties = new CatalogProperties();
+        properties.getChangelog().setDir(dir.toString());
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void shouldSeedFromClasspathCatalogAndWriteInitialSnapshot() throws IOException {
+        assertEquals(List.of("1001", "1002", "1003"), ids(repository.findAll()));
+        assertEquals(List.of("snapshot-00000000000000000000.snap"), files("snapshot-"));
+    }
+
+    @Test
+    void shouldKeepChangesAcrossRestart() {
+        Product created = product("2001", 15.0);
+        assertTrue(repository.upsert(created));
+        assertTrue(repository.updatePrice("1001", 99.5));
+        assertTrue(repository.updateStock("1002", 0));
+        assertTrue(repository.delete("1003"));
+        List<Product> before = repository.findAll();
+
+        repository.close();
+        repository = open();
+
+        assertEquals(before, repository.findAll());
+        assertEquals(List.of("1001", "1002", "2001"), ids(repository.findAll()));
+        assertEquals(99.5, repository.findById("1001").getPrice());
+        assertEquals(0, repository.findById("1002").getAvailableQuantity());
+        assertEquals(created, repository.findById("2001"));
+        assertNull(repository.findById("1003"));
+    }
+
+    @Test
+    void shouldReplaceDocumentsInsteadOfMutatingThem() {
+        Product original = repository.findById("1001");
+        List<Product> listing = repository.findAll();
+
+        repository.updatePrice("1001", 1.0);
+
+        assertEquals(437574.0, original.getPrice());
+        assertSame(original, listing.get(0));
+        assertEquals(1.0, repository.findById("1001").getPrice());
+        assertNotSame(listing, repository.findAll());
+    }
+
+    @Test
+    void shouldIgnoreMissingProductsWithoutPublishing() {
+        assertFalse(repository.updatePrice("NO_EXISTE", 1.0));
+        assertFalse(repository.updateStock("NO_EXISTE", 1));
+        assertFalse(repository.delete("NO_EXISTE"));
+        assertTrue(events.isEmpty());
+
+        repository.updateStock("1001", 7);
+
+        assertEquals(List.of(new ProductChangedEvent(4, ChangeRecord.stock("1001", 7))), events);
+        assertThrows(IllegalArgumentException.class, () -> repository.updateStock("1001", -1));
+        assertThrows(IllegalArgumentException.class, () -> repository.updatePrice("1001", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> repository.upsert(new Product()));
+    }
+
+    @Test
+    void shouldCompactLogIntoSnapshotAndPublishReload() throws IOException {
+        repository.upsert(product("2001", 15.0));
+        repository.updatePrice("1001", 99.5);
+        assertEquals(2, repository.getPendingRecords());
+
+        long sequence = repository.compact();
+
+        assertEquals(2, sequence);
+        assertEquals(0, repository.getPendingRecords());
+        assertEquals(List.of("snapshot-00000000000000000002.snap"), files("snapshot-"));
+        assertEquals(List.of(ChangeLog.segmentName(3)), files(ChangeLog.SEGMENT_PREFIX));
+        CatalogReloadedEvent reloaded = (CatalogReloadedEvent) events.get(events.size() - 1);
+        assertSame(repository.findAll(), reloaded.products());
+        assertEquals(1, reloaded.generation());
+
+        repository.updateStock("2001", 4);
+        repository.close();
+        repository = open();
+
+        assertEquals(List.of("1001", "1002", "1003", "2001"), ids(repository.findAll()));
+        assertEquals(99.5, repository.findById("1001").getPrice());
+        assertEquals(4, repository.findById("2001").getAvailableQuantity());
+        assertEquals(1, repository.getPendingRecords());
+    }
+
+    @Test
+    void shouldSkipSeedProductsWithoutIdInsteadOfFailing() throws IOException {
+        repository.close();
+        Path seed = Files.writeString(Files.createTempDirectory(dir, "seed").resolve("catalog.json"),
+                "[{\"id\":\"a-1\",\"name\":\"Con ID\"},{\"name\":\"Sin ID\"}]");
+        properties.setPath(seed.toString());
+        properties.getChangelog().setDir(dir.resolve("seeded").toString());
+
+        repository = open();
+        assertEquals(List.of("a-1"), ids(repository.findAll()));
+
+        repository.close();
+        repository = open();
+        assertEquals(List.of("a-1"), ids(repository.findAll()));
+    }
+
+    @Test
+    void searchFilterAndRange_shouldServeChangesMadeAfterTheLastCompaction() {
+        ProductServiceImpl service = new ProductServiceImpl(repository, new ApiProperties(),
+                new ProductSearchIndex(repository), new ProductFacetIndex(repository),
+                new ProductRangeIndex(repository), new ProductIdFilter(repository, properties),
+                new ProductMetrics(new SimpleMeterRegistry()));
+        assertEquals(List.of("1003"), ids(service.searchProducts("fossil", 0, 10).getItems()));
+
+        assertTrue(repository.delete("1003"));
+        assertTrue(repository.updatePrice("1001", 1.0));
+
+        ProductPage deleted = service.searchProducts("fossil", 0, 10);
+        assertEquals(List.of(), deleted.getItems());
+        assertEquals(1, deleted.getSkipped());
+        assertFalse(deleted.isTotalExact());
+        assertFalse(deleted.hasNext());
+
+        ProductPage page = service.searchProducts("reloj", 0, 2);
+        assertFalse(ids(page.getItems()).contains("1003"));
+        assertEquals(page.getOffset() + 2, page.nextOffset());
+        assertFalse(ids(service.filterProducts(Map.of(), 0, 10).getItems()).contains("1003"));
+
+        List<Product> byPrice = service.rangeQuery(
+                new RangeQuery(null, null, null, NumericField.PRICE, false), 0, 10).getItems();
+        assertEquals(List.of("1001", "1002"), ids(byPrice));
+        assertEquals(1.0, byPrice.get(0).getPrice());
+    }
+
+    private DurableProductRepository open() {
+        return new DurableProductRepository(properties, new ObjectMapper(), events::add, new SimpleMeterRegistry());
+    }
+
+    private List<String> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static Product product(String id, double price) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Producto " + id);
+        product.setPrice(price);
+        product.setAvailableQuantity(2);
+        return product;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.itemapi.repository.columnar;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import com.example.itemapi.repository.JsonProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarProductRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldMatchJsonRepositoryOnClasspathCatalog() {
+        List<Product> expected = new JsonProductRepository().findAll();
+
+        ColumnarProductRepository repo = new ColumnarProductRepository(new CatalogProperties());
+
+        assertEquals(expected, new ArrayList<>(repo.findAll()));
+        for (Product p : expected) {
+            assertEquals(p, repo.findById(p.getId()));
+        }
+        assertNull(repo.findById("NO_EXISTE"));
+        assertNull(repo.findById(null));
+    }
+
+    @Test
+    void shouldPreserveNullsAndEmptyLists() {
+        Product full = new Product("1", "Reloj", "Descripción", 1.5, "COP", 0,
+                List.of(), "Relojes", "Casio", null,
+                new GeneralInfo(null, 2.0, 50, null, false),
+                new Characteristics("Línea", null, "Unisex", null, null, null, null, null, null, "Negro"),
+                new Reviews(null, 2, Arrays.asList("Excelente", null)));
+        Product partial = new Product();
+        partial.setId("2");
+        partial.setImages(List.of("/a.jpg", "/b.jpg"));
+        partial.setGeneralInfo(new GeneralInfo());
+        partial.setReviews(new Reviews(4.0, null, null));
+        Product empty = new Product();
+        empty.setId("3");
+
+        ColumnarProductRepository repo = build(full, partial, empty);
+
+        assertEquals(full, repo.findById("1"));
+        assertEquals(partial, repo.findById("2"));
+        assertEquals(empty, repo.findById("3"));
+        assertEquals(List.of(full, partial, empty), new ArrayList<>(repo.findAll()));
+    }
+
+    @Test
+    void shouldMaterializeIndependentCopies() {
+        Product product = new Product();
+        product.setId("1");
+        product.setName("original");
+        ColumnarProductRepository repo = build(product);
+
+        repo.findById("1").setName("modificado");
+
+        assertEquals("original", repo.findById("1").getName());
+    }
+
+    @Test
+    void shouldKeepFirstOccurrenceOfDuplicatedIdsFromFile() throws IOException {
+        Path file = dir.resolve("products.ndjson");
+        Files.writeString(file, """
+                {"id":"a","name":"primero","price":10}
+                {"id":"b","name":"otro"}
+                {"id":"a","name":"repetido"}
+                """);
+        CatalogProperties properties = new CatalogProperties();
+        properties.setPath(file.toString());
+
+        ColumnarProductRepository repo = new ColumnarProductRepository(properties);
+
+        assertEquals(2, repo.findAll().size());
+        assertEquals("primero", repo.findById("a").getName());
+        assertEquals(10.0, repo.findById("a").getPrice());
+    }
+
+    @Test
+    void shouldFailOnDuplicatedIdsWhenConfigured() throws IOException {
+        Path file = dir.resolve("products.json");
+        Files.writeString(file, "[{\"id\":\"a\"},{\"id\":\"a\"}]");
+        CatalogProperties properties = new CatalogProperties();
+        properties.setPath(file.toString());
+        properties.setFailOnDuplicateIds(true);
+
+        assertThrows(RuntimeException.class, () -> new ColumnarProductRepository(properties));
+    }
+
+    @Test
+    void shouldLoadShardsInParallelInNameOrder() throws IOException {
+        for (int shard = 0; shard < 4; shard++) {
+            StringBuilder lines = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                lines.append("{\"id\":\"").append(shard * 50 + i).append("\",\"name\":\"s").append(shard)
+                        .append("\"}\n");
+            }
+            Files.writeString(dir.resolve("part-" + shard + ".ndjson"), lines);
+        }
+        CatalogProperties properties = new CatalogProperties();
+        properties.setShards(dir.resolve("part-*.ndjson").toString());
+        properties.setLoadParallelism(4);
+
+        ColumnarProductRepository repo = new ColumnarProductRepository(properties);
+
+        assertEquals(200, repo.findAll().size());
+        for (int ordinal = 0; ordinal < 200; ordinal++) {
+            assertEquals(String.valueOf(ordinal), repo.findAll().get(ordinal).getId());
+        }
+        assertEquals("s3", repo.findById("199").getName());
+    }
+
+    private static ColumnarProductRepository build(Product... products) {
+        ColumnarCatalog.Builder builder = new ColumnarCatalog.Builder();
+        for (Product product : products) {
+            builder.add(product);
+        }
+        return new ColumnarProductRepository(builder.build());
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.itemapi.repository.remote;
+
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.ProductBatch;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteProductRepositoryTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Product> upstream = new ConcurrentHashMap<>();
+    private final AtomicInteger detailCalls = new AtomicInteger();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private volatile boolean deferTasks;
+    private volatile boolean failing;
+    private volatile long detailDelayMillis;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private CatalogProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        for (int i = 1; i <= 3; i++) {
+            upstream.put("w-" + i, buildProduct("w-" + i, "Watch " + i));
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/products", this::handle);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+
+        properties = new CatalogProperties();
+        properties.getRemote().setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/v1");
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void findById_shouldServeRepeatedLookupsFromCache() {
+        RemoteProductRepository repository = newRepository();
+
+        assertEquals("Watch 1", repository.findById("w-1").getName());
+        assertEquals("Watch 1", repository.findById("w-1").getName());
+
+        assertEquals(1, detailCalls.get());
+        assertEquals(1, repository.getCacheStats().hitCount());
+        assertEquals(1, repository.getCacheStats().missCount());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "products").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void findById_shouldCacheMissingIdsUntilNegativeTtl() {
+        RemoteProductRepository repository = newRepository();
+
+        assertNull(repository.findById("no-existe"));
+        assertNull(repository.findById("no-existe"));
+        assertEquals(1, detailCalls.get());
+
+        nanos.addAndGet(properties.getRemote().getNegativeTtl().plusSeconds(1).toNanos());
+        assertNull(repository.findById("no-existe"));
+        assertEquals(2, detailCalls.get());
+    }
+
+    @Test
+    void findById_shouldCoalesceConcurrentMissesForSameId() throws Exception {
+        RemoteProductRepository repository = newRepository();
+        detailDelayMillis = 200;
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(threads);
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Product>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(callers.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return repository.findById("w-2");
+                }));
+            }
+            for (Future<Product> result : results) {
+                assertEquals("w-2", result.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, detailCalls.get());
+    }
+
+    @Test
+    void findById_shouldRefreshStaleEntriesWhileServingCachedValue() {
+        RemoteProductRepository repository = newRepository();
+        repository.findById("w-1");
+        upstream.put("w-1", buildProduct("w-1", "Watch 1 v2"));
+        deferTasks = true;
+
+        nanos.addAndGet(properties.getRemote().getRefreshAfter().plusSeconds(1).toNanos());
+
+        assertEquals("Watch 1", repository.findById("w-1").getName());
+        assertEquals("Watch 1", repository.findById("w-1").getName());
+        deferTasks = false;
+        List.copyOf(pendingTasks).forEach(Runnable::run);
+        assertEquals("Watch 1 v2", repository.findById("w-1").getName());
+        assertEquals(2, detailCalls.get());
+    }
+
+    @Test
+    void findById_shouldKeepCachedValueWhenRefreshFails() {
+        RemoteProductRepository repository = newRepository();
+        repository.findById("w-1");
+        failing = true;
+
+        nanos.addAndGet(properties.getRemote().getRefreshAfter().plusSeconds(1).toNanos());
+
+        // Caffeine registra con WARNING y stack trace cada recarga fallida; aquí el fallo es esperado
+        Logger caffeine = Logger.getLogger("com.github.benmanes.caffeine");
+        Level level = caffeine.getLevel();
+        caffeine.setLevel(Level.SEVERE);
+        try {
+            assertEquals("Watch 1", repository.findById("w-1").getName());
+            assertEquals("Watch 1", repository.findById("w-1").getName());
+        } finally {
+            caffeine.setLevel(level);
+        }
+        assertEquals(1.0, registry.get("catalog.remote.requests").tag("operation", "detail")
+                .tag("outcome", "error").timer().count(), 1.0);
+    }
+
+    @Test
+    void findById_shouldPropagateUpstreamErrorsOnMiss() {
+        RemoteProductRepository repository = newRepository();
+        failing = true;
+
+        assertThrows(UncheckedIOException.class, () -> repository.findById("w-1"));
+        assertEquals(0, repository.getCacheSize());
+    }
+
+    @Test
+    void findAllById_shouldBatchOnlyUncachedIds() {
+        RemoteProductRepository repository = newRepository();
+        repository.findById("w-2");
+
+        List<Product> found = repository.findAllById(List.of("w-3", "no-existe", "w-2", "w-1"));
+
+        assertEquals(List.of("w-3", "w-2", "w-1"), found.stream().map(Product::getId).toList());
+        assertEquals(1, detailCalls.get());
+        assertEquals(1, batchCalls.get());
+        assertNull(repository.findById("no-existe"));
+        assertEquals(1, detailCalls.get());
+    }
+
+    @Test
+    void cache_shouldEvictByApproximateHeapSize() {
+        for (int i = 4; i <= 200; i++) {
+            upstream.put("w-" + i, buildProduct("w-" + i, "Watch " + i));
+        }
+        properties.getRemote().setCacheMaxSize(DataSize.ofKilobytes(4));
+        RemoteProductRepository repository = newRepository();
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            ids.add("w-" + i);
+        }
+
+        assertEquals(200, repository.findAllById(ids).size());
+
+        assertEquals(2, batchCalls.get());
+        assertTrue(repository.getCacheStats().evictionCount() > 0);
+        assertTrue(repository.getCacheSize() < 200);
+    }
+
+    @Test
+    void findAll_shouldReturnStreamedCatalog() {
+        RemoteProductRepository repository = newRepository();
+
+        assertEquals(3, repository.findAll().size());
+        assertFalse(repository.isSnapshot());
+        assertEquals(0, detailCalls.get());
+    }
+
+    private RemoteProductRepository newRepository() {
+        RemoteCatalogClient client = new RemoteCatalogClient(properties.getRemote(), mapper, registry);
+        return new RemoteProductRepository(properties, client, registry, nanos::get, this::execute);
+    }
+
+    private void execute(Runnable task) {
+        if (deferTasks) {
+            pendingTasks.add(task);
+        } else {
+            task.run();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (failing) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            if (path.startsWith("/v1/products/")) {
+                detailCalls.incrementAndGet();
+                pause(detailDelayMillis);
+                Product product = upstream.get(URLDecoder.decode(
+                        path.substring("/v1/products/".length()), StandardCharsets.UTF_8));
+                if (product == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    send(exchange, mapper.writeValueAsBytes(product));
+                }
+            } else if (query != null && query.startsWith("ids=")) {
+                batchCalls.incrementAndGet();
+                ProductBatch batch = new ProductBatch();
+                batch.setItems(new ArrayList<>());
+                batch.setMissingIds(new ArrayList<>());
+                for (String id : URLDecoder.decode(query.substring(4), StandardCharsets.UTF_8).split(",")) {
+                    Product product = upstream.get(id);
+                    if (product == null) {
+                        batch.getMissingIds().add(id);
+                    } else {
+                        batch.getItems().add(product);
+                    }
+                }
+                send(exchange, mapper.writeValueAsBytes(batch));
+            } else {
+                StringBuilder ndjson = new StringBuilder();
+                for (Product product : upstream.values()) {
+                    ndjson.append(mapper.writeValueAsString(product)).append('\n');
+                }
+                send(exchange, ndjson.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Product buildProduct(String id, String name) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setPrice(99.99);
+        return p;
+    }
+}
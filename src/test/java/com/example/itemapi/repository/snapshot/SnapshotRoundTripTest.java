@@ -0,0 +1,124 @@
+package com.example.itemapi.repository.snapshot;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import com.example.itemapi.repository.JsonProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotRoundTripTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldRoundTripClasspathCatalog() throws IOException {
+        Path json = dir.resolve("products.json");
+        try (InputStream in = getClass().getResourceAsStream("/products.json")) {
+            Files.copy(in, json);
+        }
+        Path snapshot = dir.resolve("products.snap");
+
+        int written = CatalogSnapshotTool.convert(json, snapshot);
+
+        List<Product> expected = new JsonProductRepository().findAll();
+        SnapshotProductRepository repo = new SnapshotProductRepository(snapshot);
+        assertEquals(expected.size(), written);
+        assertEquals(expected, new ArrayList<>(repo.findAll()));
+        for (Product p : expected) {
+            assertEquals(p, repo.findById(p.getId()));
+        }
+    }
+
+    @Test
+    void shouldPreserveNullsAndUnicode() throws IOException {
+        Product full = new Product("ñ-1", "Reloj acero inoxidable ⌚", "Descripción", 1.5, "COP", 0,
+                List.of("/images/a.jpg"), "Relojes", "Casio", null,
+                new GeneralInfo(1.0, 2.0, 50, null, false),
+                new Characteristics("Línea", null, "Unisex", "Adultos", null, null, null, null, null, "Negro"),
+                new Reviews(4.5, 2, Arrays.asList("Excelente", null)));
+        Product empty = new Product();
+        empty.setId("vacio");
+
+        SnapshotProductRepository repo = write(List.of(full, empty), 4096);
+
+        assertEquals(full, repo.findById("ñ-1"));
+        assertEquals(empty, repo.findById("vacio"));
+        assertNull(repo.findById("NO_EXISTE"));
+        assertNull(repo.findById(null));
+    }
+
+    @Test
+    void shouldLocateRecordsAcrossSegments() throws IOException {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Product p = new Product();
+            p.setId("P-" + i);
+            p.setDescription("x".repeat(i % 300));
+            p.setPrice((double) i);
+            products.add(p);
+        }
+
+        SnapshotProductRepository repo = write(products, 4096);
+
+        assertEquals(products.size(), repo.findAll().size());
+        for (int i = 0; i < products.size(); i++) {
+            assertEquals(products.get(i), repo.findById("P-" + i));
+            assertEquals(products.get(i), repo.findAll().get(i));
+        }
+    }
+
+    @Test
+    void shouldKeepFirstOccurrenceOfDuplicatedIds() throws IOException {
+        Product first = new Product();
+        first.setId("a");
+        first.setName("primero");
+        Product duplicate = new Product();
+        duplicate.setId("a");
+        duplicate.setName("repetido");
+
+        SnapshotProductRepository repo = write(List.of(first, duplicate), 4096);
+
+        assertEquals(1, repo.findAll().size());
+        assertEquals("primero", repo.findById("a").getName());
+    }
+
+    @Test
+    void shouldHandleEmptyCatalog() throws IOException {
+        SnapshotProductRepository repo = write(List.of(), 4096);
+
+        assertTrue(repo.findAll().isEmpty());
+        assertNull(repo.findById("1001"));
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotSnapshots() throws IOException {
+        Path file = dir.resolve("otro.snap");
+        Files.writeString(file, "[{\"id\":\"1001\"}]".repeat(10));
+
+        assertThrows(UncheckedIOException.class, () -> new SnapshotProductRepository(file));
+    }
+
+    private SnapshotProductRepository write(List<Product> products, int segmentSize) throws IOException {
+        Path file = dir.resolve("test.snap");
+        try (SnapshotWriter writer = new SnapshotWriter(file, segmentSize)) {
+            for (Product p : products) {
+                writer.write(p);
+            }
+        }
+        return new SnapshotProductRepository(file);
+    }
+}
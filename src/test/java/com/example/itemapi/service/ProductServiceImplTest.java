@@ -1,18 +1,34 @@
 package com.example.itemapi.service;
 
+import com.example.itemapi.config.ApiProperties;
+import com.example.itemapi.config.CatalogProperties;
+import com.example.itemapi.index.NumericField;
+import com.example.itemapi.index.ProductIdFilter;
+import com.example.itemapi.index.ProductRangeIndex;
+import com.example.itemapi.index.ProductSearchIndex;
+import com.example.itemapi.index.RangeQuery;
+import com.example.itemapi.metrics.ProductMetrics;
 import com.example.itemapi.model.Product;
-import com.example.itemapi.repository.JsonProductRepository;
+import com.example.itemapi.model.ProductBatch;
+import com.example.itemapi.model.ProductPage;
+import com.example.itemapi.repository.CatalogReloadedEvent;
+import com.example.itemapi.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -21,7 +37,24 @@ import static org.mockito.Mockito.verify;
 class ProductServiceImplTest {
 
     @Mock
-    private JsonProductRepository repository;
+    private ProductRepository repository;
+
+    @Spy
+    private ApiProperties apiProperties = new ApiProperties();
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ProductRangeIndex rangeIndex;
+
+    @Spy
+    private ProductIdFilter idFilter = new ProductIdFilter(Mockito.mock(ProductRepository.class), disabledIdFilter());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ProductMetrics metrics = new ProductMetrics(meterRegistry);
 
     @InjectMocks
     private ProductServiceImpl service;
@@ -56,6 +89,40 @@ class ProductServiceImplTest {
         verify(repository, times(1)).findAll();
     }
 
+    @Test
+    void listProductsPage_shouldReturnRequestedSlice() {
+        Product p1 = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Product p2 = buildProduct("w-002", "Samsung Galaxy Watch 6", 299.99);
+        Product p3 = buildProduct("w-003", "Garmin Fenix 7", 699.99);
+        Mockito.when(repository.findAll()).thenReturn(List.of(p1, p2, p3));
+
+        ProductPage page = service.listProducts(1, 5);
+
+        assertEquals(List.of(p2, p3), page.getItems());
+        assertEquals(3, page.getTotal());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void listProductsPage_beyondTotal_shouldReturnEmptyPage() {
+        Mockito.when(repository.findAll()).thenReturn(List.of(buildProduct("w-001", "Apple Watch Series 9", 399.99)));
+
+        ProductPage page = service.listProducts(10, 5);
+
+        assertTrue(page.getItems().isEmpty());
+        assertEquals(1, page.getTotal());
+    }
+
+    @Test
+    void listProductsPage_withInvalidLimit_shouldThrow400() {
+        ResponseStatusException ex = assertThrows(
+            ResponseStatusException.class,
+            () -> service.listProducts(0, apiProperties.getMaxPageSize() + 1)
+        );
+
+        assertEquals(400, ex.getStatusCode().value());
+    }
+
     @Test
     void getProductById_whenExists_shouldReturnProduct() {
         Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
@@ -82,6 +149,177 @@ class ProductServiceImplTest {
         verify(repository, times(1)).findById(eq("nope"));
     }
 
+    @Test
+    void findProductById_shouldReturnSharedFailuresWithoutThrowing() {
+        Mockito.when(repository.findById("nope")).thenReturn(null);
+
+        assertSame(ProductLookup.Failure.NOT_FOUND, service.findProductById("nope"));
+        assertSame(ProductLookup.Failure.INVALID_ID, service.findProductById(" "));
+        assertSame(ProductLookup.Failure.INVALID_ID, service.findProductById(null));
+        verify(repository, times(1)).findById(anyString());
+    }
+
+    @Test
+    void findProductById_whenExists_shouldReturnFound() {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(repository.findById("w-001")).thenReturn(p);
+
+        assertEquals(new ProductLookup.Found(p), service.findProductById("w-001"));
+    }
+
+    @Test
+    void findProductById_shouldSkipRepositoryForIdsRejectedByFilter() {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(repository.findAll()).thenReturn(List.of(p));
+        Mockito.when(repository.isSnapshot()).thenReturn(true);
+        Mockito.when(repository.findById(anyString()))
+            .thenAnswer(invocation -> "w-001".equals(invocation.getArgument(0)) ? p : null);
+        ProductIdFilter filter = new ProductIdFilter(repository, new CatalogProperties());
+        ProductServiceImpl filtered = new ProductServiceImpl(repository, apiProperties, searchIndex, null,
+                rangeIndex, filter, metrics);
+
+        int found = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (filtered.findProductById("nope-" + i) instanceof ProductLookup.Found) {
+                found++;
+            }
+        }
+
+        assertEquals(0, found);
+        assertEquals(new ProductLookup.Found(p), filtered.findProductById("w-001"));
+        ProductIdFilter.Stats stats = filter.getStats();
+        assertEquals(1_001, stats.checks());
+        assertEquals(1_000, stats.rejected() + stats.falsePositives());
+        verify(repository, times((int) stats.falsePositives() + 1)).findById(anyString());
+    }
+
+    @Test
+    void findProductById_whenCatalogPublishedBeforeFilterRebuild_shouldNotRejectNewIds() {
+        Product p1 = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Product p2 = buildProduct("w-002", "Samsung Galaxy Watch 6", 299.99);
+        List<Product> reloaded = List.of(p1, p2);
+        Mockito.when(repository.findAll()).thenReturn(List.of(p1));
+        Mockito.when(repository.isSnapshot()).thenReturn(true);
+        ProductIdFilter filter = new ProductIdFilter(repository, new CatalogProperties());
+        ProductServiceImpl filtered = new ProductServiceImpl(repository, apiProperties, searchIndex, null,
+                rangeIndex, filter, metrics);
+
+        // El repositorio ya sirve la recarga; el filtro todavía no se reconstruyó
+        Mockito.when(repository.findAll()).thenReturn(reloaded);
+        Mockito.when(repository.findById("w-002")).thenReturn(p2);
+
+        assertEquals(new ProductLookup.Found(p2), filtered.findProductById("w-002"));
+        assertEquals(ProductLookup.Failure.NOT_FOUND, filtered.findProductById("nope"));
+        assertEquals(0, filter.getStats().checks());
+        assertEquals(0, filter.getStats().falsePositives());
+
+        filter.onCatalogReloaded(new CatalogReloadedEvent(reloaded, 1));
+
+        assertEquals(new ProductLookup.Found(p2), filtered.findProductById("w-002"));
+        assertEquals(1, filter.getStats().checks());
+    }
+
+    @Test
+    void findProductById_shouldRecordLatencyByResult() {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(repository.findById(anyString()))
+            .thenAnswer(invocation -> "w-001".equals(invocation.getArgument(0)) ? p : null);
+
+        service.findProductById("w-001");
+        service.findProductById("w-001");
+        service.findProductById("nope");
+        service.findProductById(" ");
+
+        assertEquals(2, meterRegistry.get("products.lookup").tag("result", "found").timer().count());
+        assertEquals(1, meterRegistry.get("products.lookup").tag("result", "not_found").timer().count());
+        assertEquals(1, meterRegistry.get("products.lookup").tag("result", "invalid_id").timer().count());
+        assertEquals(2, meterRegistry.get("catalog.repository.find.by.id").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("catalog.repository.find.by.id").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void findProductById_whenRepositoryFails_shouldCountError() {
+        Mockito.when(repository.findById("w-001")).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(ResponseStatusException.class, () -> service.findProductById("w-001"));
+
+        assertEquals(1.0, meterRegistry.get("products.errors").tag("operation", "lookup").counter().count());
+        assertEquals(0, meterRegistry.get("products.lookup").tag("result", "found").timer().count());
+    }
+
+    @Test
+    void getProductsByIds_shouldDedupeAndReportMissingIds() {
+        Product p = buildProduct("w-001", "Apple Watch Series 9", 399.99);
+        Mockito.when(repository.findAllById(Mockito.anyCollection())).thenReturn(List.of(p));
+
+        ProductBatch batch = service.getProductsByIds(Arrays.asList("w-001", " w-001 ", "", null, "nope"));
+
+        assertEquals(List.of(p), batch.getItems());
+        assertEquals(List.of("nope"), batch.getMissingIds());
+        verify(repository, times(1)).findAllById(eq(new LinkedHashSet<>(List.of("w-001", "nope"))));
+    }
+
+    @Test
+    void getProductsByIds_whenTooMany_shouldThrow400() {
+        apiProperties.setMaxBatchSize(2);
+
+        ResponseStatusException ex = assertThrows(
+            ResponseStatusException.class,
+            () -> service.getProductsByIds(List.of("a", "b", "c"))
+        );
+
+        assertEquals(400, ex.getStatusCode().value());
+    }
+
+    @Test
+    void getProductsByIds_whenNoValidIds_shouldThrow400() {
+        ResponseStatusException ex = assertThrows(
+            ResponseStatusException.class,
+            () -> service.getProductsByIds(List.of(" ", ""))
+        );
+
+        assertEquals(400, ex.getStatusCode().value());
+    }
+
+    @Test
+    void searchProducts_shouldDelegateToIndex() {
+        ProductPage expected = new ProductPage(List.of(buildProduct("w-001", "Reloj", 10.0)), 0, 10, 1);
+        Mockito.when(searchIndex.search("reloj", 0, 10)).thenReturn(expected);
+        Mockito.when(repository.isSnapshot()).thenReturn(true);
+
+        assertSame(expected, service.searchProducts("reloj", 0, 10));
+    }
+
+    @Test
+    void searchProducts_whenQueryBlank_shouldThrow400() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> service.searchProducts("  ", 0, 10));
+
+        assertEquals(400, ex.getStatusCode().value());
+        Mockito.verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void rangeQuery_whenMinGreaterThanMax_shouldThrow400() {
+        RangeQuery query = new RangeQuery(NumericField.PRICE, 500.0, 100.0, NumericField.PRICE, false);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+            () -> service.rangeQuery(query, 0, 10));
+
+        assertEquals(400, ex.getStatusCode().value());
+        Mockito.verifyNoInteractions(rangeIndex);
+    }
+
+    @Test
+    void rangeQuery_shouldDelegateToIndex() {
+        RangeQuery query = new RangeQuery(null, null, null, NumericField.RATING, true);
+        ProductPage expected = new ProductPage(List.of(), 0, 10, 0);
+        Mockito.when(rangeIndex.query(query, 0, 10)).thenReturn(expected);
+        Mockito.when(repository.isSnapshot()).thenReturn(true);
+
+        assertSame(expected, service.rangeQuery(query, 0, 10));
+    }
+
     // Helper para crear productos de prueba
     private Product buildProduct(String id, String name, double price) {
         Product p = new Product();
@@ -90,4 +328,10 @@ class ProductServiceImplTest {
         p.setPrice(price);
         return p;
     }
+
+    private static CatalogProperties disabledIdFilter() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.getIdFilter().setEnabled(false);
+        return properties;
+    }
 }
@@ -0,0 +1,290 @@
+package com.example.itemapi.testdata;
+
+import com.example.itemapi.model.Characteristics;
+import com.example.itemapi.model.GeneralInfo;
+import com.example.itemapi.model.Product;
+import com.example.itemapi.model.Reviews;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generador determinista de catálogos sintéticos para pruebas de carga,
+ * benchmarks y pruebas de integración.
+ *
+ * <p>
+ * Cada producto depende sólo de la semilla y de su índice, por lo que
+ * {@link #product(int)} es de acceso aleatorio y dos generadores con la misma
+ * semilla producen exactamente el mismo catálogo. Las distribuciones buscan
+ * parecerse a un catálogo real de relojes:
+ * </p>
+ * <ul>
+ *   <li>marcas ({@value #BRANDS}) y categorías ({@value #CATEGORIES}) con
+ *       popularidad tipo Zipf: unas pocas concentran la mayoría de productos;</li>
+ *   <li>precio log-normal (mediana cercana a 350.000 COP) y descuento nulo en
+ *       el 60&nbsp;% de los productos, de 5&nbsp;% a 60&nbsp;% en el resto;</li>
+ *   <li>de 1 a 8 imágenes (3 a 5 en la mayoría de los casos);</li>
+ *   <li>reseñas con distribución geométrica (muchos productos sin
+ *       comentarios, algunos con decenas) y rating sesgado hacia 4-5.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link #write(Path, int)} escribe el catálogo en JSON o NDJSON producto a
+ * producto, con memoria constante sin importar la cantidad.
+ * </p>
+ *
+ * <p>Uso desde la línea de comandos:</p>
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.itemapi.testdata.CatalogGenerator \
+ *     -Dexec.args="products-1m.ndjson 1000000 42"
+ * </pre>
+ */
+public final class CatalogGenerator {
+
+    /** Semilla usada por defecto. */
+    public static final long DEFAULT_SEED = 42;
+
+    static final int BRANDS = 250;
+    static final int CATEGORIES = 12;
+    static final int MAX_COMMENTS = 60;
+
+    private static final String[] KNOWN_BRANDS = {"Casio", "Seiko", "Citizen", "Garmin", "Fossil", "Tissot",
+            "Orient", "Timex", "Swatch", "Invicta", "Samsung", "Apple", "Huawei", "Xiaomi", "Amazfit",
+            "Michael Kors", "Guess", "Tommy Hilfiger", "Festina", "Q&Q"};
+    private static final String[] CATEGORY_NAMES = {"Relojes", "Smartwatches", "Relojes deportivos",
+            "Relojes de lujo", "Relojes infantiles", "Relojes de bolsillo", "Correas", "Accesorios",
+            "Bandas inteligentes", "Relojes de pared", "Repuestos", "Estuches"};
+    private static final String[] TYPES = {"Reloj", "Smartwatch", "Cronógrafo", "Reloj digital", "Reloj análogo"};
+    private static final String[] STYLES = {"Vintage", "Deportivo", "Clásico", "Elegante", "Sumergible",
+            "Militar", "Casual", "Minimalista"};
+    private static final String[] MATERIALS = {"Acero inoxidable", "Cuero", "Silicona", "Resina", "Titanio",
+            "Nailon", "Cerámica"};
+    private static final String[] COLORS = {"Negro", "Plateado", "Dorado", "Azul", "Blanco", "Gris", "Rosa",
+            "Verde", "Rojo", "Marrón"};
+    private static final String[] GENDERS = {"Unisex", "Hombre", "Mujer"};
+    private static final String[] AGES = {"Adultos", "Adultos", "Adultos", "Niños"};
+    private static final String[] CLASPS = {"Hebilla", "Desplegable", "Mariposa", "Magnético"};
+    private static final String[] FEATURES = {"resistencia al agua", "luz de fondo", "cronómetro", "alarma",
+            "calendario", "GPS", "monitor de ritmo cardíaco", "cristal de zafiro", "movimiento automático"};
+    private static final String[] COMMENTS = {"Excelente producto", "Muy buena calidad", "Llegó rápido",
+            "Tal cual la descripción", "Recomendado", "Buena relación precio calidad", "La correa es incómoda",
+            "Me encantó", "Cumple lo prometido", "El empaque llegó dañado", "Lo compraría de nuevo",
+            "Es más pequeño de lo que esperaba"};
+
+    private static final double[] BRAND_CDF = zipfCdf(BRANDS, 1.1);
+    private static final double[] CATEGORY_CDF = zipfCdf(CATEGORIES, 1.3);
+
+    private final long seed;
+
+    /**
+     * Crea un generador con {@link #DEFAULT_SEED}.
+     */
+    public CatalogGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    /**
+     * @param seed semilla; la misma semilla produce siempre el mismo catálogo.
+     */
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * ID del producto de un índice: {@code MLA} seguido de un número de 10 dígitos.
+     *
+     * @param index posición del producto en el catálogo.
+     * @return ID único del producto.
+     */
+    public static String id(int index) {
+        return "MLA" + (1_000_000_000L + index);
+    }
+
+    /**
+     * Genera el producto de una posición del catálogo.
+     *
+     * @param index posición del producto ({@code >= 0}).
+     * @return producto con todos los campos obligatorios informados.
+     */
+    public Product product(int index) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        int brandRank = sample(random, BRAND_CDF);
+        String brand = brandRank < KNOWN_BRANDS.length ? KNOWN_BRANDS[brandRank] : "Marca " + brandRank;
+        String category = CATEGORY_NAMES[sample(random, CATEGORY_CDF)];
+        String type = pick(random, TYPES);
+        String style = pick(random, STYLES);
+        String material = pick(random, MATERIALS);
+        String model = Long.toString(random.nextLong(36L * 36 * 36 * 36 * 36 * 36), 36).toUpperCase();
+
+        double price = Math.round(Math.exp(12.77 + 0.8 * random.nextGaussian()) / 100) * 100.0;
+        int discount = random.nextInt(10) < 6 ? 0 : 5 * (1 + random.nextInt(12));
+        double discountPrice = Math.round(price * (100 - discount) / 100);
+        int installments = price > 200_000 ? 12 : 3;
+        GeneralInfo generalInfo = new GeneralInfo(discountPrice, price, discount,
+                installments + " cuotas de $" + Math.round(discountPrice / installments) + " sin interés",
+                price > 100_000 ? random.nextInt(10) < 8 : random.nextInt(10) < 3);
+
+        Characteristics characteristics = new Characteristics(style, model, pick(random, GENDERS),
+                pick(random, AGES), pick(random, COLORS), material, pick(random, CLASPS),
+                pick(random, COLORS), pick(random, COLORS), pick(random, COLORS));
+
+        String id = id(index);
+        int imageCount = Math.max(1, Math.min(8, 3 + random.nextInt(3) + (int) Math.round(random.nextGaussian())));
+        List<String> images = new ArrayList<>(imageCount);
+        for (int i = 1; i <= imageCount; i++) {
+            images.add("/images/" + id.toLowerCase() + "-" + i + ".jpg");
+        }
+
+        return new Product(
+                id,
+                type + " " + brand + " " + model + " " + style,
+                type + " " + brand + " " + style.toLowerCase() + " con correa de " + material.toLowerCase()
+                        + ", " + pick(random, FEATURES) + " y " + pick(random, FEATURES) + ".",
+                price,
+                "COP",
+                random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(200),
+                images,
+                category,
+                brand,
+                "Producto original " + brand + ". Garantía oficial de " + (6 + 6 * random.nextInt(4)) + " meses.",
+                generalInfo,
+                characteristics,
+                reviews(random));
+    }
+
+    private static Reviews reviews(SplittableRandom random) {
+        // Geométrica con media ~3: muchos productos sin comentarios y una cola larga
+        int comments = Math.min(MAX_COMMENTS, (int) (Math.log(1 - random.nextDouble()) / Math.log(0.75)));
+        List<String> texts = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            texts.add(pick(random, COMMENTS));
+        }
+        int total = comments + (comments == 0 ? 0 : random.nextInt(comments * 4 + 1));
+        Double rating = total == 0 ? null : Math.round((5 - Math.abs(random.nextGaussian()) * 0.8) * 10) / 10.0;
+        return new Reviews(rating == null ? null : Math.max(1.0, rating), total, texts);
+    }
+
+    /**
+     * Genera los primeros {@code size} productos en memoria.
+     *
+     * @param size cantidad de productos.
+     * @return lista mutable con los productos en orden.
+     */
+    public List<Product> products(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    /**
+     * Escribe el catálogo en un archivo; el formato se deduce de la
+     * extensión ({@code .ndjson} o JSON en cualquier otro caso).
+     *
+     * @param file archivo de salida; se sobrescribe si existe.
+     * @param size cantidad de productos.
+     * @return el mismo {@code file}.
+     * @throws IOException si la escritura falla.
+     */
+    public Path write(Path file, int size) throws IOException {
+        Format format = file.getFileName().toString().endsWith(".ndjson") ? Format.NDJSON : Format.JSON;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            write(out, size, format);
+        }
+        return file;
+    }
+
+    /**
+     * Escribe el catálogo producto a producto, sin retenerlos en memoria.
+     *
+     * @param out    destino; no se cierra.
+     * @param size   cantidad de productos.
+     * @param format arreglo JSON o un producto por línea.
+     * @throws IOException si la escritura falla.
+     */
+    public void write(OutputStream out, int size, Format format) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectWriter writer = mapper.writerFor(Product.class);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+            }
+            for (int i = 0; i < size; i++) {
+                writer.writeValue(generator, product(i));
+            }
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            } else {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int sample(SplittableRandom random, double[] cdf) {
+        int position = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(position >= 0 ? position : -position - 1, cdf.length - 1);
+    }
+
+    /**
+     * Distribución acumulada normalizada de una Zipf con exponente {@code s}.
+     */
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, s);
+            cdf[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= total;
+        }
+        return cdf;
+    }
+
+    /**
+     * Formato de salida del catálogo.
+     */
+    public enum Format {
+        /** Arreglo JSON, como {@code products.json}. */
+        JSON,
+        /** Un producto JSON por línea. */
+        NDJSON
+    }
+
+    /**
+     * @param args archivo de salida ({@code .json} o {@code .ndjson}), cantidad de productos y semilla opcional.
+     * @throws IOException si la escritura falla.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Uso: CatalogGenerator <salida.json|salida.ndjson> <cantidad> [semilla]");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        int size = Integer.parseInt(args[1]);
+        long seed = args.length == 3 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        Path file = new CatalogGenerator(seed).write(Path.of(args[0]), size);
+        System.out.println("Catálogo " + file + " escrito con " + size + " productos en "
+                + (System.nanoTime() - start) / 1_000_000 + " ms (" + Files.size(file) / 1024 + " KB)");
+    }
+}
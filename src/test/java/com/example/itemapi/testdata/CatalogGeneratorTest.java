@@ -0,0 +1,82 @@
+package com.example.itemapi.testdata;
+
+import com.example.itemapi.model.Product;
+import com.example.itemapi.repository.StreamingCatalogLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldBeDeterministicPerSeedAndIndex() {
+        CatalogGenerator generator = new CatalogGenerator(7);
+
+        assertEquals(generator.products(100), new CatalogGenerator(7).products(100));
+        assertEquals(generator.product(5_000_000), new CatalogGenerator(7).product(5_000_000));
+        assertNotEquals(generator.product(3), new CatalogGenerator(8).product(3));
+        assertEquals(CatalogGenerator.id(3), generator.product(3).getId());
+    }
+
+    @Test
+    void shouldWriteJsonAndNdjsonThatLoadBack() throws IOException {
+        CatalogGenerator generator = new CatalogGenerator();
+        List<Product> expected = generator.products(500);
+
+        assertEquals(expected, load(generator.write(dir.resolve("catalog.json"), 500)));
+        assertEquals(expected, load(generator.write(dir.resolve("catalog.ndjson"), 500)));
+        assertTrue(Files.readString(dir.resolve("catalog.json")).startsWith("["));
+        assertEquals(500, Files.readAllLines(dir.resolve("catalog.ndjson")).size());
+    }
+
+    @Test
+    void shouldProduceRealisticDistributions() {
+        List<Product> products = new CatalogGenerator().products(20_000);
+        Set<String> ids = new HashSet<>();
+        Map<String, Integer> brands = new HashMap<>();
+        Set<String> categories = new HashSet<>();
+        long withoutComments = 0;
+        for (Product p : products) {
+            ids.add(p.getId());
+            brands.merge(p.getBrand(), 1, Integer::sum);
+            categories.add(p.getCategory());
+            assertTrue(p.getPrice() > 0);
+            assertTrue(p.getImages().size() >= 1 && p.getImages().size() <= 8);
+            int comments = p.getReviews().getComments().size();
+            assertTrue(comments <= CatalogGenerator.MAX_COMMENTS);
+            assertTrue(p.getReviews().getTotalReviews() >= comments);
+            if (comments == 0) {
+                withoutComments++;
+            }
+        }
+
+        assertEquals(products.size(), ids.size());
+        assertTrue(brands.size() <= CatalogGenerator.BRANDS);
+        assertTrue(categories.size() <= CatalogGenerator.CATEGORIES);
+        // Popularidad sesgada: la marca más frecuente supera ampliamente a la media
+        int top = brands.values().stream().max(Integer::compare).orElseThrow();
+        assertTrue(top > 10 * products.size() / brands.size());
+        assertTrue(withoutComments > products.size() / 10 && withoutComments < products.size() / 2);
+    }
+
+    private static List<Product> load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new StreamingCatalogLoader(new ObjectMapper(), 0).load(in, file.toString());
+        }
+    }
+}